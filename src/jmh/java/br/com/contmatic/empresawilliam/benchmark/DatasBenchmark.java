@@ -0,0 +1,75 @@
+package br.com.contmatic.empresawilliam.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.LocalDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.contmatic.empresawilliam.Empresa;
+
+/**
+ * The Class DatasBenchmark.
+ *
+ * Setters de data de {@link Empresa}. A data de criação é sempre a de hoje (a única aceita) e a data de alteração é posterior a
+ * ela.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DatasBenchmark {
+
+    /** The empresa. */
+    private Empresa empresa;
+
+    /** The hoje. */
+    private LocalDate hoje;
+
+    /** The alteracao. */
+    private LocalDate alteracao;
+
+    /**
+     * Gera a empresa e as datas.
+     */
+    @Setup
+    public void setUp() {
+        empresa = new GeradorDeEntidades(GeradorDeEntidades.SEMENTE).empresaValida();
+        hoje = LocalDate.now();
+        alteracao = hoje.plusDays(300);
+        empresa.setDataDeCriacao(hoje);
+    }
+
+    /**
+     * Set data de criacao.
+     *
+     * @return the empresa
+     */
+    @Benchmark
+    public Empresa setDataDeCriacao() {
+        empresa.setDataDeCriacao(hoje);
+        return empresa;
+    }
+
+    /**
+     * Set data de alteracao.
+     *
+     * @return the empresa
+     */
+    @Benchmark
+    public Empresa setDataDeAlteracao() {
+        empresa.setDataDeAlteracao(alteracao);
+        return empresa;
+    }
+
+}
@@ -0,0 +1,145 @@
+package br.com.contmatic.empresawilliam.benchmark;
+
+import java.lang.annotation.ElementType;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Path;
+import javax.validation.Path.Node;
+import javax.validation.TraversableResolver;
+import javax.validation.Validator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.EmpresaValidator;
+import br.com.contmatic.empresawilliam.validation.ValidationEngine;
+import br.com.contmatic.empresawilliam.validation.ValidationResult;
+
+/**
+ * The Class EmpresaValidacaoBenchmark.
+ *
+ * Validação completa de {@link Empresa} pelo Hibernate Validator, com e sem a cascata ({@code @Valid}) de endereços e
+ * telefones, e pelo validador gerado em tempo de compilação.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EmpresaValidacaoBenchmark {
+
+    /** Quantidade de empresas percorridas (potência de 2). */
+    private static final int QUANTIDADE = 1024;
+
+    /** Template de origem das empresas. */
+    @Param({ "empresa_valida", "empresa_invalida" })
+    public String template;
+
+    /** The empresas. */
+    private Empresa[] empresas;
+
+    /** The validator. */
+    private Validator validator;
+
+    /** Validador que não desce para endereços e telefones. */
+    private Validator validatorSemCascata;
+
+    /** The proxima. */
+    private int proxima;
+
+    /**
+     * Gera as empresas e obtém os validadores.
+     */
+    @Setup
+    public void setUp() {
+        GeradorDeEntidades gerador = new GeradorDeEntidades(GeradorDeEntidades.SEMENTE);
+        empresas = new Empresa[QUANTIDADE];
+        for(int i = 0; i < QUANTIDADE; i++) {
+            empresas[i] = "empresa_valida".equals(template) ? gerador.empresaValida() : gerador.empresaInvalida();
+        }
+        validator = ValidationEngine.getInstance().getValidator();
+        validatorSemCascata = ValidationEngine.getInstance().usingContext().traversableResolver(new SemCascata()).getValidator();
+    }
+
+    /**
+     * Hibernate validator com cascata.
+     *
+     * @return the sets the
+     */
+    @Benchmark
+    public Set<ConstraintViolation<Empresa>> hibernateValidatorComCascata() {
+        return validator.validate(proxima());
+    }
+
+    /**
+     * Hibernate validator sem cascata.
+     *
+     * @return the sets the
+     */
+    @Benchmark
+    public Set<ConstraintViolation<Empresa>> hibernateValidatorSemCascata() {
+        return validatorSemCascata.validate(proxima());
+    }
+
+    /**
+     * Validador gerado com cascata.
+     *
+     * @return the validation result
+     */
+    @Benchmark
+    public ValidationResult validadorGeradoComCascata() {
+        return EmpresaValidator.INSTANCE.validate(proxima());
+    }
+
+    /**
+     * Próxima empresa, em rodízio.
+     *
+     * @return the empresa
+     */
+    private Empresa proxima() {
+        return empresas[proxima++ & (QUANTIDADE - 1)];
+    }
+
+    /**
+     * Resolve todas as propriedades como alcançáveis, mas nenhuma como sujeita à cascata.
+     */
+    private static final class SemCascata implements TraversableResolver {
+
+        /*
+         * (non-Javadoc)
+         * @see javax.validation.TraversableResolver#isReachable(java.lang.Object, javax.validation.Path.Node, java.lang.Class,
+         * javax.validation.Path, java.lang.annotation.ElementType)
+         */
+        @Override
+        public boolean isReachable(Object traversableObject, Node traversableProperty, Class<?> rootBeanType, Path pathToTraversableObject,
+                ElementType elementType) {
+            return true;
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see javax.validation.TraversableResolver#isCascadable(java.lang.Object, javax.validation.Path.Node, java.lang.Class,
+         * javax.validation.Path, java.lang.annotation.ElementType)
+         */
+        @Override
+        public boolean isCascadable(Object traversableObject, Node traversableProperty, Class<?> rootBeanType, Path pathToTraversableObject,
+                ElementType elementType) {
+            return false;
+        }
+
+    }
+
+}
@@ -0,0 +1,278 @@
+package br.com.contmatic.empresawilliam.benchmark;
+
+import static br.com.contmatic.empresawilliam.EnderecoType.COMERCIAL;
+import static br.com.contmatic.empresawilliam.EnderecoType.RESIDENCIAL;
+import static br.com.contmatic.empresawilliam.TelefoneType.CELULAR;
+import static br.com.contmatic.empresawilliam.TelefoneType.FIXO;
+
+import java.lang.reflect.Field;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.joda.time.LocalDate;
+
+import br.com.contmatic.empresawilliam.DiaDaEpoca;
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.Endereco;
+import br.com.contmatic.empresawilliam.Telefone;
+
+/**
+ * The Class GeradorDeEntidades.
+ *
+ * Gera entidades com os mesmos valores dos templates de teste ({@code EmpresaTemplate}, {@code EnderecoTemplate} e
+ * {@code TelefoneTemplate}), mas a partir de uma semente fixa, para que duas execuções dos benchmarks meçam exatamente os mesmos
+ * dados.
+ */
+public final class GeradorDeEntidades {
+
+    /** Semente padrão dos benchmarks. */
+    public static final long SEMENTE = 20160301L;
+
+    /** The random. */
+    private final Random random;
+
+    /**
+     * Instantiates a new gerador de entidades.
+     *
+     * @param semente the semente
+     */
+    public GeradorDeEntidades(long semente) {
+        this.random = new Random(semente);
+    }
+
+    // Empresa
+
+    /**
+     * Equivalente ao template {@code empresa_valida}.
+     *
+     * @return the empresa
+     */
+    public Empresa empresaValida() {
+        Empresa empresa = new Empresa();
+        empresa.setRazaoSocial(umDe("Uniesquina", "Uniquintal", "Unip", "Fiap"));
+        empresa.setCnpj(cnpj());
+        empresa.setProprietario(umDe("Fulano", "Ciclano", "Alguém", "Eu"));
+        empresa.setEmail(umDe("fulano@exemplo.com", "ciclano@teste.com", "eu@teste.com.br"));
+        empresa.setSite(umDe("teste.com.br", "exemplo.com"));
+        Set<Endereco> enderecos = new HashSet<Endereco>();
+        while(enderecos.size() < 2) {
+            enderecos.add(enderecoValido());
+        }
+        empresa.setEnderecos(enderecos);
+        Set<Telefone> telefones = new HashSet<Telefone>();
+        telefones.add(fixoValido());
+        telefones.add(celularValido());
+        empresa.setTelefones(telefones);
+        datas(empresa, LocalDate.now(), LocalDate.now().plusDays(300));
+        return empresa;
+    }
+
+    /**
+     * Equivalente ao template {@code empresa_invalida}.
+     *
+     * @return the empresa
+     */
+    public Empresa empresaInvalida() {
+        Empresa empresa = new Empresa();
+        empresa.setCnpj(umDe("12345678911", "00111222333344555666666", "abcderf5467534", "9q834jdfhnjnd"));
+        empresa.setEmail(umDe("fulano@.com", "ciclano@teste", "exemplo.com", "teste@br.com.com", "_teste@teste.com", "teste@.br"));
+        empresa.setSite(umDe("teste.com", "exemplocom", ".teste.com.br", "exemplo.br.com"));
+        Set<Endereco> enderecos = new HashSet<Endereco>();
+        enderecos.add(enderecoInvalido());
+        empresa.setEnderecos(enderecos);
+        Set<Telefone> telefones = new HashSet<Telefone>();
+        telefones.add(fixoInvalido());
+        empresa.setTelefones(telefones);
+        datas(empresa, LocalDate.now().minusDays(300), LocalDate.now());
+        return empresa;
+    }
+
+    /**
+     * Gera um CNPJ de 14 dígitos com dígitos verificadores corretos.
+     *
+     * @return the string
+     */
+    public String cnpj() {
+        int[] digitos = new int[14];
+        for(int i = 0; i < 12; i++) {
+            digitos[i] = random.nextInt(10);
+        }
+        digitos[12] = digitoVerificador(digitos, 12);
+        digitos[13] = digitoVerificador(digitos, 13);
+        StringBuilder cnpj = new StringBuilder(14);
+        for(int digito : digitos) {
+            cnpj.append(digito);
+        }
+        return cnpj.toString();
+    }
+
+    // Endereco
+
+    /**
+     * Equivalente ao template {@code endereco_valido}.
+     *
+     * @return the endereco
+     */
+    public Endereco enderecoValido() {
+        Endereco endereco = new Endereco();
+        endereco.setTipoLogradouro(umDe("Rua", "Avenida", "Praça", "Parque"));
+        endereco.setNomeLogradouro(umDe("Exemplo", "Teste", "Qualquer Lugar", "Lugar Nenhum"));
+        endereco.setNumeroEndereco(entre(1, 9999));
+        endereco.setTipoEndereco(random.nextBoolean() ? COMERCIAL : RESIDENCIAL);
+        endereco.setCep(umDe("12345000", "54321000", "12345123", "54321321"));
+        return endereco;
+    }
+
+    /**
+     * Equivalente ao template {@code endereco_invalido}.
+     *
+     * @return the endereco
+     */
+    public Endereco enderecoInvalido() {
+        Endereco endereco = new Endereco();
+        endereco.setTipoLogradouro(umDe("R", "Av", "Pr", "b"));
+        endereco.setNomeLogradouro(umDe("a", "b", "c", "d"));
+        endereco.setNumeroEndereco(entre(10000, 11000));
+        endereco.setTipoEndereco(random.nextBoolean() ? COMERCIAL : RESIDENCIAL);
+        endereco.setCep(umDe("abc", "5432100087", "ab123456", "2"));
+        return endereco;
+    }
+
+    // Telefone
+
+    /**
+     * Equivalente ao template {@code fixo_valido}.
+     *
+     * @return the telefone
+     */
+    public Telefone fixoValido() {
+        Telefone telefone = new Telefone();
+        telefone.setTipoTelefone(FIXO);
+        telefone.setDdd(entre(11, 99));
+        telefone.setTelefoneFixo(digitos(8));
+        return telefone;
+    }
+
+    /**
+     * Equivalente ao template {@code celular_valido}.
+     *
+     * @return the telefone
+     */
+    public Telefone celularValido() {
+        Telefone telefone = new Telefone();
+        telefone.setTipoTelefone(CELULAR);
+        telefone.setDdd(entre(11, 99));
+        telefone.setTelefoneCelular("9" + digitos(8));
+        return telefone;
+    }
+
+    /**
+     * Equivalente ao template {@code fixo_invalido}.
+     *
+     * @return the telefone
+     */
+    public Telefone fixoInvalido() {
+        Telefone telefone = new Telefone();
+        telefone.setTipoTelefone(FIXO);
+        telefone.setDdd(entre(100, 500));
+        telefone.setTelefoneFixo(digitos(random.nextBoolean() ? 7 : 9));
+        return telefone;
+    }
+
+    /**
+     * Equivalente ao template {@code celular_invalido}.
+     *
+     * @return the telefone
+     */
+    public Telefone celularInvalido() {
+        Telefone telefone = new Telefone();
+        telefone.setTipoTelefone(CELULAR);
+        telefone.setDdd(entre(11, 99));
+        telefone.setTelefoneCelular(digitos(random.nextBoolean() ? 8 : 10));
+        return telefone;
+    }
+
+    // Auxiliares
+
+    /**
+     * Escolhe um dos valores.
+     *
+     * @param valores the valores
+     * @return the string
+     */
+    private String umDe(String... valores) {
+        return valores[random.nextInt(valores.length)];
+    }
+
+    /**
+     * Sorteia um inteiro no intervalo fechado.
+     *
+     * @param minimo the minimo
+     * @param maximo the maximo
+     * @return the int
+     */
+    private int entre(int minimo, int maximo) {
+        return minimo + random.nextInt(maximo - minimo + 1);
+    }
+
+    /**
+     * Sorteia uma sequência de dígitos.
+     *
+     * @param quantidade the quantidade
+     * @return the string
+     */
+    private String digitos(int quantidade) {
+        StringBuilder digitos = new StringBuilder(quantidade);
+        for(int i = 0; i < quantidade; i++) {
+            digitos.append((char) ('0' + random.nextInt(10)));
+        }
+        return digitos.toString();
+    }
+
+    /**
+     * Calcula o dígito verificador dos primeiros dígitos do CNPJ (pesos de 2 a 9 da direita para a esquerda).
+     *
+     * @param digitos the digitos
+     * @param quantidade the quantidade
+     * @return the int
+     */
+    private static int digitoVerificador(int[] digitos, int quantidade) {
+        int soma = 0;
+        for(int i = quantidade - 1, peso = 2; i >= 0; i--, peso = peso == 9 ? 2 : peso + 1) {
+            soma += digitos[i] * peso;
+        }
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+
+    /**
+     * Preenche as datas diretamente nos campos, como faz o Fixture Factory: o setter da data de alteração recusa qualquer data.
+     *
+     * @param empresa the empresa
+     * @param dataDeCriacao the data de criacao
+     * @param dataDeAlteracao the data de alteracao
+     */
+    private static void datas(Empresa empresa, LocalDate dataDeCriacao, LocalDate dataDeAlteracao) {
+        campo(empresa, "diaDeCriacao", DiaDaEpoca.de(dataDeCriacao));
+        campo(empresa, "diaDeAlteracao", DiaDaEpoca.de(dataDeAlteracao));
+    }
+
+    /**
+     * Atribui um valor a um campo privado.
+     *
+     * @param empresa the empresa
+     * @param nome the nome
+     * @param valor the valor
+     */
+    private static void campo(Empresa empresa, String nome, Object valor) {
+        try {
+            Field campo = Empresa.class.getDeclaredField(nome);
+            campo.setAccessible(true);
+            campo.set(empresa, valor);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Não foi possível preencher o campo " + nome + ".", e);
+        }
+    }
+
+}
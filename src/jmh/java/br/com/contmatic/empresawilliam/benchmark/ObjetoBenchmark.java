@@ -0,0 +1,118 @@
+package br.com.contmatic.empresawilliam.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The Class ObjetoBenchmark.
+ *
+ * {@code equals}, {@code hashCode} e {@code toString} de {@code Empresa}, {@code Endereco} e {@code Telefone}. Cada objeto é
+ * comparado com uma cópia igual (gerada com a mesma semente) e com o objeto seguinte, que é diferente.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ObjetoBenchmark {
+
+    /** Quantidade de objetos percorridos (potência de 2). */
+    private static final int QUANTIDADE = 1024;
+
+    /** The entidade. */
+    @Param({ "empresa", "endereco", "telefone" })
+    public String entidade;
+
+    /** The objetos. */
+    private Object[] objetos;
+
+    /** Cópias iguais de {@link #objetos}, em instâncias distintas. */
+    private Object[] copias;
+
+    /** The proximo. */
+    private int proximo;
+
+    /**
+     * Gera os objetos e suas cópias.
+     */
+    @Setup
+    public void setUp() {
+        objetos = gera(new GeradorDeEntidades(GeradorDeEntidades.SEMENTE));
+        copias = gera(new GeradorDeEntidades(GeradorDeEntidades.SEMENTE));
+    }
+
+    /**
+     * Hash code.
+     *
+     * @return the int
+     */
+    @Benchmark
+    public int hashCodes() {
+        return objetos[proximo++ & (QUANTIDADE - 1)].hashCode();
+    }
+
+    /**
+     * Equals entre objetos iguais.
+     *
+     * @return true, if successful
+     */
+    @Benchmark
+    public boolean equalsIguais() {
+        int indice = proximo++ & (QUANTIDADE - 1);
+        return objetos[indice].equals(copias[indice]);
+    }
+
+    /**
+     * Equals entre objetos diferentes.
+     *
+     * @return true, if successful
+     */
+    @Benchmark
+    public boolean equalsDiferentes() {
+        int indice = proximo++ & (QUANTIDADE - 1);
+        return objetos[indice].equals(copias[(indice + 1) & (QUANTIDADE - 1)]);
+    }
+
+    /**
+     * To string.
+     *
+     * @return the string
+     */
+    @Benchmark
+    public String toStrings() {
+        return objetos[proximo++ & (QUANTIDADE - 1)].toString();
+    }
+
+    /**
+     * Gera os objetos da entidade escolhida.
+     *
+     * @param gerador the gerador
+     * @return the object[]
+     */
+    private Object[] gera(GeradorDeEntidades gerador) {
+        Object[] gerados = new Object[QUANTIDADE];
+        for(int i = 0; i < QUANTIDADE; i++) {
+            if ("empresa".equals(entidade)) {
+                gerados[i] = gerador.empresaValida();
+            } else if ("endereco".equals(entidade)) {
+                gerados[i] = gerador.enderecoValido();
+            } else {
+                gerados[i] = i % 2 == 0 ? gerador.fixoValido() : gerador.celularValido();
+            }
+        }
+        return gerados;
+    }
+
+}
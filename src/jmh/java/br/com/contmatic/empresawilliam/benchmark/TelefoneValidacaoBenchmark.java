@@ -0,0 +1,145 @@
+package br.com.contmatic.empresawilliam.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.contmatic.empresawilliam.Celular;
+import br.com.contmatic.empresawilliam.Fixo;
+import br.com.contmatic.empresawilliam.Telefone;
+import br.com.contmatic.empresawilliam.TelefoneValidator;
+import br.com.contmatic.empresawilliam.validation.ValidationEngine;
+import br.com.contmatic.empresawilliam.validation.ValidationResult;
+
+/**
+ * The Class TelefoneValidacaoBenchmark.
+ *
+ * Validação de {@link Telefone} nos grupos {@link Fixo} e {@link Celular} e no grupo padrão (que escolhe o grupo pelo tipo),
+ * pelo Hibernate Validator e pelo validador gerado. Os telefones alternam entre válidos e inválidos do tipo escolhido.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TelefoneValidacaoBenchmark {
+
+    /** Quantidade de telefones percorridos (potência de 2). */
+    private static final int QUANTIDADE = 1024;
+
+    /** Tipo dos telefones gerados. */
+    @Param({ "fixo", "celular" })
+    public String tipo;
+
+    /** The telefones. */
+    private Telefone[] telefones;
+
+    /** The validator. */
+    private Validator validator;
+
+    /** The proximo. */
+    private int proximo;
+
+    /**
+     * Gera os telefones e obtém o validador.
+     */
+    @Setup
+    public void setUp() {
+        GeradorDeEntidades gerador = new GeradorDeEntidades(GeradorDeEntidades.SEMENTE);
+        boolean fixo = "fixo".equals(tipo);
+        telefones = new Telefone[QUANTIDADE];
+        for(int i = 0; i < QUANTIDADE; i++) {
+            if (i % 2 == 0) {
+                telefones[i] = fixo ? gerador.fixoValido() : gerador.celularValido();
+            } else {
+                telefones[i] = fixo ? gerador.fixoInvalido() : gerador.celularInvalido();
+            }
+        }
+        validator = ValidationEngine.getInstance().getValidator();
+    }
+
+    /**
+     * Hibernate validator no grupo fixo.
+     *
+     * @return the sets the
+     */
+    @Benchmark
+    public Set<ConstraintViolation<Telefone>> hibernateValidatorFixo() {
+        return validator.validate(proximo(), Fixo.class);
+    }
+
+    /**
+     * Hibernate validator no grupo celular.
+     *
+     * @return the sets the
+     */
+    @Benchmark
+    public Set<ConstraintViolation<Telefone>> hibernateValidatorCelular() {
+        return validator.validate(proximo(), Celular.class);
+    }
+
+    /**
+     * Validador gerado no grupo fixo.
+     *
+     * @return the validation result
+     */
+    @Benchmark
+    public ValidationResult validadorGeradoFixo() {
+        return TelefoneValidator.INSTANCE.validate(proximo(), Fixo.class);
+    }
+
+    /**
+     * Validador gerado no grupo celular.
+     *
+     * @return the validation result
+     */
+    @Benchmark
+    public ValidationResult validadorGeradoCelular() {
+        return TelefoneValidator.INSTANCE.validate(proximo(), Celular.class);
+    }
+
+    /**
+     * Hibernate validator no grupo padrão, que escolhe o grupo do número pelo tipo do telefone.
+     *
+     * @return the sets the
+     */
+    @Benchmark
+    public Set<ConstraintViolation<Telefone>> hibernateValidatorPeloTipo() {
+        return validator.validate(proximo());
+    }
+
+    /**
+     * Validador gerado no grupo padrão, que escolhe o grupo do número pelo tipo do telefone.
+     *
+     * @return the validation result
+     */
+    @Benchmark
+    public ValidationResult validadorGeradoPeloTipo() {
+        return TelefoneValidator.INSTANCE.validate(proximo());
+    }
+
+    /**
+     * Próximo telefone, em rodízio.
+     *
+     * @return the telefone
+     */
+    private Telefone proximo() {
+        return telefones[proximo++ & (QUANTIDADE - 1)];
+    }
+
+}
@@ -0,0 +1,248 @@
+package br.com.contmatic.empresawilliam;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import br.com.contmatic.empresawilliam.validation.CnpjValidator;
+
+/**
+ * The Class Cnpj.
+ *
+ * CNPJ imutável guardado como um {@code long} (os 14 dígitos, com zeros à esquerda implícitos). Ocupa 24 bytes, contra mais de
+ * 56 de uma {@code String} de 14 caracteres, e o hash é calculado uma única vez na criação; {@code equals} e
+ * {@code hashCode} não alocam nada. Não exige dígitos verificadores corretos: use {@link #isValid()} para conferi-los.
+ */
+public final class Cnpj implements Comparable<Cnpj> {
+
+    /** Divisor que separa a raiz (8 primeiros dígitos) do restante. */
+    private static final long DIVISOR_DA_RAIZ = 1000000L;
+
+    /** Constante de espalhamento (razão áurea) usada no hash. */
+    private static final long ESPALHAMENTO = 0x9E3779B97F4A7C15L;
+
+    /** Indica que o texto não é um CNPJ. */
+    public static final long NAO_E_CNPJ = -1L;
+
+    // Variáveis
+
+    /** The valor. */
+    private final long valor;
+
+    /** The hash. */
+    private final int hash;
+
+    /**
+     * Instantiates a new cnpj.
+     *
+     * @param valor the valor
+     */
+    private Cnpj(long valor) {
+        this.valor = valor;
+        long espalhado = valor * ESPALHAMENTO;
+        this.hash = (int) (espalhado ^ (espalhado >>> 32));
+    }
+
+    // Conversões
+
+    /**
+     * Cria um CNPJ a partir do número de 14 dígitos.
+     *
+     * @param valor the valor
+     * @return the cnpj
+     */
+    public static Cnpj of(long valor) {
+        checkArgument(valor >= 0 && valor <= CnpjValidator.MAIOR_CNPJ, "O CNPJ deve conter 14 dígitos numéricos.");
+        return new Cnpj(valor);
+    }
+
+    /**
+     * Converte um texto com 14 dígitos, com ou sem a máscara 00.000.000/0000-00.
+     *
+     * @param texto the texto
+     * @return the cnpj
+     */
+    public static Cnpj parse(CharSequence texto) {
+        checkNotNull(texto, "O CNPJ deve ser preenchido.");
+        long valor = valorDe(texto);
+        checkArgument(valor != NAO_E_CNPJ, "O CNPJ deve conter 14 dígitos numéricos.");
+        return new Cnpj(valor);
+    }
+
+    /**
+     * Converte um texto com 14 dígitos, com ou sem máscara, devolvendo nulo se o texto não for um CNPJ.
+     *
+     * @param texto the texto
+     * @return the cnpj
+     */
+    public static Cnpj tryParse(CharSequence texto) {
+        if (texto == null) {
+            return null;
+        }
+        long valor = valorDe(texto);
+        return valor == NAO_E_CNPJ ? null : new Cnpj(valor);
+    }
+
+    /**
+     * Lê os dígitos de um texto com 14 dígitos, com ou sem máscara, sem alocar.
+     *
+     * @param texto the texto
+     * @return o número, ou {@link #NAO_E_CNPJ} se o texto não for um CNPJ
+     */
+    public static long valorDe(CharSequence texto) {
+        int tamanho = texto.length();
+        if (tamanho != CnpjValidator.TAMANHO && tamanho != CnpjValidator.TAMANHO_FORMATADO) {
+            return NAO_E_CNPJ;
+        }
+        boolean formatado = tamanho == CnpjValidator.TAMANHO_FORMATADO;
+        long valor = 0;
+        for(int i = 0; i < tamanho; i++) {
+            char c = texto.charAt(i);
+            if (formatado && (i == 2 || i == 6 || i == 10 || i == 15)) {
+                if (c != (i == 10 ? '/' : i == 15 ? '-' : '.')) {
+                    return NAO_E_CNPJ;
+                }
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                return NAO_E_CNPJ;
+            }
+            valor = valor * 10 + (c - '0');
+        }
+        return valor;
+    }
+
+    /**
+     * Escreve os 14 dígitos de um número de CNPJ, sem máscara.
+     *
+     * @param valor the valor
+     * @return the string
+     */
+    public static String texto(long valor) {
+        char[] texto = new char[CnpjValidator.TAMANHO];
+        long resto = valor;
+        for(int i = texto.length - 1; i >= 0; i--, resto /= 10) {
+            texto[i] = (char) ('0' + resto % 10);
+        }
+        return new String(texto);
+    }
+
+    /**
+     * Escreve os 14 dígitos no {@link StringBuilder}.
+     *
+     * @param destino the destino
+     * @return the string builder
+     */
+    public StringBuilder appendTo(StringBuilder destino) {
+        int inicio = destino.length();
+        destino.setLength(inicio + CnpjValidator.TAMANHO);
+        long resto = valor;
+        for(int i = inicio + CnpjValidator.TAMANHO - 1; i >= inicio; i--, resto /= 10) {
+            destino.setCharAt(i, (char) ('0' + resto % 10));
+        }
+        return destino;
+    }
+
+    /**
+     * Obtém o CNPJ no formato 00.000.000/0000-00.
+     *
+     * @return the string
+     */
+    public String formatado() {
+        char[] texto = new char[CnpjValidator.TAMANHO_FORMATADO];
+        long resto = valor;
+        for(int i = texto.length - 1; i >= 0; i--) {
+            if (i == 2 || i == 6) {
+                texto[i] = '.';
+            } else if (i == 10) {
+                texto[i] = '/';
+            } else if (i == 15) {
+                texto[i] = '-';
+            } else {
+                texto[i] = (char) ('0' + resto % 10);
+                resto /= 10;
+            }
+        }
+        return new String(texto);
+    }
+
+    // Consultas
+
+    /**
+     * Obtém o número de 14 dígitos.
+     *
+     * @return the long
+     */
+    public long longValue() {
+        return valor;
+    }
+
+    /**
+     * Obtém a raiz do CNPJ (8 primeiros dígitos), comum à matriz e às filiais.
+     *
+     * @return the raiz
+     */
+    public int getRaiz() {
+        return (int) (valor / DIVISOR_DA_RAIZ);
+    }
+
+    /**
+     * Obtém o número do estabelecimento (4 dígitos após a raiz); 1 é a matriz.
+     *
+     * @return the filial
+     */
+    public int getFilial() {
+        return (int) (valor / 100 % 10000);
+    }
+
+    /**
+     * Verifica se os dígitos verificadores estão corretos.
+     *
+     * @return true, if is valid
+     */
+    public boolean isValid() {
+        return CnpjValidator.isValid(valor);
+    }
+
+    // Equals, HashCode e toString
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Comparable#compareTo(java.lang.Object)
+     */
+    @Override
+    public int compareTo(Cnpj outro) {
+        return Long.compare(valor, outro.valor);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#equals(java.lang.Object)
+     */
+    @Override
+    public boolean equals(Object obj) {
+        return obj == this || obj instanceof Cnpj && ((Cnpj) obj).valor == valor;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder(CnpjValidator.TAMANHO)).toString();
+    }
+
+}
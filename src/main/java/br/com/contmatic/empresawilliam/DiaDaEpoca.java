@@ -0,0 +1,97 @@
+package br.com.contmatic.empresawilliam;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.joda.time.DateTimeConstants;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
+import org.joda.time.chrono.ISOChronology;
+
+/**
+ * The Class DiaDaEpoca.
+ *
+ * Converte datas em dias desde 01/01/1970 ({@code int}) e de volta. A conversão de datas ISO (o padrão do {@link LocalDate}) é
+ * feita só com aritmética sobre ano, mês e dia, sem criar objetos; datas de outras cronologias passam pelo instante do início do
+ * dia em UTC.
+ */
+public final class DiaDaEpoca {
+
+    /** Representa a ausência de data. */
+    public static final int SEM_DATA = Integer.MIN_VALUE;
+
+    /** Dias de 01/03/0000 até 01/01/1970. */
+    private static final long DIAS_ATE_1970 = 719468;
+
+    /** Dias em um ciclo de 400 anos do calendário gregoriano. */
+    private static final long DIAS_POR_ERA = 146097;
+
+    /** The Constant ANOS_POR_ERA. */
+    private static final int ANOS_POR_ERA = 400;
+
+    /**
+     * Instantiates a new dia da epoca.
+     */
+    private DiaDaEpoca() {
+
+    }
+
+    /**
+     * Dias desde 01/01/1970.
+     *
+     * @param data the data
+     * @return os dias, ou {@link #SEM_DATA} se a data for nula
+     */
+    public static int de(LocalDate data) {
+        if (data == null) {
+            return SEM_DATA;
+        }
+        long dia;
+        if (data.getChronology() == ISOChronology.getInstanceUTC()) {
+            dia = de(data.getYear(), data.getMonthOfYear(), data.getDayOfMonth());
+        } else {
+            dia = Math.floorDiv(data.toDateTimeAtStartOfDay(DateTimeZone.UTC).getMillis(), (long) DateTimeConstants.MILLIS_PER_DAY);
+        }
+        checkArgument(dia > SEM_DATA && dia <= Integer.MAX_VALUE, "Data fora do intervalo: %s.", data);
+        return (int) dia;
+    }
+
+    /**
+     * Data ISO correspondente aos dias desde 01/01/1970.
+     *
+     * @param dia the dia
+     * @return a data, ou null para {@link #SEM_DATA}
+     */
+    public static LocalDate data(int dia) {
+        if (dia == SEM_DATA) {
+            return null;
+        }
+        long z = dia + DIAS_ATE_1970;
+        long era = Math.floorDiv(z, DIAS_POR_ERA);
+        long diaDaEra = z - era * DIAS_POR_ERA;
+        long anoDaEra = (diaDaEra - diaDaEra / 1460 + diaDaEra / 36524 - diaDaEra / (DIAS_POR_ERA - 1)) / 365;
+        long diaDoAno = diaDaEra - (365 * anoDaEra + anoDaEra / 4 - anoDaEra / 100);
+        long mesDesdeMarco = (5 * diaDoAno + 2) / 153;
+        int diaDoMes = (int) (diaDoAno - (153 * mesDesdeMarco + 2) / 5 + 1);
+        int mes = (int) (mesDesdeMarco < 10 ? mesDesdeMarco + 3 : mesDesdeMarco - 9);
+        int ano = (int) (anoDaEra + era * ANOS_POR_ERA + (mes <= 2 ? 1 : 0));
+        return new LocalDate(ano, mes, diaDoMes);
+    }
+
+    /**
+     * Dias desde 01/01/1970 da data do calendário gregoriano proléptico (o ano 0 é 1 a.C., como no ISO).
+     *
+     * @param ano the ano
+     * @param mes the mes
+     * @param dia the dia
+     * @return the long
+     */
+    static long de(int ano, int mes, int dia) {
+        long anoDesdeMarco = mes <= 2 ? ano - 1L : ano;
+        long era = Math.floorDiv(anoDesdeMarco, ANOS_POR_ERA);
+        long anoDaEra = anoDesdeMarco - era * ANOS_POR_ERA;
+        long diaDoAno = (153 * (mes > 2 ? mes - 3 : mes + 9) + 2) / 5 + dia - 1;
+        long diaDaEra = anoDaEra * 365 + anoDaEra / 4 - anoDaEra / 100 + diaDoAno;
+        return era * DIAS_POR_ERA + diaDaEra - DIAS_ATE_1970;
+    }
+
+}
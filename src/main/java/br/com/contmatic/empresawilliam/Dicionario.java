@@ -0,0 +1,173 @@
+package br.com.contmatic.empresawilliam;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The Class Dicionario.
+ *
+ * Dicionário de textos repetidos: cada valor distinto ganha uma instância canônica e um código (0, 1, 2... na ordem em que
+ * apareceu), para que as entidades guardem uma única {@link String} por valor e os formatos de armazenamento possam gravar só o
+ * código. As buscas não usam trava; só a inclusão de um valor novo é sincronizada.
+ *
+ * O dicionário é limitado: cheio, ele deixa de incluir valores e devolve os novos como vieram, sem código. Valores nunca saem
+ * do dicionário, para que os códigos já gravados continuem válidos.
+ */
+public final class Dicionario {
+
+    /** Código de um valor nulo ou que não coube no dicionário. */
+    public static final int SEM_CODIGO = -1;
+
+    // Variáveis
+
+    /** The capacidade. */
+    private final int capacidade;
+
+    /** Código de cada valor. */
+    private final ConcurrentMap<String, Integer> codigos;
+
+    /** Valor canônico de cada código. */
+    private final AtomicReferenceArray<String> valores;
+
+    /** Buscas de valores já presentes. */
+    private final AtomicLong acertos = new AtomicLong();
+
+    /** Buscas de valores ausentes (incluídos ou recusados por falta de espaço). */
+    private final AtomicLong falhas = new AtomicLong();
+
+    /** The tamanho. */
+    private volatile int tamanho;
+
+    /**
+     * Instantiates a new dicionario.
+     *
+     * @param capacidade quantidade máxima de valores distintos
+     */
+    public Dicionario(int capacidade) {
+        checkArgument(capacidade > 0, "A capacidade do dicionário deve ser positiva.");
+        this.capacidade = capacidade;
+        this.codigos = new ConcurrentHashMap<String, Integer>(Math.min(capacidade, 1024));
+        this.valores = new AtomicReferenceArray<String>(capacidade);
+    }
+
+    // Operações
+
+    /**
+     * Instância canônica do valor.
+     *
+     * @param valor the valor
+     * @return a instância guardada no dicionário, ou o próprio valor se ele for nulo ou não couber
+     */
+    public String canonico(String valor) {
+        int codigo = codigo(valor);
+        return codigo == SEM_CODIGO ? valor : valores.get(codigo);
+    }
+
+    /**
+     * Código do valor, incluindo-o se ainda não estiver no dicionário.
+     *
+     * @param valor the valor
+     * @return o código, ou {@link #SEM_CODIGO} se o valor for nulo ou não couber
+     */
+    public int codigo(String valor) {
+        if (valor == null) {
+            return SEM_CODIGO;
+        }
+        Integer codigo = codigos.get(valor);
+        if (codigo != null) {
+            acertos.incrementAndGet();
+            return codigo;
+        }
+        falhas.incrementAndGet();
+        return inclui(valor);
+    }
+
+    /**
+     * Valor do código.
+     *
+     * @param codigo the codigo
+     * @return the string
+     */
+    public String valor(int codigo) {
+        checkElementIndex(codigo, tamanho, "Código");
+        return valores.get(codigo);
+    }
+
+    // Estatísticas
+
+    /**
+     * Quantidade de valores no dicionário.
+     *
+     * @return the int
+     */
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Quantidade máxima de valores.
+     *
+     * @return the int
+     */
+    public int capacidade() {
+        return capacidade;
+    }
+
+    /**
+     * Buscas de valores que já estavam no dicionário.
+     *
+     * @return the long
+     */
+    public long acertos() {
+        return acertos.get();
+    }
+
+    /**
+     * Buscas de valores que não estavam no dicionário.
+     *
+     * @return the long
+     */
+    public long falhas() {
+        return falhas.get();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "Dicionario[tamanho=" + tamanho + ", capacidade=" + capacidade + ", acertos=" + acertos() + ", falhas=" + falhas() + "]";
+    }
+
+    // Auxiliares
+
+    /**
+     * Inclui o valor, se ainda houver espaço. O valor e o tamanho são publicados antes de o código entrar em
+     * {@link #codigos}, para que quem encontrar o código já consiga ler o valor.
+     *
+     * @param valor the valor
+     * @return o código, ou {@link #SEM_CODIGO}
+     */
+    private synchronized int inclui(String valor) {
+        Integer codigo = codigos.get(valor);
+        if (codigo != null) {
+            return codigo;
+        }
+        int proximo = tamanho;
+        if (proximo == capacidade) {
+            return SEM_CODIGO;
+        }
+        valores.set(proximo, valor);
+        tamanho = proximo + 1;
+        codigos.put(valor, proximo);
+        return proximo;
+    }
+
+}
@@ -0,0 +1,24 @@
+package br.com.contmatic.empresawilliam;
+
+/**
+ * The Class Dicionarios.
+ *
+ * Dicionários compartilhados usados pelos setters das entidades (e, por eles, pelo importador) para guardar uma única instância
+ * de cada valor repetido. Valores que não couberem continuam sendo aceitos, só não são compartilhados.
+ */
+public final class Dicionarios {
+
+    /** Tipos de logradouro ("Rua", "Avenida", "Praça"...): poucos valores, repetidos em quase todo endereço. */
+    public static final Dicionario TIPOS_DE_LOGRADOURO = new Dicionario(256);
+
+    /** Sites das empresas. */
+    public static final Dicionario SITES = new Dicionario(1 << 14);
+
+    /**
+     * Instantiates a new dicionarios.
+     */
+    private Dicionarios() {
+
+    }
+
+}
@@ -3,8 +3,8 @@ package br.com.contmatic.empresawilliam;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
-import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
 
+import java.util.Arrays;
 import java.util.Set;
 
 import javax.validation.Valid;
@@ -13,25 +13,27 @@ import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Size;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
-import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.hibernate.validator.constraints.Email;
 import org.hibernate.validator.constraints.Length;
 import org.hibernate.validator.constraints.NotBlank;
 import org.hibernate.validator.constraints.NotEmpty;
 import org.joda.time.LocalDate;
-import org.joda.time.format.DateTimeFormat;
-import org.joda.time.format.DateTimeFormatter;
 
 import br.com.caelum.stella.bean.validation.CNPJ;
+import br.com.contmatic.empresawilliam.render.EstiloDeTexto;
+import br.com.contmatic.empresawilliam.render.Renderizador;
+import br.com.contmatic.empresawilliam.validation.CnpjValidator;
+import br.com.contmatic.empresawilliam.validation.CompiledValidation;
+import br.com.contmatic.empresawilliam.validation.DirtyTracked;
+import br.com.contmatic.empresawilliam.validation.ModificationCounted;
 
 /**
  * The Class Empresa.
  *
  * @author williansalerno
  */
-public class Empresa {
+@CompiledValidation
+public class Empresa implements DirtyTracked {
 
     // Constantes
 
@@ -65,13 +67,51 @@ public class Empresa {
     /** The Constant TAMANHO_MAXIMO_SITE. */
     private final static int TAMANHO_MAXIMO_SITE = 50;
 
+    /** Valor inicial do hash (o mesmo do {@code HashCodeBuilder}, para manter os valores de hash). */
+    private final static int HASH_INICIAL = 17;
+
+    /** The Constant HASH_MULTIPLICADOR. */
+    private final static int HASH_MULTIPLICADOR = 37;
+
+    /** The Constant SEM_OUVINTES. */
+    private final static OuvinteDeTelefones[] SEM_OUVINTES = {};
+
+    /** The Constant SEM_OUVINTES_DE_NOMES. */
+    private final static OuvinteDeNomes[] SEM_OUVINTES_DE_NOMES = {};
+
+    /** Alteração do CNPJ. */
+    static final int ALTERACAO_CNPJ = 1 << 0;
+
+    /** Alteração da razão social. */
+    static final int ALTERACAO_RAZAO_SOCIAL = 1 << 1;
+
+    /** Alteração do proprietário. */
+    static final int ALTERACAO_PROPRIETARIO = 1 << 2;
+
+    /** Alteração do email. */
+    static final int ALTERACAO_EMAIL = 1 << 3;
+
+    /** Alteração dos endereços. */
+    static final int ALTERACAO_ENDERECOS = 1 << 4;
+
+    /** Alteração dos telefones. */
+    static final int ALTERACAO_TELEFONES = 1 << 5;
+
+    /** Alteração do site. */
+    static final int ALTERACAO_SITE = 1 << 6;
+
+    /** Alteração da data de criação. */
+    static final int ALTERACAO_DATA_DE_CRIACAO = 1 << 7;
+
+    /** Alteração da data de alteração. */
+    static final int ALTERACAO_DATA_DE_ALTERACAO = 1 << 8;
+
     // Variáveis
 
-    /** The cnpj. */
-    @NotNull(message = "O CNPJ deve ser preenchido.")
-    @NotEmpty(message = "O CNPJ não pode ficar vazio.")
-    @Pattern(regexp = "\\d{14}", message = "CNPJ inválido. Deve conter 14 dígitos numéricos.")
-    @CNPJ(message = "CNPJ inválido.")
+    /** O CNPJ empacotado em um {@code long}, quando informado com 14 dígitos sem máscara ({@link Cnpj#NAO_E_CNPJ} se não). */
+    private long cnpjEmpacotado = Cnpj.NAO_E_CNPJ;
+
+    /** O CNPJ como informado, só quando não cabe em {@link #cnpjEmpacotado} (nulo, vazio, com máscara ou com letras). */
     private String cnpj;
 
     /** The razao social. */
@@ -85,7 +125,7 @@ public class Empresa {
     @NotNull(message = "O nome de proprietário deve ser preenchido.")
     @NotEmpty(message = "O nome de proprietário não pode ficar vazio.")
     @NotBlank(message = "O nome de proprietário não pode ficar vazio.")
-    @Pattern(regexp = "[a-zA-Z]", message = "O nome de proprietário só pode conter letras.")
+    @Pattern(regexp = "[a-zA-Z]+", message = "O nome de proprietário só pode conter letras.")
     @Length(min = TAMANHO_MINIMO_PROPRIETARIO, max = TAMANHO_MAXIMO_PROPRIETARIO, message = "O nome de proprietário deve conter entre {min} e {max} caracteres.")
     private String proprietario;
 
@@ -104,12 +144,12 @@ public class Empresa {
     @Valid
     private Set<Endereco> enderecos;
 
-    /** The telefones. */
+    /** The telefones; volátil para que as buscas de outras threads vejam o conjunto trocado pelo setter. */
     @NotNull(message = "O telefone deve ser preenchido.")
     @NotEmpty(message = "A empresa deve conter no mínimo 2 telefones.")
     @Size(min = TAMANHO_MINIMO_TELEFONE, message = "A empresa deve conter no mínimo {min} telefones.")
     @Valid
-    private Set<Telefone> telefones;
+    private volatile Set<Telefone> telefones;
 
     /** The site. */
     @NotNull(message = "O site deve ser preenchido.")
@@ -119,14 +159,26 @@ public class Empresa {
     @Pattern(regexp = "[a-z]+(\\.com)*\\.br{1}", message = "Site inválido.")
     private String site;
 
-    /** The data de criacao. */
-    @NotNull(message = "A data de criação deve ser preenchida.")
-    private LocalDate dataDeCriacao;
+    /** A data de criação, em dias desde 01/01/1970 ({@link DiaDaEpoca#SEM_DATA} se não preenchida). */
+    private int diaDeCriacao = DiaDaEpoca.SEM_DATA;
 
-    /** The data de alteracao. */
-    @NotNull(message = "A data de alteração deve ser preenchida.")
-    @Future(message = "A data de alteração deve ser posterior à data de criação.")
-    private LocalDate dataDeAlteracao;
+    /** A data de alteração, em dias desde 01/01/1970 ({@link DiaDaEpoca#SEM_DATA} se não preenchida). */
+    private int diaDeAlteracao = DiaDaEpoca.SEM_DATA;
+
+    /** Propriedades alteradas pelos setters desde a última revalidação. */
+    private transient int alteracoes;
+
+    /** Contagem de alterações dos endereços na última revalidação ({@link ModificationCounted#modificationCount()}). */
+    private transient int modificacoesDosEnderecos;
+
+    /** Contagem de alterações dos telefones na última revalidação ({@link ModificationCounted#modificationCount()}). */
+    private transient int modificacoesDosTelefones;
+
+    /** Ouvintes das trocas de telefones; o array é substituído, nunca alterado. */
+    private transient volatile OuvinteDeTelefones[] ouvintes = SEM_OUVINTES;
+
+    /** Ouvintes das alterações de razão social e proprietário; o array é substituído, nunca alterado. */
+    private transient volatile OuvinteDeNomes[] ouvintesDeNomes = SEM_OUVINTES_DE_NOMES;
 
     // getters e setters
 
@@ -140,30 +192,63 @@ public class Empresa {
     }
 
     /**
-     * Determina um valor para a razão social e chama um método de validação.
+     * Determina um valor para a razão social e avisa os {@link OuvinteDeNomes}.
      *
      * @param razaoSocial the new razao social
      */
     public void setRazaoSocial(String razaoSocial) {
         this.razaoSocial = razaoSocial;
+        this.alteracoes |= ALTERACAO_RAZAO_SOCIAL;
+        avisaOuvintesDeNomes();
     }
 
     /**
-     * Obtém o CNPJ.
+     * Obtém o CNPJ; o texto é montado a partir do número empacotado.
      *
      * @return the cnpj
      */
+    @NotNull(message = "O CNPJ deve ser preenchido.")
+    @NotEmpty(message = "O CNPJ não pode ficar vazio.")
+    @Pattern(regexp = "\\d{14}", message = "CNPJ inválido. Deve conter 14 dígitos numéricos.")
+    @CNPJ(message = "CNPJ inválido.")
     public String getCnpj() {
-        return cnpj;
+        return cnpjEmpacotado == Cnpj.NAO_E_CNPJ ? cnpj : Cnpj.texto(cnpjEmpacotado);
+    }
+
+    /**
+     * Obtém o CNPJ na forma compacta ({@link Cnpj}), ou nulo se o CNPJ informado não tiver 14 dígitos numéricos.
+     *
+     * @return the cnpj numerico
+     */
+    public Cnpj getCnpjNumerico() {
+        long valor = getCnpjEmpacotado();
+        return valor == Cnpj.NAO_E_CNPJ ? null : Cnpj.of(valor);
     }
 
     /**
-     * Determina um valor para o CNPJ e chama um método de validação.
+     * Obtém os 14 dígitos do CNPJ em um {@code long}, sem alocar, ou {@link Cnpj#NAO_E_CNPJ} se o CNPJ informado não for
+     * numérico.
+     *
+     * @return the cnpj empacotado
+     */
+    public long getCnpjEmpacotado() {
+        if (cnpjEmpacotado != Cnpj.NAO_E_CNPJ) {
+            return cnpjEmpacotado;
+        }
+        String texto = getCnpj();
+        return texto == null ? Cnpj.NAO_E_CNPJ : Cnpj.valorDe(texto);
+    }
+
+    /**
+     * Determina um valor para o CNPJ; 14 dígitos sem máscara são guardados empacotados em um {@code long}.
      *
      * @param cnpj the new cnpj
      */
     public void setCnpj(String cnpj) {
-        this.cnpj = cnpj;
+        long valor = cnpj != null && cnpj.length() == CnpjValidator.TAMANHO ? Cnpj.valorDe(cnpj) : Cnpj.NAO_E_CNPJ;
+        this.cnpjEmpacotado = valor;
+        this.cnpj = valor == Cnpj.NAO_E_CNPJ ? cnpj : null;
+        this.alteracoes |= ALTERACAO_CNPJ;
     }
 
     /**
@@ -176,12 +261,54 @@ public class Empresa {
     }
 
     /**
-     * Determina um valor para proprietário e chama um método de validação.
+     * Determina um valor para proprietário e avisa os {@link OuvinteDeNomes}.
      *
      * @param proprietario the new proprietario
      */
     public void setProprietario(String proprietario) {
         this.proprietario = proprietario;
+        this.alteracoes |= ALTERACAO_PROPRIETARIO;
+        avisaOuvintesDeNomes();
+    }
+
+    /**
+     * Passa a avisar o ouvinte das alterações de razão social e proprietário.
+     *
+     * @param ouvinte the ouvinte
+     * @return false se o ouvinte já estava registrado
+     */
+    public synchronized boolean adicionaOuvinteDeNomes(OuvinteDeNomes ouvinte) {
+        checkNotNull(ouvinte, "O ouvinte deve ser preenchido.");
+        OuvinteDeNomes[] novos = inclui(ouvintesDeNomes, ouvinte);
+        if (novos == null) {
+            return false;
+        }
+        ouvintesDeNomes = novos;
+        return true;
+    }
+
+    /**
+     * Deixa de avisar o ouvinte das alterações de razão social e proprietário.
+     *
+     * @param ouvinte the ouvinte
+     * @return false se o ouvinte não estava registrado
+     */
+    public synchronized boolean removeOuvinteDeNomes(OuvinteDeNomes ouvinte) {
+        OuvinteDeNomes[] novos = retira(ouvintesDeNomes, ouvinte);
+        if (novos == null) {
+            return false;
+        }
+        ouvintesDeNomes = novos;
+        return true;
+    }
+
+    /**
+     * Avisa os ouvintes de nomes.
+     */
+    private void avisaOuvintesDeNomes() {
+        for(OuvinteDeNomes ouvinte : ouvintesDeNomes) {
+            ouvinte.nomesAlterados(this);
+        }
     }
 
     /**
@@ -200,6 +327,7 @@ public class Empresa {
      */
     public void setEmail(String email) {
         this.email = email;
+        this.alteracoes |= ALTERACAO_EMAIL;
     }
 
     /**
@@ -212,12 +340,13 @@ public class Empresa {
     }
 
     /**
-     * Determina referências de Endereços e chama um método de validação.
+     * Determina os endereços, copiando as referências para um {@link SmallSet}.
      *
      * @param enderecos the new enderecos
      */
     public void setEnderecos(Set<Endereco> enderecos) {
-        this.enderecos = enderecos;
+        this.enderecos = enderecos == null ? null : new SmallSet<Endereco>(enderecos);
+        this.alteracoes |= ALTERACAO_ENDERECOS;
     }
 
     /**
@@ -230,12 +359,85 @@ public class Empresa {
     }
 
     /**
-     * Determina referências de Telefones e chama um método de validação.
+     * Determina os telefones, copiando-os para um {@link TelefoneSet} (um {@code long} por telefone), e avisa os
+     * {@link OuvinteDeTelefones}.
      *
      * @param telefones the new telefones
      */
     public void setTelefones(Set<Telefone> telefones) {
-        this.telefones = telefones;
+        Set<Telefone> anteriores = this.telefones;
+        this.telefones = telefones == null ? null : new TelefoneSet(telefones);
+        this.alteracoes |= ALTERACAO_TELEFONES;
+        for(OuvinteDeTelefones ouvinte : ouvintes) {
+            ouvinte.telefonesAlterados(this, anteriores);
+        }
+    }
+
+    /**
+     * Passa a avisar o ouvinte das trocas de telefones.
+     *
+     * @param ouvinte the ouvinte
+     * @return false se o ouvinte já estava registrado
+     */
+    public synchronized boolean adicionaOuvinte(OuvinteDeTelefones ouvinte) {
+        checkNotNull(ouvinte, "O ouvinte deve ser preenchido.");
+        OuvinteDeTelefones[] novos = inclui(ouvintes, ouvinte);
+        if (novos == null) {
+            return false;
+        }
+        ouvintes = novos;
+        return true;
+    }
+
+    /**
+     * Deixa de avisar o ouvinte.
+     *
+     * @param ouvinte the ouvinte
+     * @return false se o ouvinte não estava registrado
+     */
+    public synchronized boolean removeOuvinte(OuvinteDeTelefones ouvinte) {
+        OuvinteDeTelefones[] novos = retira(ouvintes, ouvinte);
+        if (novos == null) {
+            return false;
+        }
+        ouvintes = novos;
+        return true;
+    }
+
+    /**
+     * Cópia dos ouvintes com mais um no fim.
+     *
+     * @param atuais the atuais
+     * @param ouvinte the ouvinte
+     * @return a cópia, ou null se o ouvinte já estava entre os atuais
+     */
+    private static <T> T[] inclui(T[] atuais, T ouvinte) {
+        for(T atual : atuais) {
+            if (atual == ouvinte) {
+                return null;
+            }
+        }
+        T[] novos = Arrays.copyOf(atuais, atuais.length + 1);
+        novos[atuais.length] = ouvinte;
+        return novos;
+    }
+
+    /**
+     * Cópia dos ouvintes sem o informado.
+     *
+     * @param atuais the atuais
+     * @param ouvinte the ouvinte
+     * @return a cópia, ou null se o ouvinte não estava entre os atuais
+     */
+    private static <T> T[] retira(T[] atuais, T ouvinte) {
+        for(int i = 0; i < atuais.length; i++) {
+            if (atuais[i] == ouvinte) {
+                T[] novos = Arrays.copyOf(atuais, atuais.length - 1);
+                System.arraycopy(atuais, i + 1, novos, i, novos.length - i);
+                return novos;
+            }
+        }
+        return null;
     }
 
     /**
@@ -248,12 +450,13 @@ public class Empresa {
     }
 
     /**
-     * Determina um valor para site e chama um método de validação.
+     * Determina um valor para site, guardando a instância compartilhada de {@link Dicionarios#SITES}.
      *
      * @param site the new site
      */
     public void setSite(String site) {
-        this.site = site;
+        this.site = Dicionarios.SITES.canonico(site);
+        this.alteracoes |= ALTERACAO_SITE;
     }
 
     /**
@@ -261,20 +464,35 @@ public class Empresa {
      *
      * @return the data de criacao
      */
+    @NotNull(message = "A data de criação deve ser preenchida.")
     public LocalDate getDataDeCriacao() {
-        return dataDeCriacao;
+        return DiaDaEpoca.data(diaDeCriacao);
     }
 
     /**
-     * Determina um data de criação, chama um método de validação e depois um método de conversão de leitura da data ao usuário.
+     * Determina um data de criação, que deve ser a de hoje no {@link RelogioDeDias#doSistema() relógio do sistema}.
      *
      * @param dataDeCriacao the new data de criacao
      */
     public void setDataDeCriacao(LocalDate dataDeCriacao) {
+        setDataDeCriacao(dataDeCriacao, RelogioDeDias.doSistema());
+    }
+
+    /**
+     * Determina um data de criação, que deve ser a de hoje no relógio informado.
+     *
+     * @param dataDeCriacao the new data de criacao
+     * @param relogio the relogio
+     */
+    public void setDataDeCriacao(LocalDate dataDeCriacao, RelogioDeDias relogio) {
         checkNotNull(dataDeCriacao, "A data de criação deve ser preenchida.");
-        verificaSeDataDeCriacaoEAnterior(dataDeCriacao);
-        verificaSeDataDeCriacaoEPosterior(dataDeCriacao);
-        this.dataDeCriacao = dataDeCriacao;
+        checkNotNull(relogio, "O relógio deve ser preenchido.");
+        int dia = DiaDaEpoca.de(dataDeCriacao);
+        int hoje = relogio.hoje();
+        checkArgument(dia >= hoje, "Data de criação informada não pode ser anterior à data atual.");
+        checkArgument(dia <= hoje, "Data de criação informada não pode ser posterior à data atual.");
+        this.diaDeCriacao = dia;
+        this.alteracoes |= ALTERACAO_DATA_DE_CRIACAO | ALTERACAO_DATA_DE_ALTERACAO;
     }
 
     /**
@@ -282,20 +500,56 @@ public class Empresa {
      *
      * @return the data de alteracao
      */
+    @NotNull(message = "A data de alteração deve ser preenchida.")
+    @Future(message = "A data de alteração deve ser posterior à data de criação.")
     public LocalDate getDataDeAlteracao() {
-        return dataDeAlteracao;
+        return DiaDaEpoca.data(diaDeAlteracao);
     }
 
     /**
-     * Determina um data de alteração, chama um método de validação e depois um método de conversão de leitura da data ao usuário.
+     * Determina um data de alteração, que deve ser posterior à data de criação.
      *
      * @param dataDeAlteracao the new data de alteracao
      */
     public void setDataDeAlteracao(LocalDate dataDeAlteracao) {
         checkNotNull(dataDeAlteracao, "A data de alteração deve ser preenchida.");
-        verificaSeDataDeAlteracaoEAnteriorACriacao(dataDeAlteracao);
-        verificaSeDataDeAlteracaoEPosteriorACriacao(dataDeAlteracao);
-        this.dataDeAlteracao = dataDeAlteracao;
+        int dia = DiaDaEpoca.de(dataDeAlteracao);
+        checkState(diaDeCriacao != DiaDaEpoca.SEM_DATA && dia > diaDeCriacao, "A data de alteração deve ser posterior à data de criação.");
+        this.diaDeAlteracao = dia;
+        this.alteracoes |= ALTERACAO_DATA_DE_ALTERACAO;
+    }
+
+    // Propriedades alteradas
+
+    /**
+     * Propriedades alteradas desde a última revalidação. Alterar a data de criação também marca a data de alteração, que é
+     * comparada com ela. Endereços e telefones incluídos ou retirados direto na coleção devolvida pelo getter também contam, pela
+     * contagem de alterações da coleção.
+     *
+     * @return the int
+     */
+    @Override
+    public int dirtyProperties() {
+        int alteradas = alteracoes;
+        if (foiAlterada(enderecos, modificacoesDosEnderecos)) {
+            alteradas |= ALTERACAO_ENDERECOS;
+        }
+        if (foiAlterada(telefones, modificacoesDosTelefones)) {
+            alteradas |= ALTERACAO_TELEFONES;
+        }
+        return alteradas;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.validation.DirtyTracked#markClean()
+     */
+    @Override
+    public void markClean() {
+        this.alteracoes = 0;
+        this.modificacoesDosEnderecos = modificacoesDe(enderecos);
+        this.modificacoesDosTelefones = modificacoesDe(telefones);
     }
 
     // Formatação das datas
@@ -308,8 +562,7 @@ public class Empresa {
      */
     public String converteDataDeCriacao(LocalDate dataDeCriacao) {
         checkNotNull(dataDeCriacao, "A data de criação deve ser preenchida.");
-        DateTimeFormatter dtf = DateTimeFormat.forPattern("dd/MM/yyyy");
-        return dataDeCriacao.toString(dtf);
+        return dataDeCriacao.toString(Renderizador.FORMATO_DE_DATA);
     }
 
     /**
@@ -320,8 +573,7 @@ public class Empresa {
      */
     public String converteDataDeAlteracao(LocalDate dataDeAlteracao) {
         checkNotNull(dataDeAlteracao, "A data de alteração deve ser preenchida.");
-        DateTimeFormatter dtf = DateTimeFormat.forPattern("dd/MM/yyyy");
-        return dataDeAlteracao.toString(dtf);
+        return dataDeAlteracao.toString(Renderizador.FORMATO_DE_DATA);
     }
 
     // verificação das datas
@@ -331,7 +583,7 @@ public class Empresa {
      * @param dataDeCriacao the data de criacao
      */
     public void verificaSeDataDeCriacaoEAnterior(LocalDate dataDeCriacao) {
-        checkArgument(!dataDeCriacao.isBefore(LocalDate.now()), "Data de criação informada não pode ser anterior à data atual.");
+        checkArgument(DiaDaEpoca.de(dataDeCriacao) >= RelogioDeDias.doSistema().hoje(), "Data de criação informada não pode ser anterior à data atual.");
     }
 
     /**
@@ -340,7 +592,7 @@ public class Empresa {
      * @param dataDeCriacao the data de criacao
      */
     public void verificaSeDataDeCriacaoEPosterior(LocalDate dataDeCriacao) {
-        checkArgument(!dataDeCriacao.isAfter(LocalDate.now()), "Data de criação informada não pode ser posterior à data atual.");
+        checkArgument(DiaDaEpoca.de(dataDeCriacao) <= RelogioDeDias.doSistema().hoje(), "Data de criação informada não pode ser posterior à data atual.");
     }
 
     /**
@@ -349,7 +601,7 @@ public class Empresa {
      * @param dataDeAlteracao the data de alteracao
      */
     public void verificaSeDataDeAlteracaoEAnteriorACriacao(LocalDate dataDeAlteracao) {
-        checkState(dataDeAlteracao.isAfter(getDataDeCriacao()), "A data de alteração deve ser posterior à data de criação.");
+        checkState(diaDeCriacao != DiaDaEpoca.SEM_DATA && DiaDaEpoca.de(dataDeAlteracao) > diaDeCriacao, "A data de alteração deve ser posterior à data de criação.");
     }
 
     /**
@@ -358,7 +610,7 @@ public class Empresa {
      * @param dataDeAlteracao the data de alteracao
      */
     public void verificaSeDataDeAlteracaoEPosteriorACriacao(LocalDate dataDeAlteracao) {
-        checkState(dataDeAlteracao.isBefore(getDataDeCriacao()), "A data de alteração deve ser posterior à data de criação.");
+        checkState(DiaDaEpoca.de(dataDeAlteracao) < diaDeCriacao, "A data de alteração deve ser posterior à data de criação.");
     }
 
     // Equals, HashCode e toString
@@ -370,7 +622,7 @@ public class Empresa {
      */
     @Override
     public int hashCode() {
-        return new HashCodeBuilder().append(this.cnpj).toHashCode();
+        return HASH_INICIAL * HASH_MULTIPLICADOR + hashDoCnpj();
     }
 
     /*
@@ -384,7 +636,12 @@ public class Empresa {
             return false;
         }
         Empresa outra = (Empresa) obj;
-        return new EqualsBuilder().append(this.cnpj, outra.cnpj).isEquals();
+        if (cnpjEmpacotado != Cnpj.NAO_E_CNPJ && outra.cnpjEmpacotado != Cnpj.NAO_E_CNPJ) {
+            return cnpjEmpacotado == outra.cnpjEmpacotado;
+        }
+        String texto = getCnpj();
+        String outro = outra.getCnpj();
+        return texto == null ? outro == null : texto.equals(outro);
     }
 
     /*
@@ -394,10 +651,49 @@ public class Empresa {
      */
     @Override
     public String toString() {
-        return new ToStringBuilder(this, MULTI_LINE_STYLE).append("Razão social: ", razaoSocial).append("Proprietário: ", proprietario).append("CNPJ", cnpj).append("Endereço: ", enderecos.toArray())
-                .append("Telefone: ", telefones.toArray()).append("Email: ", email).append("Site: ", site)
-                .append("Data de criação: ", (converteDataDeCriacao(dataDeCriacao) != null) ? converteDataDeCriacao(dataDeCriacao) : null)
-                .append("Data de alteração: ", (converteDataDeAlteracao(dataDeAlteracao) != null) ? converteDataDeAlteracao(dataDeAlteracao) : null).build();
+        return Renderizador.renderiza(this, EstiloDeTexto.MULTIPLAS_LINHAS, new StringBuilder(512)).toString();
+    }
+
+    // Auxiliares
+
+    /**
+     * Verifica se a coleção foi alterada desde a contagem informada. Os setters sempre guardam coleções que contam as alterações;
+     * as atribuídas por fora (por reflexão) não são verificadas.
+     *
+     * @param colecao the colecao
+     * @param modificacoes the modificacoes
+     * @return true, if successful
+     */
+    private static boolean foiAlterada(Set<?> colecao, int modificacoes) {
+        return colecao instanceof ModificationCounted && ((ModificationCounted) colecao).modificationCount() != modificacoes;
+    }
+
+    /**
+     * Contagem de alterações da coleção, ou zero se ela não contar as alterações.
+     *
+     * @param colecao the colecao
+     * @return the int
+     */
+    private static int modificacoesDe(Set<?> colecao) {
+        return colecao instanceof ModificationCounted ? ((ModificationCounted) colecao).modificationCount() : 0;
+    }
+
+    /**
+     * Calcula o {@link String#hashCode()} do CNPJ sem montar o texto quando ele está empacotado.
+     *
+     * @return the int
+     */
+    private int hashDoCnpj() {
+        if (cnpjEmpacotado == Cnpj.NAO_E_CNPJ) {
+            String texto = getCnpj();
+            return texto == null ? 0 : texto.hashCode();
+        }
+        int hash = 0;
+        long divisor = (CnpjValidator.MAIOR_CNPJ + 1) / 10;
+        for(int i = 0; i < CnpjValidator.TAMANHO; i++, divisor /= 10) {
+            hash = 31 * hash + (char) ('0' + cnpjEmpacotado / divisor % 10);
+        }
+        return hash;
     }
 
 }
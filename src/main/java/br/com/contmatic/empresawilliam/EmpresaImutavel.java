@@ -0,0 +1,448 @@
+package br.com.contmatic.empresawilliam;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collection;
+
+import org.joda.time.LocalDate;
+
+/**
+ * The Class EmpresaImutavel.
+ *
+ * Retrato imutável de uma {@link Empresa}, criado por {@link #de(Empresa)} ou pelo {@link Builder}. Os endereços e os telefones
+ * também são retratos ({@link EnderecoImutavel} e {@link TelefoneImutavel}) e ficam em {@link PersistentSet}s: um builder tirado de
+ * um retrato ({@link #toBuilder()}) começa com os mesmos conjuntos, e acrescentar ou retirar um endereço ou telefone copia só o
+ * caminho alterado, compartilhando o restante com o retrato anterior.
+ *
+ * Todos os campos são finais, então um retrato pode ser lido por qualquer thread sem trava nem cópia, e uma nova versão pode ser
+ * publicada trocando uma única referência (um campo {@code volatile} ou um {@code AtomicReference}). Como a {@link Empresa}, a
+ * igualdade é só pelo CNPJ.
+ */
+public final class EmpresaImutavel {
+
+    /** Valor inicial do hash, o mesmo de {@link Empresa#hashCode()}. */
+    private final static int HASH_INICIAL = 17;
+
+    /** The Constant HASH_MULTIPLICADOR. */
+    private final static int HASH_MULTIPLICADOR = 37;
+
+    // Variáveis
+
+    /** The cnpj. */
+    private final String cnpj;
+
+    /** The razao social. */
+    private final String razaoSocial;
+
+    /** The proprietario. */
+    private final String proprietario;
+
+    /** The email. */
+    private final String email;
+
+    /** The enderecos. */
+    private final PersistentSet<EnderecoImutavel> enderecos;
+
+    /** The telefones. */
+    private final PersistentSet<TelefoneImutavel> telefones;
+
+    /** The site. */
+    private final String site;
+
+    /** A data de criação, em dias desde 01/01/1970 ({@link DiaDaEpoca#SEM_DATA} se não preenchida). */
+    private final int diaDeCriacao;
+
+    /** A data de alteração, em dias desde 01/01/1970 ({@link DiaDaEpoca#SEM_DATA} se não preenchida). */
+    private final int diaDeAlteracao;
+
+    /**
+     * Instantiates a new empresa imutavel.
+     *
+     * @param builder the builder
+     */
+    private EmpresaImutavel(Builder builder) {
+        this.cnpj = builder.cnpj;
+        this.razaoSocial = builder.razaoSocial;
+        this.proprietario = builder.proprietario;
+        this.email = builder.email;
+        this.enderecos = builder.enderecos;
+        this.telefones = builder.telefones;
+        this.site = builder.site;
+        this.diaDeCriacao = builder.diaDeCriacao;
+        this.diaDeAlteracao = builder.diaDeAlteracao;
+    }
+
+    // Criação
+
+    /**
+     * Retrato da empresa no estado atual, com retratos dos endereços e telefones. Deve ser chamado pela thread que altera a empresa,
+     * ou com as alterações dela suspensas.
+     *
+     * @param empresa the empresa
+     * @return the empresa imutavel
+     */
+    public static EmpresaImutavel de(Empresa empresa) {
+        checkNotNull(empresa, "A empresa deve ser preenchida.");
+        Builder builder = builder().cnpj(empresa.getCnpj()).razaoSocial(empresa.getRazaoSocial()).proprietario(empresa.getProprietario())
+                .email(empresa.getEmail()).site(empresa.getSite()).dataDeCriacao(empresa.getDataDeCriacao())
+                .dataDeAlteracao(empresa.getDataDeAlteracao());
+        if (empresa.getEnderecos() != null) {
+            for(Endereco endereco : empresa.getEnderecos()) {
+                builder.adicionaEndereco(EnderecoImutavel.de(endereco));
+            }
+        }
+        if (empresa.getTelefones() != null) {
+            for(Telefone telefone : empresa.getTelefones()) {
+                builder.adicionaTelefone(TelefoneImutavel.de(telefone));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Builder vazio.
+     *
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder com os valores e os mesmos conjuntos de endereços e telefones deste retrato.
+     *
+     * @return the builder
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder().cnpj(cnpj).razaoSocial(razaoSocial).proprietario(proprietario).email(email).site(site);
+        builder.enderecos = enderecos;
+        builder.telefones = telefones;
+        builder.diaDeCriacao = diaDeCriacao;
+        builder.diaDeAlteracao = diaDeAlteracao;
+        return builder;
+    }
+
+    // Getters
+
+    /**
+     * Obtém o CNPJ.
+     *
+     * @return the cnpj
+     */
+    public String getCnpj() {
+        return cnpj;
+    }
+
+    /**
+     * Obtém o CNPJ na forma compacta ({@link Cnpj}), ou nulo se o CNPJ não tiver 14 dígitos numéricos.
+     *
+     * @return the cnpj numerico
+     */
+    public Cnpj getCnpjNumerico() {
+        return Cnpj.tryParse(cnpj);
+    }
+
+    /**
+     * Obtém a razão social.
+     *
+     * @return the razao social
+     */
+    public String getRazaoSocial() {
+        return razaoSocial;
+    }
+
+    /**
+     * Obtém o proprietário.
+     *
+     * @return the proprietario
+     */
+    public String getProprietario() {
+        return proprietario;
+    }
+
+    /**
+     * Obtém email.
+     *
+     * @return the email
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Obtém os endereços, em um conjunto imutável.
+     *
+     * @return the enderecos
+     */
+    public PersistentSet<EnderecoImutavel> getEnderecos() {
+        return enderecos;
+    }
+
+    /**
+     * Obtém os telefones, em um conjunto imutável.
+     *
+     * @return the telefones
+     */
+    public PersistentSet<TelefoneImutavel> getTelefones() {
+        return telefones;
+    }
+
+    /**
+     * Obtém site.
+     *
+     * @return the site
+     */
+    public String getSite() {
+        return site;
+    }
+
+    /**
+     * Obtém data de criação.
+     *
+     * @return a data, ou null se não preenchida
+     */
+    public LocalDate getDataDeCriacao() {
+        return DiaDaEpoca.data(diaDeCriacao);
+    }
+
+    /**
+     * Obtém data de alteração.
+     *
+     * @return a data, ou null se não preenchida
+     */
+    public LocalDate getDataDeAlteracao() {
+        return DiaDaEpoca.data(diaDeAlteracao);
+    }
+
+    // Equals, HashCode e toString
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode() {
+        return HASH_INICIAL * HASH_MULTIPLICADOR + (cnpj == null ? 0 : cnpj.hashCode());
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#equals(java.lang.Object)
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof EmpresaImutavel)) {
+            return false;
+        }
+        String outro = ((EmpresaImutavel) obj).cnpj;
+        return cnpj == null ? outro == null : cnpj.equals(outro);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "EmpresaImutavel[cnpj=" + cnpj + ", razaoSocial=" + razaoSocial + ", enderecos=" + enderecos.size() + ", telefones="
+                + telefones.size() + "]";
+    }
+
+    /**
+     * Monta uma {@link EmpresaImutavel}. Os endereços e os telefones são acumulados em {@link PersistentSet}s, que a empresa montada
+     * recebe sem cópia. Não é thread-safe; a empresa montada é.
+     */
+    public static final class Builder {
+
+        /** The cnpj. */
+        private String cnpj;
+
+        /** The razao social. */
+        private String razaoSocial;
+
+        /** The proprietario. */
+        private String proprietario;
+
+        /** The email. */
+        private String email;
+
+        /** The enderecos. */
+        private PersistentSet<EnderecoImutavel> enderecos = PersistentSet.vazio();
+
+        /** The telefones. */
+        private PersistentSet<TelefoneImutavel> telefones = PersistentSet.vazio();
+
+        /** The site. */
+        private String site;
+
+        /** The dia de criacao. */
+        private int diaDeCriacao = DiaDaEpoca.SEM_DATA;
+
+        /** The dia de alteracao. */
+        private int diaDeAlteracao = DiaDaEpoca.SEM_DATA;
+
+        /**
+         * Instantiates a new builder.
+         */
+        private Builder() {
+
+        }
+
+        /**
+         * CNPJ.
+         *
+         * @param cnpj the cnpj
+         * @return the builder
+         */
+        public Builder cnpj(String cnpj) {
+            this.cnpj = cnpj;
+            return this;
+        }
+
+        /**
+         * Razão social.
+         *
+         * @param razaoSocial the razao social
+         * @return the builder
+         */
+        public Builder razaoSocial(String razaoSocial) {
+            this.razaoSocial = razaoSocial;
+            return this;
+        }
+
+        /**
+         * Proprietário.
+         *
+         * @param proprietario the proprietario
+         * @return the builder
+         */
+        public Builder proprietario(String proprietario) {
+            this.proprietario = proprietario;
+            return this;
+        }
+
+        /**
+         * Email.
+         *
+         * @param email the email
+         * @return the builder
+         */
+        public Builder email(String email) {
+            this.email = email;
+            return this;
+        }
+
+        /**
+         * Site, guardando a instância compartilhada de {@link Dicionarios#SITES}.
+         *
+         * @param site the site
+         * @return the builder
+         */
+        public Builder site(String site) {
+            this.site = Dicionarios.SITES.canonico(site);
+            return this;
+        }
+
+        /**
+         * Data de criação.
+         *
+         * @param dataDeCriacao a data, ou null
+         * @return the builder
+         */
+        public Builder dataDeCriacao(LocalDate dataDeCriacao) {
+            this.diaDeCriacao = DiaDaEpoca.de(dataDeCriacao);
+            return this;
+        }
+
+        /**
+         * Data de alteração.
+         *
+         * @param dataDeAlteracao a data, ou null
+         * @return the builder
+         */
+        public Builder dataDeAlteracao(LocalDate dataDeAlteracao) {
+            this.diaDeAlteracao = DiaDaEpoca.de(dataDeAlteracao);
+            return this;
+        }
+
+        /**
+         * Troca todos os endereços.
+         *
+         * @param enderecos the enderecos
+         * @return the builder
+         */
+        public Builder enderecos(Collection<EnderecoImutavel> enderecos) {
+            this.enderecos = PersistentSet.de(enderecos);
+            return this;
+        }
+
+        /**
+         * Acrescenta um endereço.
+         *
+         * @param endereco the endereco
+         * @return the builder
+         */
+        public Builder adicionaEndereco(EnderecoImutavel endereco) {
+            this.enderecos = enderecos.com(endereco);
+            return this;
+        }
+
+        /**
+         * Retira um endereço.
+         *
+         * @param endereco the endereco
+         * @return the builder
+         */
+        public Builder removeEndereco(EnderecoImutavel endereco) {
+            this.enderecos = enderecos.sem(endereco);
+            return this;
+        }
+
+        /**
+         * Troca todos os telefones.
+         *
+         * @param telefones the telefones
+         * @return the builder
+         */
+        public Builder telefones(Collection<TelefoneImutavel> telefones) {
+            this.telefones = PersistentSet.de(telefones);
+            return this;
+        }
+
+        /**
+         * Acrescenta um telefone.
+         *
+         * @param telefone the telefone
+         * @return the builder
+         */
+        public Builder adicionaTelefone(TelefoneImutavel telefone) {
+            this.telefones = telefones.com(telefone);
+            return this;
+        }
+
+        /**
+         * Retira um telefone.
+         *
+         * @param telefone the telefone
+         * @return the builder
+         */
+        public Builder removeTelefone(TelefoneImutavel telefone) {
+            this.telefones = telefones.sem(telefone);
+            return this;
+        }
+
+        /**
+         * Build.
+         *
+         * @return the empresa imutavel
+         */
+        public EmpresaImutavel build() {
+            return new EmpresaImutavel(this);
+        }
+
+    }
+
+}
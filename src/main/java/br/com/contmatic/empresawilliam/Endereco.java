@@ -1,7 +1,5 @@
 package br.com.contmatic.empresawilliam;
 
-import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
-
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
@@ -9,15 +7,20 @@ import javax.validation.constraints.Pattern;
 
 import org.apache.commons.lang.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
-import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.hibernate.validator.constraints.Length;
 import org.hibernate.validator.constraints.NotBlank;
 import org.hibernate.validator.constraints.NotEmpty;
 
+import br.com.contmatic.empresawilliam.render.EstiloDeTexto;
+import br.com.contmatic.empresawilliam.render.Renderizador;
+import br.com.contmatic.empresawilliam.validation.CompiledValidation;
+import br.com.contmatic.empresawilliam.validation.DirtyTracked;
+
 /**
  * The Class Endereco.
  */
-public class Endereco {
+@CompiledValidation
+public class Endereco implements DirtyTracked {
 
     // Constantes
 
@@ -30,6 +33,21 @@ public class Endereco {
     /** The Constant TAMANHO_NOME_DE_LOGRADOURO_MAXIMO. */
     public final static int TAMANHO_NOME_DE_LOGRADOURO_MAXIMO = 30;
 
+    /** Alteração do número de endereço. */
+    static final int ALTERACAO_NUMERO_ENDERECO = 1 << 0;
+
+    /** Alteração do tipo de logradouro. */
+    static final int ALTERACAO_TIPO_LOGRADOURO = 1 << 1;
+
+    /** Alteração do nome de logradouro. */
+    static final int ALTERACAO_NOME_LOGRADOURO = 1 << 2;
+
+    /** Alteração do CEP. */
+    static final int ALTERACAO_CEP = 1 << 3;
+
+    /** Alteração do tipo de endereço. */
+    static final int ALTERACAO_TIPO_ENDERECO = 1 << 4;
+
     // Variáveis
 
     /** The numero endereco. */
@@ -63,6 +81,9 @@ public class Endereco {
     @NotNull(message = "O tipo de endereço deve ser preenchido.")
     private EnderecoType tipoEndereco;
 
+    /** Propriedades alteradas pelos setters desde a última revalidação. */
+    private transient int alteracoes;
+
     // getters e setters
 
     /**
@@ -75,12 +96,13 @@ public class Endereco {
     }
 
     /**
-     * Determina um valor para tipo de logradouro e chama um método de validação.
+     * Determina um valor para tipo de logradouro, guardando a instância compartilhada de {@link Dicionarios#TIPOS_DE_LOGRADOURO}.
      *
      * @param tipoLogradouro the new tipo logradouro
      */
     public void setTipoLogradouro(String tipoLogradouro) {
-        this.tipoLogradouro = tipoLogradouro;
+        this.tipoLogradouro = Dicionarios.TIPOS_DE_LOGRADOURO.canonico(tipoLogradouro);
+        this.alteracoes |= ALTERACAO_TIPO_LOGRADOURO;
     }
 
     /**
@@ -99,6 +121,7 @@ public class Endereco {
      */
     public void setNomeLogradouro(String nomeLogradouro) {
         this.nomeLogradouro = nomeLogradouro;
+        this.alteracoes |= ALTERACAO_NOME_LOGRADOURO;
     }
 
     /**
@@ -117,6 +140,7 @@ public class Endereco {
      */
     public void setNumeroEndereco(int numeroEndereco) {
         this.numeroEndereco = numeroEndereco;
+        this.alteracoes |= ALTERACAO_NUMERO_ENDERECO;
     }
 
     /**
@@ -135,6 +159,7 @@ public class Endereco {
      */
     public void setCep(String cep) {
         this.cep = cep;
+        this.alteracoes |= ALTERACAO_CEP;
     }
 
     /**
@@ -153,6 +178,29 @@ public class Endereco {
      */
     public void setTipoEndereco(EnderecoType tipoEndereco) {
         this.tipoEndereco = tipoEndereco;
+        this.alteracoes |= ALTERACAO_TIPO_ENDERECO;
+    }
+
+    // Propriedades alteradas
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.validation.DirtyTracked#dirtyProperties()
+     */
+    @Override
+    public int dirtyProperties() {
+        return alteracoes;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.validation.DirtyTracked#markClean()
+     */
+    @Override
+    public void markClean() {
+        this.alteracoes = 0;
     }
 
     // Equals, HashCode e toString
@@ -164,7 +212,7 @@ public class Endereco {
      */
     @Override
     public int hashCode() {
-        return new HashCodeBuilder().append(this.cep).append(this.numeroEndereco).toHashCode();
+        return new HashCodeBuilder().append(getCep()).append(getNumeroEndereco()).toHashCode();
     }
 
     /*
@@ -178,7 +226,7 @@ public class Endereco {
             return false;
         }
         Endereco outro = (Endereco) obj;
-        return new EqualsBuilder().append(this.cep, outro.cep).append(this.numeroEndereco, outro.numeroEndereco).isEquals();
+        return new EqualsBuilder().append(getCep(), outro.getCep()).append(getNumeroEndereco(), outro.getNumeroEndereco()).isEquals();
     }
 
     /*
@@ -188,8 +236,7 @@ public class Endereco {
      */
     @Override
     public String toString() {
-        return new ToStringBuilder(this, MULTI_LINE_STYLE).append("tipo de logradouro: ", this.tipoLogradouro).append("nome de logradouro: ", this.nomeLogradouro)
-                .append("número de endereço: ", this.numeroEndereco).append("CEP: ", this.cep).append("Tipo de endereço: ", this.tipoEndereco).build();
+        return Renderizador.renderiza(this, EstiloDeTexto.MULTIPLAS_LINHAS, new StringBuilder(256)).toString();
     }
 
 }
@@ -0,0 +1,271 @@
+package br.com.contmatic.empresawilliam;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+/**
+ * The Class EnderecoImutavel.
+ *
+ * Retrato imutável de um {@link Endereco}, criado por {@link #de(Endereco)} ou pelo {@link Builder}. A igualdade é a mesma do
+ * {@link Endereco} (CEP e número), mas um retrato nunca é igual a um {@link Endereco} mutável.
+ */
+public final class EnderecoImutavel {
+
+    // Variáveis
+
+    /** The numero endereco. */
+    private final int numeroEndereco;
+
+    /** The tipo logradouro. */
+    private final String tipoLogradouro;
+
+    /** The nome logradouro. */
+    private final String nomeLogradouro;
+
+    /** The cep. */
+    private final String cep;
+
+    /** The tipo endereco. */
+    private final EnderecoType tipoEndereco;
+
+    /**
+     * Instantiates a new endereco imutavel.
+     *
+     * @param builder the builder
+     */
+    private EnderecoImutavel(Builder builder) {
+        this.numeroEndereco = builder.numeroEndereco;
+        this.tipoLogradouro = builder.tipoLogradouro;
+        this.nomeLogradouro = builder.nomeLogradouro;
+        this.cep = builder.cep;
+        this.tipoEndereco = builder.tipoEndereco;
+    }
+
+    // Criação
+
+    /**
+     * Retrato do endereço no estado atual.
+     *
+     * @param endereco the endereco
+     * @return the endereco imutavel
+     */
+    public static EnderecoImutavel de(Endereco endereco) {
+        checkNotNull(endereco, "O endereço deve ser preenchido.");
+        return builder().numeroEndereco(endereco.getNumeroEndereco()).tipoLogradouro(endereco.getTipoLogradouro())
+                .nomeLogradouro(endereco.getNomeLogradouro()).cep(endereco.getCep()).tipoEndereco(endereco.getTipoEndereco()).build();
+    }
+
+    /**
+     * Builder vazio.
+     *
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder com os valores deste endereço.
+     *
+     * @return the builder
+     */
+    public Builder toBuilder() {
+        return new Builder().numeroEndereco(numeroEndereco).tipoLogradouro(tipoLogradouro).nomeLogradouro(nomeLogradouro).cep(cep)
+                .tipoEndereco(tipoEndereco);
+    }
+
+    /**
+     * Cópia mutável do endereço.
+     *
+     * @return the endereco
+     */
+    public Endereco paraEndereco() {
+        Endereco copia = new Endereco();
+        copia.setNumeroEndereco(numeroEndereco);
+        copia.setTipoLogradouro(tipoLogradouro);
+        copia.setNomeLogradouro(nomeLogradouro);
+        copia.setCep(cep);
+        copia.setTipoEndereco(tipoEndereco);
+        return copia;
+    }
+
+    // Getters
+
+    /**
+     * Obtém número de endereço.
+     *
+     * @return the numero endereco
+     */
+    public int getNumeroEndereco() {
+        return numeroEndereco;
+    }
+
+    /**
+     * Obtém tipo de logradouro.
+     *
+     * @return the tipo logradouro
+     */
+    public String getTipoLogradouro() {
+        return tipoLogradouro;
+    }
+
+    /**
+     * Obtém nome de logradouro.
+     *
+     * @return the nome logradouro
+     */
+    public String getNomeLogradouro() {
+        return nomeLogradouro;
+    }
+
+    /**
+     * Obtém CEP.
+     *
+     * @return the cep
+     */
+    public String getCep() {
+        return cep;
+    }
+
+    /**
+     * Obtém tipo de endereço.
+     *
+     * @return the tipo endereco
+     */
+    public EnderecoType getTipoEndereco() {
+        return tipoEndereco;
+    }
+
+    // Equals, HashCode e toString
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder().append(cep).append(numeroEndereco).toHashCode();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#equals(java.lang.Object)
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof EnderecoImutavel)) {
+            return false;
+        }
+        EnderecoImutavel outro = (EnderecoImutavel) obj;
+        return new EqualsBuilder().append(cep, outro.cep).append(numeroEndereco, outro.numeroEndereco).isEquals();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "EnderecoImutavel[tipoLogradouro=" + tipoLogradouro + ", nomeLogradouro=" + nomeLogradouro + ", numeroEndereco=" + numeroEndereco
+                + ", cep=" + cep + ", tipoEndereco=" + tipoEndereco + "]";
+    }
+
+    /**
+     * Monta um {@link EnderecoImutavel}. Não é thread-safe; o endereço montado é.
+     */
+    public static final class Builder {
+
+        /** The numero endereco. */
+        private int numeroEndereco;
+
+        /** The tipo logradouro. */
+        private String tipoLogradouro;
+
+        /** The nome logradouro. */
+        private String nomeLogradouro;
+
+        /** The cep. */
+        private String cep;
+
+        /** The tipo endereco. */
+        private EnderecoType tipoEndereco;
+
+        /**
+         * Instantiates a new builder.
+         */
+        private Builder() {
+
+        }
+
+        /**
+         * Número de endereço.
+         *
+         * @param numeroEndereco the numero endereco
+         * @return the builder
+         */
+        public Builder numeroEndereco(int numeroEndereco) {
+            this.numeroEndereco = numeroEndereco;
+            return this;
+        }
+
+        /**
+         * Tipo de logradouro, guardando a instância compartilhada de {@link Dicionarios#TIPOS_DE_LOGRADOURO}.
+         *
+         * @param tipoLogradouro the tipo logradouro
+         * @return the builder
+         */
+        public Builder tipoLogradouro(String tipoLogradouro) {
+            this.tipoLogradouro = Dicionarios.TIPOS_DE_LOGRADOURO.canonico(tipoLogradouro);
+            return this;
+        }
+
+        /**
+         * Nome de logradouro.
+         *
+         * @param nomeLogradouro the nome logradouro
+         * @return the builder
+         */
+        public Builder nomeLogradouro(String nomeLogradouro) {
+            this.nomeLogradouro = nomeLogradouro;
+            return this;
+        }
+
+        /**
+         * CEP.
+         *
+         * @param cep the cep
+         * @return the builder
+         */
+        public Builder cep(String cep) {
+            this.cep = cep;
+            return this;
+        }
+
+        /**
+         * Tipo de endereço.
+         *
+         * @param tipoEndereco the tipo endereco
+         * @return the builder
+         */
+        public Builder tipoEndereco(EnderecoType tipoEndereco) {
+            this.tipoEndereco = tipoEndereco;
+            return this;
+        }
+
+        /**
+         * Build.
+         *
+         * @return the endereco imutavel
+         */
+        public EnderecoImutavel build() {
+            return new EnderecoImutavel(this);
+        }
+
+    }
+
+}
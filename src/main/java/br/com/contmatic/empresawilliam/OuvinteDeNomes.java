@@ -0,0 +1,18 @@
+package br.com.contmatic.empresawilliam;
+
+/**
+ * The Interface OuvinteDeNomes.
+ *
+ * Recebe as alterações da razão social e do proprietário de uma {@link Empresa} feitas pelos setters, para manter atualizados os
+ * índices de busca por nome. É chamado na thread que fez a alteração, logo depois dela.
+ */
+public interface OuvinteDeNomes {
+
+    /**
+     * A razão social ou o proprietário da empresa foi alterado.
+     *
+     * @param empresa the empresa
+     */
+    void nomesAlterados(Empresa empresa);
+
+}
@@ -0,0 +1,21 @@
+package br.com.contmatic.empresawilliam;
+
+import java.util.Set;
+
+/**
+ * The Interface OuvinteDeTelefones.
+ *
+ * Recebe as trocas de telefones de uma {@link Empresa} feitas por {@link Empresa#setTelefones(Set)}, para manter atualizados os
+ * índices que dependem deles. É chamado na thread que fez a troca, logo depois dela.
+ */
+public interface OuvinteDeTelefones {
+
+    /**
+     * Os telefones da empresa foram trocados.
+     *
+     * @param empresa the empresa
+     * @param anteriores os telefones anteriores, ou null
+     */
+    void telefonesAlterados(Empresa empresa, Set<Telefone> anteriores);
+
+}
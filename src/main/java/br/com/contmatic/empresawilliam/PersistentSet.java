@@ -0,0 +1,457 @@
+package br.com.contmatic.empresawilliam;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The Class PersistentSet.
+ *
+ * Conjunto imutável e persistente: {@link #com(Object)} e {@link #sem(Object)} devolvem um novo conjunto e deixam o atual como
+ * está. Os elementos ficam em uma árvore de espalhamento (hash array mapped trie) de 32 ramos por nó, escolhidos por 5 bits do
+ * hash a cada nível; uma alteração copia apenas os nós do caminho até o elemento, e o restante da árvore é compartilhado entre
+ * as versões. Cada nó guarda só os ramos ocupados, indicados por um mapa de bits. Hashes iguais em todos os 32 bits terminam em
+ * um nó de colisão, percorrido linearmente.
+ *
+ * Por ser imutável, pode ser lido por qualquer thread sem trava depois de publicado. Não aceita o elemento nulo; a ordem de
+ * iteração é a dos hashes, não a de inserção.
+ *
+ * @param <E> the element type
+ */
+public final class PersistentSet<E> extends AbstractSet<E> {
+
+    /** Bits do hash usados por nível. */
+    private static final int BITS = 5;
+
+    /** The Constant MASCARA. */
+    private static final int MASCARA = (1 << BITS) - 1;
+
+    /** Profundidade máxima: 7 níveis de ramos e o nó de colisão. */
+    private static final int PROFUNDIDADE_MAXIMA = (Integer.SIZE + BITS - 1) / BITS + 1;
+
+    /** The Constant VAZIO. */
+    private static final PersistentSet<Object> VAZIO = new PersistentSet<Object>(new No(0, new Object[0]), 0);
+
+    // Variáveis
+
+    /** The raiz. */
+    private final No raiz;
+
+    /** The quantidade. */
+    private final int quantidade;
+
+    /**
+     * Instantiates a new persistent set.
+     *
+     * @param raiz the raiz
+     * @param quantidade the quantidade
+     */
+    private PersistentSet(No raiz, int quantidade) {
+        this.raiz = raiz;
+        this.quantidade = quantidade;
+    }
+
+    // Criação
+
+    /**
+     * O conjunto vazio.
+     *
+     * @param <E> the element type
+     * @return the persistent set
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentSet<E> vazio() {
+        return (PersistentSet<E>) VAZIO;
+    }
+
+    /**
+     * Conjunto com os elementos informados. Se já for um {@link PersistentSet}, é devolvido sem cópia.
+     *
+     * @param <E> the element type
+     * @param elementos the elementos
+     * @return the persistent set
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentSet<E> de(Collection<? extends E> elementos) {
+        checkNotNull(elementos, "Os elementos devem ser preenchidos.");
+        if (elementos instanceof PersistentSet) {
+            return (PersistentSet<E>) elementos;
+        }
+        PersistentSet<E> conjunto = vazio();
+        for(E elemento : elementos) {
+            conjunto = conjunto.com(elemento);
+        }
+        return conjunto;
+    }
+
+    // Operações
+
+    /**
+     * Conjunto com o elemento acrescentado.
+     *
+     * @param elemento the elemento
+     * @return um novo conjunto, ou este se o elemento já estiver nele
+     */
+    public PersistentSet<E> com(E elemento) {
+        checkNotNull(elemento, "O elemento deve ser preenchido.");
+        No novo = com(raiz, elemento, espalha(elemento), 0);
+        return novo == raiz ? this : new PersistentSet<E>(novo, quantidade + 1);
+    }
+
+    /**
+     * Conjunto sem o elemento.
+     *
+     * @param obj the obj
+     * @return um novo conjunto, ou este se o elemento não estiver nele
+     */
+    public PersistentSet<E> sem(Object obj) {
+        if (obj == null) {
+            return this;
+        }
+        No novo = sem(raiz, obj, espalha(obj), 0);
+        if (novo == raiz) {
+            return this;
+        }
+        return novo == null ? PersistentSet.<E> vazio() : new PersistentSet<E>(novo, quantidade - 1);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.AbstractCollection#contains(java.lang.Object)
+     */
+    @Override
+    public boolean contains(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        int hash = espalha(obj);
+        No no = raiz;
+        for(int deslocamento = 0;; deslocamento += BITS) {
+            if (deslocamento >= Integer.SIZE) {
+                return no.posicaoNaColisao(obj) >= 0;
+            }
+            int bit = 1 << (hash >>> deslocamento & MASCARA);
+            if ((no.mapa & bit) == 0) {
+                return false;
+            }
+            Object filho = no.filhos[no.indice(bit)];
+            if (!(filho instanceof No)) {
+                return filho.equals(obj);
+            }
+            no = (No) filho;
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.AbstractCollection#size()
+     */
+    @Override
+    public int size() {
+        return quantidade;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.AbstractCollection#iterator()
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterador();
+    }
+
+    // Auxiliares
+
+    /**
+     * Nó com o elemento acrescentado, copiando o caminho até ele.
+     *
+     * @param no the no
+     * @param elemento the elemento
+     * @param hash the hash
+     * @param deslocamento the deslocamento
+     * @return o novo nó, ou o mesmo se o elemento já estiver nele
+     */
+    private static No com(No no, Object elemento, int hash, int deslocamento) {
+        if (deslocamento >= Integer.SIZE) {
+            return no.posicaoNaColisao(elemento) >= 0 ? no : new No(0, insere(no.filhos, no.filhos.length, elemento));
+        }
+        int bit = 1 << (hash >>> deslocamento & MASCARA);
+        int indice = no.indice(bit);
+        if ((no.mapa & bit) == 0) {
+            return new No(no.mapa | bit, insere(no.filhos, indice, elemento));
+        }
+        Object filho = no.filhos[indice];
+        Object novo;
+        if (filho instanceof No) {
+            novo = com((No) filho, elemento, hash, deslocamento + BITS);
+            if (novo == filho) {
+                return no;
+            }
+        } else if (filho.equals(elemento)) {
+            return no;
+        } else {
+            novo = par(filho, espalha(filho), elemento, hash, deslocamento + BITS);
+        }
+        return new No(no.mapa, troca(no.filhos, indice, novo));
+    }
+
+    /**
+     * Nó sem o elemento, copiando o caminho até ele. Um nó que fica com um único elemento é trocado por ele no nó de cima.
+     *
+     * @param no the no
+     * @param obj the obj
+     * @param hash the hash
+     * @param deslocamento the deslocamento
+     * @return o novo nó, o mesmo se o elemento não estiver nele, ou null se o nó ficar vazio
+     */
+    private static No sem(No no, Object obj, int hash, int deslocamento) {
+        if (deslocamento >= Integer.SIZE) {
+            int posicao = no.posicaoNaColisao(obj);
+            if (posicao < 0) {
+                return no;
+            }
+            return no.filhos.length == 1 ? null : new No(0, retira(no.filhos, posicao));
+        }
+        int bit = 1 << (hash >>> deslocamento & MASCARA);
+        if ((no.mapa & bit) == 0) {
+            return no;
+        }
+        int indice = no.indice(bit);
+        Object filho = no.filhos[indice];
+        if (filho instanceof No) {
+            No novo = sem((No) filho, obj, hash, deslocamento + BITS);
+            if (novo == filho) {
+                return no;
+            }
+            if (novo != null) {
+                boolean unico = novo.filhos.length == 1 && !(novo.filhos[0] instanceof No);
+                return new No(no.mapa, troca(no.filhos, indice, unico ? novo.filhos[0] : novo));
+            }
+        } else if (!filho.equals(obj)) {
+            return no;
+        }
+        if (no.mapa == bit) {
+            return null;
+        }
+        return new No(no.mapa & ~bit, retira(no.filhos, indice));
+    }
+
+    /**
+     * Nó com dois elementos diferentes, descendo enquanto os hashes coincidirem.
+     *
+     * @param primeiro the primeiro
+     * @param hashDoPrimeiro the hash do primeiro
+     * @param segundo the segundo
+     * @param hashDoSegundo the hash do segundo
+     * @param deslocamento the deslocamento
+     * @return the no
+     */
+    private static No par(Object primeiro, int hashDoPrimeiro, Object segundo, int hashDoSegundo, int deslocamento) {
+        if (deslocamento >= Integer.SIZE) {
+            return new No(0, new Object[]{ primeiro, segundo });
+        }
+        int ramoDoPrimeiro = hashDoPrimeiro >>> deslocamento & MASCARA;
+        int ramoDoSegundo = hashDoSegundo >>> deslocamento & MASCARA;
+        if (ramoDoPrimeiro == ramoDoSegundo) {
+            return new No(1 << ramoDoPrimeiro, new Object[]{ par(primeiro, hashDoPrimeiro, segundo, hashDoSegundo, deslocamento + BITS) });
+        }
+        Object[] filhos = ramoDoPrimeiro < ramoDoSegundo ? new Object[]{ primeiro, segundo } : new Object[]{ segundo, primeiro };
+        return new No(1 << ramoDoPrimeiro | 1 << ramoDoSegundo, filhos);
+    }
+
+    /**
+     * Cópia do array com o valor inserido na posição.
+     *
+     * @param filhos the filhos
+     * @param posicao the posicao
+     * @param valor the valor
+     * @return the object[]
+     */
+    private static Object[] insere(Object[] filhos, int posicao, Object valor) {
+        Object[] novos = new Object[filhos.length + 1];
+        System.arraycopy(filhos, 0, novos, 0, posicao);
+        novos[posicao] = valor;
+        System.arraycopy(filhos, posicao, novos, posicao + 1, filhos.length - posicao);
+        return novos;
+    }
+
+    /**
+     * Cópia do array com o valor da posição trocado.
+     *
+     * @param filhos the filhos
+     * @param posicao the posicao
+     * @param valor the valor
+     * @return the object[]
+     */
+    private static Object[] troca(Object[] filhos, int posicao, Object valor) {
+        Object[] novos = filhos.clone();
+        novos[posicao] = valor;
+        return novos;
+    }
+
+    /**
+     * Cópia do array sem a posição.
+     *
+     * @param filhos the filhos
+     * @param posicao the posicao
+     * @return the object[]
+     */
+    private static Object[] retira(Object[] filhos, int posicao) {
+        Object[] novos = new Object[filhos.length - 1];
+        System.arraycopy(filhos, 0, novos, 0, posicao);
+        System.arraycopy(filhos, posicao + 1, novos, posicao, novos.length - posicao);
+        return novos;
+    }
+
+    /**
+     * Espalha o hash do elemento, como o {@code HashMap}.
+     *
+     * @param obj the obj
+     * @return the int
+     */
+    private static int espalha(Object obj) {
+        int hash = obj.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Nó da árvore. Nunca é alterado depois de criado.
+     */
+    private static final class No {
+
+        /** Ramos ocupados; zero no nó de colisão (e na raiz vazia). */
+        final int mapa;
+
+        /** Elementos e nós filhos, na ordem dos ramos; no nó de colisão, apenas elementos. */
+        final Object[] filhos;
+
+        /**
+         * Instantiates a new no.
+         *
+         * @param mapa the mapa
+         * @param filhos the filhos
+         */
+        No(int mapa, Object[] filhos) {
+            this.mapa = mapa;
+            this.filhos = filhos;
+        }
+
+        /**
+         * Posição do ramo em {@link #filhos}.
+         *
+         * @param bit the bit
+         * @return the int
+         */
+        int indice(int bit) {
+            return Integer.bitCount(mapa & (bit - 1));
+        }
+
+        /**
+         * Posição do elemento no nó de colisão, ou -1.
+         *
+         * @param obj the obj
+         * @return the int
+         */
+        int posicaoNaColisao(Object obj) {
+            for(int i = 0; i < filhos.length; i++) {
+                if (filhos[i].equals(obj)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+    }
+
+    /**
+     * Iterador em profundidade, com uma pilha do tamanho da profundidade máxima.
+     */
+    private final class Iterador implements Iterator<E> {
+
+        /** The nos. */
+        private final No[] nos = new No[PROFUNDIDADE_MAXIMA];
+
+        /** Próxima posição a visitar em cada nó da pilha. */
+        private final int[] posicoes = new int[PROFUNDIDADE_MAXIMA];
+
+        /** The topo. */
+        private int topo;
+
+        /** The proximo. */
+        private Object proximo;
+
+        /**
+         * Instantiates a new iterador.
+         */
+        Iterador() {
+            nos[0] = raiz;
+            avanca();
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.util.Iterator#hasNext()
+         */
+        @Override
+        public boolean hasNext() {
+            return proximo != null;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.util.Iterator#next()
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (proximo == null) {
+                throw new NoSuchElementException();
+            }
+            E elemento = (E) proximo;
+            avanca();
+            return elemento;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.util.Iterator#remove()
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("O conjunto é imutável.");
+        }
+
+        /**
+         * Procura o próximo elemento, descendo nos nós filhos e voltando quando um nó termina.
+         */
+        private void avanca() {
+            while(topo >= 0) {
+                No no = nos[topo];
+                if (posicoes[topo] == no.filhos.length) {
+                    topo--;
+                    continue;
+                }
+                Object filho = no.filhos[posicoes[topo]++];
+                if (filho instanceof No) {
+                    nos[++topo] = (No) filho;
+                    posicoes[topo] = 0;
+                } else {
+                    proximo = filho;
+                    return;
+                }
+            }
+            proximo = null;
+        }
+
+    }
+
+}
@@ -0,0 +1,111 @@
+package br.com.contmatic.empresawilliam;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
+
+/**
+ * The Class RelogioDeDias.
+ *
+ * Informa o dia de hoje, em dias desde 01/01/1970, para as verificações de data da {@link Empresa}. Não há relógio global: quem
+ * verifica as datas recebe o relógio ({@link Empresa#setDataDeCriacao(LocalDate, RelogioDeDias)} ou o relógio do importador, por
+ * exemplo), e os setters sem relógio usam o {@link #doSistema()}. Assim, um teste ou uma importação com o dia fixado não afeta
+ * as demais threads.
+ */
+public abstract class RelogioDeDias {
+
+    /** The Constant DO_SISTEMA. */
+    private static final RelogioDeDias DO_SISTEMA = new DoSistema();
+
+    /**
+     * Dia de hoje.
+     *
+     * @return os dias desde 01/01/1970
+     */
+    public abstract int hoje();
+
+    /**
+     * Relógio do sistema, no fuso horário padrão, como {@link LocalDate#now()}. O dia é calculado uma vez e reaproveitado até a
+     * meia-noite seguinte; nas demais chamadas o custo é uma leitura de {@link System#currentTimeMillis()} e duas comparações.
+     *
+     * @return the relogio de dias
+     */
+    public static RelogioDeDias doSistema() {
+        return DO_SISTEMA;
+    }
+
+    /**
+     * Relógio parado no dia informado.
+     *
+     * @param hoje the hoje
+     * @return the relogio de dias
+     */
+    public static RelogioDeDias fixo(LocalDate hoje) {
+        checkNotNull(hoje, "O dia deve ser preenchido.");
+        final int dia = DiaDaEpoca.de(hoje);
+        return new RelogioDeDias() {
+
+            @Override
+            public int hoje() {
+                return dia;
+            }
+        };
+    }
+
+    /**
+     * The Class DoSistema.
+     */
+    private static final class DoSistema extends RelogioDeDias {
+
+        /** Dia atual e o intervalo de instantes em que ele vale. */
+        private volatile Dia atual = new Dia(System.currentTimeMillis());
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see br.com.contmatic.empresawilliam.RelogioDeDias#hoje()
+         */
+        @Override
+        public int hoje() {
+            long agora = System.currentTimeMillis();
+            Dia dia = atual;
+            if (agora < dia.inicio || agora >= dia.fim) {
+                dia = new Dia(agora);
+                atual = dia;
+            }
+            return dia.dia;
+        }
+
+    }
+
+    /**
+     * Um dia no fuso horário padrão e os instantes do seu início e do início do dia seguinte.
+     */
+    private static final class Dia {
+
+        /** The dia. */
+        final int dia;
+
+        /** The inicio. */
+        final long inicio;
+
+        /** The fim. */
+        final long fim;
+
+        /**
+         * Instantiates a new dia.
+         *
+         * @param agora the agora
+         */
+        Dia(long agora) {
+            DateTimeZone fuso = DateTimeZone.getDefault();
+            LocalDate hoje = new LocalDate(agora, fuso);
+            this.dia = DiaDaEpoca.de(hoje);
+            this.inicio = hoje.toDateTimeAtStartOfDay(fuso).getMillis();
+            this.fim = hoje.plusDays(1).toDateTimeAtStartOfDay(fuso).getMillis();
+        }
+
+    }
+
+}
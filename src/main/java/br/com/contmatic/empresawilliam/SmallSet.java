@@ -0,0 +1,323 @@
+package br.com.contmatic.empresawilliam;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import br.com.contmatic.empresawilliam.validation.ModificationCounted;
+
+/**
+ * The Class SmallSet.
+ *
+ * Conjunto guardado em um único array, na ordem de inserção, pensado para os poucos endereços de uma empresa: até
+ * {@link #LIMITE_LINEAR} elementos a busca é linear; acima disso é criado um índice de espalhamento (endereçamento aberto sobre
+ * as posições do array). Aceita o elemento nulo, como o {@code HashSet}.
+ *
+ * @param <E> the element type
+ */
+public final class SmallSet<E> extends AbstractSet<E> implements ModificationCounted {
+
+    /** Quantidade de elementos a partir da qual as buscas passam a usar o índice. */
+    static final int LIMITE_LINEAR = 8;
+
+    /** The Constant CAPACIDADE_INICIAL. */
+    private static final int CAPACIDADE_INICIAL = 2;
+
+    /** The Constant VAZIO. */
+    private static final Object[] VAZIO = {};
+
+    // Variáveis
+
+    /** The elementos. */
+    private Object[] elementos = VAZIO;
+
+    /** The quantidade. */
+    private int quantidade;
+
+    /** Posição + 1 de cada elemento, por espalhamento; nulo enquanto o conjunto for pequeno. */
+    private int[] indice;
+
+    /** Quantidade de modificações, para detectar alterações durante a iteração e desde a última revalidação. */
+    private int modificacoes;
+
+    /**
+     * Instantiates a new small set.
+     */
+    public SmallSet() {
+
+    }
+
+    /**
+     * Instantiates a new small set com os elementos informados.
+     *
+     * @param elementos the elementos
+     */
+    public SmallSet(Collection<? extends E> elementos) {
+        this.elementos = new Object[Math.max(CAPACIDADE_INICIAL, elementos.size())];
+        for(E elemento : elementos) {
+            add(elemento);
+        }
+    }
+
+    // Operações
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.AbstractCollection#add(java.lang.Object)
+     */
+    @Override
+    public boolean add(E elemento) {
+        if (posicaoDe(elemento) >= 0) {
+            return false;
+        }
+        if (quantidade == elementos.length) {
+            Object[] maior = new Object[Math.max(CAPACIDADE_INICIAL, quantidade * 2)];
+            System.arraycopy(elementos, 0, maior, 0, quantidade);
+            elementos = maior;
+        }
+        elementos[quantidade++] = elemento;
+        if (indice != null) {
+            indexa(quantidade - 1);
+        } else if (quantidade > LIMITE_LINEAR) {
+            reconstroiIndice();
+        }
+        modificacoes++;
+        return true;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.AbstractCollection#contains(java.lang.Object)
+     */
+    @Override
+    public boolean contains(Object obj) {
+        return posicaoDe(obj) >= 0;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.AbstractCollection#remove(java.lang.Object)
+     */
+    @Override
+    public boolean remove(Object obj) {
+        int posicao = posicaoDe(obj);
+        if (posicao < 0) {
+            return false;
+        }
+        removePosicao(posicao);
+        return true;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.AbstractCollection#size()
+     */
+    @Override
+    public int size() {
+        return quantidade;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.validation.ModificationCounted#modificationCount()
+     */
+    @Override
+    public int modificationCount() {
+        return modificacoes;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.validation.ModificationCounted#copiesElements()
+     */
+    @Override
+    public boolean copiesElements() {
+        return false;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.AbstractCollection#clear()
+     */
+    @Override
+    public void clear() {
+        for(int i = 0; i < quantidade; i++) {
+            elementos[i] = null;
+        }
+        quantidade = 0;
+        indice = null;
+        modificacoes++;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.AbstractCollection#iterator()
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterador();
+    }
+
+    // Auxiliares
+
+    /**
+     * Posição do elemento no array, ou -1.
+     *
+     * @param obj the obj
+     * @return the int
+     */
+    private int posicaoDe(Object obj) {
+        if (indice == null) {
+            for(int i = 0; i < quantidade; i++) {
+                Object elemento = elementos[i];
+                if (elemento == obj || obj != null && obj.equals(elemento)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int mascara = indice.length - 1;
+        for(int i = espalha(obj) & mascara;; i = (i + 1) & mascara) {
+            int posicao = indice[i] - 1;
+            if (posicao < 0) {
+                return -1;
+            }
+            Object elemento = elementos[posicao];
+            if (elemento == obj || obj != null && obj.equals(elemento)) {
+                return posicao;
+            }
+        }
+    }
+
+    /**
+     * Remove o elemento da posição, movendo os seguintes uma posição para trás para manter a ordem de inserção.
+     *
+     * @param posicao the posicao
+     */
+    private void removePosicao(int posicao) {
+        System.arraycopy(elementos, posicao + 1, elementos, posicao, quantidade - posicao - 1);
+        elementos[--quantidade] = null;
+        if (indice != null) {
+            if (quantidade > LIMITE_LINEAR) {
+                reconstroiIndice();
+            } else {
+                indice = null;
+            }
+        }
+        modificacoes++;
+    }
+
+    /**
+     * Recria o índice com ocupação de no máximo 50%.
+     */
+    private void reconstroiIndice() {
+        indice = new int[Integer.highestOneBit(Math.max(quantidade, LIMITE_LINEAR) * 2) * 2];
+        for(int i = 0; i < quantidade; i++) {
+            indexa(i);
+        }
+    }
+
+    /**
+     * Insere a posição no índice, dobrando-o quando passar da metade.
+     *
+     * @param posicao the posicao
+     */
+    private void indexa(int posicao) {
+        if (quantidade * 2 > indice.length) {
+            reconstroiIndice();
+            return;
+        }
+        int mascara = indice.length - 1;
+        int i = espalha(elementos[posicao]) & mascara;
+        while(indice[i] != 0) {
+            i = (i + 1) & mascara;
+        }
+        indice[i] = posicao + 1;
+    }
+
+    /**
+     * Espalha o hash do elemento, como o {@code HashMap}.
+     *
+     * @param obj the obj
+     * @return the int
+     */
+    private static int espalha(Object obj) {
+        int hash = obj == null ? 0 : obj.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Iterador sobre o array, na ordem de inserção.
+     */
+    private final class Iterador implements Iterator<E> {
+
+        /** The proximo. */
+        private int proximo;
+
+        /** Posição do último elemento devolvido, ou -1. */
+        private int ultimo = -1;
+
+        /** The modificacoes esperadas. */
+        private int modificacoesEsperadas = modificacoes;
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.util.Iterator#hasNext()
+         */
+        @Override
+        public boolean hasNext() {
+            return proximo < quantidade;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.util.Iterator#next()
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (modificacoes != modificacoesEsperadas) {
+                throw new ConcurrentModificationException();
+            }
+            if (proximo >= quantidade) {
+                throw new NoSuchElementException();
+            }
+            ultimo = proximo++;
+            return (E) elementos[ultimo];
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.util.Iterator#remove()
+         */
+        @Override
+        public void remove() {
+            if (ultimo < 0) {
+                throw new IllegalStateException();
+            }
+            if (modificacoes != modificacoesEsperadas) {
+                throw new ConcurrentModificationException();
+            }
+            // O elemento seguinte passa para a posição removida e ainda precisa ser visitado.
+            removePosicao(ultimo);
+            proximo = ultimo;
+            ultimo = -1;
+            modificacoesEsperadas = modificacoes;
+        }
+
+    }
+
+}
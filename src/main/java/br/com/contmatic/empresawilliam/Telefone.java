@@ -1,23 +1,30 @@
 package br.com.contmatic.empresawilliam;
 
-import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
+import static com.google.common.base.Preconditions.checkArgument;
 
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Pattern;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
-import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.hibernate.validator.constraints.NotBlank;
 import org.hibernate.validator.constraints.NotEmpty;
 import org.hibernate.validator.constraints.Range;
+import org.hibernate.validator.group.GroupSequenceProvider;
+
+import br.com.contmatic.empresawilliam.render.EstiloDeTexto;
+import br.com.contmatic.empresawilliam.render.Renderizador;
+import br.com.contmatic.empresawilliam.validation.CompiledValidation;
+import br.com.contmatic.empresawilliam.validation.DirtyTracked;
 
 /**
  * The Class Telefone.
  *
  * @author williamsalerno
  */
-public class Telefone {
+@CompiledValidation
+@GroupSequenceProvider(TelefoneGroupSequenceProvider.class)
+public class Telefone implements DirtyTracked {
 
     // Constantes
 
@@ -27,6 +34,39 @@ public class Telefone {
     /** The Constant TAMANHO_MAXIMO_DDD. */
     private final static int TAMANHO_MAXIMO_DDD = 99;
 
+    /** Valor devolvido por {@link #empacota()} quando o telefone não cabe em um {@code long}. */
+    public final static long NAO_EMPACOTAVEL = -1L;
+
+    /** Maior quantidade de dígitos de um número empacotado. */
+    private final static int DIGITOS_EMPACOTAVEIS = 9;
+
+    /** The Constant BITS_NUMERO. */
+    private final static int BITS_NUMERO = 30;
+
+    /** The Constant BITS_TAMANHO. */
+    private final static int BITS_TAMANHO = 4;
+
+    /** The Constant BITS_DDD. */
+    private final static int BITS_DDD = 10;
+
+    /** Deslocamento que torna o DDD não negativo (DDDs de -512 a 511 são empacotáveis). */
+    private final static int DESLOCAMENTO_DDD = 1 << (BITS_DDD - 1);
+
+    /** Tamanho usado para um número nulo. */
+    private final static int TAMANHO_NULO = (1 << BITS_TAMANHO) - 1;
+
+    /** Tipos pelo ordinal, sem copiar {@link TelefoneType#values()} a cada consulta. */
+    private final static TelefoneType[] TIPOS = TelefoneType.values();
+
+    /** Alteração do tipo de telefone. */
+    static final int ALTERACAO_TIPO_TELEFONE = 1 << 0;
+
+    /** Alteração do DDD. */
+    static final int ALTERACAO_DDD = 1 << 1;
+
+    /** Alteração do número de telefone. */
+    static final int ALTERACAO_TELEFONE = 1 << 2;
+
     // Variáveis
 
     /** The tipo telefone. */
@@ -45,6 +85,9 @@ public class Telefone {
         @Pattern(regexp = "\\d{9}", groups = Celular.class, message = "Para telefone celular, por favor informar 9 dígitos.") })
     private String telefone;
 
+    /** Propriedades alteradas pelos setters desde a última revalidação. */
+    private transient int alteracoes;
+
     // Getters e setters
 
     /**
@@ -63,6 +106,7 @@ public class Telefone {
      */
     public void setTipoTelefone(TelefoneType tipoTelefone) {
         this.tipoTelefone = tipoTelefone;
+        this.alteracoes |= ALTERACAO_TIPO_TELEFONE;
     }
 
     /**
@@ -81,6 +125,16 @@ public class Telefone {
      */
     public void setDdd(int ddd) {
         this.ddd = ddd;
+        this.alteracoes |= ALTERACAO_DDD;
+    }
+
+    /**
+     * Obtém número de telefone, seja ele fixo ou celular.
+     *
+     * @return the telefone
+     */
+    public String getTelefone() {
+        return telefone;
     }
 
     /**
@@ -99,6 +153,7 @@ public class Telefone {
      */
     public void setTelefoneFixo(String telefoneFixo) {
         this.telefone = telefoneFixo;
+        this.alteracoes |= ALTERACAO_TELEFONE;
     }
 
     /**
@@ -117,6 +172,146 @@ public class Telefone {
      */
     public void setTelefoneCelular(String telefoneCelular) {
         this.telefone = telefoneCelular;
+        this.alteracoes |= ALTERACAO_TELEFONE;
+    }
+
+    // Propriedades alteradas
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.validation.DirtyTracked#dirtyProperties()
+     */
+    @Override
+    public int dirtyProperties() {
+        return alteracoes;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.validation.DirtyTracked#markClean()
+     */
+    @Override
+    public void markClean() {
+        this.alteracoes = 0;
+    }
+
+    // Forma compacta
+
+    /**
+     * Empacota o telefone em um {@code long}: tipo (2 bits), DDD (10 bits), quantidade de dígitos (4 bits) e o número (30 bits).
+     * Dois telefones empacotáveis são iguais ({@link #equals(Object)}) se e somente se seus valores empacotados forem iguais.
+     *
+     * @return o valor empacotado, ou {@link #NAO_EMPACOTAVEL} se o DDD estiver fora de -512 a 511 ou o número tiver mais de 9
+     *         caracteres ou algum caractere que não seja dígito
+     */
+    public long empacota() {
+        return empacota(getTipoTelefone(), getDdd(), getTelefone());
+    }
+
+    /**
+     * Empacota o tipo, o DDD e o número como {@link #empacota()}, sem criar o telefone.
+     *
+     * @param tipoTelefone o tipo, ou null
+     * @param ddd the ddd
+     * @param telefone o número, ou null
+     * @return o valor empacotado, ou {@link #NAO_EMPACOTAVEL}
+     */
+    public static long empacota(TelefoneType tipoTelefone, int ddd, String telefone) {
+        int dddDeslocado = ddd + DESLOCAMENTO_DDD;
+        if (dddDeslocado < 0 || dddDeslocado >= 1 << BITS_DDD) {
+            return NAO_EMPACOTAVEL;
+        }
+        int tamanho;
+        long numero = 0;
+        if (telefone == null) {
+            tamanho = TAMANHO_NULO;
+        } else {
+            tamanho = telefone.length();
+            if (tamanho > DIGITOS_EMPACOTAVEIS) {
+                return NAO_EMPACOTAVEL;
+            }
+            for(int i = 0; i < tamanho; i++) {
+                char c = telefone.charAt(i);
+                if (c < '0' || c > '9') {
+                    return NAO_EMPACOTAVEL;
+                }
+                numero = numero * 10 + (c - '0');
+            }
+        }
+        long tipo = tipoTelefone == null ? 0 : tipoTelefone.ordinal() + 1;
+        return tipo << (BITS_NUMERO + BITS_TAMANHO + BITS_DDD) | (long) dddDeslocado << (BITS_NUMERO + BITS_TAMANHO) | (long) tamanho << BITS_NUMERO
+                | numero;
+    }
+
+    /**
+     * Empacota apenas o DDD e o número, como {@link #empacota()} mas sem o tipo. Serve de chave para buscas por DDD e número.
+     *
+     * @return o valor empacotado sem o tipo, ou {@link #NAO_EMPACOTAVEL}
+     */
+    public long empacotaDddENumero() {
+        return dddENumero(empacota());
+    }
+
+    /**
+     * Retira o tipo de um valor devolvido por {@link #empacota()}, deixando o mesmo valor de {@link #empacotaDddENumero()}.
+     *
+     * @param empacotado the empacotado
+     * @return o valor sem o tipo, ou {@link #NAO_EMPACOTAVEL}
+     */
+    public static long dddENumero(long empacotado) {
+        return empacotado == NAO_EMPACOTAVEL ? NAO_EMPACOTAVEL : empacotado & ((1L << (BITS_NUMERO + BITS_TAMANHO + BITS_DDD)) - 1);
+    }
+
+    /**
+     * Tipo de um valor devolvido por {@link #empacota()}, sem recriar o telefone.
+     *
+     * @param empacotado the empacotado
+     * @return o tipo, ou null se o telefone empacotado não tiver tipo
+     */
+    public static TelefoneType tipoEmpacotado(long empacotado) {
+        int tipo = (int) (empacotado >>> (BITS_NUMERO + BITS_TAMANHO + BITS_DDD));
+        return tipo == 0 ? null : TIPOS[tipo - 1];
+    }
+
+    /**
+     * Recria um telefone a partir do valor devolvido por {@link #empacota()}.
+     *
+     * @param empacotado the empacotado
+     * @return the telefone
+     */
+    public static Telefone desempacota(long empacotado) {
+        checkArgument(empacotado >= 0 && empacotado >>> (BITS_NUMERO + BITS_TAMANHO + BITS_DDD) <= TelefoneType.values().length,
+            "Valor empacotado de telefone inválido.");
+        Telefone telefone = new Telefone();
+        int tipo = (int) (empacotado >>> (BITS_NUMERO + BITS_TAMANHO + BITS_DDD));
+        telefone.tipoTelefone = tipo == 0 ? null : TelefoneType.values()[tipo - 1];
+        telefone.ddd = (int) (empacotado >>> (BITS_NUMERO + BITS_TAMANHO) & ((1 << BITS_DDD) - 1)) - DESLOCAMENTO_DDD;
+        int tamanho = (int) (empacotado >>> BITS_NUMERO & TAMANHO_NULO);
+        checkArgument(tamanho <= DIGITOS_EMPACOTAVEIS || tamanho == TAMANHO_NULO, "Valor empacotado de telefone inválido.");
+        if (tamanho != TAMANHO_NULO) {
+            char[] digitos = new char[tamanho];
+            long numero = empacotado & ((1L << BITS_NUMERO) - 1);
+            for(int i = tamanho - 1; i >= 0; i--, numero /= 10) {
+                digitos[i] = (char) ('0' + numero % 10);
+            }
+            telefone.telefone = new String(digitos);
+        }
+        return telefone;
+    }
+
+    /**
+     * Cópia com o mesmo tipo, DDD e número, sem propriedades alteradas, como as devolvidas por {@link #desempacota(long)}.
+     *
+     * @return the telefone
+     */
+    Telefone copia() {
+        Telefone copia = new Telefone();
+        copia.tipoTelefone = tipoTelefone;
+        copia.ddd = ddd;
+        copia.telefone = telefone;
+        return copia;
     }
 
     // Equals, HashCode e toString
@@ -128,7 +323,7 @@ public class Telefone {
      */
     @Override
     public int hashCode() {
-        return new HashCodeBuilder().append(this.ddd).append(this.tipoTelefone).append(this.telefone).toHashCode();
+        return new HashCodeBuilder().append(getDdd()).append(getTipoTelefone()).append(getTelefone()).toHashCode();
     }
 
     /*
@@ -142,7 +337,7 @@ public class Telefone {
             return false;
         }
         Telefone outro = (Telefone) obj;
-        return new EqualsBuilder().append(this.ddd, outro.ddd).append(this.tipoTelefone, outro.tipoTelefone).append(this.telefone, outro.telefone).isEquals();
+        return new EqualsBuilder().append(getDdd(), outro.getDdd()).append(getTipoTelefone(), outro.getTipoTelefone()).append(getTelefone(), outro.getTelefone()).isEquals();
     }
 
     /*
@@ -152,7 +347,7 @@ public class Telefone {
      */
     @Override
     public String toString() {
-        return new ToStringBuilder(this, MULTI_LINE_STYLE).append("tipo de telefone: ", this.tipoTelefone).append("ddd: ", this.ddd).append("telefone: ", this.telefone).build();
+        return Renderizador.renderiza(this, EstiloDeTexto.MULTIPLAS_LINHAS, new StringBuilder(128)).toString();
     }
 
 }
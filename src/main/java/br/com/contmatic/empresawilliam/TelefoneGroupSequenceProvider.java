@@ -0,0 +1,52 @@
+package br.com.contmatic.empresawilliam;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.validator.spi.group.DefaultGroupSequenceProvider;
+
+/**
+ * The Class TelefoneGroupSequenceProvider.
+ *
+ * Redefine o grupo {@link javax.validation.groups.Default} do {@link Telefone}: primeiro as constraints padrão e, se elas
+ * passarem, o grupo do tipo do telefone ({@link TelefoneType#getGrupo()}), que confere o número de dígitos. Assim uma única
+ * validação no grupo padrão, inclusive em cascata a partir de {@link Empresa#getTelefones()}, já confere o formato do número.
+ * As sequências são criadas uma vez por tipo.
+ */
+public final class TelefoneGroupSequenceProvider implements DefaultGroupSequenceProvider<Telefone> {
+
+    /** Sequência de um telefone sem tipo (ou de um telefone nulo). */
+    private static final List<Class<?>> SEM_TIPO = Collections.<Class<?>> singletonList(Telefone.class);
+
+    /** Sequência de cada tipo, pelo ordinal. */
+    private static final List<List<Class<?>>> POR_TIPO = porTipo();
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.hibernate.validator.spi.group.DefaultGroupSequenceProvider#getValidationGroups(java.lang.Object)
+     */
+    @Override
+    public List<Class<?>> getValidationGroups(Telefone telefone) {
+        if (telefone == null || telefone.getTipoTelefone() == null) {
+            return SEM_TIPO;
+        }
+        return POR_TIPO.get(telefone.getTipoTelefone().ordinal());
+    }
+
+    /**
+     * Monta a sequência de cada tipo de telefone.
+     *
+     * @return the list
+     */
+    private static List<List<Class<?>>> porTipo() {
+        List<List<Class<?>>> sequencias = new ArrayList<List<Class<?>>>();
+        for(TelefoneType tipo : TelefoneType.values()) {
+            sequencias.add(Collections.unmodifiableList(Arrays.<Class<?>> asList(Telefone.class, tipo.getGrupo())));
+        }
+        return Collections.unmodifiableList(sequencias);
+    }
+
+}
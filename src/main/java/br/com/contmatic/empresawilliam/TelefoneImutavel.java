@@ -0,0 +1,221 @@
+package br.com.contmatic.empresawilliam;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+/**
+ * The Class TelefoneImutavel.
+ *
+ * Retrato imutável de um {@link Telefone}, criado por {@link #de(Telefone)} ou pelo {@link Builder}. A igualdade é a mesma do
+ * {@link Telefone} (tipo, DDD e número), mas um retrato nunca é igual a um {@link Telefone} mutável.
+ */
+public final class TelefoneImutavel {
+
+    // Variáveis
+
+    /** The tipo telefone. */
+    private final TelefoneType tipoTelefone;
+
+    /** The ddd. */
+    private final int ddd;
+
+    /** The telefone. */
+    private final String telefone;
+
+    /**
+     * Instantiates a new telefone imutavel.
+     *
+     * @param builder the builder
+     */
+    private TelefoneImutavel(Builder builder) {
+        this.tipoTelefone = builder.tipoTelefone;
+        this.ddd = builder.ddd;
+        this.telefone = builder.telefone;
+    }
+
+    // Criação
+
+    /**
+     * Retrato do telefone no estado atual.
+     *
+     * @param telefone the telefone
+     * @return the telefone imutavel
+     */
+    public static TelefoneImutavel de(Telefone telefone) {
+        checkNotNull(telefone, "O telefone deve ser preenchido.");
+        return builder().tipoTelefone(telefone.getTipoTelefone()).ddd(telefone.getDdd()).telefone(telefone.getTelefone()).build();
+    }
+
+    /**
+     * Builder vazio.
+     *
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder com os valores deste telefone.
+     *
+     * @return the builder
+     */
+    public Builder toBuilder() {
+        return new Builder().tipoTelefone(tipoTelefone).ddd(ddd).telefone(telefone);
+    }
+
+    /**
+     * Cópia mutável do telefone.
+     *
+     * @return the telefone
+     */
+    public Telefone paraTelefone() {
+        Telefone copia = new Telefone();
+        copia.setTipoTelefone(tipoTelefone);
+        copia.setDdd(ddd);
+        copia.setTelefoneFixo(telefone);
+        return copia;
+    }
+
+    // Getters
+
+    /**
+     * Obtém tipo de telefone.
+     *
+     * @return the tipo telefone
+     */
+    public TelefoneType getTipoTelefone() {
+        return tipoTelefone;
+    }
+
+    /**
+     * Obtém DDD.
+     *
+     * @return the ddd
+     */
+    public int getDdd() {
+        return ddd;
+    }
+
+    /**
+     * Obtém número de telefone, seja ele fixo ou celular.
+     *
+     * @return the telefone
+     */
+    public String getTelefone() {
+        return telefone;
+    }
+
+    /**
+     * Empacota o telefone como {@link Telefone#empacota()}.
+     *
+     * @return o valor empacotado, ou {@link Telefone#NAO_EMPACOTAVEL}
+     */
+    public long empacota() {
+        return Telefone.empacota(tipoTelefone, ddd, telefone);
+    }
+
+    // Equals, HashCode e toString
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder().append(ddd).append(tipoTelefone).append(telefone).toHashCode();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#equals(java.lang.Object)
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof TelefoneImutavel)) {
+            return false;
+        }
+        TelefoneImutavel outro = (TelefoneImutavel) obj;
+        return new EqualsBuilder().append(ddd, outro.ddd).append(tipoTelefone, outro.tipoTelefone).append(telefone, outro.telefone).isEquals();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "TelefoneImutavel[tipoTelefone=" + tipoTelefone + ", ddd=" + ddd + ", telefone=" + telefone + "]";
+    }
+
+    /**
+     * Monta um {@link TelefoneImutavel}. Não é thread-safe; o telefone montado é.
+     */
+    public static final class Builder {
+
+        /** The tipo telefone. */
+        private TelefoneType tipoTelefone;
+
+        /** The ddd. */
+        private int ddd;
+
+        /** The telefone. */
+        private String telefone;
+
+        /**
+         * Instantiates a new builder.
+         */
+        private Builder() {
+
+        }
+
+        /**
+         * Tipo de telefone.
+         *
+         * @param tipoTelefone the tipo telefone
+         * @return the builder
+         */
+        public Builder tipoTelefone(TelefoneType tipoTelefone) {
+            this.tipoTelefone = tipoTelefone;
+            return this;
+        }
+
+        /**
+         * DDD.
+         *
+         * @param ddd the ddd
+         * @return the builder
+         */
+        public Builder ddd(int ddd) {
+            this.ddd = ddd;
+            return this;
+        }
+
+        /**
+         * Número de telefone.
+         *
+         * @param telefone the telefone
+         * @return the builder
+         */
+        public Builder telefone(String telefone) {
+            this.telefone = telefone;
+            return this;
+        }
+
+        /**
+         * Build.
+         *
+         * @return the telefone imutavel
+         */
+        public TelefoneImutavel build() {
+            return new TelefoneImutavel(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,439 @@
+package br.com.contmatic.empresawilliam;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import br.com.contmatic.empresawilliam.validation.ModificationCounted;
+
+/**
+ * The Class TelefoneSet.
+ *
+ * Conjunto de telefones guardados na forma empacotada ({@link Telefone#empacota()}), um {@code long} por telefone, sem objetos
+ * de entrada nem {@code String}s. A igualdade é a mesma de {@link Telefone#equals(Object)}. Telefones que não cabem em um
+ * {@code long} (DDD fora da faixa, números com mais de 9 caracteres ou com letras) e o elemento nulo ficam em uma lista à parte.
+ * Até {@link SmallSet#LIMITE_LINEAR} telefones a busca é linear; acima disso é criado um índice de espalhamento.
+ *
+ * Os telefones são copiados na inserção, inclusive os não empacotáveis: alterar um telefone depois de adicioná-lo não altera o
+ * conjunto, e o iterador devolve cópias novas a cada passagem, de modo que alterar o telefone devolvido também não altera o
+ * conjunto. Para trocar um telefone, retire-o e adicione o novo.
+ *
+ * O conjunto não é seguro para threads, mas cada alteração publica uma cópia dos telefones empacotados, consultada por
+ * {@link #containsPublicado(long, TelefoneType)} sem travas a partir de qualquer thread.
+ */
+public final class TelefoneSet extends AbstractSet<Telefone> implements ModificationCounted {
+
+    /** The Constant CAPACIDADE_INICIAL. */
+    private static final int CAPACIDADE_INICIAL = 4;
+
+    /** The Constant VAZIO. */
+    private static final long[] VAZIO = {};
+
+    // Variáveis
+
+    /** Telefones empacotados, nas primeiras {@link #quantidade} posições. */
+    private long[] empacotados = VAZIO;
+
+    /** The quantidade. */
+    private int quantidade;
+
+    /** Telefones não empacotáveis, criada apenas quando necessária. */
+    private List<Telefone> outros;
+
+    /** Posição + 1 de cada telefone empacotado, por espalhamento; nulo enquanto o conjunto for pequeno. */
+    private int[] indice;
+
+    /** Quantidade de modificações, para detectar alterações durante a iteração e desde a última revalidação. */
+    private int modificacoes;
+
+    /** Cópia dos telefones empacotados, substituída a cada alteração e nunca alterada depois de publicada. */
+    private volatile long[] publicados = VAZIO;
+
+    /**
+     * Instantiates a new telefone set.
+     */
+    public TelefoneSet() {
+
+    }
+
+    /**
+     * Instantiates a new telefone set com os telefones informados.
+     *
+     * @param telefones the telefones
+     */
+    public TelefoneSet(Collection<? extends Telefone> telefones) {
+        for(Telefone telefone : telefones) {
+            add(telefone);
+        }
+    }
+
+    // Operações
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.AbstractCollection#add(java.lang.Object)
+     */
+    @Override
+    public boolean add(Telefone telefone) {
+        long empacotado = telefone == null ? Telefone.NAO_EMPACOTAVEL : telefone.empacota();
+        if (empacotado == Telefone.NAO_EMPACOTAVEL) {
+            return adicionaOutro(telefone);
+        }
+        if (indiceDe(empacotado) >= 0) {
+            return false;
+        }
+        if (quantidade == empacotados.length) {
+            long[] maior = new long[Math.max(CAPACIDADE_INICIAL, quantidade * 2)];
+            System.arraycopy(empacotados, 0, maior, 0, quantidade);
+            empacotados = maior;
+        }
+        empacotados[quantidade++] = empacotado;
+        if (indice != null) {
+            indexa(quantidade - 1);
+        } else if (quantidade > SmallSet.LIMITE_LINEAR) {
+            reconstroiIndice();
+        }
+        modificacoes++;
+        publica();
+        return true;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.AbstractCollection#contains(java.lang.Object)
+     */
+    @Override
+    public boolean contains(Object obj) {
+        if (obj != null && !(obj instanceof Telefone)) {
+            return false;
+        }
+        long empacotado = obj == null ? Telefone.NAO_EMPACOTAVEL : ((Telefone) obj).empacota();
+        if (empacotado == Telefone.NAO_EMPACOTAVEL) {
+            return outros != null && outros.contains(obj);
+        }
+        return indiceDe(empacotado) >= 0;
+    }
+
+    /**
+     * Verifica se o conjunto contém o telefone empacotado.
+     *
+     * @param empacotado the empacotado
+     * @return true, if successful
+     */
+    public boolean containsEmpacotado(long empacotado) {
+        return empacotado != Telefone.NAO_EMPACOTAVEL && indiceDe(empacotado) >= 0;
+    }
+
+    /**
+     * Verifica se algum telefone empacotado tem o DDD e o número informados ({@link Telefone#dddENumero(long)}) e o tipo, se ele
+     * for informado. Lê só a cópia publicada na última alteração, por isso pode ser chamado de outras threads enquanto o conjunto é
+     * alterado.
+     *
+     * @param dddENumero the ddd e numero
+     * @param tipo o tipo, ou null para qualquer tipo
+     * @return true, if successful
+     */
+    public boolean containsPublicado(long dddENumero, TelefoneType tipo) {
+        long[] telefones = publicados;
+        for(int i = 0; i < telefones.length; i++) {
+            if (Telefone.dddENumero(telefones[i]) == dddENumero && (tipo == null || Telefone.tipoEmpacotado(telefones[i]) == tipo)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Quantidade de telefones guardados na forma empacotada. Os demais só são alcançados pelo iterador.
+     *
+     * @return the int
+     */
+    public int quantidadeEmpacotada() {
+        return quantidade;
+    }
+
+    /**
+     * Telefone empacotado da posição, sem criar o objeto {@link Telefone}.
+     *
+     * @param posicao de 0 a {@link #quantidadeEmpacotada()} - 1
+     * @return the long
+     */
+    public long getEmpacotado(int posicao) {
+        checkElementIndex(posicao, quantidade);
+        return empacotados[posicao];
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.AbstractCollection#remove(java.lang.Object)
+     */
+    @Override
+    public boolean remove(Object obj) {
+        if (obj != null && !(obj instanceof Telefone)) {
+            return false;
+        }
+        long empacotado = obj == null ? Telefone.NAO_EMPACOTAVEL : ((Telefone) obj).empacota();
+        if (empacotado == Telefone.NAO_EMPACOTAVEL) {
+            if (outros != null && outros.remove(obj)) {
+                modificacoes++;
+                return true;
+            }
+            return false;
+        }
+        int indice = indiceDe(empacotado);
+        if (indice < 0) {
+            return false;
+        }
+        removeEmpacotado(indice);
+        return true;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.AbstractCollection#size()
+     */
+    @Override
+    public int size() {
+        return quantidade + (outros == null ? 0 : outros.size());
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.validation.ModificationCounted#modificationCount()
+     */
+    @Override
+    public int modificationCount() {
+        return modificacoes;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.validation.ModificationCounted#copiesElements()
+     */
+    @Override
+    public boolean copiesElements() {
+        return true;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.AbstractCollection#clear()
+     */
+    @Override
+    public void clear() {
+        quantidade = 0;
+        outros = null;
+        indice = null;
+        modificacoes++;
+        publicados = VAZIO;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.AbstractCollection#iterator()
+     */
+    @Override
+    public Iterator<Telefone> iterator() {
+        return new Iterador();
+    }
+
+    // Auxiliares
+
+    /**
+     * Posição do telefone empacotado, ou -1.
+     *
+     * @param empacotado the empacotado
+     * @return the int
+     */
+    private int indiceDe(long empacotado) {
+        if (indice == null) {
+            for(int i = 0; i < quantidade; i++) {
+                if (empacotados[i] == empacotado) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int mascara = indice.length - 1;
+        for(int i = espalha(empacotado) & mascara;; i = (i + 1) & mascara) {
+            int posicao = indice[i] - 1;
+            if (posicao < 0 || empacotados[posicao] == empacotado) {
+                return posicao;
+            }
+        }
+    }
+
+    /**
+     * Remove o telefone empacotado da posição, movendo o último para o lugar dele.
+     *
+     * @param posicao the posicao
+     */
+    private void removeEmpacotado(int posicao) {
+        empacotados[posicao] = empacotados[--quantidade];
+        if (indice != null) {
+            if (quantidade > SmallSet.LIMITE_LINEAR) {
+                reconstroiIndice();
+            } else {
+                indice = null;
+            }
+        }
+        modificacoes++;
+        publica();
+    }
+
+    /**
+     * Publica uma cópia dos telefones empacotados para as consultas de outras threads.
+     */
+    private void publica() {
+        publicados = Arrays.copyOf(empacotados, quantidade);
+    }
+
+    /**
+     * Recria o índice com ocupação de no máximo 50%.
+     */
+    private void reconstroiIndice() {
+        indice = new int[Integer.highestOneBit(Math.max(quantidade, SmallSet.LIMITE_LINEAR) * 2) * 2];
+        for(int i = 0; i < quantidade; i++) {
+            indexa(i);
+        }
+    }
+
+    /**
+     * Insere a posição no índice, dobrando-o quando passar da metade.
+     *
+     * @param posicao the posicao
+     */
+    private void indexa(int posicao) {
+        if (quantidade * 2 > indice.length) {
+            reconstroiIndice();
+            return;
+        }
+        int mascara = indice.length - 1;
+        int i = espalha(empacotados[posicao]) & mascara;
+        while(indice[i] != 0) {
+            i = (i + 1) & mascara;
+        }
+        indice[i] = posicao + 1;
+    }
+
+    /**
+     * Espalha os bits do telefone empacotado.
+     *
+     * @param empacotado the empacotado
+     * @return the int
+     */
+    private static int espalha(long empacotado) {
+        long espalhado = empacotado * 0x9E3779B97F4A7C15L;
+        return (int) (espalhado >>> 32);
+    }
+
+    /**
+     * Adiciona um telefone que não cabe em um {@code long}.
+     *
+     * @param telefone the telefone
+     * @return true, if successful
+     */
+    private boolean adicionaOutro(Telefone telefone) {
+        if (outros == null) {
+            outros = new ArrayList<Telefone>(1);
+        } else if (outros.contains(telefone)) {
+            return false;
+        }
+        outros.add(telefone == null ? null : telefone.copia());
+        modificacoes++;
+        return true;
+    }
+
+    /**
+     * Iterador que percorre primeiro os telefones empacotados e depois os demais.
+     */
+    private final class Iterador implements Iterator<Telefone> {
+
+        /** Próxima posição, contando os empacotados e depois os demais. */
+        private int proximo;
+
+        /** Posição do último elemento devolvido, ou -1. */
+        private int ultimo = -1;
+
+        /** The modificacoes esperadas. */
+        private int modificacoesEsperadas = modificacoes;
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.util.Iterator#hasNext()
+         */
+        @Override
+        public boolean hasNext() {
+            return proximo < size();
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.util.Iterator#next()
+         */
+        @Override
+        public Telefone next() {
+            verificaModificacoes();
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ultimo = proximo++;
+            if (ultimo < quantidade) {
+                return Telefone.desempacota(empacotados[ultimo]);
+            }
+            Telefone outro = outros.get(ultimo - quantidade);
+            return outro == null ? null : outro.copia();
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.util.Iterator#remove()
+         */
+        @Override
+        public void remove() {
+            verificaModificacoes();
+            if (ultimo < 0) {
+                throw new IllegalStateException();
+            }
+            if (ultimo < quantidade) {
+                // O último empacotado passa para a posição removida e ainda precisa ser visitado.
+                removeEmpacotado(ultimo);
+            } else {
+                outros.remove(ultimo - quantidade);
+                modificacoes++;
+            }
+            proximo = ultimo;
+            ultimo = -1;
+            modificacoesEsperadas = modificacoes;
+        }
+
+        /**
+         * Verifica modificacoes.
+         */
+        private void verificaModificacoes() {
+            if (modificacoes != modificacoesEsperadas) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+    }
+
+}
@@ -6,9 +6,9 @@ package br.com.contmatic.empresawilliam;
 public enum TelefoneType {
 
     /** The celular. */
-    CELULAR("Celular", 9),
+    CELULAR("Celular", 9, Celular.class),
     /** The fixo. */
-    FIXO("Fixo", 8);
+    FIXO("Fixo", 8, Fixo.class);
 
     /** The descricao. */
     private String descricao;
@@ -16,15 +16,20 @@ public enum TelefoneType {
     /** The tamanho. */
     private int tamanho;
 
+    /** Grupo de validação com o formato do número deste tipo. */
+    private Class<?> grupo;
+
     /**
      * Instantiates a new telefone type.
      *
      * @param descricao the descricao
      * @param tamanho the tamanho
+     * @param grupo the grupo
      */
-    private TelefoneType(String descricao, int tamanho) {
+    private TelefoneType(String descricao, int tamanho, Class<?> grupo) {
         this.descricao = descricao;
         this.tamanho = tamanho;
+        this.grupo = grupo;
     }
 
     /**
@@ -45,4 +50,13 @@ public enum TelefoneType {
         return this.tamanho;
     }
 
+    /**
+     * Obtém o grupo de validação ({@link Fixo} ou {@link Celular}) que exige um número com {@link #getTamanho()} dígitos.
+     *
+     * @return the grupo
+     */
+    public Class<?> getGrupo() {
+        return this.grupo;
+    }
+
 }
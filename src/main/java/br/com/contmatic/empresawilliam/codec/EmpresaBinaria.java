@@ -0,0 +1,341 @@
+package br.com.contmatic.empresawilliam.codec;
+
+import static br.com.contmatic.empresawilliam.codec.EmpresaCodec.CNPJ;
+import static br.com.contmatic.empresawilliam.codec.EmpresaCodec.CNPJ_NUMERICO;
+import static br.com.contmatic.empresawilliam.codec.EmpresaCodec.DATA_DE_ALTERACAO;
+import static br.com.contmatic.empresawilliam.codec.EmpresaCodec.DATA_DE_CRIACAO;
+import static br.com.contmatic.empresawilliam.codec.EmpresaCodec.EMAIL;
+import static br.com.contmatic.empresawilliam.codec.EmpresaCodec.ENDERECOS;
+import static br.com.contmatic.empresawilliam.codec.EmpresaCodec.PROPRIETARIO;
+import static br.com.contmatic.empresawilliam.codec.EmpresaCodec.QUANTIDADE_DE_CAMPOS;
+import static br.com.contmatic.empresawilliam.codec.EmpresaCodec.RAZAO_SOCIAL;
+import static br.com.contmatic.empresawilliam.codec.EmpresaCodec.SITE;
+import static br.com.contmatic.empresawilliam.codec.EmpresaCodec.TELEFONES;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Set;
+
+import org.joda.time.LocalDate;
+
+import br.com.contmatic.empresawilliam.Cnpj;
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.Endereco;
+import br.com.contmatic.empresawilliam.RelogioDeDias;
+import br.com.contmatic.empresawilliam.SmallSet;
+import br.com.contmatic.empresawilliam.Telefone;
+import br.com.contmatic.empresawilliam.TelefoneSet;
+
+/**
+ * The Class EmpresaBinaria.
+ *
+ * Empresa somente leitura sobre o corpo de um registro de {@link EmpresaCodec}. Na criação apenas localiza o início de cada campo;
+ * cada getter decodifica o campo a partir do buffer, e os conjuntos de endereços e telefones são montados (sem possibilidade de
+ * alteração) quando pedidos. Os setters lançam {@link UnsupportedOperationException}.
+ *
+ * Como as anotações de validação ficam nos campos de {@link Empresa}, que aqui não são usados, valide estas empresas com os
+ * validadores gerados (que usam os getters), e não com o Hibernate Validator.
+ */
+final class EmpresaBinaria extends Empresa {
+
+    /** The Constant SOMENTE_LEITURA. */
+    static final String SOMENTE_LEITURA = "A empresa decodificada é somente leitura.";
+
+    /** Posição de um campo nulo. */
+    private static final int AUSENTE = -1;
+
+    /** The corpo. */
+    private final ByteBuffer corpo;
+
+    /** Bits de presença dos campos. */
+    private final int presenca;
+
+    /** Início de cada campo no corpo, ou {@link #AUSENTE}. */
+    private final int[] posicoes = new int[QUANTIDADE_DE_CAMPOS];
+
+    /**
+     * Instantiates a new empresa binaria, localizando os campos do corpo.
+     *
+     * @param corpo the corpo
+     */
+    EmpresaBinaria(ByteBuffer corpo) {
+        this.corpo = corpo;
+        Entrada entrada = new Entrada(corpo, 0);
+        this.presenca = entrada.leQuantidade();
+        for(int campo = 0; campo < QUANTIDADE_DE_CAMPOS; campo++) {
+            if (!presente(campo)) {
+                posicoes[campo] = AUSENTE;
+                continue;
+            }
+            posicoes[campo] = entrada.posicao();
+            if (campo == DATA_DE_CRIACAO || campo == DATA_DE_ALTERACAO || campo == CNPJ && presente(CNPJ_NUMERICO)) {
+                entrada.leVarint();
+            } else {
+                entrada.pulaBloco();
+            }
+        }
+    }
+
+    // getters
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#getRazaoSocial()
+     */
+    @Override
+    public String getRazaoSocial() {
+        return texto(RAZAO_SOCIAL);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#getCnpj()
+     */
+    @Override
+    public String getCnpj() {
+        if (presente(CNPJ_NUMERICO)) {
+            return Cnpj.texto(entrada(CNPJ).leVarint());
+        }
+        return texto(CNPJ);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#getCnpjEmpacotado()
+     */
+    @Override
+    public long getCnpjEmpacotado() {
+        if (presente(CNPJ_NUMERICO)) {
+            return entrada(CNPJ).leVarint();
+        }
+        return super.getCnpjEmpacotado();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#getProprietario()
+     */
+    @Override
+    public String getProprietario() {
+        return texto(PROPRIETARIO);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#getEmail()
+     */
+    @Override
+    public String getEmail() {
+        return texto(EMAIL);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#getEnderecos()
+     */
+    @Override
+    public Set<Endereco> getEnderecos() {
+        if (!presente(ENDERECOS)) {
+            return null;
+        }
+        Entrada entrada = entrada(ENDERECOS);
+        entrada.leQuantidade();
+        int quantidade = entrada.leQuantidade();
+        Set<Endereco> enderecos = new SmallSet<Endereco>();
+        for(int i = 0; i < quantidade; i++) {
+            enderecos.add(EmpresaCodec.leEndereco(entrada));
+        }
+        return Collections.unmodifiableSet(enderecos);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#getTelefones()
+     */
+    @Override
+    public Set<Telefone> getTelefones() {
+        if (!presente(TELEFONES)) {
+            return null;
+        }
+        Entrada entrada = entrada(TELEFONES);
+        entrada.leQuantidade();
+        int quantidade = entrada.leQuantidade();
+        Set<Telefone> telefones = new TelefoneSet();
+        for(int i = 0; i < quantidade; i++) {
+            telefones.add(EmpresaCodec.leTelefone(entrada));
+        }
+        return Collections.unmodifiableSet(telefones);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#getSite()
+     */
+    @Override
+    public String getSite() {
+        return texto(SITE);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#getDataDeCriacao()
+     */
+    @Override
+    public LocalDate getDataDeCriacao() {
+        return data(DATA_DE_CRIACAO);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#getDataDeAlteracao()
+     */
+    @Override
+    public LocalDate getDataDeAlteracao() {
+        return data(DATA_DE_ALTERACAO);
+    }
+
+    // setters
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#setRazaoSocial(java.lang.String)
+     */
+    @Override
+    public void setRazaoSocial(String razaoSocial) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#setCnpj(java.lang.String)
+     */
+    @Override
+    public void setCnpj(String cnpj) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#setProprietario(java.lang.String)
+     */
+    @Override
+    public void setProprietario(String proprietario) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#setEmail(java.lang.String)
+     */
+    @Override
+    public void setEmail(String email) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#setEnderecos(java.util.Set)
+     */
+    @Override
+    public void setEnderecos(Set<Endereco> enderecos) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#setTelefones(java.util.Set)
+     */
+    @Override
+    public void setTelefones(Set<Telefone> telefones) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#setSite(java.lang.String)
+     */
+    @Override
+    public void setSite(String site) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#setDataDeCriacao(org.joda.time.LocalDate, br.com.contmatic.empresawilliam.RelogioDeDias)
+     */
+    @Override
+    public void setDataDeCriacao(LocalDate dataDeCriacao, RelogioDeDias relogio) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#setDataDeAlteracao(org.joda.time.LocalDate)
+     */
+    @Override
+    public void setDataDeAlteracao(LocalDate dataDeAlteracao) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    // Auxiliares
+
+    /**
+     * Indica se o bit de presença do campo está ligado.
+     *
+     * @param campo the campo
+     * @return true, if successful
+     */
+    private boolean presente(int campo) {
+        return (presenca & 1 << campo) != 0;
+    }
+
+    /**
+     * Cursor no início do campo.
+     *
+     * @param campo the campo
+     * @return the entrada
+     */
+    private Entrada entrada(int campo) {
+        return new Entrada(corpo, posicoes[campo]);
+    }
+
+    /**
+     * Texto do campo.
+     *
+     * @param campo the campo
+     * @return the string, ou null
+     */
+    private String texto(int campo) {
+        return presente(campo) ? entrada(campo).leTexto() : null;
+    }
+
+    /**
+     * Data do campo.
+     *
+     * @param campo the campo
+     * @return the local date, ou null
+     */
+    private LocalDate data(int campo) {
+        return presente(campo) ? EmpresaCodec.leData(entrada(campo)) : null;
+    }
+
+}
@@ -0,0 +1,398 @@
+package br.com.contmatic.empresawilliam.codec;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.nio.ByteBuffer;
+import java.util.Set;
+
+import org.joda.time.DateTimeConstants;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
+
+import br.com.contmatic.empresawilliam.Cnpj;
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.Endereco;
+import br.com.contmatic.empresawilliam.EnderecoType;
+import br.com.contmatic.empresawilliam.Telefone;
+import br.com.contmatic.empresawilliam.TelefoneType;
+import br.com.contmatic.empresawilliam.validation.CnpjValidator;
+
+/**
+ * The Class EmpresaCodec.
+ *
+ * Formato binário compacto e versionado de {@link Empresa}, com seus endereços e telefones, para transportar empresas entre etapas
+ * de processamento ou guardá-las em cache. Cada registro é:
+ *
+ * <pre>
+ * byte    versão ({@link #VERSAO})
+ * varint  quantidade de bytes do corpo
+ * corpo:
+ *   varint  campos presentes, um bit por campo na ordem abaixo (bit 9: CNPJ guardado como número)
+ *   CNPJ              varint com os 14 dígitos, ou texto se não forem 14 dígitos sem máscara
+ *   razão social, proprietário, email, site     textos
+ *   datas de criação e alteração                dias desde 01/01/1970, em zigue-zague
+ *   endereços, telefones                        varint de bytes, varint de quantidade e os elementos
+ * endereço: byte de cabeçalho (0 se nulo; tipo e textos presentes), número em zigue-zague, tipo e nome de logradouro, CEP
+ * telefone: 1 e o varint de {@link Telefone#empacota()}, ou byte de cabeçalho, DDD em zigue-zague e número; 0 se nulo
+ * texto:    varint de bytes e os bytes em UTF-8
+ * </pre>
+ *
+ * Os tipos de endereço e telefone vão no byte de cabeçalho do elemento, como ordinal + 1 (0 para nulo). Campos nulos não ocupam
+ * espaço além do bit de presença.
+ *
+ * {@link #decodifica(ByteBuffer)} não copia o registro: devolve uma empresa somente leitura que guarda uma fatia do buffer e só
+ * decodifica cada campo quando o getter é chamado. O conteúdo do buffer não deve ser alterado enquanto a empresa for usada.
+ */
+public final class EmpresaCodec {
+
+    /** Versão do formato gravada no primeiro byte de cada registro. */
+    public static final int VERSAO = 1;
+
+    /** The Constant CNPJ. */
+    static final int CNPJ = 0;
+
+    /** The Constant RAZAO_SOCIAL. */
+    static final int RAZAO_SOCIAL = 1;
+
+    /** The Constant PROPRIETARIO. */
+    static final int PROPRIETARIO = 2;
+
+    /** The Constant EMAIL. */
+    static final int EMAIL = 3;
+
+    /** The Constant SITE. */
+    static final int SITE = 4;
+
+    /** The Constant DATA_DE_CRIACAO. */
+    static final int DATA_DE_CRIACAO = 5;
+
+    /** The Constant DATA_DE_ALTERACAO. */
+    static final int DATA_DE_ALTERACAO = 6;
+
+    /** The Constant ENDERECOS. */
+    static final int ENDERECOS = 7;
+
+    /** The Constant TELEFONES. */
+    static final int TELEFONES = 8;
+
+    /** Quantidade de campos da empresa. */
+    static final int QUANTIDADE_DE_CAMPOS = 9;
+
+    /** Bit de presença que indica que o CNPJ foi guardado como número. */
+    static final int CNPJ_NUMERICO = 9;
+
+    /** Cabeçalho de um endereço ou telefone nulo. */
+    private static final int ELEMENTO_NULO = 0;
+
+    /** Bit que marca um endereço presente; o tipo fica nos dois bits seguintes. */
+    private static final int ENDERECO_PRESENTE = 1;
+
+    /** The Constant ENDERECO_TIPO_LOGRADOURO. */
+    private static final int ENDERECO_TIPO_LOGRADOURO = 1 << 3;
+
+    /** The Constant ENDERECO_NOME_LOGRADOURO. */
+    private static final int ENDERECO_NOME_LOGRADOURO = 1 << 4;
+
+    /** The Constant ENDERECO_CEP. */
+    private static final int ENDERECO_CEP = 1 << 5;
+
+    /** Cabeçalho de um telefone guardado como o valor de {@link Telefone#empacota()}. */
+    private static final int TELEFONE_EMPACOTADO = 1;
+
+    /** Bit que marca um telefone que não pôde ser empacotado; o tipo fica nos dois bits seguintes. */
+    private static final int TELEFONE_ABERTO = 2;
+
+    /** The Constant TELEFONE_NUMERO. */
+    private static final int TELEFONE_NUMERO = 1 << 4;
+
+    /** Máscara do tipo, depois de deslocado. */
+    private static final int MASCARA_TIPO = 3;
+
+    /** Capacidade inicial do corpo, suficiente para uma empresa típica. */
+    private static final int CAPACIDADE_INICIAL = 256;
+
+    /** The Constant EPOCA. */
+    private static final LocalDate EPOCA = new LocalDate(1970, 1, 1);
+
+    /**
+     * Instantiates a new empresa codec.
+     */
+    private EmpresaCodec() {
+
+    }
+
+    // Escrita
+
+    /**
+     * Codifica a empresa.
+     *
+     * @param empresa the empresa
+     * @return os bytes do registro
+     */
+    public static byte[] codifica(Empresa empresa) {
+        return registro(empresa).toByteArray();
+    }
+
+    /**
+     * Codifica a empresa no destino, a partir da posição atual, que avança até o fim do registro.
+     *
+     * @param empresa the empresa
+     * @param destino the destino
+     * @throws java.nio.BufferOverflowException se o registro não couber no destino; nesse caso nada é escrito
+     */
+    public static void codifica(Empresa empresa, ByteBuffer destino) {
+        checkNotNull(destino, "O destino deve ser preenchido.");
+        registro(empresa).copiaPara(destino);
+    }
+
+    // Leitura
+
+    /**
+     * Decodifica o registro que começa na posição atual da origem, que avança até o fim do registro. Os bytes não são copiados.
+     *
+     * @param origem the origem
+     * @return uma empresa somente leitura, cujos setters lançam {@link UnsupportedOperationException}
+     */
+    public static Empresa decodifica(ByteBuffer origem) {
+        checkNotNull(origem, "A origem deve ser preenchida.");
+        Entrada entrada = new Entrada(origem, origem.position());
+        int versao = entrada.leByte();
+        checkArgument(versao == VERSAO, "Versão %s do formato binário de empresa não suportada.", versao);
+        int tamanho = entrada.leQuantidade();
+        int inicio = entrada.posicao();
+        checkArgument(tamanho <= origem.limit() - inicio, "O registro de %s bytes passa do fim do buffer.", tamanho);
+        ByteBuffer corpo = origem.duplicate();
+        corpo.position(inicio);
+        corpo.limit(inicio + tamanho);
+        EmpresaBinaria empresa = new EmpresaBinaria(corpo.slice());
+        origem.position(inicio + tamanho);
+        return empresa;
+    }
+
+    // Auxiliares
+
+    /**
+     * Escreve o registro completo, com versão e tamanho.
+     *
+     * @param empresa the empresa
+     * @return the saida
+     */
+    private static Saida registro(Empresa empresa) {
+        checkNotNull(empresa, "A empresa deve ser preenchida.");
+        Saida corpo = new Saida(CAPACIDADE_INICIAL);
+        Saida conjunto = new Saida(CAPACIDADE_INICIAL);
+        String cnpj = empresa.getCnpj();
+        Cnpj cnpjNumerico = cnpj != null && cnpj.length() == CnpjValidator.TAMANHO ? Cnpj.tryParse(cnpj) : null;
+        Set<Endereco> enderecos = empresa.getEnderecos();
+        Set<Telefone> telefones = empresa.getTelefones();
+        int presenca = presenca(CNPJ, cnpj) | presenca(RAZAO_SOCIAL, empresa.getRazaoSocial()) | presenca(PROPRIETARIO, empresa.getProprietario())
+                | presenca(EMAIL, empresa.getEmail()) | presenca(SITE, empresa.getSite()) | presenca(DATA_DE_CRIACAO, empresa.getDataDeCriacao())
+                | presenca(DATA_DE_ALTERACAO, empresa.getDataDeAlteracao()) | presenca(ENDERECOS, enderecos) | presenca(TELEFONES, telefones)
+                | presenca(CNPJ_NUMERICO, cnpjNumerico);
+        corpo.escreveVarint(presenca);
+        if (cnpjNumerico != null) {
+            corpo.escreveVarint(cnpjNumerico.longValue());
+        } else if (cnpj != null) {
+            corpo.escreveTexto(cnpj);
+        }
+        escreveTexto(corpo, empresa.getRazaoSocial());
+        escreveTexto(corpo, empresa.getProprietario());
+        escreveTexto(corpo, empresa.getEmail());
+        escreveTexto(corpo, empresa.getSite());
+        escreveData(corpo, empresa.getDataDeCriacao());
+        escreveData(corpo, empresa.getDataDeAlteracao());
+        if (enderecos != null) {
+            conjunto.escreveVarint(enderecos.size());
+            for(Endereco endereco : enderecos) {
+                escreveEndereco(conjunto, endereco);
+            }
+            corpo.escreveComTamanho(conjunto);
+        }
+        if (telefones != null) {
+            conjunto.limpa();
+            conjunto.escreveVarint(telefones.size());
+            for(Telefone telefone : telefones) {
+                escreveTelefone(conjunto, telefone);
+            }
+            corpo.escreveComTamanho(conjunto);
+        }
+        Saida registro = new Saida(corpo.tamanho() + 6);
+        registro.escreveByte(VERSAO);
+        registro.escreveComTamanho(corpo);
+        return registro;
+    }
+
+    /**
+     * Bit de presença do campo.
+     *
+     * @param campo the campo
+     * @param valor the valor
+     * @return o bit, ou 0 se o valor for nulo
+     */
+    private static int presenca(int campo, Object valor) {
+        return valor == null ? 0 : 1 << campo;
+    }
+
+    /**
+     * Escreve o texto, se não for nulo.
+     *
+     * @param saida the saida
+     * @param texto the texto
+     */
+    private static void escreveTexto(Saida saida, String texto) {
+        if (texto != null) {
+            saida.escreveTexto(texto);
+        }
+    }
+
+    /**
+     * Escreve a data em dias desde 01/01/1970, se não for nula.
+     *
+     * @param saida the saida
+     * @param data the data
+     */
+    private static void escreveData(Saida saida, LocalDate data) {
+        if (data != null) {
+            long milissegundos = data.toDateTimeAtStartOfDay(DateTimeZone.UTC).getMillis();
+            saida.escreveZigueZague(Math.floorDiv(milissegundos, DateTimeConstants.MILLIS_PER_DAY));
+        }
+    }
+
+    /**
+     * Escreve o endereço.
+     *
+     * @param saida the saida
+     * @param endereco the endereco
+     */
+    private static void escreveEndereco(Saida saida, Endereco endereco) {
+        if (endereco == null) {
+            saida.escreveByte(ELEMENTO_NULO);
+            return;
+        }
+        String tipoLogradouro = endereco.getTipoLogradouro();
+        String nomeLogradouro = endereco.getNomeLogradouro();
+        String cep = endereco.getCep();
+        int cabecalho = ENDERECO_PRESENTE | tipo(endereco.getTipoEndereco()) << 1 | (tipoLogradouro == null ? 0 : ENDERECO_TIPO_LOGRADOURO)
+                | (nomeLogradouro == null ? 0 : ENDERECO_NOME_LOGRADOURO) | (cep == null ? 0 : ENDERECO_CEP);
+        saida.escreveByte(cabecalho);
+        saida.escreveZigueZague(endereco.getNumeroEndereco());
+        escreveTexto(saida, tipoLogradouro);
+        escreveTexto(saida, nomeLogradouro);
+        escreveTexto(saida, cep);
+    }
+
+    /**
+     * Escreve o telefone, empacotado sempre que possível.
+     *
+     * @param saida the saida
+     * @param telefone the telefone
+     */
+    private static void escreveTelefone(Saida saida, Telefone telefone) {
+        if (telefone == null) {
+            saida.escreveByte(ELEMENTO_NULO);
+            return;
+        }
+        long empacotado = telefone.empacota();
+        if (empacotado != Telefone.NAO_EMPACOTAVEL) {
+            saida.escreveByte(TELEFONE_EMPACOTADO);
+            saida.escreveVarint(empacotado);
+            return;
+        }
+        String numero = telefone.getTelefone();
+        saida.escreveByte(TELEFONE_ABERTO | tipo(telefone.getTipoTelefone()) << 2 | (numero == null ? 0 : TELEFONE_NUMERO));
+        saida.escreveZigueZague(telefone.getDdd());
+        escreveTexto(saida, numero);
+    }
+
+    /**
+     * Ordinal + 1 do tipo, ou 0 se nulo. Cabe em dois bits enquanto os enums tiverem até três valores.
+     *
+     * @param tipo the tipo
+     * @return the int
+     */
+    private static int tipo(Enum<?> tipo) {
+        return tipo == null ? 0 : tipo.ordinal() + 1;
+    }
+
+    /**
+     * Lê a data.
+     *
+     * @param entrada the entrada
+     * @return the local date
+     */
+    static LocalDate leData(Entrada entrada) {
+        long dia = entrada.leZigueZague();
+        checkArgument(dia >= Integer.MIN_VALUE && dia <= Integer.MAX_VALUE, "Data fora do intervalo: %s dias.", dia);
+        return EPOCA.plusDays((int) dia);
+    }
+
+    /**
+     * Lê o endereço.
+     *
+     * @param entrada the entrada
+     * @return the endereco, ou null
+     */
+    static Endereco leEndereco(Entrada entrada) {
+        int cabecalho = entrada.leByte();
+        if (cabecalho == ELEMENTO_NULO) {
+            return null;
+        }
+        checkArgument((cabecalho & ENDERECO_PRESENTE) != 0, "Cabeçalho de endereço inválido: %s.", cabecalho);
+        Endereco endereco = new Endereco();
+        endereco.setTipoEndereco(tipo(EnderecoType.values(), cabecalho >>> 1 & MASCARA_TIPO));
+        long numero = entrada.leZigueZague();
+        checkArgument(numero >= Integer.MIN_VALUE && numero <= Integer.MAX_VALUE, "Número de endereço fora do intervalo: %s.", numero);
+        endereco.setNumeroEndereco((int) numero);
+        if ((cabecalho & ENDERECO_TIPO_LOGRADOURO) != 0) {
+            endereco.setTipoLogradouro(entrada.leTexto());
+        }
+        if ((cabecalho & ENDERECO_NOME_LOGRADOURO) != 0) {
+            endereco.setNomeLogradouro(entrada.leTexto());
+        }
+        if ((cabecalho & ENDERECO_CEP) != 0) {
+            endereco.setCep(entrada.leTexto());
+        }
+        return endereco;
+    }
+
+    /**
+     * Lê o telefone.
+     *
+     * @param entrada the entrada
+     * @return the telefone, ou null
+     */
+    static Telefone leTelefone(Entrada entrada) {
+        int cabecalho = entrada.leByte();
+        if (cabecalho == ELEMENTO_NULO) {
+            return null;
+        }
+        if (cabecalho == TELEFONE_EMPACOTADO) {
+            return Telefone.desempacota(entrada.leVarint());
+        }
+        checkArgument((cabecalho & TELEFONE_ABERTO) != 0, "Cabeçalho de telefone inválido: %s.", cabecalho);
+        Telefone telefone = new Telefone();
+        telefone.setTipoTelefone(tipo(TelefoneType.values(), cabecalho >>> 2 & MASCARA_TIPO));
+        long ddd = entrada.leZigueZague();
+        checkArgument(ddd >= Integer.MIN_VALUE && ddd <= Integer.MAX_VALUE, "DDD fora do intervalo: %s.", ddd);
+        telefone.setDdd((int) ddd);
+        if ((cabecalho & TELEFONE_NUMERO) != 0) {
+            telefone.setTelefoneFixo(entrada.leTexto());
+        }
+        return telefone;
+    }
+
+    /**
+     * Tipo guardado como ordinal + 1.
+     *
+     * @param <T> the generic type
+     * @param valores the valores
+     * @param tipo the tipo
+     * @return o tipo, ou null se for 0
+     */
+    private static <T extends Enum<T>> T tipo(T[] valores, int tipo) {
+        checkArgument(tipo <= valores.length, "Tipo %s inexistente.", tipo);
+        return tipo == 0 ? null : valores[tipo - 1];
+    }
+
+}
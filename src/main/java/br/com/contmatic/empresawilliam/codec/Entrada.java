@@ -0,0 +1,125 @@
+package br.com.contmatic.empresawilliam.codec;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The Class Entrada.
+ *
+ * Cursor de leitura sobre um {@link ByteBuffer}, no formato escrito por {@link Saida}. Usa apenas os métodos absolutos do buffer,
+ * de modo que vários cursores podem ler o mesmo buffer ao mesmo tempo sem alterar sua posição.
+ */
+final class Entrada {
+
+    /** Maior quantidade de bytes de um varint de 64 bits. */
+    private static final int BYTES_MAXIMOS_VARINT = 10;
+
+    /** The buffer. */
+    private final ByteBuffer buffer;
+
+    /** The posicao. */
+    private int posicao;
+
+    /**
+     * Instantiates a new entrada.
+     *
+     * @param buffer the buffer
+     * @param posicao the posicao
+     */
+    Entrada(ByteBuffer buffer, int posicao) {
+        this.buffer = buffer;
+        this.posicao = posicao;
+    }
+
+    // Leitura
+
+    /**
+     * Posição do próximo byte.
+     *
+     * @return the int
+     */
+    int posicao() {
+        return posicao;
+    }
+
+    /**
+     * Lê um byte sem sinal.
+     *
+     * @return the int
+     */
+    int leByte() {
+        return buffer.get(posicao++) & 0xFF;
+    }
+
+    /**
+     * Lê um varint sem sinal.
+     *
+     * @return the long
+     */
+    long leVarint() {
+        long valor = 0;
+        for(int i = 0; i < BYTES_MAXIMOS_VARINT; i++) {
+            byte atual = buffer.get(posicao++);
+            valor |= (long) (atual & 0x7F) << (7 * i);
+            if (atual >= 0) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Varint com mais de " + BYTES_MAXIMOS_VARINT + " bytes na posição " + (posicao - BYTES_MAXIMOS_VARINT) + ".");
+    }
+
+    /**
+     * Lê um varint que deve caber em um {@code int} não negativo, como quantidades e tamanhos.
+     *
+     * @return the int
+     */
+    int leQuantidade() {
+        long valor = leVarint();
+        checkArgument(valor >= 0 && valor <= Integer.MAX_VALUE, "Quantidade inválida: %s.", valor);
+        return (int) valor;
+    }
+
+    /**
+     * Lê um valor com sinal escrito em zigue-zague.
+     *
+     * @return the long
+     */
+    long leZigueZague() {
+        long valor = leVarint();
+        return valor >>> 1 ^ -(valor & 1);
+    }
+
+    /**
+     * Lê um texto. Se o buffer tiver um array acessível, a string é criada direto dele, sem cópia intermediária.
+     *
+     * @return the string
+     */
+    String leTexto() {
+        int tamanho = leQuantidade();
+        checkArgument(tamanho <= buffer.limit() - posicao, "Texto de %s bytes passa do fim do registro.", tamanho);
+        String texto;
+        if (buffer.hasArray()) {
+            texto = new String(buffer.array(), buffer.arrayOffset() + posicao, tamanho, StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[tamanho];
+            for(int i = 0; i < tamanho; i++) {
+                bytes[i] = buffer.get(posicao + i);
+            }
+            texto = new String(bytes, StandardCharsets.UTF_8);
+        }
+        posicao += tamanho;
+        return texto;
+    }
+
+    /**
+     * Pula um bloco precedido de sua quantidade de bytes, como um texto.
+     */
+    void pulaBloco() {
+        int tamanho = leQuantidade();
+        checkArgument(tamanho <= buffer.limit() - posicao, "Bloco de %s bytes passa do fim do registro.", tamanho);
+        posicao += tamanho;
+    }
+
+}
@@ -0,0 +1,148 @@
+package br.com.contmatic.empresawilliam.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.google.common.base.Utf8;
+
+/**
+ * The Class Saida.
+ *
+ * Bytes de um registro em construção, em um array que cresce conforme a necessidade. Escreve inteiros como varint (7 bits por
+ * byte, do menos para o mais significativo) e textos como varint da quantidade de bytes seguida dos bytes em UTF-8.
+ */
+final class Saida {
+
+    /** The bytes. */
+    private byte[] bytes;
+
+    /** The tamanho. */
+    private int tamanho;
+
+    /**
+     * Instantiates a new saida.
+     *
+     * @param capacidade the capacidade inicial
+     */
+    Saida(int capacidade) {
+        this.bytes = new byte[capacidade];
+    }
+
+    // Escrita
+
+    /**
+     * Escreve um byte.
+     *
+     * @param valor the valor
+     */
+    void escreveByte(int valor) {
+        garante(1);
+        bytes[tamanho++] = (byte) valor;
+    }
+
+    /**
+     * Escreve o valor como varint sem sinal.
+     *
+     * @param valor the valor
+     */
+    void escreveVarint(long valor) {
+        garante(10);
+        while((valor & ~0x7FL) != 0) {
+            bytes[tamanho++] = (byte) (valor & 0x7F | 0x80);
+            valor >>>= 7;
+        }
+        bytes[tamanho++] = (byte) valor;
+    }
+
+    /**
+     * Escreve o valor com sinal em zigue-zague (0, -1, 1, -2, ...), para que números negativos pequenos também ocupem poucos bytes.
+     *
+     * @param valor the valor
+     */
+    void escreveZigueZague(long valor) {
+        escreveVarint(valor << 1 ^ valor >> 63);
+    }
+
+    /**
+     * Escreve o texto. Textos só com ASCII são copiados caractere a caractere, sem o array intermediário do {@code getBytes}.
+     *
+     * @param texto the texto
+     */
+    void escreveTexto(String texto) {
+        int quantidade = texto.length();
+        int utf8 = Utf8.encodedLength(texto);
+        escreveVarint(utf8);
+        garante(utf8);
+        if (utf8 == quantidade) {
+            for(int i = 0; i < quantidade; i++) {
+                bytes[tamanho++] = (byte) texto.charAt(i);
+            }
+        } else {
+            System.arraycopy(texto.getBytes(StandardCharsets.UTF_8), 0, bytes, tamanho, utf8);
+            tamanho += utf8;
+        }
+    }
+
+    /**
+     * Escreve a quantidade de bytes da outra saída e, em seguida, os bytes.
+     *
+     * @param outra the outra
+     */
+    void escreveComTamanho(Saida outra) {
+        escreveVarint(outra.tamanho);
+        garante(outra.tamanho);
+        System.arraycopy(outra.bytes, 0, bytes, tamanho, outra.tamanho);
+        tamanho += outra.tamanho;
+    }
+
+    /**
+     * Descarta o que foi escrito, mantendo a capacidade.
+     */
+    void limpa() {
+        tamanho = 0;
+    }
+
+    // Leitura
+
+    /**
+     * Tamanho.
+     *
+     * @return the int
+     */
+    int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Copia os bytes escritos para o destino, a partir da posição atual dele.
+     *
+     * @param destino the destino
+     */
+    void copiaPara(ByteBuffer destino) {
+        destino.put(bytes, 0, tamanho);
+    }
+
+    /**
+     * Cópia dos bytes escritos.
+     *
+     * @return the byte[]
+     */
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes, tamanho);
+    }
+
+    // Auxiliares
+
+    /**
+     * Garante espaço para mais bytes.
+     *
+     * @param quantidade the quantidade
+     */
+    private void garante(int quantidade) {
+        if (tamanho + quantidade > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, tamanho + quantidade));
+        }
+    }
+
+}
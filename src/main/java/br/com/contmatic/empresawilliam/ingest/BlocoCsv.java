@@ -0,0 +1,244 @@
+package br.com.contmatic.empresawilliam.ingest;
+
+import java.util.Arrays;
+
+/**
+ * The Class BlocoCsv.
+ *
+ * Trecho do arquivo com registros completos, como foi lido, e a posição de cada campo no texto. Os campos não são copiados na
+ * divisão: números, datas e tipos são convertidos direto do {@code char[]}, e só os campos de texto viram {@link String}.
+ *
+ * O fim de um campo entre aspas que contém aspas duplicadas ({@code ""}) é guardado negado ({@code ~fim}), para que só esses
+ * campos passem pela remoção das aspas extras.
+ */
+final class BlocoCsv {
+
+    /** Bloco vazio que marca o fim da leitura. */
+    static final BlocoCsv FIM = new BlocoCsv(new char[0], 0);
+
+    /** The Constant CAPACIDADE_INICIAL. */
+    private static final int CAPACIDADE_INICIAL = 64;
+
+    // Variáveis
+
+    /** The texto. */
+    private final char[] texto;
+
+    /** Início e fim de cada campo, lado a lado. */
+    private int[] campos;
+
+    /** The quantidade de campos. */
+    private int quantidadeDeCampos;
+
+    /** Índice do primeiro campo de cada registro, com uma posição a mais para o fim do último. */
+    private int[] registros;
+
+    /** Início e fim do texto de cada registro, lado a lado. */
+    private int[] limites;
+
+    /** Linha do arquivo em que cada registro começa. */
+    private long[] linhas;
+
+    /** The quantidade de registros. */
+    private int quantidade;
+
+    /** Primeiro registro a ser processado; o cabeçalho é pulado no primeiro bloco. */
+    private int primeiro;
+
+    /**
+     * Instantiates a new bloco csv.
+     *
+     * @param texto the texto
+     * @param registrosEsperados the registros esperados
+     */
+    BlocoCsv(char[] texto, int registrosEsperados) {
+        int capacidade = Math.max(1, registrosEsperados);
+        this.texto = texto;
+        this.campos = new int[CAPACIDADE_INICIAL];
+        this.registros = new int[capacidade + 1];
+        this.limites = new int[capacidade * 2];
+        this.linhas = new long[capacidade];
+    }
+
+    // Escrita
+
+    /**
+     * Começa um registro.
+     *
+     * @param inicio posição do registro no texto
+     * @param linha linha do arquivo
+     */
+    void iniciaRegistro(int inicio, long linha) {
+        if (quantidade == linhas.length) {
+            registros = Arrays.copyOf(registros, quantidade * 2 + 1);
+            limites = Arrays.copyOf(limites, quantidade * 4);
+            linhas = Arrays.copyOf(linhas, quantidade * 2);
+        }
+        registros[quantidade] = quantidadeDeCampos;
+        limites[quantidade * 2] = inicio;
+        linhas[quantidade] = linha;
+    }
+
+    /**
+     * Adiciona um campo ao registro em andamento.
+     *
+     * @param inicio the inicio
+     * @param fim the fim
+     * @param comAspasDuplicadas se o campo contém {@code ""} a ser reduzido a uma aspa
+     */
+    void adicionaCampo(int inicio, int fim, boolean comAspasDuplicadas) {
+        if (quantidadeDeCampos * 2 == campos.length) {
+            campos = Arrays.copyOf(campos, campos.length * 2);
+        }
+        campos[quantidadeDeCampos * 2] = inicio;
+        campos[quantidadeDeCampos * 2 + 1] = comAspasDuplicadas ? ~fim : fim;
+        quantidadeDeCampos++;
+    }
+
+    /**
+     * Conclui o registro em andamento.
+     *
+     * @param fim fim do texto do registro, sem a quebra de linha
+     */
+    void concluiRegistro(int fim) {
+        limites[quantidade * 2 + 1] = fim;
+        quantidade++;
+        registros[quantidade] = quantidadeDeCampos;
+    }
+
+    /**
+     * Descarta o registro em andamento, que não terminou dentro do bloco.
+     */
+    void descartaRegistro() {
+        quantidadeDeCampos = registros[quantidade];
+    }
+
+    /**
+     * Pula os registros anteriores ao informado.
+     *
+     * @param primeiro the primeiro
+     */
+    void pulaAte(int primeiro) {
+        this.primeiro = primeiro;
+    }
+
+    // Leitura
+
+    /**
+     * Primeiro registro a ser processado.
+     *
+     * @return the int
+     */
+    int primeiro() {
+        return primeiro;
+    }
+
+    /**
+     * Quantidade de registros, incluindo os pulados.
+     *
+     * @return the int
+     */
+    int quantidade() {
+        return quantidade;
+    }
+
+    /**
+     * Quantidade de campos do registro.
+     *
+     * @param registro the registro
+     * @return the int
+     */
+    int quantidadeDeCampos(int registro) {
+        return registros[registro + 1] - registros[registro];
+    }
+
+    /**
+     * Linha do arquivo em que o registro começa.
+     *
+     * @param registro the registro
+     * @return the long
+     */
+    long linha(int registro) {
+        return linhas[registro];
+    }
+
+    /**
+     * Texto completo do registro, como estava no arquivo.
+     *
+     * @param registro the registro
+     * @return the string
+     */
+    String texto(int registro) {
+        return new String(texto, limites[registro * 2], limites[registro * 2 + 1] - limites[registro * 2]);
+    }
+
+    /**
+     * Indica se o campo está vazio ou não existe no registro.
+     *
+     * @param registro the registro
+     * @param coluna the coluna
+     * @return true, if successful
+     */
+    boolean vazio(int registro, int coluna) {
+        return coluna < 0 || coluna >= quantidadeDeCampos(registro) || inicio(registro, coluna) == fim(registro, coluna);
+    }
+
+    /**
+     * Texto do campo.
+     *
+     * @param registro the registro
+     * @param coluna the coluna
+     * @return o texto, ou null se o campo estiver vazio
+     */
+    String campo(int registro, int coluna) {
+        if (vazio(registro, coluna)) {
+            return null;
+        }
+        int inicio = inicio(registro, coluna);
+        int fim = fim(registro, coluna);
+        if (campos[(registros[registro] + coluna) * 2 + 1] >= 0) {
+            return new String(texto, inicio, fim - inicio);
+        }
+        StringBuilder sb = new StringBuilder(fim - inicio);
+        for(int i = inicio; i < fim; i++) {
+            sb.append(texto[i]);
+            if (texto[i] == '"') {
+                i++;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Início do campo no texto.
+     *
+     * @param registro the registro
+     * @param coluna the coluna
+     * @return the int
+     */
+    int inicio(int registro, int coluna) {
+        return campos[(registros[registro] + coluna) * 2];
+    }
+
+    /**
+     * Fim do campo no texto.
+     *
+     * @param registro the registro
+     * @param coluna the coluna
+     * @return the int
+     */
+    int fim(int registro, int coluna) {
+        int fim = campos[(registros[registro] + coluna) * 2 + 1];
+        return fim < 0 ? ~fim : fim;
+    }
+
+    /**
+     * Texto do bloco, para conversões sem cópia.
+     *
+     * @return the char[]
+     */
+    char[] texto() {
+        return texto;
+    }
+
+}
@@ -0,0 +1,21 @@
+package br.com.contmatic.empresawilliam.ingest;
+
+import br.com.contmatic.empresawilliam.Empresa;
+
+/**
+ * The Interface DestinoDeEmpresas.
+ *
+ * Recebe as empresas válidas de uma importação. É chamado sempre pela mesma thread, a que chamou
+ * {@link ImportadorCsv#importa(java.io.Reader, DestinoDeEmpresas, DestinoDeRejeitadas)}, e não precisa ser thread-safe.
+ */
+public interface DestinoDeEmpresas {
+
+    /**
+     * Recebe uma empresa válida.
+     *
+     * @param linha linha do arquivo em que o registro começa
+     * @param empresa the empresa
+     */
+    void aceita(long linha, Empresa empresa);
+
+}
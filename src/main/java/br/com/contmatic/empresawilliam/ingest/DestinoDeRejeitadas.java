@@ -0,0 +1,18 @@
+package br.com.contmatic.empresawilliam.ingest;
+
+/**
+ * The Interface DestinoDeRejeitadas.
+ *
+ * Recebe os registros inválidos de uma importação, com suas violações. Como o {@link DestinoDeEmpresas}, é chamado sempre pela
+ * thread que iniciou a importação.
+ */
+public interface DestinoDeRejeitadas {
+
+    /**
+     * Recebe um registro inválido.
+     *
+     * @param rejeitada the rejeitada
+     */
+    void rejeita(EmpresaRejeitada rejeitada);
+
+}
@@ -0,0 +1,98 @@
+package br.com.contmatic.empresawilliam.ingest;
+
+import java.util.List;
+
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.validation.ValidationResult;
+
+/**
+ * The Class EmpresaRejeitada.
+ *
+ * Registro do CSV que não passou na validação: a linha e o texto originais, a empresa montada (com os campos que puderam ser
+ * convertidos) e as violações, tanto as de conversão quanto as das restrições da entidade.
+ */
+public final class EmpresaRejeitada {
+
+    /** The linha. */
+    private final long linha;
+
+    /** The registro. */
+    private final String registro;
+
+    /** The empresa. */
+    private final Empresa empresa;
+
+    /** The resultado. */
+    private final ValidationResult resultado;
+
+    /**
+     * Instantiates a new empresa rejeitada.
+     *
+     * @param linha the linha
+     * @param registro the registro
+     * @param empresa the empresa
+     * @param resultado the resultado
+     */
+    EmpresaRejeitada(long linha, String registro, Empresa empresa, ValidationResult resultado) {
+        this.linha = linha;
+        this.registro = registro;
+        this.empresa = empresa;
+        this.resultado = resultado;
+    }
+
+    /**
+     * Linha do arquivo em que o registro começa.
+     *
+     * @return the linha
+     */
+    public long getLinha() {
+        return linha;
+    }
+
+    /**
+     * Texto do registro como estava no arquivo, sem a quebra de linha.
+     *
+     * @return the registro
+     */
+    public String getRegistro() {
+        return registro;
+    }
+
+    /**
+     * Gets the empresa.
+     *
+     * @return the empresa
+     */
+    public Empresa getEmpresa() {
+        return empresa;
+    }
+
+    /**
+     * Gets the resultado.
+     *
+     * @return the resultado
+     */
+    public ValidationResult getResultado() {
+        return resultado;
+    }
+
+    /**
+     * Mensagens das violações.
+     *
+     * @return the mensagens
+     */
+    public List<String> getMensagens() {
+        return resultado.getMessages();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "Linha " + linha + ": " + resultado;
+    }
+
+}
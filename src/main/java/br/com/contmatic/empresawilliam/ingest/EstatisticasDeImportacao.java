@@ -0,0 +1,202 @@
+package br.com.contmatic.empresawilliam.ingest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The Class EstatisticasDeImportacao.
+ *
+ * Contadores de uma importação, atualizados pelas etapas enquanto ela corre e que podem ser lidos a qualquer momento por outra
+ * thread, por exemplo para exibir o progresso. As taxas são calculadas sobre o tempo decorrido desde o início (ou até o fim, se a
+ * importação já terminou).
+ */
+public final class EstatisticasDeImportacao {
+
+    /** The Constant NAO_TERMINOU. */
+    private static final long NAO_TERMINOU = -1L;
+
+    /** The caracteres lidos. */
+    private final AtomicLong caracteresLidos = new AtomicLong();
+
+    /** The registros lidos. */
+    private final AtomicLong registrosLidos = new AtomicLong();
+
+    /** The validas. */
+    private final AtomicLong validas = new AtomicLong();
+
+    /** The invalidas. */
+    private final AtomicLong invalidas = new AtomicLong();
+
+    /** Início, em {@link System#nanoTime()}. */
+    private volatile long inicio;
+
+    /** Fim, em {@link System#nanoTime()}, ou {@link #NAO_TERMINOU}. */
+    private volatile long fim = NAO_TERMINOU;
+
+    // Escrita
+
+    /**
+     * Marca o início da importação.
+     */
+    void inicia() {
+        inicio = System.nanoTime();
+        fim = NAO_TERMINOU;
+    }
+
+    /**
+     * Marca o fim da importação.
+     */
+    void termina() {
+        fim = System.nanoTime();
+    }
+
+    /**
+     * Soma os caracteres lidos.
+     *
+     * @param quantidade the quantidade
+     */
+    void somaCaracteres(long quantidade) {
+        caracteresLidos.addAndGet(quantidade);
+    }
+
+    /**
+     * Soma os registros lidos.
+     *
+     * @param quantidade the quantidade
+     */
+    void somaRegistros(long quantidade) {
+        registrosLidos.addAndGet(quantidade);
+    }
+
+    /**
+     * Conta uma empresa válida entregue.
+     */
+    void contaValida() {
+        validas.incrementAndGet();
+    }
+
+    /**
+     * Conta um registro inválido entregue.
+     */
+    void contaInvalida() {
+        invalidas.incrementAndGet();
+    }
+
+    // Leitura
+
+    /**
+     * Caracteres lidos do arquivo.
+     *
+     * @return the caracteres lidos
+     */
+    public long getCaracteresLidos() {
+        return caracteresLidos.get();
+    }
+
+    /**
+     * Registros lidos do arquivo, sem o cabeçalho.
+     *
+     * @return the registros lidos
+     */
+    public long getRegistrosLidos() {
+        return registrosLidos.get();
+    }
+
+    /**
+     * Empresas válidas entregues ao destino.
+     *
+     * @return the validas
+     */
+    public long getValidas() {
+        return validas.get();
+    }
+
+    /**
+     * Registros inválidos entregues ao destino.
+     *
+     * @return the invalidas
+     */
+    public long getInvalidas() {
+        return invalidas.get();
+    }
+
+    /**
+     * Registros lidos que ainda estão nas filas ou sendo validados.
+     *
+     * @return the em andamento
+     */
+    public long getEmAndamento() {
+        return getRegistrosLidos() - getValidas() - getInvalidas();
+    }
+
+    /**
+     * Indica se a importação terminou.
+     *
+     * @return true, if is concluida
+     */
+    public boolean isConcluida() {
+        return fim != NAO_TERMINOU;
+    }
+
+    /**
+     * Tempo decorrido.
+     *
+     * @return the duracao em milissegundos
+     */
+    public long getDuracaoEmMilissegundos() {
+        return TimeUnit.NANOSECONDS.toMillis(decorrido());
+    }
+
+    /**
+     * Registros entregues por segundo.
+     *
+     * @return the registros por segundo
+     */
+    public double getRegistrosPorSegundo() {
+        return porSegundo(getValidas() + getInvalidas());
+    }
+
+    /**
+     * Caracteres lidos por segundo.
+     *
+     * @return the caracteres por segundo
+     */
+    public double getCaracteresPorSegundo() {
+        return porSegundo(getCaracteresLidos());
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return String.format("%d registros lidos, %d válidos, %d inválidos em %d ms (%.0f registros/s, %.0f caracteres/s)", getRegistrosLidos(),
+            getValidas(), getInvalidas(), getDuracaoEmMilissegundos(), getRegistrosPorSegundo(), getCaracteresPorSegundo());
+    }
+
+    // Auxiliares
+
+    /**
+     * Nanossegundos desde o início, até agora ou até o fim.
+     *
+     * @return the long
+     */
+    private long decorrido() {
+        long termino = fim;
+        return (termino == NAO_TERMINOU ? System.nanoTime() : termino) - inicio;
+    }
+
+    /**
+     * Taxa por segundo.
+     *
+     * @param quantidade the quantidade
+     * @return the double
+     */
+    private double porSegundo(long quantidade) {
+        long nanos = decorrido();
+        return nanos <= 0 ? 0 : quantidade * (double) TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+
+}
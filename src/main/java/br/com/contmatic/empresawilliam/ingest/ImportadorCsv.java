@@ -0,0 +1,622 @@
+package br.com.contmatic.empresawilliam.ingest;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.EmpresaValidator;
+import br.com.contmatic.empresawilliam.RelogioDeDias;
+import br.com.contmatic.empresawilliam.validation.CompiledValidator;
+import br.com.contmatic.empresawilliam.validation.Constraints;
+import br.com.contmatic.empresawilliam.validation.ValidationResult;
+import br.com.contmatic.empresawilliam.validation.Violation;
+
+/**
+ * The Class ImportadorCsv.
+ *
+ * Importa empresas de um CSV em etapas ligadas por filas limitadas, de modo que a memória usada não depende do tamanho do
+ * arquivo:
+ * <ol>
+ * <li>uma thread lê o arquivo em blocos e divide os registros em campos, sem copiar o texto ({@link LeitorCsv});</li>
+ * <li>{@link Builder#paralelismo(int)} threads montam as empresas de cada bloco ({@link MontadorDeEmpresa}) e as validam com o
+ * {@link CompiledValidator};</li>
+ * <li>a thread que chamou {@link #importa(Reader, DestinoDeEmpresas, DestinoDeRejeitadas)} entrega as válidas e as inválidas
+ * aos seus destinos.</li>
+ * </ol>
+ *
+ * Os registros de um bloco são entregues na ordem do arquivo, mas os blocos podem chegar fora de ordem; use a linha informada
+ * para reordenar, se necessário. O formato das colunas está descrito em {@link MontadorDeEmpresa}. Um erro de leitura, de
+ * cabeçalho ou lançado por um destino interrompe a importação e é relançado por {@code importa}.
+ *
+ * Não guarda estado entre importações: a mesma instância pode ser usada para várias importações, inclusive simultâneas.
+ */
+public final class ImportadorCsv {
+
+    /** The Constant SEPARADOR_PADRAO. */
+    public static final char SEPARADOR_PADRAO = ';';
+
+    /** Tamanho padrão do bloco lido de uma vez, em caracteres. */
+    public static final int TAMANHO_DO_BLOCO_PADRAO = 64 * 1024;
+
+    /** Blocos por thread de validação em cada fila, quando a capacidade não é informada. */
+    private static final int BLOCOS_POR_THREAD = 2;
+
+    /** The Constant NUMERO_DA_THREAD. */
+    private static final AtomicInteger NUMERO_DA_THREAD = new AtomicInteger();
+
+    // Variáveis
+
+    /** The separador. */
+    private final char separador;
+
+    /** The tamanho do bloco. */
+    private final int tamanhoDoBloco;
+
+    /** The paralelismo. */
+    private final int paralelismo;
+
+    /** The capacidade da fila. */
+    private final int capacidadeDaFila;
+
+    /** The validador. */
+    private final CompiledValidator<Empresa> validador;
+
+    /** The grupos. */
+    private final Class<?>[] grupos;
+
+    /** Relógio com que as datas de criação são conferidas. */
+    private final RelogioDeDias relogio;
+
+    /**
+     * Instantiates a new importador csv.
+     *
+     * @param builder the builder
+     */
+    private ImportadorCsv(Builder builder) {
+        this.separador = builder.separador;
+        this.tamanhoDoBloco = builder.tamanhoDoBloco;
+        this.paralelismo = builder.paralelismo;
+        this.capacidadeDaFila = builder.capacidadeDaFila > 0 ? builder.capacidadeDaFila : builder.paralelismo * BLOCOS_POR_THREAD;
+        this.validador = builder.validador;
+        this.grupos = builder.grupos;
+        this.relogio = builder.relogio;
+    }
+
+    /**
+     * Cria um construtor de importador.
+     *
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Operações
+
+    /**
+     * Importa o arquivo.
+     *
+     * @param arquivo the arquivo
+     * @param charset codificação do arquivo
+     * @param validas destino das empresas válidas
+     * @param invalidas destino dos registros inválidos
+     * @return as estatísticas da importação
+     * @throws IOException Signals that an I/O exception has occurred.
+     * @throws InterruptedException se a thread for interrompida durante a importação
+     */
+    public EstatisticasDeImportacao importa(Path arquivo, Charset charset, DestinoDeEmpresas validas, DestinoDeRejeitadas invalidas)
+            throws IOException, InterruptedException {
+        checkNotNull(arquivo, "O arquivo deve ser preenchido.");
+        checkNotNull(charset, "A codificação deve ser preenchida.");
+        try (Reader entrada = new InputStreamReader(Files.newInputStream(arquivo), charset)) {
+            return importa(entrada, validas, invalidas);
+        }
+    }
+
+    /**
+     * Importa o CSV lido da entrada, que não é fechada.
+     *
+     * @param entrada the entrada
+     * @param validas destino das empresas válidas
+     * @param invalidas destino dos registros inválidos
+     * @return as estatísticas da importação
+     * @throws IOException Signals that an I/O exception has occurred.
+     * @throws InterruptedException se a thread for interrompida durante a importação
+     */
+    public EstatisticasDeImportacao importa(Reader entrada, DestinoDeEmpresas validas, DestinoDeRejeitadas invalidas) throws IOException, InterruptedException {
+        EstatisticasDeImportacao estatisticas = new EstatisticasDeImportacao();
+        importa(entrada, validas, invalidas, estatisticas);
+        return estatisticas;
+    }
+
+    /**
+     * Importa o CSV lido da entrada, que não é fechada, atualizando as estatísticas informadas, que podem ser acompanhadas por
+     * outra thread durante a importação.
+     *
+     * @param entrada the entrada
+     * @param validas destino das empresas válidas
+     * @param invalidas destino dos registros inválidos
+     * @param estatisticas the estatisticas
+     * @throws IOException Signals that an I/O exception has occurred.
+     * @throws InterruptedException se a thread for interrompida durante a importação
+     */
+    public void importa(Reader entrada, DestinoDeEmpresas validas, DestinoDeRejeitadas invalidas, EstatisticasDeImportacao estatisticas)
+            throws IOException, InterruptedException {
+        checkNotNull(entrada, "A entrada deve ser preenchida.");
+        checkNotNull(validas, "O destino das empresas válidas deve ser preenchido.");
+        checkNotNull(invalidas, "O destino dos registros inválidos deve ser preenchido.");
+        checkNotNull(estatisticas, "As estatísticas devem ser preenchidas.");
+        estatisticas.inicia();
+        try {
+            LeitorCsv leitor = new LeitorCsv(entrada, separador, tamanhoDoBloco);
+            BlocoCsv primeiro = leitor.proximo();
+            if (primeiro == null) {
+                estatisticas.somaCaracteres(leitor.caracteresLidos());
+                return;
+            }
+            MontadorDeEmpresa montador = new MontadorDeEmpresa(cabecalho(primeiro), relogio);
+            primeiro.pulaAte(1);
+            executa(leitor, primeiro, montador, validas, invalidas, estatisticas);
+        } finally {
+            estatisticas.termina();
+        }
+    }
+
+    // Auxiliares
+
+    /**
+     * Liga as etapas e entrega os resultados até as threads de validação terminarem.
+     *
+     * @param leitor the leitor
+     * @param primeiro the primeiro
+     * @param montador the montador
+     * @param validas the validas
+     * @param invalidas the invalidas
+     * @param estatisticas the estatisticas
+     * @throws IOException Signals that an I/O exception has occurred.
+     * @throws InterruptedException the interrupted exception
+     */
+    private void executa(LeitorCsv leitor, BlocoCsv primeiro, MontadorDeEmpresa montador, DestinoDeEmpresas validas, DestinoDeRejeitadas invalidas,
+            EstatisticasDeImportacao estatisticas) throws IOException, InterruptedException {
+        BlockingQueue<BlocoCsv> lidos = new ArrayBlockingQueue<BlocoCsv>(capacidadeDaFila);
+        BlockingQueue<Validados> validados = new ArrayBlockingQueue<Validados>(capacidadeDaFila);
+        AtomicReference<Throwable> falha = new AtomicReference<Throwable>();
+        ExecutorService threads = Executors.newFixedThreadPool(paralelismo + 1, new ThreadFactory() {
+
+            @Override
+            public Thread newThread(Runnable tarefa) {
+                Thread thread = new Thread(tarefa, "importador-csv-" + NUMERO_DA_THREAD.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            threads.execute(new Leitura(leitor, primeiro, lidos, falha, estatisticas));
+            for(int i = 0; i < paralelismo; i++) {
+                threads.execute(new Validacao(montador, lidos, validados, falha));
+            }
+            for(int terminadas = 0; terminadas < paralelismo;) {
+                Validados resultado = validados.take();
+                if (resultado == Validados.FIM) {
+                    terminadas++;
+                } else if (falha.get() == null) {
+                    entrega(resultado, validas, invalidas, falha, estatisticas);
+                }
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+        relanca(falha.get());
+    }
+
+    /**
+     * Entrega os resultados de um bloco aos destinos. Uma exceção de um destino é guardada como falha da importação, e os blocos
+     * seguintes são descartados.
+     *
+     * @param resultado the resultado
+     * @param validas the validas
+     * @param invalidas the invalidas
+     * @param falha the falha
+     * @param estatisticas the estatisticas
+     */
+    private static void entrega(Validados resultado, DestinoDeEmpresas validas, DestinoDeRejeitadas invalidas, AtomicReference<Throwable> falha,
+            EstatisticasDeImportacao estatisticas) {
+        BlocoCsv bloco = resultado.bloco;
+        try {
+            for(int i = 0; i < resultado.empresas.length; i++) {
+                int registro = bloco.primeiro() + i;
+                if (resultado.resultados[i] == null) {
+                    validas.aceita(bloco.linha(registro), resultado.empresas[i]);
+                    estatisticas.contaValida();
+                } else {
+                    invalidas.rejeita(new EmpresaRejeitada(bloco.linha(registro), bloco.texto(registro), resultado.empresas[i], resultado.resultados[i]));
+                    estatisticas.contaInvalida();
+                }
+            }
+        } catch (RuntimeException e) {
+            falha.compareAndSet(null, e);
+        }
+    }
+
+    /**
+     * Nomes das colunas, do primeiro registro.
+     *
+     * @param bloco the bloco
+     * @return the list
+     */
+    private static List<String> cabecalho(BlocoCsv bloco) {
+        List<String> colunas = new ArrayList<String>();
+        for(int coluna = 0; coluna < bloco.quantidadeDeCampos(0); coluna++) {
+            colunas.add(bloco.campo(0, coluna));
+        }
+        return colunas;
+    }
+
+    /**
+     * Relança a falha de uma das etapas na thread que chamou a importação.
+     *
+     * @param falha the falha
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static void relanca(Throwable falha) throws IOException {
+        if (falha == null) {
+            return;
+        }
+        if (falha instanceof IOException) {
+            throw (IOException) falha;
+        }
+        if (falha instanceof RuntimeException) {
+            throw (RuntimeException) falha;
+        }
+        if (falha instanceof Error) {
+            throw (Error) falha;
+        }
+        throw new IllegalStateException(falha);
+    }
+
+    /**
+     * Põe o valor na fila mesmo que a thread seja interrompida durante a espera, restaurando a interrupção depois. Usado para os
+     * marcadores de fim, que precisam chegar para a importação terminar.
+     *
+     * @param <T> the generic type
+     * @param fila the fila
+     * @param valor the valor
+     */
+    private static <T> void poeSemInterromper(BlockingQueue<T> fila, T valor) {
+        boolean interrompida = false;
+        while(true) {
+            try {
+                fila.put(valor);
+                break;
+            } catch (InterruptedException e) {
+                interrompida = true;
+            }
+        }
+        if (interrompida) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Etapa de leitura: põe os blocos na fila e, no fim, um {@link BlocoCsv#FIM} para cada thread de validação.
+     */
+    private final class Leitura implements Runnable {
+
+        /** The leitor. */
+        private final LeitorCsv leitor;
+
+        /** The primeiro. */
+        private final BlocoCsv primeiro;
+
+        /** The lidos. */
+        private final BlockingQueue<BlocoCsv> lidos;
+
+        /** The falha. */
+        private final AtomicReference<Throwable> falha;
+
+        /** The estatisticas. */
+        private final EstatisticasDeImportacao estatisticas;
+
+        /**
+         * Instantiates a new leitura.
+         *
+         * @param leitor the leitor
+         * @param primeiro the primeiro
+         * @param lidos the lidos
+         * @param falha the falha
+         * @param estatisticas the estatisticas
+         */
+        Leitura(LeitorCsv leitor, BlocoCsv primeiro, BlockingQueue<BlocoCsv> lidos, AtomicReference<Throwable> falha,
+                EstatisticasDeImportacao estatisticas) {
+            this.leitor = leitor;
+            this.primeiro = primeiro;
+            this.lidos = lidos;
+            this.falha = falha;
+            this.estatisticas = estatisticas;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.lang.Runnable#run()
+         */
+        @Override
+        public void run() {
+            try {
+                long caracteres = 0;
+                for(BlocoCsv bloco = primeiro; bloco != null && falha.get() == null; bloco = leitor.proximo()) {
+                    estatisticas.somaCaracteres(leitor.caracteresLidos() - caracteres);
+                    caracteres = leitor.caracteresLidos();
+                    estatisticas.somaRegistros(bloco.quantidade() - bloco.primeiro());
+                    lidos.put(bloco);
+                }
+                estatisticas.somaCaracteres(leitor.caracteresLidos() - caracteres);
+            } catch (InterruptedException e) {
+                falha.compareAndSet(null, e);
+                Thread.currentThread().interrupt();
+            } catch (Throwable e) {
+                falha.compareAndSet(null, e);
+            } finally {
+                // Sem os FIM as validações, e com elas a importação, ficariam esperando para sempre.
+                for(int i = 0; i < paralelismo; i++) {
+                    poeSemInterromper(lidos, BlocoCsv.FIM);
+                }
+            }
+        }
+    }
+
+    /**
+     * Etapa de validação: monta e valida as empresas de cada bloco até receber {@link BlocoCsv#FIM}. Depois de uma falha continua
+     * consumindo a fila, sem validar, para que a leitura não fique bloqueada.
+     */
+    private final class Validacao implements Runnable {
+
+        /** The montador. */
+        private final MontadorDeEmpresa montador;
+
+        /** The lidos. */
+        private final BlockingQueue<BlocoCsv> lidos;
+
+        /** The validados. */
+        private final BlockingQueue<Validados> validados;
+
+        /** The falha. */
+        private final AtomicReference<Throwable> falha;
+
+        /**
+         * Instantiates a new validacao.
+         *
+         * @param montador the montador
+         * @param lidos the lidos
+         * @param validados the validados
+         * @param falha the falha
+         */
+        Validacao(MontadorDeEmpresa montador, BlockingQueue<BlocoCsv> lidos, BlockingQueue<Validados> validados, AtomicReference<Throwable> falha) {
+            this.montador = montador;
+            this.lidos = lidos;
+            this.validados = validados;
+            this.falha = falha;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.lang.Runnable#run()
+         */
+        @Override
+        public void run() {
+            try {
+                for(BlocoCsv bloco = lidos.take(); bloco != BlocoCsv.FIM; bloco = lidos.take()) {
+                    if (falha.get() == null) {
+                        try {
+                            validados.put(valida(bloco));
+                        } catch (InterruptedException e) {
+                            throw e;
+                        } catch (Throwable e) {
+                            falha.compareAndSet(null, e);
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                falha.compareAndSet(null, e);
+                Thread.currentThread().interrupt();
+            } finally {
+                poeSemInterromper(validados, Validados.FIM);
+            }
+        }
+
+        /**
+         * Monta e valida as empresas do bloco.
+         *
+         * @param bloco the bloco
+         * @return the validados
+         */
+        private Validados valida(BlocoCsv bloco) {
+            int quantidade = bloco.quantidade() - bloco.primeiro();
+            Empresa[] empresas = new Empresa[quantidade];
+            ValidationResult[] resultados = new ValidationResult[quantidade];
+            for(int i = 0; i < quantidade; i++) {
+                MontadorDeEmpresa.Montagem montagem = montador.monta(bloco, bloco.primeiro() + i);
+                List<Violation> violacoes = validador.validate(montagem.empresa, "", montagem.violacoes, grupos);
+                empresas[i] = montagem.empresa;
+                resultados[i] = violacoes == null ? null : ValidationResult.of(violacoes, grupos);
+            }
+            return new Validados(bloco, empresas, resultados);
+        }
+    }
+
+    /**
+     * Empresas de um bloco e seus resultados (nulo para as válidas).
+     */
+    private static final class Validados {
+
+        /** Marca o fim de uma thread de validação. */
+        static final Validados FIM = new Validados(null, null, null);
+
+        /** The bloco. */
+        final BlocoCsv bloco;
+
+        /** The empresas. */
+        final Empresa[] empresas;
+
+        /** The resultados. */
+        final ValidationResult[] resultados;
+
+        /**
+         * Instantiates a new validados.
+         *
+         * @param bloco the bloco
+         * @param empresas the empresas
+         * @param resultados the resultados
+         */
+        Validados(BlocoCsv bloco, Empresa[] empresas, ValidationResult[] resultados) {
+            this.bloco = bloco;
+            this.empresas = empresas;
+            this.resultados = resultados;
+        }
+    }
+
+    /**
+     * The Class Builder.
+     */
+    public static final class Builder {
+
+        /** The separador. */
+        private char separador = SEPARADOR_PADRAO;
+
+        /** The tamanho do bloco. */
+        private int tamanhoDoBloco = TAMANHO_DO_BLOCO_PADRAO;
+
+        /** The paralelismo. */
+        private int paralelismo = Runtime.getRuntime().availableProcessors();
+
+        /** Capacidade de cada fila; zero usa {@link ImportadorCsv#BLOCOS_POR_THREAD} blocos por thread de validação. */
+        private int capacidadeDaFila;
+
+        /** The validador. */
+        private CompiledValidator<Empresa> validador = EmpresaValidator.INSTANCE;
+
+        /** The grupos. */
+        private Class<?>[] grupos = Constraints.DEFAULT_GROUPS;
+
+        /** The relogio. */
+        private RelogioDeDias relogio = RelogioDeDias.doSistema();
+
+        /**
+         * Instantiates a new builder.
+         */
+        private Builder() {
+
+        }
+
+        /**
+         * Define o separador de campos.
+         *
+         * @param separador the separador
+         * @return the builder
+         */
+        public Builder separador(char separador) {
+            checkArgument(separador != '"' && separador != '\n' && separador != '\r', "O separador não pode ser aspas nem quebra de linha.");
+            this.separador = separador;
+            return this;
+        }
+
+        /**
+         * Define quantos caracteres são lidos de uma vez. Registros maiores que o bloco são aceitos, com um bloco maior.
+         *
+         * @param tamanhoDoBloco the tamanho do bloco
+         * @return the builder
+         */
+        public Builder tamanhoDoBloco(int tamanhoDoBloco) {
+            checkArgument(tamanhoDoBloco > 0, "O tamanho do bloco deve ser maior que zero.");
+            this.tamanhoDoBloco = tamanhoDoBloco;
+            return this;
+        }
+
+        /**
+         * Define quantas threads montam e validam as empresas.
+         *
+         * @param paralelismo the paralelismo
+         * @return the builder
+         */
+        public Builder paralelismo(int paralelismo) {
+            checkArgument(paralelismo > 0, "O paralelismo deve ser maior que zero.");
+            this.paralelismo = paralelismo;
+            return this;
+        }
+
+        /**
+         * Define quantos blocos cabem em cada fila entre as etapas.
+         *
+         * @param capacidadeDaFila the capacidade da fila
+         * @return the builder
+         */
+        public Builder capacidadeDaFila(int capacidadeDaFila) {
+            checkArgument(capacidadeDaFila > 0, "A capacidade da fila deve ser maior que zero.");
+            this.capacidadeDaFila = capacidadeDaFila;
+            return this;
+        }
+
+        /**
+         * Define o validador das empresas ({@link EmpresaValidator} se não for informado).
+         *
+         * @param validador the validador
+         * @return the builder
+         */
+        public Builder validador(CompiledValidator<Empresa> validador) {
+            this.validador = checkNotNull(validador, "O validador deve ser preenchido.");
+            return this;
+        }
+
+        /**
+         * Define os grupos validados (o grupo {@link javax.validation.groups.Default} se nenhum for informado).
+         *
+         * @param grupos the grupos
+         * @return the builder
+         */
+        public Builder grupos(Class<?>... grupos) {
+            checkNotNull(grupos, "Os grupos devem ser preenchidos.");
+            this.grupos = grupos.length == 0 ? Constraints.DEFAULT_GROUPS : grupos.clone();
+            return this;
+        }
+
+        /**
+         * Define o relógio com que as datas de criação são conferidas ({@link RelogioDeDias#doSistema()} se não for informado),
+         * para fixar o dia de uma importação sem afetar as demais.
+         *
+         * @param relogio the relogio
+         * @return the builder
+         */
+        public Builder relogio(RelogioDeDias relogio) {
+            this.relogio = checkNotNull(relogio, "O relógio deve ser preenchido.");
+            return this;
+        }
+
+        /**
+         * Cria o importador.
+         *
+         * @return the importador csv
+         */
+        public ImportadorCsv build() {
+            return new ImportadorCsv(this);
+        }
+
+    }
+
+}
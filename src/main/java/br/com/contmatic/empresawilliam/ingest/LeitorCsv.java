@@ -0,0 +1,256 @@
+package br.com.contmatic.empresawilliam.ingest;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * The Class LeitorCsv.
+ *
+ * Lê o arquivo em blocos de tamanho fixo e divide cada bloco em registros e campos. Cada bloco é lido em um array novo, que passa
+ * a pertencer ao {@link BlocoCsv}; apenas o registro incompleto do fim de um bloco é copiado para o início do seguinte. Um registro
+ * maior que o bloco faz o array dobrar de tamanho.
+ *
+ * Segue a RFC 4180: campos entre aspas podem conter o separador, quebras de linha e aspas duplicadas ({@code ""}). Linhas em
+ * branco são ignoradas, e as quebras de linha podem ser {@code \n} ou {@code \r\n}. Não é thread-safe.
+ */
+final class LeitorCsv {
+
+    /** Marca de ordem de bytes, ignorada no início do arquivo. */
+    private static final char BOM = '﻿';
+
+    /** Estimativa de caracteres por registro, para dimensionar os arrays do bloco. */
+    private static final int CARACTERES_POR_REGISTRO = 128;
+
+    /** The entrada. */
+    private final Reader entrada;
+
+    /** The separador. */
+    private final char separador;
+
+    /** The tamanho do bloco. */
+    private final int tamanhoDoBloco;
+
+    /** Array do bloco anterior, onde está o registro incompleto. */
+    private char[] resto = new char[0];
+
+    /** Início do registro incompleto no bloco anterior. */
+    private int inicioDoResto;
+
+    /** The tamanho do resto. */
+    private int tamanhoDoResto;
+
+    /** Linha do arquivo em que começa o próximo registro. */
+    private long linha = 1;
+
+    /** Indica se a entrada já chegou ao fim. */
+    private boolean fimDaEntrada;
+
+    /** Indica se ainda não foi lido nenhum caractere. */
+    private boolean inicio = true;
+
+    /** Caracteres lidos até agora. */
+    private long caracteresLidos;
+
+    /**
+     * Instantiates a new leitor csv.
+     *
+     * @param entrada the entrada
+     * @param separador the separador
+     * @param tamanhoDoBloco the tamanho do bloco
+     */
+    LeitorCsv(Reader entrada, char separador, int tamanhoDoBloco) {
+        this.entrada = entrada;
+        this.separador = separador;
+        this.tamanhoDoBloco = tamanhoDoBloco;
+    }
+
+    // Leitura
+
+    /**
+     * Lê o próximo bloco com pelo menos um registro.
+     *
+     * @return o bloco, ou null no fim da entrada
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    BlocoCsv proximo() throws IOException {
+        int capacidade = tamanhoDoBloco;
+        while(!fimDaEntrada || tamanhoDoResto > 0) {
+            if (tamanhoDoResto * 2 > capacidade) {
+                capacidade = tamanhoDoResto * 2;
+            }
+            char[] texto = new char[capacidade];
+            System.arraycopy(resto, inicioDoResto, texto, 0, tamanhoDoResto);
+            int tamanho = preenche(texto, tamanhoDoResto);
+            BlocoCsv bloco = new BlocoCsv(texto, tamanho / CARACTERES_POR_REGISTRO);
+            int consumido = divide(texto, tamanho, bloco);
+            resto = texto;
+            inicioDoResto = consumido;
+            tamanhoDoResto = tamanho - consumido;
+            if (bloco.quantidade() > 0) {
+                return bloco;
+            }
+            if (consumido == 0 && tamanho == capacidade) {
+                capacidade *= 2;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Caracteres lidos até agora.
+     *
+     * @return the long
+     */
+    long caracteresLidos() {
+        return caracteresLidos;
+    }
+
+    // Auxiliares
+
+    /**
+     * Lê da entrada até encher o array ou a entrada acabar.
+     *
+     * @param texto the texto
+     * @param tamanho quantidade de caracteres já presentes
+     * @return o novo tamanho
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private int preenche(char[] texto, int tamanho) throws IOException {
+        while(!fimDaEntrada && tamanho < texto.length) {
+            int lidos = entrada.read(texto, tamanho, texto.length - tamanho);
+            if (lidos < 0) {
+                fimDaEntrada = true;
+            } else {
+                caracteresLidos += lidos;
+                if (inicio && lidos > 0) {
+                    inicio = false;
+                    if (texto[tamanho] == BOM) {
+                        System.arraycopy(texto, tamanho + 1, texto, tamanho, lidos - 1);
+                        lidos--;
+                    }
+                }
+                tamanho += lidos;
+            }
+        }
+        return tamanho;
+    }
+
+    /**
+     * Divide o texto em registros completos.
+     *
+     * @param texto the texto
+     * @param tamanho the tamanho
+     * @param bloco the bloco
+     * @return posição logo depois do último registro completo
+     */
+    private int divide(char[] texto, int tamanho, BlocoCsv bloco) {
+        int consumido = 0;
+        int p = 0;
+        while(p < tamanho) {
+            char c = texto[p];
+            if (c == '\n' || c == '\r') {
+                int depois = quebraDeLinha(texto, tamanho, p);
+                if (depois < 0) {
+                    break;
+                }
+                linha++;
+                p = consumido = depois;
+                continue;
+            }
+            int fim = registro(texto, tamanho, p, bloco);
+            if (fim < 0) {
+                bloco.descartaRegistro();
+                break;
+            }
+            p = consumido = fim;
+        }
+        return consumido;
+    }
+
+    /**
+     * Divide um registro em campos.
+     *
+     * @param texto the texto
+     * @param tamanho the tamanho
+     * @param inicio the inicio
+     * @param bloco the bloco
+     * @return posição depois da quebra de linha do registro, ou -1 se o registro não terminar dentro do texto
+     */
+    private int registro(char[] texto, int tamanho, int inicio, BlocoCsv bloco) {
+        long linhaDoRegistro = linha;
+        long linhasInternas = 0;
+        bloco.iniciaRegistro(inicio, linhaDoRegistro);
+        int p = inicio;
+        while(true) {
+            int inicioDoCampo = p;
+            int fimDoCampo;
+            boolean comAspasDuplicadas = false;
+            if (p < tamanho && texto[p] == '"') {
+                int q = p + 1;
+                while(true) {
+                    while(q < tamanho && texto[q] != '"') {
+                        if (texto[q] == '\n') {
+                            linhasInternas++;
+                        }
+                        q++;
+                    }
+                    if (q + 1 >= tamanho && !fimDaEntrada) {
+                        return -1;
+                    }
+                    if (q + 1 < tamanho && texto[q + 1] == '"') {
+                        comAspasDuplicadas = true;
+                        q += 2;
+                        continue;
+                    }
+                    break;
+                }
+                inicioDoCampo = p + 1;
+                fimDoCampo = Math.min(q, tamanho);
+                p = q + 1;
+                while(p < tamanho && texto[p] != separador && texto[p] != '\n' && texto[p] != '\r') {
+                    p++;
+                }
+            } else {
+                while(p < tamanho && texto[p] != separador && texto[p] != '\n' && texto[p] != '\r') {
+                    p++;
+                }
+                fimDoCampo = p;
+            }
+            if (p >= tamanho && !fimDaEntrada) {
+                return -1;
+            }
+            bloco.adicionaCampo(inicioDoCampo, fimDoCampo, comAspasDuplicadas);
+            if (p < tamanho && texto[p] == separador) {
+                p++;
+                continue;
+            }
+            int fimDoRegistro = Math.min(p, tamanho);
+            int depois = p >= tamanho ? tamanho : quebraDeLinha(texto, tamanho, p);
+            if (depois < 0) {
+                return -1;
+            }
+            bloco.concluiRegistro(fimDoRegistro);
+            linha = linhaDoRegistro + linhasInternas + 1;
+            return depois;
+        }
+    }
+
+    /**
+     * Posição depois da quebra de linha que começa em {@code p}.
+     *
+     * @param texto the texto
+     * @param tamanho the tamanho
+     * @param p the p
+     * @return a posição, ou -1 se um {@code \r} no fim do texto puder ser seguido de {@code \n} no próximo bloco
+     */
+    private int quebraDeLinha(char[] texto, int tamanho, int p) {
+        if (texto[p] == '\n') {
+            return p + 1;
+        }
+        if (p + 1 < tamanho) {
+            return texto[p + 1] == '\n' ? p + 2 : p + 1;
+        }
+        return fimDaEntrada ? p + 1 : -1;
+    }
+
+}
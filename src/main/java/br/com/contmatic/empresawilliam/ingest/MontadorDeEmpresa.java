@@ -0,0 +1,470 @@
+package br.com.contmatic.empresawilliam.ingest;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.joda.time.IllegalFieldValueException;
+import org.joda.time.LocalDate;
+
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.Endereco;
+import br.com.contmatic.empresawilliam.EnderecoType;
+import br.com.contmatic.empresawilliam.RelogioDeDias;
+import br.com.contmatic.empresawilliam.SmallSet;
+import br.com.contmatic.empresawilliam.Telefone;
+import br.com.contmatic.empresawilliam.TelefoneSet;
+import br.com.contmatic.empresawilliam.TelefoneType;
+import br.com.contmatic.empresawilliam.validation.Constraints;
+import br.com.contmatic.empresawilliam.validation.Violation;
+
+/**
+ * The Class MontadorDeEmpresa.
+ *
+ * Monta a {@link Empresa} de um registro do CSV a partir das colunas do cabeçalho. Os nomes das colunas são os das propriedades,
+ * sem diferença entre maiúsculas e minúsculas; endereços e telefones se repetem em grupos numerados:
+ *
+ * <pre>
+ * cnpj;razaoSocial;proprietario;email;site;dataDeCriacao;dataDeAlteracao;
+ * endereco1.tipoLogradouro;endereco1.nomeLogradouro;endereco1.numeroEndereco;endereco1.cep;endereco1.tipoEndereco;endereco2.tipoLogradouro;...
+ * telefone1.tipoTelefone;telefone1.ddd;telefone1.telefone;telefone2.tipoTelefone;...
+ * </pre>
+ *
+ * Campos vazios ficam nulos, e um grupo com todos os campos vazios não gera endereço ou telefone. Datas usam o formato dd/MM/yyyy
+ * e tipos aceitam o nome da constante, sem diferença entre maiúsculas e minúsculas. Números, datas e tipos são convertidos direto
+ * do texto do bloco; valores que não podem ser convertidos, e os rejeitados pelos setters, viram violações na propriedade
+ * correspondente. A data de criação é conferida com o relógio do montador.
+ *
+ * Não guarda estado além das colunas e pode ser usado por várias threads.
+ */
+final class MontadorDeEmpresa {
+
+    /** The Constant COLUNAS_DA_EMPRESA. */
+    private static final List<String> COLUNAS_DA_EMPRESA = Arrays.asList("cnpj", "razaoSocial", "proprietario", "email", "site", "dataDeCriacao",
+        "dataDeAlteracao");
+
+    /** The Constant COLUNAS_DO_ENDERECO. */
+    private static final List<String> COLUNAS_DO_ENDERECO = Arrays.asList("tipoLogradouro", "nomeLogradouro", "numeroEndereco", "cep", "tipoEndereco");
+
+    /** The Constant COLUNAS_DO_TELEFONE. */
+    private static final List<String> COLUNAS_DO_TELEFONE = Arrays.asList("tipoTelefone", "ddd", "telefone");
+
+    /** Coluna de um grupo, como endereco2.cep. */
+    private static final Pattern COLUNA_DE_GRUPO = Pattern.compile("(endereco|telefone)(\\d+)\\.(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    /** The Constant CNPJ. */
+    private static final int CNPJ = 0;
+
+    /** The Constant RAZAO_SOCIAL. */
+    private static final int RAZAO_SOCIAL = 1;
+
+    /** The Constant PROPRIETARIO. */
+    private static final int PROPRIETARIO = 2;
+
+    /** The Constant EMAIL. */
+    private static final int EMAIL = 3;
+
+    /** The Constant SITE. */
+    private static final int SITE = 4;
+
+    /** The Constant DATA_DE_CRIACAO. */
+    private static final int DATA_DE_CRIACAO = 5;
+
+    /** The Constant DATA_DE_ALTERACAO. */
+    private static final int DATA_DE_ALTERACAO = 6;
+
+    /** The Constant TIPO_LOGRADOURO. */
+    private static final int TIPO_LOGRADOURO = 0;
+
+    /** The Constant NOME_LOGRADOURO. */
+    private static final int NOME_LOGRADOURO = 1;
+
+    /** The Constant NUMERO_ENDERECO. */
+    private static final int NUMERO_ENDERECO = 2;
+
+    /** The Constant CEP. */
+    private static final int CEP = 3;
+
+    /** The Constant TIPO_ENDERECO. */
+    private static final int TIPO_ENDERECO = 4;
+
+    /** The Constant TIPO_TELEFONE. */
+    private static final int TIPO_TELEFONE = 0;
+
+    /** The Constant DDD. */
+    private static final int DDD = 1;
+
+    /** The Constant TELEFONE. */
+    private static final int TELEFONE = 2;
+
+    /** Coluna de uma propriedade ausente do cabeçalho. */
+    private static final int SEM_COLUNA = -1;
+
+    /** The Constant ENDERECOS. */
+    private static final String ENDERECOS = "enderecos[].";
+
+    /** The Constant TELEFONES. */
+    private static final String TELEFONES = "telefones[].";
+
+    // Variáveis
+
+    /** Coluna de cada propriedade da empresa. */
+    private final int[] colunas;
+
+    /** Colunas de cada grupo de endereço. */
+    private final int[][] enderecos;
+
+    /** Colunas de cada grupo de telefone. */
+    private final int[][] telefones;
+
+    /** Relógio com que a data de criação é conferida. */
+    private final RelogioDeDias relogio;
+
+    /**
+     * Instantiates a new montador de empresa a partir do cabeçalho.
+     *
+     * @param cabecalho the cabecalho
+     * @param relogio the relogio
+     */
+    MontadorDeEmpresa(List<String> cabecalho, RelogioDeDias relogio) {
+        this.relogio = relogio;
+        this.colunas = semColunas(COLUNAS_DA_EMPRESA.size());
+        Map<Integer, int[]> gruposDeEndereco = new TreeMap<Integer, int[]>();
+        Map<Integer, int[]> gruposDeTelefone = new TreeMap<Integer, int[]>();
+        for(int coluna = 0; coluna < cabecalho.size(); coluna++) {
+            String nome = cabecalho.get(coluna) == null ? "" : cabecalho.get(coluna).trim();
+            Matcher grupo = COLUNA_DE_GRUPO.matcher(nome);
+            if (grupo.matches()) {
+                boolean endereco = grupo.group(1).equalsIgnoreCase("endereco");
+                Map<Integer, int[]> grupos = endereco ? gruposDeEndereco : gruposDeTelefone;
+                List<String> propriedades = endereco ? COLUNAS_DO_ENDERECO : COLUNAS_DO_TELEFONE;
+                Integer numero = Integer.valueOf(grupo.group(2));
+                if (!grupos.containsKey(numero)) {
+                    grupos.put(numero, semColunas(propriedades.size()));
+                }
+                atribui(grupos.get(numero), indiceDe(propriedades, grupo.group(3), nome), coluna, nome);
+            } else {
+                atribui(colunas, indiceDe(COLUNAS_DA_EMPRESA, nome, nome), coluna, nome);
+            }
+        }
+        this.enderecos = gruposDeEndereco.values().toArray(new int[gruposDeEndereco.size()][]);
+        this.telefones = gruposDeTelefone.values().toArray(new int[gruposDeTelefone.size()][]);
+    }
+
+    // Operações
+
+    /**
+     * Monta a empresa do registro.
+     *
+     * @param bloco the bloco
+     * @param registro the registro
+     * @return a empresa e as violações de conversão
+     */
+    Montagem monta(BlocoCsv bloco, int registro) {
+        Montagem montagem = new Montagem(new Empresa());
+        Empresa empresa = montagem.empresa;
+        empresa.setCnpj(bloco.campo(registro, colunas[CNPJ]));
+        empresa.setRazaoSocial(bloco.campo(registro, colunas[RAZAO_SOCIAL]));
+        empresa.setProprietario(bloco.campo(registro, colunas[PROPRIETARIO]));
+        empresa.setEmail(bloco.campo(registro, colunas[EMAIL]));
+        empresa.setSite(bloco.campo(registro, colunas[SITE]));
+        LocalDate dataDeCriacao = data(bloco, registro, colunas[DATA_DE_CRIACAO], "", "dataDeCriacao", montagem);
+        if (dataDeCriacao != null) {
+            try {
+                empresa.setDataDeCriacao(dataDeCriacao, relogio);
+            } catch (RuntimeException e) {
+                montagem.viola("", "dataDeCriacao", e.getMessage());
+            }
+        }
+        LocalDate dataDeAlteracao = data(bloco, registro, colunas[DATA_DE_ALTERACAO], "", "dataDeAlteracao", montagem);
+        if (dataDeAlteracao != null && empresa.getDataDeCriacao() == null) {
+            montagem.viola("", "dataDeAlteracao", "A data de alteração deve ser posterior à data de criação.");
+        } else if (dataDeAlteracao != null) {
+            try {
+                empresa.setDataDeAlteracao(dataDeAlteracao);
+            } catch (RuntimeException e) {
+                montagem.viola("", "dataDeAlteracao", e.getMessage());
+            }
+        }
+        Set<Endereco> enderecosDoRegistro = new SmallSet<Endereco>();
+        for(int[] grupo : enderecos) {
+            if (!grupoVazio(bloco, registro, grupo)) {
+                enderecosDoRegistro.add(endereco(bloco, registro, grupo, montagem));
+            }
+        }
+        empresa.setEnderecos(enderecosDoRegistro);
+        Set<Telefone> telefonesDoRegistro = new TelefoneSet();
+        for(int[] grupo : telefones) {
+            if (!grupoVazio(bloco, registro, grupo)) {
+                telefonesDoRegistro.add(telefone(bloco, registro, grupo, montagem));
+            }
+        }
+        empresa.setTelefones(telefonesDoRegistro);
+        return montagem;
+    }
+
+    // Auxiliares
+
+    /**
+     * Monta um endereço.
+     *
+     * @param bloco the bloco
+     * @param registro the registro
+     * @param grupo the grupo
+     * @param montagem the montagem
+     * @return the endereco
+     */
+    private static Endereco endereco(BlocoCsv bloco, int registro, int[] grupo, Montagem montagem) {
+        Endereco endereco = new Endereco();
+        endereco.setTipoLogradouro(bloco.campo(registro, grupo[TIPO_LOGRADOURO]));
+        endereco.setNomeLogradouro(bloco.campo(registro, grupo[NOME_LOGRADOURO]));
+        endereco.setNumeroEndereco(inteiro(bloco, registro, grupo[NUMERO_ENDERECO], ENDERECOS, "numeroEndereco", montagem));
+        endereco.setCep(bloco.campo(registro, grupo[CEP]));
+        endereco.setTipoEndereco(tipo(EnderecoType.values(), bloco, registro, grupo[TIPO_ENDERECO], ENDERECOS, "tipoEndereco", montagem));
+        return endereco;
+    }
+
+    /**
+     * Monta um telefone.
+     *
+     * @param bloco the bloco
+     * @param registro the registro
+     * @param grupo the grupo
+     * @param montagem the montagem
+     * @return the telefone
+     */
+    private static Telefone telefone(BlocoCsv bloco, int registro, int[] grupo, Montagem montagem) {
+        Telefone telefone = new Telefone();
+        TelefoneType tipo = tipo(TelefoneType.values(), bloco, registro, grupo[TIPO_TELEFONE], TELEFONES, "tipoTelefone", montagem);
+        telefone.setTipoTelefone(tipo);
+        telefone.setDdd(inteiro(bloco, registro, grupo[DDD], TELEFONES, "ddd", montagem));
+        String numero = bloco.campo(registro, grupo[TELEFONE]);
+        if (tipo == TelefoneType.CELULAR) {
+            telefone.setTelefoneCelular(numero);
+        } else {
+            telefone.setTelefoneFixo(numero);
+        }
+        return telefone;
+    }
+
+    /**
+     * Converte o campo em inteiro, direto do texto do bloco.
+     *
+     * @param bloco the bloco
+     * @param registro the registro
+     * @param coluna the coluna
+     * @param prefixo the prefixo
+     * @param propriedade the propriedade
+     * @param montagem the montagem
+     * @return o inteiro, ou 0 se o campo estiver vazio ou inválido
+     */
+    private static int inteiro(BlocoCsv bloco, int registro, int coluna, String prefixo, String propriedade, Montagem montagem) {
+        if (bloco.vazio(registro, coluna)) {
+            return 0;
+        }
+        char[] texto = bloco.texto();
+        int i = bloco.inicio(registro, coluna);
+        int fim = bloco.fim(registro, coluna);
+        boolean negativo = texto[i] == '-';
+        if (negativo) {
+            i++;
+        }
+        boolean valido = i < fim && fim - i <= 10;
+        long valor = 0;
+        for(; valido && i < fim; i++) {
+            valido = texto[i] >= '0' && texto[i] <= '9';
+            valor = valor * 10 + (texto[i] - '0');
+        }
+        valor = negativo ? -valor : valor;
+        if (!valido || valor < Integer.MIN_VALUE || valor > Integer.MAX_VALUE) {
+            montagem.viola(prefixo, propriedade, "Número inválido: " + bloco.campo(registro, coluna) + ".");
+            return 0;
+        }
+        return (int) valor;
+    }
+
+    /**
+     * Converte o campo em data no formato dd/MM/yyyy, direto do texto do bloco.
+     *
+     * @param bloco the bloco
+     * @param registro the registro
+     * @param coluna the coluna
+     * @param prefixo the prefixo
+     * @param propriedade the propriedade
+     * @param montagem the montagem
+     * @return a data, ou null se o campo estiver vazio ou inválido
+     */
+    private static LocalDate data(BlocoCsv bloco, int registro, int coluna, String prefixo, String propriedade, Montagem montagem) {
+        if (bloco.vazio(registro, coluna)) {
+            return null;
+        }
+        char[] texto = bloco.texto();
+        int inicio = bloco.inicio(registro, coluna);
+        if (bloco.fim(registro, coluna) - inicio == 10 && texto[inicio + 2] == '/' && texto[inicio + 5] == '/') {
+            int dia = digitos(texto, inicio, 2);
+            int mes = digitos(texto, inicio + 3, 2);
+            int ano = digitos(texto, inicio + 6, 4);
+            if (dia >= 0 && mes >= 0 && ano >= 0) {
+                try {
+                    return new LocalDate(ano, mes, dia);
+                } catch (IllegalFieldValueException e) {
+                    // Cai na violação abaixo.
+                }
+            }
+        }
+        montagem.viola(prefixo, propriedade, "Data inválida: " + bloco.campo(registro, coluna) + ". Use o formato dd/MM/yyyy.");
+        return null;
+    }
+
+    /**
+     * Converte o campo no tipo com o nome da constante, sem diferença entre maiúsculas e minúsculas.
+     *
+     * @param <T> the generic type
+     * @param tipos the tipos
+     * @param bloco the bloco
+     * @param registro the registro
+     * @param coluna the coluna
+     * @param prefixo the prefixo
+     * @param propriedade the propriedade
+     * @param montagem the montagem
+     * @return o tipo, ou null se o campo estiver vazio ou inválido
+     */
+    private static <T extends Enum<T>> T tipo(T[] tipos, BlocoCsv bloco, int registro, int coluna, String prefixo, String propriedade,
+            Montagem montagem) {
+        if (bloco.vazio(registro, coluna)) {
+            return null;
+        }
+        char[] texto = bloco.texto();
+        int inicio = bloco.inicio(registro, coluna);
+        int tamanho = bloco.fim(registro, coluna) - inicio;
+        for(T tipo : tipos) {
+            String nome = tipo.name();
+            boolean igual = nome.length() == tamanho;
+            for(int i = 0; igual && i < tamanho; i++) {
+                igual = Character.toUpperCase(texto[inicio + i]) == nome.charAt(i);
+            }
+            if (igual) {
+                return tipo;
+            }
+        }
+        montagem.viola(prefixo, propriedade, "Tipo inválido: " + bloco.campo(registro, coluna) + ".");
+        return null;
+    }
+
+    /**
+     * Lê dígitos decimais.
+     *
+     * @param texto the texto
+     * @param inicio the inicio
+     * @param quantidade the quantidade
+     * @return o número, ou -1 se algum caractere não for dígito
+     */
+    private static int digitos(char[] texto, int inicio, int quantidade) {
+        int valor = 0;
+        for(int i = inicio; i < inicio + quantidade; i++) {
+            if (texto[i] < '0' || texto[i] > '9') {
+                return -1;
+            }
+            valor = valor * 10 + (texto[i] - '0');
+        }
+        return valor;
+    }
+
+    /**
+     * Indica se todos os campos do grupo estão vazios.
+     *
+     * @param bloco the bloco
+     * @param registro the registro
+     * @param grupo the grupo
+     * @return true, if successful
+     */
+    private static boolean grupoVazio(BlocoCsv bloco, int registro, int[] grupo) {
+        for(int coluna : grupo) {
+            if (!bloco.vazio(registro, coluna)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Array de colunas ausentes.
+     *
+     * @param quantidade the quantidade
+     * @return the int[]
+     */
+    private static int[] semColunas(int quantidade) {
+        int[] colunas = new int[quantidade];
+        Arrays.fill(colunas, SEM_COLUNA);
+        return colunas;
+    }
+
+    /**
+     * Posição da propriedade na lista, sem diferença entre maiúsculas e minúsculas.
+     *
+     * @param propriedades the propriedades
+     * @param propriedade the propriedade
+     * @param coluna nome completo da coluna, para a mensagem de erro
+     * @return the int
+     */
+    private static int indiceDe(List<String> propriedades, String propriedade, String coluna) {
+        for(int i = 0; i < propriedades.size(); i++) {
+            if (propriedades.get(i).equalsIgnoreCase(propriedade)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Coluna desconhecida no cabeçalho: " + coluna + ".");
+    }
+
+    /**
+     * Associa a coluna à propriedade.
+     *
+     * @param colunas the colunas
+     * @param propriedade the propriedade
+     * @param coluna the coluna
+     * @param nome the nome
+     */
+    private static void atribui(int[] colunas, int propriedade, int coluna, String nome) {
+        checkArgument(colunas[propriedade] == SEM_COLUNA, "Coluna repetida no cabeçalho: %s.", nome);
+        colunas[propriedade] = coluna;
+    }
+
+    /**
+     * Empresa montada e as violações encontradas na conversão dos campos.
+     */
+    static final class Montagem {
+
+        /** The empresa. */
+        final Empresa empresa;
+
+        /** Violações de conversão; só é criada na primeira violação. */
+        List<Violation> violacoes;
+
+        /**
+         * Instantiates a new montagem.
+         *
+         * @param empresa the empresa
+         */
+        Montagem(Empresa empresa) {
+            this.empresa = empresa;
+        }
+
+        /**
+         * Registra uma violação.
+         *
+         * @param prefixo the prefixo
+         * @param propriedade the propriedade
+         * @param mensagem the mensagem
+         */
+        void viola(String prefixo, String propriedade, String mensagem) {
+            violacoes = Constraints.add(violacoes, prefixo, propriedade, mensagem);
+        }
+    }
+
+}
@@ -0,0 +1,521 @@
+package br.com.contmatic.empresawilliam.json;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.joda.time.LocalDate;
+
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.Endereco;
+import br.com.contmatic.empresawilliam.Telefone;
+
+/**
+ * The Class EscritorJson.
+ *
+ * Escreve empresas em JSON direto no destino, sem montar um documento ou um mapa intermediário. Os caracteres são acumulados em
+ * um buffer reaproveitado e, quando ele enche, vão para o destino: codificados em UTF-8 em outro buffer reaproveitado, para um
+ * {@link OutputStream}, ou copiados, para um {@link Appendable}. Números e datas são escritos dígito a dígito, sem criar
+ * {@link String}.
+ *
+ * Os nomes das propriedades são os dos getters; datas usam o formato dd/MM/yyyy, como {@link Empresa#converteDataDeCriacao}, tipos
+ * usam o nome da constante e propriedades nulas são escritas como {@code null}:
+ *
+ * <pre>
+ * {"cnpj":"11222333000181","razaoSocial":"...","proprietario":"...","email":"...","site":"...","dataDeCriacao":"18/10/2026",
+ * "dataDeAlteracao":null,"enderecos":[{"tipoLogradouro":"Rua","nomeLogradouro":"...","numeroEndereco":12,"cep":"01234567",
+ * "tipoEndereco":"COMERCIAL"}],"telefones":[{"tipoTelefone":"CELULAR","ddd":11,"telefone":"912345678"}]}
+ * </pre>
+ *
+ * O destino não é fechado pelo escritor. Não é thread-safe.
+ */
+public final class EscritorJson implements Flushable {
+
+    /** Tamanho padrão do buffer, em caracteres. */
+    public static final int TAMANHO_DO_BUFFER_PADRAO = 8 * 1024;
+
+    /** Bytes de UTF-8 por caractere, no pior caso. */
+    private static final int BYTES_POR_CARACTERE = 3;
+
+    /** The Constant HEXADECIMAL. */
+    private static final char[] HEXADECIMAL = "0123456789abcdef".toCharArray();
+
+    /** Dígitos de {@link Integer#MIN_VALUE}, que não tem positivo correspondente. */
+    private static final String MENOR_INT = Integer.toString(Integer.MIN_VALUE);
+
+    // Variáveis
+
+    /** The saida, quando o destino é um fluxo de bytes. */
+    private final OutputStream saida;
+
+    /** The destino, quando o destino é de caracteres. */
+    private final Appendable destino;
+
+    /** The buffer. */
+    private final char[] buffer;
+
+    /** Bytes codificados do buffer; só existe quando o destino é um fluxo de bytes. */
+    private final byte[] bytes;
+
+    /** Visão do buffer para destinos que só aceitam {@link CharSequence}. */
+    private final CharBuffer sequencia;
+
+    /** The tamanho. */
+    private int tamanho;
+
+    /** Dígitos de um número em escrita, do menos para o mais significativo. */
+    private final char[] digitos = new char[10];
+
+    /**
+     * Instantiates a new escritor json que escreve em UTF-8 na saída.
+     *
+     * @param saida the saida
+     */
+    public EscritorJson(OutputStream saida) {
+        this(saida, TAMANHO_DO_BUFFER_PADRAO);
+    }
+
+    /**
+     * Instantiates a new escritor json que escreve em UTF-8 na saída.
+     *
+     * @param saida the saida
+     * @param tamanhoDoBuffer the tamanho do buffer, em caracteres
+     */
+    public EscritorJson(OutputStream saida, int tamanhoDoBuffer) {
+        this.saida = checkNotNull(saida, "A saída deve ser preenchida.");
+        this.destino = null;
+        this.buffer = new char[tamanhoValido(tamanhoDoBuffer)];
+        this.bytes = new byte[tamanhoDoBuffer * BYTES_POR_CARACTERE];
+        this.sequencia = null;
+    }
+
+    /**
+     * Instantiates a new escritor json que escreve os caracteres no destino.
+     *
+     * @param destino the destino
+     */
+    public EscritorJson(Appendable destino) {
+        this(destino, TAMANHO_DO_BUFFER_PADRAO);
+    }
+
+    /**
+     * Instantiates a new escritor json que escreve os caracteres no destino.
+     *
+     * @param destino the destino
+     * @param tamanhoDoBuffer the tamanho do buffer, em caracteres
+     */
+    public EscritorJson(Appendable destino, int tamanhoDoBuffer) {
+        this.saida = null;
+        this.destino = checkNotNull(destino, "O destino deve ser preenchido.");
+        this.buffer = new char[tamanhoValido(tamanhoDoBuffer)];
+        this.bytes = null;
+        this.sequencia = CharBuffer.wrap(buffer);
+    }
+
+    /**
+     * Converte a empresa em JSON.
+     *
+     * @param empresa the empresa
+     * @return the string
+     */
+    public static String paraJson(Empresa empresa) {
+        StringBuilder json = new StringBuilder(512);
+        EscritorJson escritor = new EscritorJson(json, 512);
+        try {
+            escritor.escreve(empresa);
+            escritor.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return json.toString();
+    }
+
+    // Operações
+
+    /**
+     * Escreve a empresa como um objeto JSON. Os caracteres podem ficar no buffer até o próximo {@link #flush()}.
+     *
+     * @param empresa the empresa
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void escreve(Empresa empresa) throws IOException {
+        if (empresa == null) {
+            escreveNulo();
+            return;
+        }
+        escreve('{');
+        escreveNome("cnpj", false);
+        escreveTexto(empresa.getCnpj());
+        escreveNome("razaoSocial", true);
+        escreveTexto(empresa.getRazaoSocial());
+        escreveNome("proprietario", true);
+        escreveTexto(empresa.getProprietario());
+        escreveNome("email", true);
+        escreveTexto(empresa.getEmail());
+        escreveNome("site", true);
+        escreveTexto(empresa.getSite());
+        escreveNome("dataDeCriacao", true);
+        escreveData(empresa.getDataDeCriacao());
+        escreveNome("dataDeAlteracao", true);
+        escreveData(empresa.getDataDeAlteracao());
+        escreveNome("enderecos", true);
+        escreveEnderecos(empresa.getEnderecos());
+        escreveNome("telefones", true);
+        escreveTelefones(empresa.getTelefones());
+        escreve('}');
+    }
+
+    /**
+     * Escreve as empresas como um array JSON, esvaziando o buffer no destino sempre que ele enche, de modo que o documento nunca
+     * fica inteiro na memória. O iterável pode ser lido sob demanda. Esvazia o buffer no fim.
+     *
+     * @param empresas the empresas
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void escreveTodas(Iterable<? extends Empresa> empresas) throws IOException {
+        checkNotNull(empresas, "As empresas devem ser preenchidas.");
+        escreve('[');
+        Iterator<? extends Empresa> iterator = empresas.iterator();
+        if (iterator.hasNext()) {
+            escreve(iterator.next());
+            while(iterator.hasNext()) {
+                escreve(',');
+                escreve(iterator.next());
+            }
+        }
+        escreve(']');
+        flush();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.io.Flushable#flush()
+     */
+    @Override
+    public void flush() throws IOException {
+        esvazia();
+        if (saida != null) {
+            saida.flush();
+        } else if (destino instanceof Flushable) {
+            ((Flushable) destino).flush();
+        }
+    }
+
+    // Escrita
+
+    /**
+     * Escreve os endereços.
+     *
+     * @param enderecos the enderecos
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private void escreveEnderecos(Set<Endereco> enderecos) throws IOException {
+        if (enderecos == null) {
+            escreveNulo();
+            return;
+        }
+        escreve('[');
+        boolean primeiro = true;
+        for(Endereco endereco : enderecos) {
+            if (!primeiro) {
+                escreve(',');
+            }
+            primeiro = false;
+            if (endereco == null) {
+                escreveNulo();
+                continue;
+            }
+            escreve('{');
+            escreveNome("tipoLogradouro", false);
+            escreveTexto(endereco.getTipoLogradouro());
+            escreveNome("nomeLogradouro", true);
+            escreveTexto(endereco.getNomeLogradouro());
+            escreveNome("numeroEndereco", true);
+            escreveNumero(endereco.getNumeroEndereco());
+            escreveNome("cep", true);
+            escreveTexto(endereco.getCep());
+            escreveNome("tipoEndereco", true);
+            escreveTexto(endereco.getTipoEndereco() == null ? null : endereco.getTipoEndereco().name());
+            escreve('}');
+        }
+        escreve(']');
+    }
+
+    /**
+     * Escreve os telefones.
+     *
+     * @param telefones the telefones
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private void escreveTelefones(Set<Telefone> telefones) throws IOException {
+        if (telefones == null) {
+            escreveNulo();
+            return;
+        }
+        escreve('[');
+        boolean primeiro = true;
+        for(Telefone telefone : telefones) {
+            if (!primeiro) {
+                escreve(',');
+            }
+            primeiro = false;
+            if (telefone == null) {
+                escreveNulo();
+                continue;
+            }
+            escreve('{');
+            escreveNome("tipoTelefone", false);
+            escreveTexto(telefone.getTipoTelefone() == null ? null : telefone.getTipoTelefone().name());
+            escreveNome("ddd", true);
+            escreveNumero(telefone.getDdd());
+            escreveNome("telefone", true);
+            escreveTexto(telefone.getTelefone());
+            escreve('}');
+        }
+        escreve(']');
+    }
+
+    /**
+     * Escreve o nome de uma propriedade, que não precisa de escape.
+     *
+     * @param nome the nome
+     * @param depoisDeOutra se há uma propriedade antes, para escrever a vírgula
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private void escreveNome(String nome, boolean depoisDeOutra) throws IOException {
+        if (depoisDeOutra) {
+            escreve(',');
+        }
+        escreve('"');
+        for(int i = 0; i < nome.length(); i++) {
+            escreve(nome.charAt(i));
+        }
+        escreve('"');
+        escreve(':');
+    }
+
+    /**
+     * Escreve o texto entre aspas, com escape de aspas, barras invertidas, caracteres de controle e dos separadores de linha e
+     * parágrafo do Unicode, que o JavaScript não aceita em strings.
+     *
+     * @param texto the texto
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private void escreveTexto(String texto) throws IOException {
+        if (texto == null) {
+            escreveNulo();
+            return;
+        }
+        escreve('"');
+        for(int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == '"' || c == '\\') {
+                escreve('\\');
+                escreve(c);
+            } else if (c >= 0x20 && c != '\u2028' && c != '\u2029') {
+                escreve(c);
+            } else if (c == '\n') {
+                escreve('\\');
+                escreve('n');
+            } else if (c == '\r') {
+                escreve('\\');
+                escreve('r');
+            } else if (c == '\t') {
+                escreve('\\');
+                escreve('t');
+            } else {
+                escreve('\\');
+                escreve('u');
+                escreve(HEXADECIMAL[c >> 12 & 0xF]);
+                escreve(HEXADECIMAL[c >> 8 & 0xF]);
+                escreve(HEXADECIMAL[c >> 4 & 0xF]);
+                escreve(HEXADECIMAL[c & 0xF]);
+            }
+        }
+        escreve('"');
+    }
+
+    /**
+     * Escreve a data no formato dd/MM/yyyy, entre aspas.
+     *
+     * @param data the data
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private void escreveData(LocalDate data) throws IOException {
+        if (data == null) {
+            escreveNulo();
+            return;
+        }
+        escreve('"');
+        escreveDoisDigitos(data.getDayOfMonth());
+        escreve('/');
+        escreveDoisDigitos(data.getMonthOfYear());
+        escreve('/');
+        int ano = data.getYear();
+        if (ano < 0) {
+            escreve('-');
+            ano = -ano;
+        }
+        for(int casa = 1000; casa > 1 && ano < casa; casa /= 10) {
+            escreve('0');
+        }
+        escreveNumero(ano);
+        escreve('"');
+    }
+
+    /**
+     * Escreve o número com dois dígitos.
+     *
+     * @param numero the numero
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private void escreveDoisDigitos(int numero) throws IOException {
+        escreve((char) ('0' + numero / 10));
+        escreve((char) ('0' + numero % 10));
+    }
+
+    /**
+     * Escreve o número, ou null.
+     *
+     * @param numero the numero
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private void escreveNumero(Integer numero) throws IOException {
+        if (numero == null) {
+            escreveNulo();
+            return;
+        }
+        int valor = numero;
+        if (valor == Integer.MIN_VALUE) {
+            for(int i = 0; i < MENOR_INT.length(); i++) {
+                escreve(MENOR_INT.charAt(i));
+            }
+            return;
+        }
+        if (valor < 0) {
+            escreve('-');
+            valor = -valor;
+        }
+        int quantidade = 0;
+        do {
+            digitos[quantidade++] = (char) ('0' + valor % 10);
+            valor /= 10;
+        } while(valor != 0);
+        while(quantidade > 0) {
+            escreve(digitos[--quantidade]);
+        }
+    }
+
+    /**
+     * Escreve null.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private void escreveNulo() throws IOException {
+        escreve('n');
+        escreve('u');
+        escreve('l');
+        escreve('l');
+    }
+
+    /**
+     * Escreve um caractere no buffer, esvaziando-o antes se estiver cheio.
+     *
+     * @param c the c
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private void escreve(char c) throws IOException {
+        if (tamanho == buffer.length) {
+            esvazia();
+        }
+        buffer[tamanho++] = c;
+    }
+
+    // Auxiliares
+
+    /**
+     * Passa o buffer para o destino. Com um fluxo de bytes, um surrogate alto no fim do buffer fica para a próxima vez, para ser
+     * codificado junto com o seu par.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private void esvazia() throws IOException {
+        if (tamanho == 0) {
+            return;
+        }
+        if (saida == null) {
+            if (destino instanceof StringBuilder) {
+                ((StringBuilder) destino).append(buffer, 0, tamanho);
+            } else if (destino instanceof Writer) {
+                ((Writer) destino).write(buffer, 0, tamanho);
+            } else {
+                destino.append(sequencia, 0, tamanho);
+            }
+            tamanho = 0;
+            return;
+        }
+        int fim = tamanho;
+        if (Character.isHighSurrogate(buffer[fim - 1]) && fim > 1) {
+            fim--;
+        }
+        saida.write(bytes, 0, codifica(fim));
+        tamanho -= fim;
+        if (tamanho > 0) {
+            buffer[0] = buffer[fim];
+        }
+    }
+
+    /**
+     * Codifica os caracteres do buffer em UTF-8. Surrogates sem par viram {@code ?}, como em {@link String#getBytes}.
+     *
+     * @param fim the fim
+     * @return a quantidade de bytes
+     */
+    private int codifica(int fim) {
+        int n = 0;
+        for(int i = 0; i < fim; i++) {
+            char c = buffer[i];
+            if (c < 0x80) {
+                bytes[n++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[n++] = (byte) (0xC0 | c >> 6);
+                bytes[n++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < fim && Character.isLowSurrogate(buffer[i + 1])) {
+                    int codigo = Character.toCodePoint(c, buffer[++i]);
+                    bytes[n++] = (byte) (0xF0 | codigo >> 18);
+                    bytes[n++] = (byte) (0x80 | codigo >> 12 & 0x3F);
+                    bytes[n++] = (byte) (0x80 | codigo >> 6 & 0x3F);
+                    bytes[n++] = (byte) (0x80 | codigo & 0x3F);
+                } else {
+                    bytes[n++] = '?';
+                }
+            } else {
+                bytes[n++] = (byte) (0xE0 | c >> 12);
+                bytes[n++] = (byte) (0x80 | c >> 6 & 0x3F);
+                bytes[n++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Valida o tamanho do buffer.
+     *
+     * @param tamanhoDoBuffer the tamanho do buffer
+     * @return the int
+     */
+    private static int tamanhoValido(int tamanhoDoBuffer) {
+        checkArgument(tamanhoDoBuffer >= 2, "O buffer deve ter pelo menos 2 caracteres.");
+        return tamanhoDoBuffer;
+    }
+
+}
@@ -0,0 +1,38 @@
+package br.com.contmatic.empresawilliam.processor;
+
+import javax.lang.model.element.Element;
+
+/**
+ * The Class ProcessorException.
+ *
+ * Erro de uso das constraints encontrado durante a geração, reportado como erro de compilação no elemento de origem.
+ */
+class ProcessorException extends RuntimeException {
+
+    /** The Constant serialVersionUID. */
+    private static final long serialVersionUID = 1L;
+
+    /** The elemento. */
+    private final transient Element elemento;
+
+    /**
+     * Instantiates a new processor exception.
+     *
+     * @param elemento the elemento
+     * @param mensagem the mensagem
+     */
+    ProcessorException(Element elemento, String mensagem) {
+        super(mensagem);
+        this.elemento = elemento;
+    }
+
+    /**
+     * Obtém o elemento onde o erro foi encontrado.
+     *
+     * @return the elemento
+     */
+    Element getElemento() {
+        return elemento;
+    }
+
+}
@@ -0,0 +1,368 @@
+package br.com.contmatic.empresawilliam.processor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.lang.model.element.TypeElement;
+
+import br.com.contmatic.empresawilliam.processor.ValidatorProcessor.Tipo;
+
+/**
+ * The Class ValidatorModel.
+ *
+ * Modelo de uma entidade validada: seus campos, as verificações de cada um e os grupos envolvidos.
+ */
+class ValidatorModel {
+
+    /** The entidade. */
+    private final TypeElement entidade;
+
+    /** The campos. */
+    private final List<Campo> campos;
+
+    /** Índice (bit) de cada grupo, na ordem em que aparecem. */
+    private final Map<String, Integer> grupos = new LinkedHashMap<String, Integer>();
+
+    /** Se a entidade registra as propriedades alteradas ({@code DirtyTracked}). */
+    private final boolean rastreada;
+
+    /** Provedor da sequência que redefine o grupo padrão ({@code @GroupSequenceProvider}), ou nulo. */
+    private final String sequencia;
+
+    /**
+     * Instantiates a new validator model.
+     *
+     * @param entidade the entidade
+     * @param campos the campos
+     * @param rastreada the rastreada
+     * @param sequencia the sequencia
+     */
+    ValidatorModel(TypeElement entidade, List<Campo> campos, boolean rastreada, String sequencia) {
+        this.entidade = entidade;
+        this.campos = campos;
+        this.rastreada = rastreada;
+        this.sequencia = sequencia;
+        for(Campo campo : campos) {
+            for(Verificacao verificacao : campo.getVerificacoes()) {
+                for(String grupo : verificacao.getGrupos()) {
+                    if (!grupos.containsKey(grupo)) {
+                        grupos.put(grupo, grupos.size());
+                    }
+                }
+            }
+        }
+        if (grupos.size() > Integer.SIZE) {
+            throw new ProcessorException(entidade, "O validador gerado suporta no máximo " + Integer.SIZE + " grupos por entidade.");
+        }
+    }
+
+    /**
+     * Gets the entidade.
+     *
+     * @return the entidade
+     */
+    TypeElement getEntidade() {
+        return entidade;
+    }
+
+    /**
+     * Gets the campos.
+     *
+     * @return the campos
+     */
+    List<Campo> getCampos() {
+        return campos;
+    }
+
+    /**
+     * Obtém o índice (bit) de cada grupo.
+     *
+     * @return the grupos
+     */
+    Map<String, Integer> getGrupos() {
+        return grupos;
+    }
+
+    /**
+     * Checks if is rastreada.
+     *
+     * @return true, if is rastreada
+     */
+    boolean isRastreada() {
+        return rastreada;
+    }
+
+    /**
+     * Gets the sequencia.
+     *
+     * @return the sequencia
+     */
+    String getSequencia() {
+        return sequencia;
+    }
+
+    /**
+     * Verifica se alguma propriedade depende da data atual.
+     *
+     * @return true, if successful
+     */
+    boolean dependeDoRelogio() {
+        for(Campo campo : campos) {
+            if (campo.dependeDoRelogio()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The Class Campo.
+     */
+    static class Campo {
+
+        /** The nome. */
+        private final String nome;
+
+        /** The getter. */
+        private final String getter;
+
+        /** The tipo java. */
+        private final String tipoJava;
+
+        /** The tipo. */
+        private final Tipo tipo;
+
+        /** The verificacoes. */
+        private final List<Verificacao> verificacoes;
+
+        /** Tipo validado em cascata, ou nulo se o campo não tiver {@code @Valid}. */
+        private final String cascata;
+
+        /**
+         * Instantiates a new campo.
+         *
+         * @param nome the nome
+         * @param getter the getter
+         * @param tipoJava the tipo java
+         * @param tipo the tipo
+         * @param verificacoes the verificacoes
+         * @param cascata the cascata
+         */
+        Campo(String nome, String getter, String tipoJava, Tipo tipo, List<Verificacao> verificacoes, String cascata) {
+            this.nome = nome;
+            this.getter = getter;
+            this.tipoJava = tipoJava;
+            this.tipo = tipo;
+            this.verificacoes = verificacoes;
+            this.cascata = cascata;
+        }
+
+        /**
+         * Gets the nome.
+         *
+         * @return the nome
+         */
+        String getNome() {
+            return nome;
+        }
+
+        /**
+         * Gets the getter.
+         *
+         * @return the getter
+         */
+        String getGetter() {
+            return getter;
+        }
+
+        /**
+         * Gets the tipo java.
+         *
+         * @return the tipo java
+         */
+        String getTipoJava() {
+            return tipoJava;
+        }
+
+        /**
+         * Gets the tipo.
+         *
+         * @return the tipo
+         */
+        Tipo getTipo() {
+            return tipo;
+        }
+
+        /**
+         * Gets the verificacoes.
+         *
+         * @return the verificacoes
+         */
+        List<Verificacao> getVerificacoes() {
+            return verificacoes;
+        }
+
+        /**
+         * Gets the cascata.
+         *
+         * @return the cascata
+         */
+        String getCascata() {
+            return cascata;
+        }
+
+        /**
+         * Nome da constante da entidade com o bit de alteração da propriedade (ex.: {@code ALTERACAO_RAZAO_SOCIAL}).
+         *
+         * @return the string
+         */
+        String getAlteracao() {
+            StringBuilder constante = new StringBuilder("ALTERACAO_");
+            for(int i = 0; i < nome.length(); i++) {
+                char c = nome.charAt(i);
+                if (Character.isUpperCase(c)) {
+                    constante.append('_');
+                }
+                constante.append(Character.toUpperCase(c));
+            }
+            return constante.toString();
+        }
+
+        /**
+         * Verifica se alguma verificação compara o valor com a data atual, caso em que o resultado muda com o passar dos dias
+         * mesmo sem alterar a propriedade.
+         *
+         * @return true, if successful
+         */
+        boolean dependeDoRelogio() {
+            for(Verificacao verificacao : verificacoes) {
+                if (verificacao.getCusto() == Verificacao.CUSTO_DATA) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+    /**
+     * The Class Verificacao.
+     */
+    static class Verificacao {
+
+        /** Custo de uma comparação com nulo. */
+        static final int CUSTO_NULO = 0;
+
+        /** Custo de uma comparação de tamanho ou de número. */
+        static final int CUSTO_TAMANHO = 1;
+
+        /** Custo de uma varredura simples do texto. */
+        static final int CUSTO_VARREDURA = 2;
+
+        /** Custo de uma comparação de datas (com a data atual). */
+        static final int CUSTO_DATA = 3;
+
+        /** Custo de uma expressão regular. */
+        static final int CUSTO_PADRAO = 4;
+
+        /** Custo da verificação completa de um email. */
+        static final int CUSTO_EMAIL = 5;
+
+        /** Custo do cálculo dos dígitos verificadores do CNPJ. */
+        static final int CUSTO_CNPJ = 6;
+
+        /** Condição Java verdadeira quando o valor é inválido; {@code %s} é substituído pelo matcher da expressão regular. */
+        private final String condicao;
+
+        /** Expressão regular, ou nulo se a verificação não usar uma. */
+        private final String padrao;
+
+        /** The flags. */
+        private final int flags;
+
+        /** The mensagem. */
+        private final String mensagem;
+
+        /** The grupos. */
+        private final List<String> grupos;
+
+        /** Custo relativo da verificação, usado para ordenar as verificações nos modos que param na primeira violação. */
+        private final int custo;
+
+        /**
+         * Instantiates a new verificacao.
+         *
+         * @param condicao the condicao
+         * @param padrao the padrao
+         * @param flags the flags
+         * @param mensagem the mensagem
+         * @param grupos the grupos
+         * @param custo the custo
+         */
+        Verificacao(String condicao, String padrao, int flags, String mensagem, List<String> grupos, int custo) {
+            this.condicao = condicao;
+            this.padrao = padrao;
+            this.flags = flags;
+            this.mensagem = mensagem;
+            this.grupos = grupos;
+            this.custo = custo;
+        }
+
+        /**
+         * Gets the condicao.
+         *
+         * @return the condicao
+         */
+        String getCondicao() {
+            return condicao;
+        }
+
+        /**
+         * Gets the padrao.
+         *
+         * @return the padrao
+         */
+        String getPadrao() {
+            return padrao;
+        }
+
+        /**
+         * Gets the flags.
+         *
+         * @return the flags
+         */
+        int getFlags() {
+            return flags;
+        }
+
+        /**
+         * Gets the mensagem.
+         *
+         * @return the mensagem
+         */
+        String getMensagem() {
+            return mensagem;
+        }
+
+        /**
+         * Gets the grupos.
+         *
+         * @return the grupos
+         */
+        List<String> getGrupos() {
+            return grupos;
+        }
+
+        /**
+         * Gets the custo.
+         *
+         * @return the custo
+         */
+        int getCusto() {
+            return custo;
+        }
+
+    }
+
+}
@@ -0,0 +1,750 @@
+package br.com.contmatic.empresawilliam.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+
+/**
+ * The Class ValidatorProcessor.
+ *
+ * Processador de anotações que lê as constraints declaradas nos campos e nos getters das entidades marcadas com
+ * {@code @CompiledValidation} e gera, para cada uma, um {@code CompiledValidator} em Java puro. As mensagens são interpoladas em tempo de compilação e as
+ * expressões regulares são compiladas uma única vez, de modo que o validador gerado não usa reflexão nem EL.
+ *
+ * @author williamsalerno
+ */
+@SupportedAnnotationTypes(ValidatorProcessor.COMPILED_VALIDATION)
+public class ValidatorProcessor extends AbstractProcessor {
+
+    /** The Constant COMPILED_VALIDATION. */
+    static final String COMPILED_VALIDATION = "br.com.contmatic.empresawilliam.validation.CompiledValidation";
+
+    /** The Constant DIRTY_TRACKED. */
+    private static final String DIRTY_TRACKED = "br.com.contmatic.empresawilliam.validation.DirtyTracked";
+
+    /** The Constant GROUP_SEQUENCE_PROVIDER. */
+    private static final String GROUP_SEQUENCE_PROVIDER = "org.hibernate.validator.group.GroupSequenceProvider";
+
+    /** The Constant CONSTRAINT. */
+    private static final String CONSTRAINT = "javax.validation.Constraint";
+
+    /** The Constant VALID. */
+    private static final String VALID = "javax.validation.Valid";
+
+    /** The Constant DEFAULT_GROUP. */
+    private static final String DEFAULT_GROUP = "javax.validation.groups.Default";
+
+    /** The Constant SUFIXO. */
+    private static final String SUFIXO = "Validator";
+
+    /** Parâmetros de mensagem, como {min} e {max}. */
+    private static final java.util.regex.Pattern PARAMETRO_DE_MENSAGEM = java.util.regex.Pattern.compile("\\{([^{}]+)\\}");
+
+    /**
+     * The Enum Tipo.
+     */
+    enum Tipo {
+
+        /** CharSequence. */
+        TEXTO,
+        /** Collection. */
+        COLECAO,
+        /** Inteiro primitivo. */
+        INTEIRO,
+        /** Inteiro em wrapper. */
+        INTEIRO_OBJETO,
+        /** ReadablePartial do Joda. */
+        DATA,
+        /** Qualquer outro objeto. */
+        OBJETO
+
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see javax.annotation.processing.AbstractProcessor#getSupportedSourceVersion()
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see javax.annotation.processing.AbstractProcessor#process(java.util.Set, javax.annotation.processing.RoundEnvironment)
+     */
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement marcador = processingEnv.getElementUtils().getTypeElement(COMPILED_VALIDATION);
+        if (marcador == null) {
+            return false;
+        }
+        for(Element elemento : roundEnv.getElementsAnnotatedWith(marcador)) {
+            if (elemento.getKind() != ElementKind.CLASS) {
+                erro(elemento, "@CompiledValidation só pode ser usada em classes.");
+                continue;
+            }
+            TypeElement entidade = (TypeElement) elemento;
+            try {
+                List<ValidatorModel.Campo> campos = campos(entidade);
+                boolean rastreada = isRastreada(entidade);
+                if (rastreada) {
+                    verificaAlteracoes(entidade, campos);
+                }
+                escreve(entidade, new ValidatorModel(entidade, campos, rastreada, sequencia(entidade, campos)));
+            } catch (ProcessorException e) {
+                erro(e.getElemento(), e.getMessage());
+            } catch (IOException e) {
+                erro(entidade, "Não foi possível gerar o validador: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    // Leitura das constraints
+
+    /**
+     * Monta o modelo de cada campo e getter da entidade que possui constraints ou {@code @Valid}.
+     *
+     * @param entidade the entidade
+     * @return the list
+     */
+    private List<ValidatorModel.Campo> campos(TypeElement entidade) {
+        List<ValidatorModel.Campo> campos = new ArrayList<ValidatorModel.Campo>();
+        for(VariableElement campo : ElementFilter.fieldsIn(entidade.getEnclosedElements())) {
+            if (!campo.getModifiers().contains(Modifier.STATIC)) {
+                adiciona(campos, campo, campo.getSimpleName().toString(), null, entidade);
+            }
+        }
+        for(ExecutableElement metodo : ElementFilter.methodsIn(entidade.getEnclosedElements())) {
+            if (!metodo.getModifiers().contains(Modifier.STATIC)) {
+                String propriedade = propriedadeDoGetter(metodo);
+                if (propriedade != null) {
+                    adiciona(campos, metodo, propriedade, metodo.getSimpleName().toString(), entidade);
+                } else if (isAnotado(metodo)) {
+                    throw new ProcessorException(metodo, "Constraints em métodos só são suportadas em getters sem parâmetros.");
+                }
+            }
+        }
+        return campos;
+    }
+
+    /**
+     * Obtém o provedor da sequência que redefine o grupo padrão da entidade ({@code @GroupSequenceProvider}), ou nulo.
+     *
+     * @param entidade the entidade
+     * @param campos the campos
+     * @return o nome qualificado do provedor
+     */
+    private String sequencia(TypeElement entidade, List<ValidatorModel.Campo> campos) {
+        for(AnnotationMirror anotacao : entidade.getAnnotationMirrors()) {
+            if (GROUP_SEQUENCE_PROVIDER.equals(nomeDe(anotacao))) {
+                for(ValidatorModel.Campo campo : campos) {
+                    if (campo.getCascata() != null) {
+                        throw new ProcessorException(entidade, "@GroupSequenceProvider não é suportada em entidades com @Valid.");
+                    }
+                }
+                TypeMirror provedor = (TypeMirror) valorDe(anotacao, "value").getValue();
+                return ((TypeElement) processingEnv.getTypeUtils().asElement(provedor)).getQualifiedName().toString();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Verifica se a entidade implementa {@code DirtyTracked}.
+     *
+     * @param entidade the entidade
+     * @return true, if is rastreada
+     */
+    private boolean isRastreada(TypeElement entidade) {
+        TypeElement rastreada = processingEnv.getElementUtils().getTypeElement(DIRTY_TRACKED);
+        return rastreada != null && processingEnv.getTypeUtils().isAssignable(entidade.asType(), rastreada.asType());
+    }
+
+    /**
+     * Exige, em uma entidade rastreada, a constante {@code static final int} com o bit de alteração de cada propriedade validada.
+     *
+     * @param entidade the entidade
+     * @param campos the campos
+     */
+    private void verificaAlteracoes(TypeElement entidade, List<ValidatorModel.Campo> campos) {
+        for(ValidatorModel.Campo campo : campos) {
+            boolean declarada = false;
+            for(VariableElement constante : ElementFilter.fieldsIn(entidade.getEnclosedElements())) {
+                if (constante.getSimpleName().contentEquals(campo.getAlteracao()) && constante.getModifiers().contains(Modifier.STATIC)
+                        && constante.getModifiers().contains(Modifier.FINAL) && constante.asType().getKind() == TypeKind.INT
+                        && !constante.getModifiers().contains(Modifier.PRIVATE)) {
+                    declarada = true;
+                }
+            }
+            if (!declarada) {
+                throw new ProcessorException(entidade, "A entidade rastreada deve declarar a constante static final int " + campo.getAlteracao()
+                        + ", não privada, com o bit de alteração da propriedade " + campo.getNome() + ".");
+            }
+        }
+    }
+
+    /**
+     * Adiciona o modelo do campo ou getter, se ele possuir constraints ou {@code @Valid}.
+     *
+     * @param campos the campos
+     * @param elemento o campo ou o getter
+     * @param propriedade the propriedade
+     * @param getter o getter, ou null para encontrar o getter do campo
+     * @param entidade the entidade
+     */
+    private void adiciona(List<ValidatorModel.Campo> campos, Element elemento, String propriedade, String getter, TypeElement entidade) {
+        TypeMirror tipoJava = tipoDoElemento(elemento);
+        Tipo tipo = tipoDe(tipoJava);
+        List<ValidatorModel.Verificacao> verificacoes = new ArrayList<ValidatorModel.Verificacao>();
+        String cascata = null;
+        for(AnnotationMirror anotacao : elemento.getAnnotationMirrors()) {
+            String nome = nomeDe(anotacao);
+            if (VALID.equals(nome)) {
+                cascata = tipoEmCascata(elemento, tipo);
+            } else if (isLista(anotacao)) {
+                for(AnnotationValue item : valoresDe(anotacao, "value")) {
+                    verificacoes.add(verificacao(elemento, tipo, (AnnotationMirror) item.getValue()));
+                }
+            } else if (isConstraint(anotacao)) {
+                verificacoes.add(verificacao(elemento, tipo, anotacao));
+            }
+        }
+        if (!verificacoes.isEmpty() || cascata != null) {
+            campos.add(new ValidatorModel.Campo(propriedade, getter != null ? getter : getter(entidade, (VariableElement) elemento), tipoJava(tipoJava), tipo,
+                    verificacoes, cascata));
+        }
+    }
+
+    /**
+     * Traduz uma constraint em uma condição Java que é verdadeira quando o valor é inválido. A variável {@code valor} representa
+     * o valor do campo.
+     *
+     * @param campo the campo
+     * @param tipo the tipo
+     * @param anotacao the anotacao
+     * @return the verificacao
+     */
+    private ValidatorModel.Verificacao verificacao(Element campo, Tipo tipo, AnnotationMirror anotacao) {
+        String nome = nomeDe(anotacao);
+        String condicao;
+        String padrao = null;
+        int flags = 0;
+        int custo = ValidatorModel.Verificacao.CUSTO_TAMANHO;
+        if ("javax.validation.constraints.NotNull".equals(nome)) {
+            condicao = tipo == Tipo.INTEIRO ? "false" : "valor == null";
+            custo = ValidatorModel.Verificacao.CUSTO_NULO;
+        } else if ("org.hibernate.validator.constraints.NotEmpty".equals(nome)) {
+            condicao = "valor == null || " + tamanho(campo, tipo, anotacao) + " == 0";
+        } else if ("org.hibernate.validator.constraints.NotBlank".equals(nome)) {
+            exige(campo, tipo, anotacao, Tipo.TEXTO);
+            condicao = "valor == null || Constraints.isBlank(valor)";
+            custo = ValidatorModel.Verificacao.CUSTO_VARREDURA;
+        } else if ("org.hibernate.validator.constraints.Length".equals(nome)) {
+            exige(campo, tipo, anotacao, Tipo.TEXTO);
+            condicao = entre("valor.length()", inteiro(anotacao, "min"), inteiro(anotacao, "max"), true);
+        } else if ("javax.validation.constraints.Size".equals(nome)) {
+            condicao = entre(tamanho(campo, tipo, anotacao), inteiro(anotacao, "min"), inteiro(anotacao, "max"), true);
+        } else if ("javax.validation.constraints.Pattern".equals(nome)) {
+            exige(campo, tipo, anotacao, Tipo.TEXTO);
+            padrao = texto(anotacao, "regexp");
+            flags = flags(anotacao);
+            condicao = "valor != null && !%s.casa(valor)";
+            custo = ValidatorModel.Verificacao.CUSTO_PADRAO;
+        } else if ("org.hibernate.validator.constraints.Email".equals(nome)) {
+            exige(campo, tipo, anotacao, Tipo.TEXTO);
+            padrao = texto(anotacao, "regexp");
+            flags = flags(anotacao);
+            condicao = "valor != null && !(%s.casa(valor) && Constraints.isEmail(valor))";
+            custo = ValidatorModel.Verificacao.CUSTO_EMAIL;
+        } else if ("br.com.caelum.stella.bean.validation.CNPJ".equals(nome)) {
+            exige(campo, tipo, anotacao, Tipo.TEXTO);
+            condicao = "!Constraints.isCnpj(valor, " + valorDe(anotacao, "formatted").getValue() + ")";
+            custo = ValidatorModel.Verificacao.CUSTO_CNPJ;
+        } else if ("org.hibernate.validator.constraints.Range".equals(nome)) {
+            condicao = entre(numero(campo, tipo, anotacao), inteiro(anotacao, "min") + "L", inteiro(anotacao, "max") + "L", tipo == Tipo.INTEIRO_OBJETO);
+        } else if ("javax.validation.constraints.Min".equals(nome)) {
+            condicao = comparacao(campo, tipo, anotacao, " < ");
+        } else if ("javax.validation.constraints.Max".equals(nome)) {
+            condicao = comparacao(campo, tipo, anotacao, " > ");
+        } else if ("javax.validation.constraints.Future".equals(nome)) {
+            exige(campo, tipo, anotacao, Tipo.DATA);
+            condicao = "valor != null && !Constraints.isFuture(valor)";
+            custo = ValidatorModel.Verificacao.CUSTO_DATA;
+        } else {
+            throw new ProcessorException(campo, "Constraint não suportada pelo validador gerado: @" + nome);
+        }
+        return new ValidatorModel.Verificacao(condicao, padrao, flags, mensagem(campo, anotacao), grupos(anotacao), custo);
+    }
+
+    /**
+     * Expressão do tamanho do valor, para texto ou coleção.
+     *
+     * @param campo the campo
+     * @param tipo the tipo
+     * @param anotacao the anotacao
+     * @return the string
+     */
+    private String tamanho(Element campo, Tipo tipo, AnnotationMirror anotacao) {
+        if (tipo == Tipo.TEXTO) {
+            return "valor.length()";
+        }
+        exige(campo, tipo, anotacao, Tipo.COLECAO);
+        return "valor.size()";
+    }
+
+    /**
+     * Expressão numérica do valor, para inteiros primitivos ou wrappers.
+     *
+     * @param campo the campo
+     * @param tipo the tipo
+     * @param anotacao the anotacao
+     * @return the string
+     */
+    private String numero(Element campo, Tipo tipo, AnnotationMirror anotacao) {
+        if (tipo == Tipo.INTEIRO_OBJETO) {
+            return "valor.longValue()";
+        }
+        exige(campo, tipo, anotacao, Tipo.INTEIRO);
+        return "valor";
+    }
+
+    /**
+     * Condição de violação de {@code @Min} ou {@code @Max}.
+     *
+     * @param campo the campo
+     * @param tipo the tipo
+     * @param anotacao the anotacao
+     * @param operador the operador
+     * @return the string
+     */
+    private String comparacao(Element campo, Tipo tipo, AnnotationMirror anotacao, String operador) {
+        String condicao = numero(campo, tipo, anotacao) + operador + inteiro(anotacao, "value") + "L";
+        return tipo == Tipo.INTEIRO_OBJETO ? "valor != null && " + condicao : condicao;
+    }
+
+    /**
+     * Condição de violação de um intervalo fechado.
+     *
+     * @param expressao the expressao
+     * @param minimo the minimo
+     * @param maximo the maximo
+     * @param aceitaNulo the aceita nulo
+     * @return the string
+     */
+    private static String entre(String expressao, String minimo, String maximo, boolean aceitaNulo) {
+        String condicao = "(" + expressao + " < " + minimo + " || " + expressao + " > " + maximo + ")";
+        return aceitaNulo ? "valor != null && " + condicao : condicao;
+    }
+
+    /**
+     * Garante que a constraint está num campo do tipo esperado.
+     *
+     * @param campo the campo
+     * @param tipo the tipo
+     * @param anotacao the anotacao
+     * @param esperado the esperado
+     */
+    private static void exige(Element campo, Tipo tipo, AnnotationMirror anotacao, Tipo esperado) {
+        if (tipo != esperado) {
+            throw new ProcessorException(campo, "@" + nomeDe(anotacao) + " não é suportada em campos do tipo " + tipoDoElemento(campo));
+        }
+    }
+
+    /**
+     * Interpola os parâmetros da mensagem com os atributos da anotação, como o Hibernate Validator faz em tempo de execução.
+     *
+     * @param campo the campo
+     * @param anotacao the anotacao
+     * @return the string
+     */
+    private String mensagem(Element campo, AnnotationMirror anotacao) {
+        String mensagem = texto(anotacao, "message");
+        Matcher parametro = PARAMETRO_DE_MENSAGEM.matcher(mensagem);
+        StringBuffer interpolada = new StringBuffer();
+        while (parametro.find()) {
+            AnnotationValue valor = valorOuNulo(anotacao, parametro.group(1));
+            if (valor == null) {
+                throw new ProcessorException(campo, "Parâmetro de mensagem não suportado: " + parametro.group());
+            }
+            parametro.appendReplacement(interpolada, Matcher.quoteReplacement(String.valueOf(valor.getValue())));
+        }
+        parametro.appendTail(interpolada);
+        return interpolada.toString();
+    }
+
+    /**
+     * Obtém os nomes qualificados dos grupos da constraint ({@code Default} quando nenhum é declarado).
+     *
+     * @param anotacao the anotacao
+     * @return the list
+     */
+    private List<String> grupos(AnnotationMirror anotacao) {
+        List<String> grupos = new ArrayList<String>();
+        for(AnnotationValue grupo : valoresDe(anotacao, "groups")) {
+            grupos.add(processingEnv.getTypeUtils().erasure((TypeMirror) grupo.getValue()).toString());
+        }
+        if (grupos.isEmpty()) {
+            grupos.add(DEFAULT_GROUP);
+        }
+        return grupos;
+    }
+
+    /**
+     * Soma os valores de {@code java.util.regex.Pattern} correspondentes às flags da anotação.
+     *
+     * @param anotacao the anotacao
+     * @return the int
+     */
+    private int flags(AnnotationMirror anotacao) {
+        int flags = 0;
+        for(AnnotationValue flag : valoresDe(anotacao, "flags")) {
+            String nome = ((VariableElement) flag.getValue()).getSimpleName().toString();
+            try {
+                flags |= java.util.regex.Pattern.class.getField(nome).getInt(null);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Flag desconhecida: " + nome, e);
+            }
+        }
+        return flags;
+    }
+
+    // Tipos
+
+    /**
+     * Classifica o tipo do campo.
+     *
+     * @param tipo the tipo
+     * @return the tipo
+     */
+    private Tipo tipoDe(TypeMirror tipo) {
+        TypeKind kind = tipo.getKind();
+        if (kind == TypeKind.INT || kind == TypeKind.LONG || kind == TypeKind.SHORT || kind == TypeKind.BYTE) {
+            return Tipo.INTEIRO;
+        }
+        if (kind != TypeKind.DECLARED) {
+            return Tipo.OBJETO;
+        }
+        if (isSubtipo(tipo, "java.lang.CharSequence")) {
+            return Tipo.TEXTO;
+        }
+        if (isSubtipo(tipo, "java.util.Collection")) {
+            return Tipo.COLECAO;
+        }
+        if (isSubtipo(tipo, "org.joda.time.ReadablePartial")) {
+            return Tipo.DATA;
+        }
+        if (isSubtipo(tipo, "java.lang.Integer") || isSubtipo(tipo, "java.lang.Long") || isSubtipo(tipo, "java.lang.Short")
+                || isSubtipo(tipo, "java.lang.Byte")) {
+            return Tipo.INTEIRO_OBJETO;
+        }
+        return Tipo.OBJETO;
+    }
+
+    /**
+     * Verifica se o tipo é subtipo (desconsiderando genéricos) do tipo informado.
+     *
+     * @param tipo the tipo
+     * @param nome the nome
+     * @return true, if is subtipo
+     */
+    private boolean isSubtipo(TypeMirror tipo, String nome) {
+        TypeElement outro = processingEnv.getElementUtils().getTypeElement(nome);
+        if (outro == null) {
+            return false;
+        }
+        return processingEnv.getTypeUtils().isAssignable(processingEnv.getTypeUtils().erasure(tipo),
+                processingEnv.getTypeUtils().erasure(outro.asType()));
+    }
+
+    /**
+     * Obtém o tipo validado em cascata por um campo com {@code @Valid}: o próprio tipo ou o tipo dos elementos da coleção.
+     *
+     * @param campo the campo
+     * @param tipo the tipo
+     * @return the string
+     */
+    private String tipoEmCascata(Element campo, Tipo tipo) {
+        TypeMirror alvo = tipoDoElemento(campo);
+        if (tipo == Tipo.COLECAO) {
+            List<? extends TypeMirror> argumentos = ((DeclaredType) alvo).getTypeArguments();
+            if (argumentos.size() != 1) {
+                throw new ProcessorException(campo, "@Valid exige uma coleção com o tipo dos elementos declarado.");
+            }
+            alvo = argumentos.get(0);
+        } else if (tipo != Tipo.OBJETO) {
+            throw new ProcessorException(campo, "@Valid não é suportada em campos do tipo " + tipoDoElemento(campo));
+        }
+        Element elemento = processingEnv.getTypeUtils().asElement(alvo);
+        if (!(elemento instanceof TypeElement) || !isMarcada((TypeElement) elemento)) {
+            throw new ProcessorException(campo, "O tipo validado em cascata deve estar anotado com @CompiledValidation: " + alvo);
+        }
+        return ((TypeElement) elemento).getQualifiedName().toString();
+    }
+
+    /**
+     * Verifica se a classe está anotada com {@code @CompiledValidation}.
+     *
+     * @param tipo the tipo
+     * @return true, if is marcada
+     */
+    private static boolean isMarcada(TypeElement tipo) {
+        for(AnnotationMirror anotacao : tipo.getAnnotationMirrors()) {
+            if (COMPILED_VALIDATION.equals(nomeDe(anotacao))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Obtém o tipo do campo como escrito no código gerado (sem genéricos, que não são necessários para a validação).
+     *
+     * @param tipo the tipo
+     * @return the string
+     */
+    private String tipoJava(TypeMirror tipo) {
+        if (tipo.getKind().isPrimitive()) {
+            return tipo.toString();
+        }
+        return processingEnv.getTypeUtils().erasure(tipo).toString() + (tipo.getKind() == TypeKind.DECLARED && isSubtipo(tipo, "java.util.Collection") ? "<?>" : "");
+    }
+
+    /**
+     * Encontra o getter do campo ({@code getX} ou {@code isX}).
+     *
+     * @param entidade the entidade
+     * @param campo the campo
+     * @return the string
+     */
+    private static String getter(TypeElement entidade, VariableElement campo) {
+        String nome = campo.getSimpleName().toString();
+        String sufixo = Character.toUpperCase(nome.charAt(0)) + nome.substring(1);
+        for(ExecutableElement metodo : ElementFilter.methodsIn(entidade.getEnclosedElements())) {
+            String nomeDoMetodo = metodo.getSimpleName().toString();
+            if (metodo.getParameters().isEmpty() && !metodo.getModifiers().contains(Modifier.PRIVATE)
+                    && (nomeDoMetodo.equals("get" + sufixo) || nomeDoMetodo.equals("is" + sufixo))) {
+                return nomeDoMetodo;
+            }
+        }
+        throw new ProcessorException(campo, "O campo validado precisa de um getter: get" + sufixo + "()");
+    }
+
+    /**
+     * Obtém a propriedade de um getter ({@code getX} ou {@code isX}, sem parâmetros).
+     *
+     * @param metodo the metodo
+     * @return a propriedade, ou null se o método não for um getter
+     */
+    private static String propriedadeDoGetter(ExecutableElement metodo) {
+        String nome = metodo.getSimpleName().toString();
+        int prefixo = nome.startsWith("get") ? 3 : nome.startsWith("is") ? 2 : 0;
+        if (prefixo == 0 || nome.length() == prefixo || !Character.isUpperCase(nome.charAt(prefixo)) || !metodo.getParameters().isEmpty()
+                || metodo.getReturnType().getKind() == TypeKind.VOID || metodo.getModifiers().contains(Modifier.PRIVATE)) {
+            return null;
+        }
+        return Character.toLowerCase(nome.charAt(prefixo)) + nome.substring(prefixo + 1);
+    }
+
+    /**
+     * Obtém o tipo validado: o do campo ou o retorno do getter.
+     *
+     * @param elemento the elemento
+     * @return the type mirror
+     */
+    private static TypeMirror tipoDoElemento(Element elemento) {
+        return elemento instanceof ExecutableElement ? ((ExecutableElement) elemento).getReturnType() : elemento.asType();
+    }
+
+    // Anotações
+
+    /**
+     * Verifica se a anotação é uma constraint do Bean Validation.
+     *
+     * @param anotacao the anotacao
+     * @return true, if is constraint
+     */
+    private static boolean isConstraint(AnnotationMirror anotacao) {
+        for(AnnotationMirror meta : anotacao.getAnnotationType().asElement().getAnnotationMirrors()) {
+            if (CONSTRAINT.equals(nomeDe(meta))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Verifica se a anotação é o contêiner {@code List} de uma constraint repetida.
+     *
+     * @param anotacao the anotacao
+     * @return true, if is lista
+     */
+    private static boolean isLista(AnnotationMirror anotacao) {
+        Element tipo = anotacao.getAnnotationType().asElement();
+        return "List".equals(tipo.getSimpleName().toString()) && tipo.getEnclosingElement() instanceof TypeElement
+                && isConstraint(tipo.getEnclosingElement());
+    }
+
+    /**
+     * Verifica se o tipo de anotação é uma constraint.
+     *
+     * @param tipo the tipo
+     * @return true, if is constraint
+     */
+    private static boolean isConstraint(Element tipo) {
+        for(AnnotationMirror meta : tipo.getAnnotationMirrors()) {
+            if (CONSTRAINT.equals(nomeDe(meta))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Verifica se o elemento possui alguma constraint ou {@code @Valid}.
+     *
+     * @param elemento the elemento
+     * @return true, if is anotado
+     */
+    private static boolean isAnotado(Element elemento) {
+        for(AnnotationMirror anotacao : elemento.getAnnotationMirrors()) {
+            if (VALID.equals(nomeDe(anotacao)) || isConstraint(anotacao) || isLista(anotacao)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Obtém o nome qualificado da anotação.
+     *
+     * @param anotacao the anotacao
+     * @return the string
+     */
+    private static String nomeDe(AnnotationMirror anotacao) {
+        return ((TypeElement) anotacao.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    /**
+     * Obtém um atributo da anotação, considerando os valores padrão, ou nulo se o atributo não existir.
+     *
+     * @param anotacao the anotacao
+     * @param nome the nome
+     * @return the annotation value
+     */
+    private AnnotationValue valorOuNulo(AnnotationMirror anotacao, String nome) {
+        for(Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> atributo : processingEnv.getElementUtils()
+                .getElementValuesWithDefaults(anotacao).entrySet()) {
+            if (atributo.getKey().getSimpleName().contentEquals(nome)) {
+                return atributo.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Obtém um atributo obrigatório da anotação.
+     *
+     * @param anotacao the anotacao
+     * @param nome the nome
+     * @return the annotation value
+     */
+    private AnnotationValue valorDe(AnnotationMirror anotacao, String nome) {
+        AnnotationValue valor = valorOuNulo(anotacao, nome);
+        if (valor == null) {
+            throw new IllegalStateException("Atributo " + nome + " ausente em @" + nomeDe(anotacao));
+        }
+        return valor;
+    }
+
+    /**
+     * Obtém um atributo do tipo array (vazio se a anotação não o declarar).
+     *
+     * @param anotacao the anotacao
+     * @param nome the nome
+     * @return the list
+     */
+    @SuppressWarnings("unchecked")
+    private List<? extends AnnotationValue> valoresDe(AnnotationMirror anotacao, String nome) {
+        AnnotationValue valor = valorOuNulo(anotacao, nome);
+        return valor == null ? new ArrayList<AnnotationValue>() : (List<? extends AnnotationValue>) valor.getValue();
+    }
+
+    /**
+     * Obtém um atributo de texto.
+     *
+     * @param anotacao the anotacao
+     * @param nome the nome
+     * @return the string
+     */
+    private String texto(AnnotationMirror anotacao, String nome) {
+        return (String) valorDe(anotacao, nome).getValue();
+    }
+
+    /**
+     * Obtém um atributo numérico como literal Java.
+     *
+     * @param anotacao the anotacao
+     * @param nome the nome
+     * @return the string
+     */
+    private String inteiro(AnnotationMirror anotacao, String nome) {
+        return String.valueOf(((Number) valorDe(anotacao, nome).getValue()).longValue());
+    }
+
+    // Geração
+
+    /**
+     * Escreve o código-fonte do validador da entidade.
+     *
+     * @param entidade the entidade
+     * @param modelo the modelo
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private void escreve(TypeElement entidade, ValidatorModel modelo) throws IOException {
+        String nome = entidade.getQualifiedName() + SUFIXO;
+        Writer writer = processingEnv.getFiler().createSourceFile(nome, entidade).openWriter();
+        try {
+            writer.write(new ValidatorWriter(processingEnv.getElementUtils().getPackageOf(entidade).getQualifiedName().toString(),
+                    entidade.getSimpleName().toString(), SUFIXO, modelo).escreve());
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Reporta um erro de compilação no elemento.
+     *
+     * @param elemento the elemento
+     * @param mensagem the mensagem
+     */
+    private void erro(Element elemento, String mensagem) {
+        processingEnv.getMessager().printMessage(Kind.ERROR, mensagem, elemento);
+    }
+
+}
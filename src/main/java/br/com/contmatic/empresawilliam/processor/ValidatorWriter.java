@@ -0,0 +1,481 @@
+package br.com.contmatic.empresawilliam.processor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import br.com.contmatic.empresawilliam.processor.ValidatorModel.Campo;
+import br.com.contmatic.empresawilliam.processor.ValidatorModel.Verificacao;
+import br.com.contmatic.empresawilliam.processor.ValidatorProcessor.Tipo;
+
+/**
+ * The Class ValidatorWriter.
+ *
+ * Escreve o código-fonte do validador gerado. Cada campo ganha um método próprio, os grupos requisitados viram uma máscara de
+ * bits calculada uma vez por validação e as violações só são alocadas quando existem.
+ */
+class ValidatorWriter {
+
+    /** The Constant INDENTACAO. */
+    private static final String INDENTACAO = "    ";
+
+    /** The Constant DEFAULT_GROUP. */
+    private static final String DEFAULT_GROUP = "javax.validation.groups.Default";
+
+    /** The pacote. */
+    private final String pacote;
+
+    /** The entidade. */
+    private final String entidade;
+
+    /** The nome. */
+    private final String nome;
+
+    /** The modelo. */
+    private final ValidatorModel modelo;
+
+    /** The codigo. */
+    private final StringBuilder codigo = new StringBuilder();
+
+    /** Quantidade de expressões regulares já declaradas. */
+    private int padroes;
+
+    /**
+     * Instantiates a new validator writer.
+     *
+     * @param pacote the pacote
+     * @param entidade the entidade
+     * @param sufixo the sufixo
+     * @param modelo the modelo
+     */
+    ValidatorWriter(String pacote, String entidade, String sufixo, ValidatorModel modelo) {
+        this.pacote = pacote;
+        this.entidade = entidade;
+        this.nome = entidade + sufixo;
+        this.modelo = modelo;
+    }
+
+    /**
+     * Gera o código-fonte completo.
+     *
+     * @return the string
+     */
+    String escreve() {
+        linha(0, "package " + pacote + ";");
+        linha(0, "");
+        linha(0, "import java.util.List;");
+        linha(0, "");
+        linha(0, "import br.com.contmatic.empresawilliam.validation.Casador;");
+        linha(0, "import br.com.contmatic.empresawilliam.validation.CompiledValidator;");
+        linha(0, "import br.com.contmatic.empresawilliam.validation.Constraints;");
+        linha(0, "import br.com.contmatic.empresawilliam.validation.Padroes;");
+        linha(0, "import br.com.contmatic.empresawilliam.validation.ValidationMode;");
+        linha(0, "import br.com.contmatic.empresawilliam.validation.ValidationResult;");
+        linha(0, "import br.com.contmatic.empresawilliam.validation.Violation;");
+        linha(0, "");
+        linha(0, "/**");
+        linha(0, " * Validador de {@link " + entidade + "} gerado em tempo de compilação por {@code " + ValidatorProcessor.class.getName() + "}.");
+        linha(0, " * Não deve ser editado: as constraints são lidas das anotações da entidade.");
+        linha(0, " */");
+        linha(0, "public final class " + nome + " implements CompiledValidator<" + entidade + "> {");
+        linha(0, "");
+        linha(1, "/** Instância única, sem estado. */");
+        linha(1, "public static final " + nome + " INSTANCE = new " + nome + "();");
+        linha(0, "");
+        escrevePadroes();
+        if (modelo.getSequencia() != null) {
+            linha(1, "/** Provedor da sequência que redefine o grupo padrão. */");
+            linha(1, "private static final " + modelo.getSequencia() + " SEQUENCIA = new " + modelo.getSequencia() + "();");
+            linha(0, "");
+        }
+        linha(1, "private " + nome + "() {");
+        linha(0, "");
+        linha(1, "}");
+        linha(0, "");
+        escreveValidacoes();
+        if (modelo.isRastreada()) {
+            escreveRevalidacao();
+        }
+        escreveGrupos();
+        for(Campo campo : modelo.getCampos()) {
+            escreveCampo(campo);
+        }
+        linha(0, "}");
+        return codigo.toString();
+    }
+
+    /**
+     * Declara um casador para cada expressão regular (escrito à mão para as expressões conhecidas pelo {@code Padroes}).
+     */
+    private void escrevePadroes() {
+        int indice = 0;
+        for(Campo campo : modelo.getCampos()) {
+            for(Verificacao verificacao : campo.getVerificacoes()) {
+                if (verificacao.getPadrao() != null) {
+                    linha(1, "private static final Casador PADRAO_" + indice++ + " = Padroes.casador(" + literal(verificacao.getPadrao())
+                            + ", " + verificacao.getFlags() + ");");
+                    linha(0, "");
+                }
+            }
+        }
+    }
+
+    /**
+     * Escreve os métodos da interface {@code CompiledValidator}.
+     */
+    private void escreveValidacoes() {
+        linha(1, "@Override");
+        linha(1, "public ValidationResult validate(" + entidade + " obj) {");
+        linha(2, "return ValidationResult.of(validate(obj, \"\", null, Constraints.DEFAULT_GROUPS));");
+        linha(1, "}");
+        linha(0, "");
+        linha(1, "@Override");
+        linha(1, "public ValidationResult validate(" + entidade + " obj, Class<?>... groups) {");
+        linha(2, "return ValidationResult.of(validate(obj, \"\", null, groups.length == 0 ? Constraints.DEFAULT_GROUPS : groups), groups);");
+        linha(1, "}");
+        linha(0, "");
+        linha(1, "@Override");
+        linha(1, "public List<Violation> validate(" + entidade + " obj, String prefix, List<Violation> violations, Class<?>[] groups) {");
+        linha(2, "return validate(obj, prefix, violations, groups, ValidationMode.FULL);");
+        linha(1, "}");
+        linha(0, "");
+        linha(1, "@Override");
+        linha(1, "public List<Violation> validate(" + entidade + " obj, String prefix, List<Violation> violations, Class<?>[] groups, ValidationMode mode) {");
+        if (modelo.getSequencia() != null) {
+            escreveSequencia();
+        } else {
+            linha(2, "return valida(obj, prefix, violations, grupos(groups), mode, groups);");
+        }
+        linha(1, "}");
+        linha(0, "");
+        linha(1, "private static List<Violation> valida(" + entidade
+                + " obj, String prefix, List<Violation> violations, int grupos, ValidationMode mode, Class<?>[] groups) {");
+        linha(2, "if (mode == ValidationMode.FULL) {");
+        for(Campo campo : modelo.getCampos()) {
+            linha(3, chamada(campo));
+        }
+        linha(3, "return violations;");
+        linha(2, "}");
+        List<Campo> campos = new ArrayList<Campo>();
+        for(Campo campo : modelo.getCampos()) {
+            if (campo.getCascata() == null) {
+                campos.add(campo);
+            }
+        }
+        for(Campo campo : modelo.getCampos()) {
+            if (campo.getCascata() != null) {
+                campos.add(campo);
+            }
+        }
+        for(Campo campo : campos) {
+            linha(2, "if (mode == ValidationMode.FIRST && violations != null) {");
+            linha(3, "return violations;");
+            linha(2, "}");
+            linha(2, chamada(campo));
+        }
+        linha(2, "return violations;");
+        linha(1, "}");
+        linha(0, "");
+    }
+
+    /**
+     * Escreve a validação de uma entidade cujo grupo padrão é redefinido por um {@code @GroupSequenceProvider}, com a semântica do
+     * Hibernate Validator: os grupos da sequência são verificados em ordem até o primeiro que tiver violações, e os demais grupos
+     * requisitados são verificados em seguida, sem repetir constraints. A classe da entidade na sequência representa o grupo
+     * padrão.
+     */
+    private void escreveSequencia() {
+        String padrao = mascaraPadrao();
+        linha(2, "int grupos = grupos(groups);");
+        linha(2, "if (!Constraints.contains(groups, " + DEFAULT_GROUP + ".class)) {");
+        linha(3, "return valida(obj, prefix, violations, grupos, mode, groups);");
+        linha(2, "}");
+        linha(2, "List<Class<?>> sequencia = SEQUENCIA.getValidationGroups(obj);");
+        linha(2, "int verificados = 0;");
+        linha(2, "for(int i = 0; i < sequencia.size(); i++) {");
+        linha(3, "int mascara = (sequencia.get(i) == " + entidade + ".class ? " + padrao + " : grupo(sequencia.get(i))) & ~verificados;");
+        linha(3, "verificados |= mascara;");
+        linha(3, "int antes = violations == null ? 0 : violations.size();");
+        linha(3, "violations = valida(obj, prefix, violations, mascara, mode, groups);");
+        linha(3, "if ((violations == null ? 0 : violations.size()) != antes) {");
+        linha(4, "break;");
+        linha(3, "}");
+        linha(2, "}");
+        linha(2, "return valida(obj, prefix, violations, grupos & ~verificados & ~" + padrao + ", mode, groups);");
+    }
+
+    /**
+     * Escreve a revalidação incremental: cada propriedade é verificada de novo se o seu bit de alteração estiver marcado (ou se
+     * depender da data atual); senão, suas violações são copiadas do resultado anterior. Um resultado anterior de outros grupos
+     * é ignorado.
+     */
+    private void escreveRevalidacao() {
+        linha(1, "@Override");
+        linha(1, "public ValidationResult revalidate(" + entidade + " obj, ValidationResult previous, Class<?>... groups) {");
+        linha(2, "if (groups.length == 0) {");
+        linha(3, "groups = Constraints.DEFAULT_GROUPS;");
+        linha(2, "}");
+        linha(2, "if (previous != null && !previous.hasGroups(groups)) {");
+        linha(3, "previous = null;");
+        linha(2, "}");
+        if (modelo.getSequencia() != null) {
+            escreveRevalidacaoPorInteiro();
+            return;
+        }
+        linha(2, "int grupos = grupos(groups);");
+        linha(2, "int alteracoes = previous == null ? -1 : obj.dirtyProperties();");
+        linha(2, "String prefix = \"\";");
+        linha(2, "List<Violation> violations = null;");
+        linha(2, "ValidationMode mode = ValidationMode.FULL;");
+        for(Campo campo : modelo.getCampos()) {
+            if (campo.dependeDoRelogio()) {
+                linha(2, chamada(campo));
+                continue;
+            }
+            String alterada = "(alteracoes & " + entidade + "." + campo.getAlteracao() + ") != 0";
+            if (campo.getCascata() != null) {
+                linha(2, "if (" + alterada + " || Constraints.isDirty(obj." + campo.getGetter() + "())) {");
+                linha(3, chamada(campo));
+                linha(3, "Constraints.markClean(obj." + campo.getGetter() + "());");
+            } else {
+                linha(2, "if (" + alterada + ") {");
+                linha(3, chamada(campo));
+            }
+            linha(2, "} else {");
+            linha(3, "violations = Constraints.reuse(previous, " + literal(campo.getNome()) + ", violations);");
+            linha(2, "}");
+        }
+        linha(2, "obj.markClean();");
+        linha(2, "return ValidationResult.of(violations, groups);");
+        linha(1, "}");
+        linha(0, "");
+    }
+
+    /**
+     * Escreve a revalidação de uma entidade com sequência de grupos, em que uma alteração pode mudar os grupos verificados: sem
+     * alterações o resultado anterior é devolvido; com alguma, a entidade é validada por inteiro.
+     */
+    private void escreveRevalidacaoPorInteiro() {
+        if (!modelo.dependeDoRelogio()) {
+            linha(2, "if (previous != null && obj.dirtyProperties() == 0) {");
+            linha(3, "return previous;");
+            linha(2, "}");
+        }
+        linha(2, "ValidationResult resultado = validate(obj, groups);");
+        linha(2, "obj.markClean();");
+        linha(2, "return resultado;");
+        linha(1, "}");
+        linha(0, "");
+    }
+
+    /**
+     * Escreve o cálculo da máscara de grupos requisitados.
+     */
+    private void escreveGrupos() {
+        linha(1, "private static int grupos(Class<?>[] groups) {");
+        linha(2, "int grupos = 0;");
+        for(Map.Entry<String, Integer> grupo : modelo.getGrupos().entrySet()) {
+            linha(2, "if (Constraints.contains(groups, " + grupo.getKey() + ".class)) {");
+            linha(3, "grupos |= " + mascara(grupo.getValue()) + ";");
+            linha(2, "}");
+        }
+        linha(2, "return grupos;");
+        linha(1, "}");
+        linha(0, "");
+        if (modelo.getSequencia() != null) {
+            linha(1, "private static int grupo(Class<?> group) {");
+            linha(2, "int grupos = 0;");
+            for(Map.Entry<String, Integer> grupo : modelo.getGrupos().entrySet()) {
+                linha(2, "if (" + grupo.getKey() + ".class.isAssignableFrom(group)) {");
+                linha(3, "grupos |= " + mascara(grupo.getValue()) + ";");
+                linha(2, "}");
+            }
+            linha(2, "return grupos;");
+            linha(1, "}");
+            linha(0, "");
+        }
+    }
+
+    /**
+     * Escreve o método de validação de um campo. Nos modos que param na primeira violação, as verificações são feitas da mais
+     * barata para a mais cara e o método retorna na primeira que falhar; no modo completo, todas são feitas na ordem declarada.
+     *
+     * @param campo the campo
+     */
+    private void escreveCampo(Campo campo) {
+        linha(1, "private static List<Violation> " + metodo(campo) + "(" + campo.getTipoJava()
+                + " valor, String prefix, List<Violation> violations, int grupos, ValidationMode mode" + (campo.getCascata() != null ? ", Class<?>[] groups" : "")
+                + ") {");
+        final List<Verificacao> verificacoes = campo.getVerificacoes();
+        final List<String> condicoes = new ArrayList<String>(verificacoes.size());
+        for(Verificacao verificacao : verificacoes) {
+            String condicao = verificacao.getCondicao();
+            if (verificacao.getPadrao() != null) {
+                condicao = String.format(condicao, "PADRAO_" + padroes++);
+            }
+            condicoes.add(condicao.contains("||") ? "(" + condicao + ")" : condicao);
+        }
+        List<Integer> porCusto = new ArrayList<Integer>(verificacoes.size());
+        for(int i = 0; i < verificacoes.size(); i++) {
+            porCusto.add(i);
+        }
+        Collections.sort(porCusto, new Comparator<Integer>() {
+
+            @Override
+            public int compare(Integer a, Integer b) {
+                return Integer.compare(verificacoes.get(a).getCusto(), verificacoes.get(b).getCusto());
+            }
+        });
+        linha(2, "if (mode != ValidationMode.FULL) {");
+        for(int i : porCusto) {
+            Verificacao verificacao = verificacoes.get(i);
+            linha(3, "if ((grupos & " + mascara(verificacao) + ") != 0 && " + condicoes.get(i) + ") {");
+            linha(4, "return Constraints.add(violations, prefix, " + literal(campo.getNome()) + ", " + literal(verificacao.getMensagem()) + ");");
+            linha(3, "}");
+        }
+        if (campo.getCascata() != null) {
+            escreveCascata(campo, 3, true);
+        }
+        linha(3, "return violations;");
+        linha(2, "}");
+        for(int i = 0; i < verificacoes.size(); i++) {
+            Verificacao verificacao = verificacoes.get(i);
+            linha(2, "if ((grupos & " + mascara(verificacao) + ") != 0 && " + condicoes.get(i) + ") {");
+            linha(3, "violations = Constraints.add(violations, prefix, " + literal(campo.getNome()) + ", " + literal(verificacao.getMensagem()) + ");");
+            linha(2, "}");
+        }
+        if (campo.getCascata() != null) {
+            escreveCascata(campo, 2, false);
+        }
+        linha(2, "return violations;");
+        linha(1, "}");
+        linha(0, "");
+    }
+
+    /**
+     * Escreve a validação em cascata ({@code @Valid}) de um campo, delegando ao validador gerado do tipo em cascata.
+     *
+     * @param campo the campo
+     * @param nivel the nivel
+     * @param interrompe se a iteração dos elementos deve parar na primeira violação no modo {@code FIRST}
+     */
+    private void escreveCascata(Campo campo, int nivel, boolean interrompe) {
+        String validador = campo.getCascata() + "Validator.INSTANCE";
+        if (campo.getTipo() == Tipo.COLECAO) {
+            String caminho = literal(campo.getNome() + "[].");
+            linha(nivel, "if (valor != null) {");
+            linha(nivel + 1, "String prefixo = prefix.isEmpty() ? " + caminho + " : prefix + " + caminho + ";");
+            linha(nivel + 1, "for(Object elemento : valor) {");
+            linha(nivel + 2, "if (elemento != null) {");
+            linha(nivel + 3, "violations = " + validador + ".validate((" + campo.getCascata() + ") elemento, prefixo, violations, groups, mode);");
+            if (interrompe) {
+                linha(nivel + 3, "if (mode == ValidationMode.FIRST && violations != null) {");
+                linha(nivel + 4, "return violations;");
+                linha(nivel + 3, "}");
+            }
+            linha(nivel + 2, "}");
+            linha(nivel + 1, "}");
+            linha(nivel, "}");
+        } else {
+            String caminho = literal(campo.getNome() + ".");
+            linha(nivel, "if (valor != null) {");
+            linha(nivel + 1, "violations = " + validador + ".validate(valor, prefix.isEmpty() ? " + caminho + " : prefix + " + caminho
+                    + ", violations, groups, mode);");
+            linha(nivel, "}");
+        }
+    }
+
+    /**
+     * Chamada do método de validação do campo.
+     *
+     * @param campo the campo
+     * @return the string
+     */
+    private static String chamada(Campo campo) {
+        return "violations = " + metodo(campo) + "(obj." + campo.getGetter() + "(), prefix, violations, grupos, mode" + (campo.getCascata() != null ? ", groups" : "")
+                + ");";
+    }
+
+    /**
+     * Máscara dos grupos de uma verificação.
+     *
+     * @param verificacao the verificacao
+     * @return the string
+     */
+    private String mascara(Verificacao verificacao) {
+        int mascara = 0;
+        for(String grupo : verificacao.getGrupos()) {
+            mascara |= 1 << modelo.getGrupos().get(grupo);
+        }
+        return "0x" + Integer.toHexString(mascara);
+    }
+
+    /**
+     * Máscara do grupo padrão, ou zero se nenhuma constraint da entidade estiver nele.
+     *
+     * @return the string
+     */
+    private String mascaraPadrao() {
+        Integer indice = modelo.getGrupos().get(DEFAULT_GROUP);
+        return indice == null ? "0" : mascara(indice);
+    }
+
+    /**
+     * Máscara de um único grupo.
+     *
+     * @param indice the indice
+     * @return the string
+     */
+    private static String mascara(int indice) {
+        return "0x" + Integer.toHexString(1 << indice);
+    }
+
+    /**
+     * Nome do método de validação do campo.
+     *
+     * @param campo the campo
+     * @return the string
+     */
+    private static String metodo(Campo campo) {
+        return "valida" + Character.toUpperCase(campo.getNome().charAt(0)) + campo.getNome().substring(1);
+    }
+
+    /**
+     * Escreve uma linha com a indentação informada.
+     *
+     * @param nivel the nivel
+     * @param texto the texto
+     */
+    private void linha(int nivel, String texto) {
+        if (!texto.isEmpty()) {
+            for(int i = 0; i < nivel; i++) {
+                codigo.append(INDENTACAO);
+            }
+        }
+        codigo.append(texto).append('\n');
+    }
+
+    /**
+     * Converte um texto em literal Java, escapando caracteres fora do ASCII para não depender da codificação do compilador.
+     *
+     * @param texto the texto
+     * @return the string
+     */
+    static String literal(String texto) {
+        StringBuilder literal = new StringBuilder(texto.length() + 2).append('"');
+        for(int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == '"' || c == '\\') {
+                literal.append('\\').append(c);
+            } else if (c < ' ' || c > '~') {
+                literal.append(String.format("\\u%04x", (int) c));
+            } else {
+                literal.append(c);
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+}
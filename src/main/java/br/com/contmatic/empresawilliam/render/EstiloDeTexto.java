@@ -0,0 +1,29 @@
+package br.com.contmatic.empresawilliam.render;
+
+/**
+ * The Enum EstiloDeTexto.
+ *
+ * Formatos de texto do {@link Renderizador}.
+ */
+public enum EstiloDeTexto {
+
+    /**
+     * Uma linha com os nomes das propriedades: {@code Empresa[razaoSocial=X, ..., enderecos=[Endereco[...], ...], ...]}. Nulos
+     * são escritos como {@code null}.
+     */
+    LINHA_UNICA,
+
+    /**
+     * Uma propriedade por linha, com os rótulos do {@code toString} das entidades e o formato do {@code MULTI_LINE_STYLE} do
+     * commons-lang: classe e identidade do objeto no início, coleções entre chaves e nulos como {@code <null>}.
+     */
+    MULTIPLAS_LINHAS,
+
+    /**
+     * Pares {@code chave=valor} separados por espaço, para logs: {@code razaoSocial="Empresa X" cnpj=11222333000181
+     * enderecos[0].cep=01234567}. Valores com espaço, aspas, {@code =} ou caracteres de controle ficam entre aspas; propriedades
+     * nulas são omitidas.
+     */
+    CHAVE_VALOR
+
+}
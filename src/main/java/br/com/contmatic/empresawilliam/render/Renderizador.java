@@ -0,0 +1,668 @@
+package br.com.contmatic.empresawilliam.render;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.util.Set;
+
+import org.joda.time.LocalDate;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.Endereco;
+import br.com.contmatic.empresawilliam.Telefone;
+
+/**
+ * The Class Renderizador.
+ *
+ * Escreve empresas, endereços e telefones como texto, em um dos {@link EstiloDeTexto}, direto no {@link StringBuilder} ou
+ * {@link Appendable} informado. Os rótulos são constantes, números, datas e identidades são escritos dígito a dígito e as coleções
+ * são percorridas sem cópia, então nada é alocado além do próprio texto.
+ */
+public final class Renderizador {
+
+    /** Formato das datas apresentadas ao usuário; o formatador do Joda-Time é imutável e pode ser compartilhado. */
+    public static final DateTimeFormatter FORMATO_DE_DATA = DateTimeFormat.forPattern("dd/MM/yyyy");
+
+    /** The Constant SEPARADOR_DE_LINHA. */
+    private static final String SEPARADOR_DE_LINHA = System.lineSeparator();
+
+    /** Nulo no estilo {@link EstiloDeTexto#MULTIPLAS_LINHAS}. */
+    private static final String NULO_MULTIPLAS_LINHAS = "<null>";
+
+    /** The Constant NULO. */
+    private static final String NULO = "null";
+
+    /** The Constant HEXADECIMAL. */
+    private static final char[] HEXADECIMAL = "0123456789abcdef".toCharArray();
+
+    /** The Constant ROTULOS_DA_EMPRESA. */
+    private static final String[] ROTULOS_DA_EMPRESA = { "Razão social: ", "Proprietário: ", "CNPJ", "Endereço: ", "Telefone: ", "Email: ", "Site: ",
+        "Data de criação: ", "Data de alteração: " };
+
+    /** The Constant PROPRIEDADES_DA_EMPRESA. */
+    private static final String[] PROPRIEDADES_DA_EMPRESA = { "razaoSocial", "proprietario", "cnpj", "enderecos", "telefones", "email", "site",
+        "dataDeCriacao", "dataDeAlteracao" };
+
+    /** The Constant ROTULOS_DO_ENDERECO. */
+    private static final String[] ROTULOS_DO_ENDERECO = { "tipo de logradouro: ", "nome de logradouro: ", "número de endereço: ", "CEP: ",
+        "Tipo de endereço: " };
+
+    /** The Constant PROPRIEDADES_DO_ENDERECO. */
+    private static final String[] PROPRIEDADES_DO_ENDERECO = { "tipoLogradouro", "nomeLogradouro", "numeroEndereco", "cep", "tipoEndereco" };
+
+    /** The Constant ROTULOS_DO_TELEFONE. */
+    private static final String[] ROTULOS_DO_TELEFONE = { "tipo de telefone: ", "ddd: ", "telefone: " };
+
+    /** The Constant PROPRIEDADES_DO_TELEFONE. */
+    private static final String[] PROPRIEDADES_DO_TELEFONE = { "tipoTelefone", "ddd", "telefone" };
+
+    /**
+     * Instantiates a new renderizador.
+     */
+    private Renderizador() {
+
+    }
+
+    // Operações
+
+    /**
+     * Escreve a empresa no texto.
+     *
+     * @param empresa the empresa
+     * @param estilo the estilo
+     * @param texto the texto
+     * @return o próprio texto
+     */
+    public static StringBuilder renderiza(Empresa empresa, EstiloDeTexto estilo, StringBuilder texto) {
+        try {
+            renderiza(empresa, estilo, (Appendable) texto);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return texto;
+    }
+
+    /**
+     * Escreve a empresa no destino.
+     *
+     * @param empresa the empresa
+     * @param estilo the estilo
+     * @param destino the destino
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public static void renderiza(Empresa empresa, EstiloDeTexto estilo, Appendable destino) throws IOException {
+        checkNotNull(estilo, "O estilo deve ser preenchido.");
+        checkNotNull(destino, "O destino deve ser preenchido.");
+        if (empresa == null) {
+            destino.append(nulo(estilo));
+            return;
+        }
+        abre(destino, estilo, empresa, "Empresa");
+        int escritos = texto(destino, estilo, 0, ROTULOS_DA_EMPRESA, PROPRIEDADES_DA_EMPRESA, 0, null, 0, empresa.getRazaoSocial());
+        escritos = texto(destino, estilo, escritos, ROTULOS_DA_EMPRESA, PROPRIEDADES_DA_EMPRESA, 1, null, 0, empresa.getProprietario());
+        escritos = texto(destino, estilo, escritos, ROTULOS_DA_EMPRESA, PROPRIEDADES_DA_EMPRESA, 2, null, 0, empresa.getCnpj());
+        escritos = enderecos(destino, estilo, escritos, empresa.getEnderecos());
+        escritos = telefones(destino, estilo, escritos, empresa.getTelefones());
+        escritos = texto(destino, estilo, escritos, ROTULOS_DA_EMPRESA, PROPRIEDADES_DA_EMPRESA, 5, null, 0, empresa.getEmail());
+        escritos = texto(destino, estilo, escritos, ROTULOS_DA_EMPRESA, PROPRIEDADES_DA_EMPRESA, 6, null, 0, empresa.getSite());
+        escritos = data(destino, estilo, escritos, 7, empresa.getDataDeCriacao());
+        data(destino, estilo, escritos, 8, empresa.getDataDeAlteracao());
+        fecha(destino, estilo);
+    }
+
+    /**
+     * Escreve o endereço no texto.
+     *
+     * @param endereco the endereco
+     * @param estilo the estilo
+     * @param texto the texto
+     * @return o próprio texto
+     */
+    public static StringBuilder renderiza(Endereco endereco, EstiloDeTexto estilo, StringBuilder texto) {
+        try {
+            renderiza(endereco, estilo, (Appendable) texto);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return texto;
+    }
+
+    /**
+     * Escreve o endereço no destino.
+     *
+     * @param endereco the endereco
+     * @param estilo the estilo
+     * @param destino the destino
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public static void renderiza(Endereco endereco, EstiloDeTexto estilo, Appendable destino) throws IOException {
+        checkNotNull(estilo, "O estilo deve ser preenchido.");
+        checkNotNull(destino, "O destino deve ser preenchido.");
+        if (endereco == null) {
+            destino.append(nulo(estilo));
+            return;
+        }
+        endereco(destino, estilo, 0, endereco, null, 0);
+    }
+
+    /**
+     * Escreve o telefone no texto.
+     *
+     * @param telefone the telefone
+     * @param estilo the estilo
+     * @param texto the texto
+     * @return o próprio texto
+     */
+    public static StringBuilder renderiza(Telefone telefone, EstiloDeTexto estilo, StringBuilder texto) {
+        try {
+            renderiza(telefone, estilo, (Appendable) texto);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return texto;
+    }
+
+    /**
+     * Escreve o telefone no destino.
+     *
+     * @param telefone the telefone
+     * @param estilo the estilo
+     * @param destino the destino
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public static void renderiza(Telefone telefone, EstiloDeTexto estilo, Appendable destino) throws IOException {
+        checkNotNull(estilo, "O estilo deve ser preenchido.");
+        checkNotNull(destino, "O destino deve ser preenchido.");
+        if (telefone == null) {
+            destino.append(nulo(estilo));
+            return;
+        }
+        telefone(destino, estilo, 0, telefone, null, 0);
+    }
+
+    /**
+     * Escreve a data no formato de {@link #FORMATO_DE_DATA}, dígito a dígito.
+     *
+     * @param data the data
+     * @param destino the destino
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public static void escreveData(LocalDate data, Appendable destino) throws IOException {
+        escreveDoisDigitos(data.getDayOfMonth(), destino);
+        destino.append('/');
+        escreveDoisDigitos(data.getMonthOfYear(), destino);
+        destino.append('/');
+        int ano = data.getYear();
+        if (ano < 0) {
+            destino.append('-');
+            ano = -ano;
+        }
+        for(int casa = 1000; casa > 1 && ano < casa; casa /= 10) {
+            destino.append('0');
+        }
+        escreveNumero(ano, destino);
+    }
+
+    // Entidades
+
+    /**
+     * Escreve o endereço, que pode estar dentro da coleção de uma empresa.
+     *
+     * @param destino the destino
+     * @param estilo the estilo
+     * @param escritos propriedades já escritas
+     * @param endereco the endereco
+     * @param colecao nome da coleção, ou null fora de uma empresa
+     * @param indice posição na coleção
+     * @return propriedades escritas
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static int endereco(Appendable destino, EstiloDeTexto estilo, int escritos, Endereco endereco, String colecao, int indice) throws IOException {
+        abre(destino, estilo, endereco, "Endereco");
+        int escritosAntes = estilo == EstiloDeTexto.CHAVE_VALOR ? escritos : 0;
+        int n = texto(destino, estilo, escritosAntes, ROTULOS_DO_ENDERECO, PROPRIEDADES_DO_ENDERECO, 0, colecao, indice, endereco.getTipoLogradouro());
+        n = texto(destino, estilo, n, ROTULOS_DO_ENDERECO, PROPRIEDADES_DO_ENDERECO, 1, colecao, indice, endereco.getNomeLogradouro());
+        n = numero(destino, estilo, n, ROTULOS_DO_ENDERECO, PROPRIEDADES_DO_ENDERECO, 2, colecao, indice, endereco.getNumeroEndereco());
+        n = texto(destino, estilo, n, ROTULOS_DO_ENDERECO, PROPRIEDADES_DO_ENDERECO, 3, colecao, indice, endereco.getCep());
+        n = tipo(destino, estilo, n, ROTULOS_DO_ENDERECO, PROPRIEDADES_DO_ENDERECO, 4, colecao, indice, endereco.getTipoEndereco());
+        fecha(destino, estilo);
+        return estilo == EstiloDeTexto.CHAVE_VALOR ? n : escritos;
+    }
+
+    /**
+     * Escreve o telefone, que pode estar dentro da coleção de uma empresa.
+     *
+     * @param destino the destino
+     * @param estilo the estilo
+     * @param escritos propriedades já escritas
+     * @param telefone the telefone
+     * @param colecao nome da coleção, ou null fora de uma empresa
+     * @param indice posição na coleção
+     * @return propriedades escritas
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static int telefone(Appendable destino, EstiloDeTexto estilo, int escritos, Telefone telefone, String colecao, int indice) throws IOException {
+        abre(destino, estilo, telefone, "Telefone");
+        int escritosAntes = estilo == EstiloDeTexto.CHAVE_VALOR ? escritos : 0;
+        int n = tipo(destino, estilo, escritosAntes, ROTULOS_DO_TELEFONE, PROPRIEDADES_DO_TELEFONE, 0, colecao, indice, telefone.getTipoTelefone());
+        n = numero(destino, estilo, n, ROTULOS_DO_TELEFONE, PROPRIEDADES_DO_TELEFONE, 1, colecao, indice, telefone.getDdd());
+        n = texto(destino, estilo, n, ROTULOS_DO_TELEFONE, PROPRIEDADES_DO_TELEFONE, 2, colecao, indice, telefone.getTelefone());
+        fecha(destino, estilo);
+        return estilo == EstiloDeTexto.CHAVE_VALOR ? n : escritos;
+    }
+
+    /**
+     * Escreve os endereços da empresa. Em {@link EstiloDeTexto#CHAVE_VALOR}, cada endereço vira um grupo de chaves
+     * {@code enderecos[i].}.
+     *
+     * @param destino the destino
+     * @param estilo the estilo
+     * @param escritos the escritos
+     * @param enderecos the enderecos
+     * @return propriedades escritas
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static int enderecos(Appendable destino, EstiloDeTexto estilo, int escritos, Set<Endereco> enderecos) throws IOException {
+        if (estilo == EstiloDeTexto.CHAVE_VALOR) {
+            if (enderecos != null) {
+                int indice = 0;
+                for(Endereco endereco : enderecos) {
+                    if (endereco != null) {
+                        escritos = endereco(destino, estilo, escritos, endereco, PROPRIEDADES_DA_EMPRESA[3], indice);
+                    }
+                    indice++;
+                }
+            }
+            return escritos;
+        }
+        escritos = chave(destino, estilo, escritos, ROTULOS_DA_EMPRESA, PROPRIEDADES_DA_EMPRESA, 3, null, 0);
+        if (enderecos == null) {
+            destino.append(nulo(estilo));
+            return escritos;
+        }
+        abreColecao(destino, estilo);
+        boolean primeiro = true;
+        for(Endereco endereco : enderecos) {
+            separaElemento(destino, estilo, primeiro);
+            primeiro = false;
+            if (endereco == null) {
+                destino.append(nulo(estilo));
+            } else {
+                endereco(destino, estilo, 0, endereco, null, 0);
+            }
+        }
+        fechaColecao(destino, estilo);
+        return escritos;
+    }
+
+    /**
+     * Escreve os telefones da empresa. Em {@link EstiloDeTexto#CHAVE_VALOR}, cada telefone vira um grupo de chaves
+     * {@code telefones[i].}.
+     *
+     * @param destino the destino
+     * @param estilo the estilo
+     * @param escritos the escritos
+     * @param telefones the telefones
+     * @return propriedades escritas
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static int telefones(Appendable destino, EstiloDeTexto estilo, int escritos, Set<Telefone> telefones) throws IOException {
+        if (estilo == EstiloDeTexto.CHAVE_VALOR) {
+            if (telefones != null) {
+                int indice = 0;
+                for(Telefone telefone : telefones) {
+                    if (telefone != null) {
+                        escritos = telefone(destino, estilo, escritos, telefone, PROPRIEDADES_DA_EMPRESA[4], indice);
+                    }
+                    indice++;
+                }
+            }
+            return escritos;
+        }
+        escritos = chave(destino, estilo, escritos, ROTULOS_DA_EMPRESA, PROPRIEDADES_DA_EMPRESA, 4, null, 0);
+        if (telefones == null) {
+            destino.append(nulo(estilo));
+            return escritos;
+        }
+        abreColecao(destino, estilo);
+        boolean primeiro = true;
+        for(Telefone telefone : telefones) {
+            separaElemento(destino, estilo, primeiro);
+            primeiro = false;
+            if (telefone == null) {
+                destino.append(nulo(estilo));
+            } else {
+                telefone(destino, estilo, 0, telefone, null, 0);
+            }
+        }
+        fechaColecao(destino, estilo);
+        return escritos;
+    }
+
+    // Propriedades
+
+    /**
+     * Escreve uma propriedade de texto.
+     *
+     * @param destino the destino
+     * @param estilo the estilo
+     * @param escritos the escritos
+     * @param rotulos the rotulos
+     * @param propriedades the propriedades
+     * @param campo the campo
+     * @param colecao the colecao
+     * @param indice the indice
+     * @param valor the valor
+     * @return propriedades escritas
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static int texto(Appendable destino, EstiloDeTexto estilo, int escritos, String[] rotulos, String[] propriedades, int campo, String colecao,
+            int indice, String valor) throws IOException {
+        if (valor == null && estilo == EstiloDeTexto.CHAVE_VALOR) {
+            return escritos;
+        }
+        escritos = chave(destino, estilo, escritos, rotulos, propriedades, campo, colecao, indice);
+        if (valor == null) {
+            destino.append(nulo(estilo));
+        } else if (estilo == EstiloDeTexto.CHAVE_VALOR && precisaDeAspas(valor)) {
+            escreveEntreAspas(valor, destino);
+        } else {
+            destino.append(valor);
+        }
+        return escritos;
+    }
+
+    /**
+     * Escreve uma propriedade numérica.
+     *
+     * @param destino the destino
+     * @param estilo the estilo
+     * @param escritos the escritos
+     * @param rotulos the rotulos
+     * @param propriedades the propriedades
+     * @param campo the campo
+     * @param colecao the colecao
+     * @param indice the indice
+     * @param valor the valor
+     * @return propriedades escritas
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static int numero(Appendable destino, EstiloDeTexto estilo, int escritos, String[] rotulos, String[] propriedades, int campo, String colecao,
+            int indice, Integer valor) throws IOException {
+        if (valor == null && estilo == EstiloDeTexto.CHAVE_VALOR) {
+            return escritos;
+        }
+        escritos = chave(destino, estilo, escritos, rotulos, propriedades, campo, colecao, indice);
+        if (valor == null) {
+            destino.append(nulo(estilo));
+        } else {
+            escreveNumero(valor, destino);
+        }
+        return escritos;
+    }
+
+    /**
+     * Escreve uma propriedade de tipo pelo nome da constante.
+     *
+     * @param destino the destino
+     * @param estilo the estilo
+     * @param escritos the escritos
+     * @param rotulos the rotulos
+     * @param propriedades the propriedades
+     * @param campo the campo
+     * @param colecao the colecao
+     * @param indice the indice
+     * @param valor the valor
+     * @return propriedades escritas
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static int tipo(Appendable destino, EstiloDeTexto estilo, int escritos, String[] rotulos, String[] propriedades, int campo, String colecao,
+            int indice, Enum<?> valor) throws IOException {
+        return texto(destino, estilo, escritos, rotulos, propriedades, campo, colecao, indice, valor == null ? null : valor.name());
+    }
+
+    /**
+     * Escreve uma data da empresa.
+     *
+     * @param destino the destino
+     * @param estilo the estilo
+     * @param escritos the escritos
+     * @param campo the campo
+     * @param valor the valor
+     * @return propriedades escritas
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static int data(Appendable destino, EstiloDeTexto estilo, int escritos, int campo, LocalDate valor) throws IOException {
+        if (valor == null && estilo == EstiloDeTexto.CHAVE_VALOR) {
+            return escritos;
+        }
+        escritos = chave(destino, estilo, escritos, ROTULOS_DA_EMPRESA, PROPRIEDADES_DA_EMPRESA, campo, null, 0);
+        if (valor == null) {
+            destino.append(nulo(estilo));
+        } else {
+            escreveData(valor, destino);
+        }
+        return escritos;
+    }
+
+    /**
+     * Escreve o separador e o nome de uma propriedade, até o {@code =}.
+     *
+     * @param destino the destino
+     * @param estilo the estilo
+     * @param escritos the escritos
+     * @param rotulos the rotulos
+     * @param propriedades the propriedades
+     * @param campo the campo
+     * @param colecao the colecao
+     * @param indice the indice
+     * @return propriedades escritas, incluindo esta
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static int chave(Appendable destino, EstiloDeTexto estilo, int escritos, String[] rotulos, String[] propriedades, int campo, String colecao,
+            int indice) throws IOException {
+        switch (estilo) {
+            case MULTIPLAS_LINHAS:
+                destino.append(SEPARADOR_DE_LINHA).append("  ").append(rotulos[campo]);
+                break;
+            case LINHA_UNICA:
+                if (escritos > 0) {
+                    destino.append(", ");
+                }
+                destino.append(propriedades[campo]);
+                break;
+            default:
+                if (escritos > 0) {
+                    destino.append(' ');
+                }
+                if (colecao != null) {
+                    destino.append(colecao).append('[');
+                    escreveNumero(indice, destino);
+                    destino.append("].");
+                }
+                destino.append(propriedades[campo]);
+        }
+        destino.append('=');
+        return escritos + 1;
+    }
+
+    // Auxiliares
+
+    /**
+     * Abre uma entidade.
+     *
+     * @param destino the destino
+     * @param estilo the estilo
+     * @param objeto the objeto
+     * @param nome the nome
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static void abre(Appendable destino, EstiloDeTexto estilo, Object objeto, String nome) throws IOException {
+        if (estilo == EstiloDeTexto.MULTIPLAS_LINHAS) {
+            destino.append(objeto.getClass().getName()).append('@');
+            escreveHexadecimal(System.identityHashCode(objeto), destino);
+            destino.append('[');
+        } else if (estilo == EstiloDeTexto.LINHA_UNICA) {
+            destino.append(nome).append('[');
+        }
+    }
+
+    /**
+     * Fecha uma entidade.
+     *
+     * @param destino the destino
+     * @param estilo the estilo
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static void fecha(Appendable destino, EstiloDeTexto estilo) throws IOException {
+        if (estilo == EstiloDeTexto.MULTIPLAS_LINHAS) {
+            destino.append(SEPARADOR_DE_LINHA).append(']');
+        } else if (estilo == EstiloDeTexto.LINHA_UNICA) {
+            destino.append(']');
+        }
+    }
+
+    /**
+     * Abre uma coleção.
+     *
+     * @param destino the destino
+     * @param estilo the estilo
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static void abreColecao(Appendable destino, EstiloDeTexto estilo) throws IOException {
+        destino.append(estilo == EstiloDeTexto.MULTIPLAS_LINHAS ? '{' : '[');
+    }
+
+    /**
+     * Fecha uma coleção.
+     *
+     * @param destino the destino
+     * @param estilo the estilo
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static void fechaColecao(Appendable destino, EstiloDeTexto estilo) throws IOException {
+        destino.append(estilo == EstiloDeTexto.MULTIPLAS_LINHAS ? '}' : ']');
+    }
+
+    /**
+     * Separa os elementos de uma coleção.
+     *
+     * @param destino the destino
+     * @param estilo the estilo
+     * @param primeiro the primeiro
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static void separaElemento(Appendable destino, EstiloDeTexto estilo, boolean primeiro) throws IOException {
+        if (!primeiro) {
+            destino.append(estilo == EstiloDeTexto.MULTIPLAS_LINHAS ? "," : ", ");
+        }
+    }
+
+    /**
+     * Texto dos nulos no estilo.
+     *
+     * @param estilo the estilo
+     * @return the string
+     */
+    private static String nulo(EstiloDeTexto estilo) {
+        return estilo == EstiloDeTexto.MULTIPLAS_LINHAS ? NULO_MULTIPLAS_LINHAS : NULO;
+    }
+
+    /**
+     * Indica se o valor precisa de aspas no estilo {@link EstiloDeTexto#CHAVE_VALOR}.
+     *
+     * @param valor the valor
+     * @return true, if successful
+     */
+    private static boolean precisaDeAspas(String valor) {
+        if (valor.isEmpty()) {
+            return true;
+        }
+        for(int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c <= ' ' || c == '"' || c == '=' || c == '\\') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Escreve o valor entre aspas, com escape de aspas, barras invertidas e quebras de linha.
+     *
+     * @param valor the valor
+     * @param destino the destino
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static void escreveEntreAspas(String valor, Appendable destino) throws IOException {
+        destino.append('"');
+        for(int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '"' || c == '\\') {
+                destino.append('\\').append(c);
+            } else if (c == '\n') {
+                destino.append("\\n");
+            } else if (c == '\r') {
+                destino.append("\\r");
+            } else if (c == '\t') {
+                destino.append("\\t");
+            } else {
+                destino.append(c);
+            }
+        }
+        destino.append('"');
+    }
+
+    /**
+     * Escreve o número com dois dígitos.
+     *
+     * @param numero the numero
+     * @param destino the destino
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static void escreveDoisDigitos(int numero, Appendable destino) throws IOException {
+        destino.append((char) ('0' + numero / 10)).append((char) ('0' + numero % 10));
+    }
+
+    /**
+     * Escreve o número em decimal, do dígito mais significativo para o menos.
+     *
+     * @param numero the numero
+     * @param destino the destino
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static void escreveNumero(int numero, Appendable destino) throws IOException {
+        long valor = numero;
+        if (valor < 0) {
+            destino.append('-');
+            valor = -valor;
+        }
+        long casa = 1;
+        while(casa * 10 <= valor) {
+            casa *= 10;
+        }
+        for(; casa > 0; casa /= 10) {
+            destino.append((char) ('0' + valor / casa % 10));
+        }
+    }
+
+    /**
+     * Escreve o número em hexadecimal sem zeros à esquerda, como {@link Integer#toHexString(int)}.
+     *
+     * @param numero the numero
+     * @param destino the destino
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static void escreveHexadecimal(int numero, Appendable destino) throws IOException {
+        int deslocamento = 28;
+        while(deslocamento > 0 && (numero >>> deslocamento & 0xF) == 0) {
+            deslocamento -= 4;
+        }
+        for(; deslocamento >= 0; deslocamento -= 4) {
+            destino.append(HEXADECIMAL[numero >>> deslocamento & 0xF]);
+        }
+    }
+
+}
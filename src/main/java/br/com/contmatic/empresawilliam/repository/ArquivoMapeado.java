@@ -0,0 +1,162 @@
+package br.com.contmatic.empresawilliam.repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The Class ArquivoMapeado.
+ *
+ * Arquivo mapeado em memória em segmentos de tamanho fixo (potência de 2), já que um único {@link MappedByteBuffer} não passa de
+ * 2 GB. Os segmentos são mapeados sob demanda, na primeira vez em que são usados, e o arquivo cresce de um segmento por vez. Quem
+ * escreve deve garantir que nenhum valor atravesse o fim de um segmento.
+ *
+ * As leituras usam apenas os métodos absolutos dos buffers e podem ser feitas por várias threads; o mapeamento de novos segmentos
+ * é sincronizado.
+ */
+final class ArquivoMapeado implements Closeable {
+
+    /** The canal. */
+    private final FileChannel canal;
+
+    /** The bits do segmento. */
+    private final int bits;
+
+    /** Segmentos já mapeados; substituído por inteiro a cada novo segmento. */
+    private volatile MappedByteBuffer[] segmentos = new MappedByteBuffer[0];
+
+    /**
+     * Abre (ou cria) o arquivo.
+     *
+     * @param arquivo the arquivo
+     * @param bits tamanho do segmento em potência de 2
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    ArquivoMapeado(Path arquivo, int bits) throws IOException {
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.bits = bits;
+    }
+
+    // Operações
+
+    /**
+     * Segmento que contém a posição, mapeando-o se necessário.
+     *
+     * @param posicao posição no arquivo
+     * @return the byte buffer
+     */
+    ByteBuffer segmento(long posicao) {
+        int numero = (int) (posicao >>> bits);
+        MappedByteBuffer[] atuais = segmentos;
+        if (numero < atuais.length && atuais[numero] != null) {
+            return atuais[numero];
+        }
+        return mapeia(numero);
+    }
+
+    /**
+     * Posição dentro do segmento.
+     *
+     * @param posicao posição no arquivo
+     * @return the int
+     */
+    int deslocamento(long posicao) {
+        return (int) (posicao & (tamanhoDoSegmento() - 1));
+    }
+
+    /**
+     * Tamanho do segmento.
+     *
+     * @return the long
+     */
+    long tamanhoDoSegmento() {
+        return 1L << bits;
+    }
+
+    /**
+     * Gets the long.
+     *
+     * @param posicao the posicao
+     * @return the long
+     */
+    long getLong(long posicao) {
+        return segmento(posicao).getLong(deslocamento(posicao));
+    }
+
+    /**
+     * Put long.
+     *
+     * @param posicao the posicao
+     * @param valor the valor
+     */
+    void putLong(long posicao, long valor) {
+        segmento(posicao).putLong(deslocamento(posicao), valor);
+    }
+
+    /**
+     * Copia os bytes para a posição, que deve ter espaço no mesmo segmento.
+     *
+     * @param posicao the posicao
+     * @param bytes the bytes
+     */
+    void put(long posicao, byte[] bytes) {
+        ByteBuffer destino = segmento(posicao).duplicate();
+        destino.position(deslocamento(posicao));
+        destino.put(bytes);
+    }
+
+    /**
+     * Grava no disco as alterações de todos os segmentos mapeados.
+     */
+    void force() {
+        for(MappedByteBuffer segmento : segmentos) {
+            if (segmento != null) {
+                segmento.force();
+            }
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close() throws IOException {
+        force();
+        segmentos = new MappedByteBuffer[0];
+        canal.close();
+    }
+
+    // Auxiliares
+
+    /**
+     * Mapeia o segmento.
+     *
+     * @param numero the numero
+     * @return the mapped byte buffer
+     */
+    private synchronized MappedByteBuffer mapeia(int numero) {
+        MappedByteBuffer[] atuais = segmentos;
+        if (numero < atuais.length && atuais[numero] != null) {
+            return atuais[numero];
+        }
+        try {
+            MappedByteBuffer segmento = canal.map(MapMode.READ_WRITE, (long) numero << bits, tamanhoDoSegmento());
+            MappedByteBuffer[] novos = Arrays.copyOf(atuais, Math.max(atuais.length, numero + 1));
+            novos[numero] = segmento;
+            segmentos = novos;
+            return segmento;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
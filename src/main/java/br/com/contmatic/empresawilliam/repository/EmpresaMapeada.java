@@ -0,0 +1,383 @@
+package br.com.contmatic.empresawilliam.repository;
+
+import static br.com.contmatic.empresawilliam.repository.RegistroEmpresa.CNPJ;
+import static br.com.contmatic.empresawilliam.repository.RegistroEmpresa.DATA_DE_ALTERACAO;
+import static br.com.contmatic.empresawilliam.repository.RegistroEmpresa.DATA_DE_CRIACAO;
+import static br.com.contmatic.empresawilliam.repository.RegistroEmpresa.ELEMENTO_NULO;
+import static br.com.contmatic.empresawilliam.repository.RegistroEmpresa.EMAIL;
+import static br.com.contmatic.empresawilliam.repository.RegistroEmpresa.ENDERECOS;
+import static br.com.contmatic.empresawilliam.repository.RegistroEmpresa.ENDERECO_TIPO;
+import static br.com.contmatic.empresawilliam.repository.RegistroEmpresa.PROPRIETARIO;
+import static br.com.contmatic.empresawilliam.repository.RegistroEmpresa.QUANTIDADE_ENDERECOS;
+import static br.com.contmatic.empresawilliam.repository.RegistroEmpresa.QUANTIDADE_TELEFONES;
+import static br.com.contmatic.empresawilliam.repository.RegistroEmpresa.RAZAO_SOCIAL;
+import static br.com.contmatic.empresawilliam.repository.RegistroEmpresa.SITE;
+import static br.com.contmatic.empresawilliam.repository.RegistroEmpresa.TAMANHO_ENDERECO;
+import static br.com.contmatic.empresawilliam.repository.RegistroEmpresa.TAMANHO_TELEFONE;
+import static br.com.contmatic.empresawilliam.repository.RegistroEmpresa.TELEFONE_TIPO;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.joda.time.LocalDate;
+
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.Endereco;
+import br.com.contmatic.empresawilliam.RelogioDeDias;
+import br.com.contmatic.empresawilliam.Telefone;
+
+/**
+ * The Class EmpresaMapeada.
+ *
+ * Visão somente leitura de uma empresa guardada no {@link EmpresaStore}. Guarda apenas o segmento e a posição do registro; cada
+ * getter lê o campo direto do arquivo mapeado, e os conjuntos de endereços e telefones criam as visões dos filhos durante a
+ * iteração. Os setters lançam {@link UnsupportedOperationException}.
+ *
+ * Como as anotações de validação ficam nos campos de {@link Empresa}, que aqui não são usados, valide as visões com os
+ * validadores gerados (que usam os getters), e não com o Hibernate Validator.
+ */
+public final class EmpresaMapeada extends Empresa {
+
+    /** The Constant SOMENTE_LEITURA. */
+    static final String SOMENTE_LEITURA = "A empresa mapeada é somente leitura.";
+
+    /** The segmento. */
+    private final ByteBuffer segmento;
+
+    /** Início do registro no segmento. */
+    private final int registro;
+
+    /**
+     * Instantiates a new empresa mapeada.
+     *
+     * @param segmento the segmento
+     * @param registro the registro
+     */
+    EmpresaMapeada(ByteBuffer segmento, int registro) {
+        this.segmento = segmento;
+        this.registro = registro;
+    }
+
+    // getters
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#getRazaoSocial()
+     */
+    @Override
+    public String getRazaoSocial() {
+        return texto(RAZAO_SOCIAL);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#getCnpj()
+     */
+    @Override
+    public String getCnpj() {
+        return texto(CNPJ);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#getProprietario()
+     */
+    @Override
+    public String getProprietario() {
+        return texto(PROPRIETARIO);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#getEmail()
+     */
+    @Override
+    public String getEmail() {
+        return texto(EMAIL);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#getEnderecos()
+     */
+    @Override
+    public Set<Endereco> getEnderecos() {
+        int quantidade = segmento.getShort(registro + QUANTIDADE_ENDERECOS);
+        return quantidade < 0 ? null : new Enderecos(quantidade);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#getTelefones()
+     */
+    @Override
+    public Set<Telefone> getTelefones() {
+        int quantidade = segmento.getShort(registro + QUANTIDADE_TELEFONES);
+        return quantidade < 0 ? null : new Telefones(quantidade);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#getSite()
+     */
+    @Override
+    public String getSite() {
+        return texto(SITE);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#getDataDeCriacao()
+     */
+    @Override
+    public LocalDate getDataDeCriacao() {
+        return RegistroEmpresa.data(segmento, registro + DATA_DE_CRIACAO);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#getDataDeAlteracao()
+     */
+    @Override
+    public LocalDate getDataDeAlteracao() {
+        return RegistroEmpresa.data(segmento, registro + DATA_DE_ALTERACAO);
+    }
+
+    // setters
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#setRazaoSocial(java.lang.String)
+     */
+    @Override
+    public void setRazaoSocial(String razaoSocial) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#setCnpj(java.lang.String)
+     */
+    @Override
+    public void setCnpj(String cnpj) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#setProprietario(java.lang.String)
+     */
+    @Override
+    public void setProprietario(String proprietario) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#setEmail(java.lang.String)
+     */
+    @Override
+    public void setEmail(String email) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#setEnderecos(java.util.Set)
+     */
+    @Override
+    public void setEnderecos(Set<Endereco> enderecos) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#setTelefones(java.util.Set)
+     */
+    @Override
+    public void setTelefones(Set<Telefone> telefones) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#setSite(java.lang.String)
+     */
+    @Override
+    public void setSite(String site) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#setDataDeCriacao(org.joda.time.LocalDate, br.com.contmatic.empresawilliam.RelogioDeDias)
+     */
+    @Override
+    public void setDataDeCriacao(LocalDate dataDeCriacao, RelogioDeDias relogio) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Empresa#setDataDeAlteracao(org.joda.time.LocalDate)
+     */
+    @Override
+    public void setDataDeAlteracao(LocalDate dataDeAlteracao) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    // Auxiliares
+
+    /**
+     * Texto apontado pelo campo do registro.
+     *
+     * @param campo the campo
+     * @return the string
+     */
+    private String texto(int campo) {
+        return RegistroEmpresa.texto(segmento, registro, registro + campo);
+    }
+
+    /**
+     * Início dos telefones no segmento, logo depois dos endereços.
+     *
+     * @return the int
+     */
+    private int inicioDosTelefones() {
+        int enderecos = Math.max(0, segmento.getShort(registro + QUANTIDADE_ENDERECOS));
+        return registro + ENDERECOS + enderecos * TAMANHO_ENDERECO;
+    }
+
+    /**
+     * Endereços do registro, criados a cada iteração.
+     */
+    private final class Enderecos extends AbstractSet<Endereco> {
+
+        /** The quantidade. */
+        private final int quantidade;
+
+        /**
+         * Instantiates a new enderecos.
+         *
+         * @param quantidade the quantidade
+         */
+        Enderecos(int quantidade) {
+            this.quantidade = quantidade;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.util.AbstractCollection#size()
+         */
+        @Override
+        public int size() {
+            return quantidade;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.util.AbstractCollection#iterator()
+         */
+        @Override
+        public Iterator<Endereco> iterator() {
+            return new Iterator<Endereco>() {
+
+                private int proximo;
+
+                @Override
+                public boolean hasNext() {
+                    return proximo < quantidade;
+                }
+
+                @Override
+                public Endereco next() {
+                    if (proximo >= quantidade) {
+                        throw new NoSuchElementException();
+                    }
+                    int posicao = registro + ENDERECOS + proximo++ * TAMANHO_ENDERECO;
+                    return segmento.get(posicao + ENDERECO_TIPO) == ELEMENTO_NULO ? null : new EnderecoMapeado(segmento, registro, posicao);
+                }
+            };
+        }
+    }
+
+    /**
+     * Telefones do registro, criados a cada iteração.
+     */
+    private final class Telefones extends AbstractSet<Telefone> {
+
+        /** The quantidade. */
+        private final int quantidade;
+
+        /**
+         * Instantiates a new telefones.
+         *
+         * @param quantidade the quantidade
+         */
+        Telefones(int quantidade) {
+            this.quantidade = quantidade;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.util.AbstractCollection#size()
+         */
+        @Override
+        public int size() {
+            return quantidade;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.util.AbstractCollection#iterator()
+         */
+        @Override
+        public Iterator<Telefone> iterator() {
+            final int inicio = inicioDosTelefones();
+            return new Iterator<Telefone>() {
+
+                private int proximo;
+
+                @Override
+                public boolean hasNext() {
+                    return proximo < quantidade;
+                }
+
+                @Override
+                public Telefone next() {
+                    if (proximo >= quantidade) {
+                        throw new NoSuchElementException();
+                    }
+                    int posicao = inicio + proximo++ * TAMANHO_TELEFONE;
+                    return segmento.get(posicao + TELEFONE_TIPO) == ELEMENTO_NULO ? null : new TelefoneMapeado(segmento, registro, posicao);
+                }
+            };
+        }
+    }
+
+}
@@ -0,0 +1,799 @@
+package br.com.contmatic.empresawilliam.repository;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import br.com.contmatic.empresawilliam.Cnpj;
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.EnderecoType;
+import br.com.contmatic.empresawilliam.Telefone;
+import br.com.contmatic.empresawilliam.TelefoneType;
+
+/**
+ * The Class EmpresaRepository.
+ *
+ * Repositório de empresas em memória. As empresas ficam em um array, na ordem em que foram salvas, e são encontradas por índices
+ * de chaves primitivas, sem {@code String}s nem objetos de entrada:
+ * <ul>
+ * <li>CNPJ, índice primário, pelo valor de {@link Cnpj#longValue()};</li>
+ * <li>raiz do CNPJ, para a matriz e as filiais de um grupo e a quantidade de estabelecimentos dele, por um
+ * {@link IndiceDeGrupos} particionado;</li>
+ * <li>CEP exato de qualquer um dos endereços, ou faixa ou prefixo de CEP, opcionalmente por tipo de endereço, por um
+ * {@link IndiceDeCeps};</li>
+ * <li>DDD e número de qualquer um dos telefones, por um {@link IndiceDeTelefones};</li>
+ * <li>domínio do email, sem diferenciar maiúsculas, por um hash de 64 bits;</li>
+ * <li>parte da razão social ou do proprietário, sem diferenciar maiúsculas nem acentos, por um {@link IndiceDeNomes}.</li>
+ * </ul>
+ *
+ * As chaves são extraídas no momento em que a empresa é salva; depois de alterar uma empresa, salve-a de novo (se o CNPJ tiver
+ * mudado, a chave antiga da mesma instância é descartada). As exceções são os telefones e os nomes, que o
+ * {@link IndiceDeTelefones} e o {@link IndiceDeNomes} acompanham a cada alteração feita pelos setters. As buscas conferem a
+ * empresa encontrada contra o valor procurado, de modo que colisões de hash e empresas alteradas sem serem salvas nunca geram
+ * resultados errados. CEPs com caracteres que não são dígitos, telefones que não cabem em um {@code long} e emails sem {@code @}
+ * não são indexados.
+ *
+ * As leituras podem ser feitas por várias threads ao mesmo tempo; as escritas são exclusivas. As buscas por telefone e por nome não
+ * usam a trava do repositório.
+ */
+public final class EmpresaRepository {
+
+    /** The Constant CAPACIDADE_PADRAO. */
+    private static final int CAPACIDADE_PADRAO = 1024;
+
+    /** Quantidade mínima de posições descartadas antes de compactar o repositório. */
+    private static final int COMPACTACAO_MINIMA = 1024;
+
+    /** The Constant FNV_BASE. */
+    private static final long FNV_BASE = 0xCBF29CE484222325L;
+
+    /** The Constant FNV_PRIMO. */
+    private static final long FNV_PRIMO = 0x100000001B3L;
+
+    // Variáveis
+
+    /** The lock. */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** The pool usado na carga em lote e na compactação. */
+    private final ForkJoinPool pool;
+
+    /** Empresas por posição; posições descartadas ficam nulas até a compactação. */
+    private Empresa[] empresas;
+
+    /** CNPJ de cada posição, como estava quando a empresa foi salva. */
+    private long[] cnpjs;
+
+    /** Próxima posição livre. */
+    private int posicoes;
+
+    /** Quantidade de posições descartadas. */
+    private int descartadas;
+
+    /** Posições já indexadas; as seguintes pertencem a uma carga em andamento. */
+    private int indexadas;
+
+    /** Posição de cada CNPJ. */
+    private IndiceLong porCnpj;
+
+    /** Índices secundários, na ordem de {@link IndiceSecundario}. */
+    private final IndiceMultiplo[] secundarios = new IndiceMultiplo[IndiceSecundario.values().length];
+
+    /** Posições por raiz de CNPJ. */
+    private final IndiceDeGrupos porRaiz;
+
+    /** Empresas e endereços por CEP. */
+    private final IndiceDeCeps porCep;
+
+    /** Empresas por telefone, fora da trava do repositório. */
+    private final IndiceDeTelefones porTelefone;
+
+    /** Empresas por parte do nome, fora da trava do repositório. */
+    private final IndiceDeNomes porNome;
+
+    /**
+     * Instantiates a new empresa repository.
+     */
+    public EmpresaRepository() {
+        this(CAPACIDADE_PADRAO);
+    }
+
+    /**
+     * Instantiates a new empresa repository já dimensionado para a quantidade de empresas informada.
+     *
+     * @param capacidade the capacidade
+     */
+    public EmpresaRepository(int capacidade) {
+        this(capacidade, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Instantiates a new empresa repository que usa o pool informado na carga em lote.
+     *
+     * @param capacidade the capacidade
+     * @param pool the pool
+     */
+    public EmpresaRepository(int capacidade, ForkJoinPool pool) {
+        checkArgument(capacidade >= 0, "A capacidade não pode ser negativa.");
+        this.pool = checkNotNull(pool, "O pool deve ser preenchido.");
+        this.empresas = new Empresa[Math.max(1, capacidade)];
+        this.cnpjs = new long[empresas.length];
+        this.porCnpj = new IndiceLong(capacidade);
+        for(int i = 0; i < secundarios.length; i++) {
+            secundarios[i] = new IndiceMultiplo(capacidade);
+        }
+        this.porRaiz = new IndiceDeGrupos(pool.getParallelism(), capacidade);
+        this.porCep = new IndiceDeCeps(capacidade);
+        this.porTelefone = new IndiceDeTelefones(capacidade);
+        this.porNome = new IndiceDeNomes(capacidade);
+    }
+
+    // Escrita
+
+    /**
+     * Salva a empresa, substituindo a que tiver o mesmo CNPJ.
+     *
+     * @param empresa the empresa
+     * @return a empresa substituída, ou null
+     */
+    public Empresa salva(Empresa empresa) {
+        checkNotNull(empresa, "A empresa deve ser preenchida.");
+        long cnpj = empresa.getCnpjEmpacotado();
+        checkArgument(cnpj != Cnpj.NAO_E_CNPJ, "A empresa deve ter um CNPJ com 14 dígitos numéricos.");
+        lock.writeLock().lock();
+        try {
+            Empresa anterior = adiciona(empresa, cnpj);
+            int posicao = posicoes - 1;
+            for(IndiceSecundario indice : IndiceSecundario.values()) {
+                indice.indexa(secundarios[indice.ordinal()], posicao, empresa);
+            }
+            porRaiz.adiciona(cnpj, posicao);
+            porCep.indexa(empresa, posicao);
+            porTelefone.adiciona(empresa);
+            porNome.adiciona(empresa);
+            indexadas = posicoes;
+            compactaSeNecessario();
+            return anterior;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Salva todas as empresas, como {@link #salva(Empresa)} em sequência. O índice primário é atualizado na thread atual e os
+     * índices secundários são construídos em paralelo, um por tarefa; os telefones são indexados em paralelo por faixas e os
+     * nomes em uma tarefa própria. Se alguma empresa não puder ser salva, nenhuma é.
+     *
+     * @param lote the lote
+     */
+    public void carrega(Collection<? extends Empresa> lote) {
+        checkNotNull(lote, "As empresas devem ser preenchidas.");
+        long[] chaves = new long[lote.size()];
+        int i = 0;
+        for(Empresa empresa : lote) {
+            checkNotNull(empresa, "A empresa de índice %s deve ser preenchida.", i);
+            chaves[i] = empresa.getCnpjEmpacotado();
+            checkArgument(chaves[i] != Cnpj.NAO_E_CNPJ, "A empresa de índice %s deve ter um CNPJ com 14 dígitos numéricos.", i);
+            i++;
+        }
+        lock.writeLock().lock();
+        try {
+            garanteCapacidade(posicoes + chaves.length);
+            int inicio = posicoes;
+            i = 0;
+            for(Empresa empresa : lote) {
+                adiciona(empresa, chaves[i++]);
+            }
+            indexaEmParalelo(inicio, posicoes, true);
+            indexadas = posicoes;
+            compactaSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a empresa com o CNPJ informado.
+     *
+     * @param cnpj the cnpj
+     * @return a empresa removida, ou null
+     */
+    public Empresa remove(Cnpj cnpj) {
+        checkNotNull(cnpj, "O CNPJ deve ser preenchido.");
+        lock.writeLock().lock();
+        try {
+            int posicao = porCnpj.remove(cnpj.longValue());
+            if (posicao == IndiceLong.AUSENTE) {
+                return null;
+            }
+            Empresa removida = descarta(posicao);
+            compactaSeNecessario();
+            return removida;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Leitura
+
+    /**
+     * Busca a empresa pelo CNPJ.
+     *
+     * @param cnpj the cnpj
+     * @return a empresa, ou null
+     */
+    public Empresa buscaPorCnpj(Cnpj cnpj) {
+        checkNotNull(cnpj, "O CNPJ deve ser preenchido.");
+        return buscaPorCnpj(cnpj.longValue());
+    }
+
+    /**
+     * Busca a empresa pelo CNPJ, com ou sem máscara.
+     *
+     * @param cnpj the cnpj
+     * @return a empresa, ou null se não houver ou o texto não for um CNPJ
+     */
+    public Empresa buscaPorCnpj(String cnpj) {
+        Cnpj numerico = Cnpj.tryParse(cnpj);
+        return numerico == null ? null : buscaPorCnpj(numerico.longValue());
+    }
+
+    /**
+     * Busca a empresa pelo valor numérico do CNPJ.
+     *
+     * @param cnpj the cnpj
+     * @return a empresa, ou null
+     */
+    public Empresa buscaPorCnpj(long cnpj) {
+        lock.readLock().lock();
+        try {
+            int posicao = porCnpj.get(cnpj);
+            Empresa empresa = posicao == IndiceLong.AUSENTE ? null : empresas[posicao];
+            // A empresa pode ter trocado de CNPJ depois de salva.
+            return empresa != null && empresa.getCnpjEmpacotado() == cnpj ? empresa : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca a matriz e as filiais do grupo do CNPJ informado, inclusive a empresa do próprio CNPJ.
+     *
+     * @param cnpj the cnpj
+     * @return as empresas, ordenadas pelo número do estabelecimento (a matriz, 0001, primeiro)
+     */
+    public List<Empresa> buscaFiliais(Cnpj cnpj) {
+        checkNotNull(cnpj, "O CNPJ deve ser preenchido.");
+        return buscaPorRaiz(cnpj.getRaiz());
+    }
+
+    /**
+     * Busca a matriz e as filiais com a raiz de CNPJ informada.
+     *
+     * @param raiz os 8 primeiros dígitos do CNPJ
+     * @return as empresas, ordenadas pelo número do estabelecimento (a matriz, 0001, primeiro)
+     */
+    public List<Empresa> buscaPorRaiz(int raiz) {
+        List<Empresa> encontradas = new ArrayList<Empresa>();
+        lock.readLock().lock();
+        try {
+            porRaiz.busca(raiz, cnpjs, empresas, encontradas);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return encontradas;
+    }
+
+    /**
+     * Quantidade de estabelecimentos (matriz e filiais) com a raiz de CNPJ informada.
+     *
+     * @param raiz os 8 primeiros dígitos do CNPJ
+     * @return the int
+     */
+    public int tamanhoDoGrupo(int raiz) {
+        lock.readLock().lock();
+        try {
+            return porRaiz.tamanho(raiz);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retrato da quantidade de estabelecimentos de cada raiz de CNPJ, montado em paralelo pelas partições do índice de raízes.
+     *
+     * @return the grupos por raiz
+     */
+    public GruposPorRaiz grupos() {
+        lock.readLock().lock();
+        try {
+            return pool.invoke(new RecursiveTask<GruposPorRaiz>() {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected GruposPorRaiz compute() {
+                    return porRaiz.grupos();
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca as empresas com algum endereço no CEP informado.
+     *
+     * @param cep the cep
+     * @return as empresas, na ordem inversa em que foram salvas
+     */
+    public List<Empresa> buscaPorCep(String cep) {
+        List<Empresa> encontradas = new ArrayList<Empresa>();
+        lock.readLock().lock();
+        try {
+            porCep.busca(cep, empresas, encontradas);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return encontradas;
+    }
+
+    /**
+     * Busca os endereços com CEP entre os informados, inclusive, de qualquer tipo.
+     *
+     * @param de o menor CEP, com 8 dígitos
+     * @param ate o maior CEP, com 8 dígitos
+     * @return os endereços e suas empresas, ordenados pelo CEP
+     */
+    public List<EnderecoDaEmpresa> buscaPorFaixaDeCep(String de, String ate) {
+        return buscaPorFaixaDeCep(de, ate, null);
+    }
+
+    /**
+     * Busca os endereços do tipo informado com CEP entre os informados, inclusive.
+     *
+     * @param de o menor CEP, com 8 dígitos
+     * @param ate o maior CEP, com 8 dígitos
+     * @param tipo o tipo, ou null para qualquer tipo
+     * @return os endereços e suas empresas, ordenados pelo CEP
+     */
+    public List<EnderecoDaEmpresa> buscaPorFaixaDeCep(String de, String ate, EnderecoType tipo) {
+        List<EnderecoDaEmpresa> encontrados = new ArrayList<EnderecoDaEmpresa>();
+        lock.readLock().lock();
+        try {
+            porCep.busca(de, ate, tipo, empresas, encontrados);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return encontrados;
+    }
+
+    /**
+     * Busca os endereços cujo CEP começa com o prefixo informado (a região, o setor ou a cidade), de qualquer tipo.
+     *
+     * @param prefixo o prefixo, com até 8 dígitos
+     * @return os endereços e suas empresas, ordenados pelo CEP
+     */
+    public List<EnderecoDaEmpresa> buscaPorPrefixoDeCep(String prefixo) {
+        return buscaPorPrefixoDeCep(prefixo, null);
+    }
+
+    /**
+     * Busca os endereços do tipo informado cujo CEP começa com o prefixo informado.
+     *
+     * @param prefixo o prefixo, com até 8 dígitos
+     * @param tipo o tipo, ou null para qualquer tipo
+     * @return os endereços e suas empresas, ordenados pelo CEP
+     */
+    public List<EnderecoDaEmpresa> buscaPorPrefixoDeCep(String prefixo, EnderecoType tipo) {
+        List<EnderecoDaEmpresa> encontrados = new ArrayList<EnderecoDaEmpresa>();
+        lock.readLock().lock();
+        try {
+            porCep.buscaPorPrefixo(prefixo, tipo, empresas, encontrados);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return encontrados;
+    }
+
+    /**
+     * Busca as empresas com algum telefone com o DDD e o número informados, de qualquer tipo.
+     *
+     * @param ddd the ddd
+     * @param numero the numero
+     * @return as empresas, sem ordem definida
+     */
+    public List<Empresa> buscaPorTelefone(int ddd, String numero) {
+        return porTelefone.busca(ddd, numero);
+    }
+
+    /**
+     * Busca as empresas com algum telefone com o DDD e o número informados, do tipo informado.
+     *
+     * @param ddd the ddd
+     * @param numero the numero
+     * @param tipo o tipo, ou null para qualquer tipo
+     * @return as empresas, sem ordem definida
+     */
+    public List<Empresa> buscaPorTelefone(int ddd, String numero, TelefoneType tipo) {
+        return porTelefone.busca(ddd, numero, tipo);
+    }
+
+    /**
+     * Busca as empresas com algum telefone com o mesmo DDD e número do telefone informado, de qualquer tipo.
+     *
+     * @param telefone the telefone
+     * @return as empresas, sem ordem definida
+     */
+    public List<Empresa> buscaPorTelefone(Telefone telefone) {
+        checkNotNull(telefone, "O telefone deve ser preenchido.");
+        return porTelefone.busca(telefone.getDdd(), telefone.getTelefone());
+    }
+
+    /**
+     * Busca as empresas cuja razão social ou proprietário contém a consulta, sem diferenciar maiúsculas nem acentos, das mais às
+     * menos relevantes, como em {@link IndiceDeNomes#busca(String, int)}.
+     *
+     * @param consulta the consulta
+     * @param limite quantidade máxima de empresas devolvidas
+     * @return as empresas
+     */
+    public List<Empresa> buscaPorNome(String consulta, int limite) {
+        return porNome.busca(consulta, limite);
+    }
+
+    /**
+     * Busca as empresas cujo email pertence ao domínio informado, sem diferenciar maiúsculas.
+     *
+     * @param dominio o domínio, sem o {@code @}
+     * @return as empresas, na ordem inversa em que foram salvas
+     */
+    public List<Empresa> buscaPorDominioDeEmail(String dominio) {
+        checkNotNull(dominio, "O domínio deve ser preenchido.");
+        List<Empresa> encontradas = new ArrayList<Empresa>();
+        long chave = chaveDominio(dominio, 0);
+        lock.readLock().lock();
+        try {
+            IndiceMultiplo indice = secundarios[IndiceSecundario.DOMINIO_DE_EMAIL.ordinal()];
+            for(int no = indice.primeiro(chave); no != IndiceMultiplo.FIM; no = indice.proximo(no)) {
+                Empresa empresa = empresas[indice.posicao(no)];
+                if (empresa != null && temDominio(empresa.getEmail(), dominio)) {
+                    encontradas.add(empresa);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return encontradas;
+    }
+
+    /**
+     * Quantidade de empresas salvas.
+     *
+     * @return the int
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return porCnpj.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Auxiliares
+
+    /**
+     * Guarda a empresa na próxima posição e atualiza o índice primário, descartando a posição da empresa substituída e, se a mesma
+     * instância já estava salva com outro CNPJ, a posição e a chave antigas dela.
+     *
+     * @param empresa the empresa
+     * @param cnpj the cnpj
+     * @return a empresa substituída, ou null
+     */
+    private Empresa adiciona(Empresa empresa, long cnpj) {
+        garanteCapacidade(posicoes + 1);
+        int posicao = posicoes++;
+        empresas[posicao] = empresa;
+        cnpjs[posicao] = cnpj;
+        int anterior = porCnpj.put(cnpj, posicao);
+        Empresa substituida = anterior == IndiceLong.AUSENTE ? null : descarta(anterior);
+        descartaChaveAntiga(empresa, posicao);
+        return substituida;
+    }
+
+    /**
+     * Descarta a posição em que a mesma instância estava salva com um CNPJ que ela não tem mais, tirando essa chave do índice
+     * primário. Só enxerga as posições já indexadas; dentro de uma carga a instância não muda de CNPJ.
+     *
+     * @param empresa the empresa
+     * @param posicao a posição nova da empresa
+     */
+    private void descartaChaveAntiga(Empresa empresa, int posicao) {
+        IndiceMultiplo instancias = secundarios[IndiceSecundario.INSTANCIA.ordinal()];
+        for(int no = instancias.primeiro(System.identityHashCode(empresa)); no != IndiceMultiplo.FIM; no = instancias.proximo(no)) {
+            int antiga = instancias.posicao(no);
+            if (antiga != posicao && empresas[antiga] == empresa) {
+                porCnpj.remove(cnpjs[antiga], antiga);
+                descarta(antiga);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Descarta a posição. As entradas dos índices secundários que apontam para ela são ignoradas até a compactação, mas a
+     * quantidade do grupo da raiz diminui na hora se a posição já tiver sido indexada; os telefones e os nomes saem do
+     * {@link IndiceDeTelefones} e do {@link IndiceDeNomes} na hora, a menos que a mesma empresa continue salva com outro CNPJ.
+     *
+     * @param posicao the posicao
+     * @return a empresa que estava na posição
+     */
+    private Empresa descarta(int posicao) {
+        Empresa descartada = empresas[posicao];
+        empresas[posicao] = null;
+        descartadas++;
+        if (posicao < indexadas) {
+            porRaiz.descarta(cnpjs[posicao]);
+        }
+        if (descartada != null && !continuaSalva(descartada)) {
+            porTelefone.remove(descartada);
+            porNome.remove(descartada);
+        }
+        return descartada;
+    }
+
+    /**
+     * Verifica se a empresa ainda está salva pelo seu CNPJ atual.
+     *
+     * @param empresa the empresa
+     * @return true, if successful
+     */
+    private boolean continuaSalva(Empresa empresa) {
+        long cnpj = empresa.getCnpjEmpacotado();
+        int posicao = cnpj == Cnpj.NAO_E_CNPJ ? IndiceLong.AUSENTE : porCnpj.get(cnpj);
+        return posicao != IndiceLong.AUSENTE && empresas[posicao] == empresa;
+    }
+
+    /**
+     * Garante capacidade.
+     *
+     * @param capacidade the capacidade
+     */
+    private void garanteCapacidade(int capacidade) {
+        if (capacidade < 0) {
+            throw new IllegalStateException("O repositório não comporta mais empresas.");
+        }
+        if (capacidade > empresas.length) {
+            int tamanho = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(capacidade, empresas.length * 2L));
+            Empresa[] maior = new Empresa[tamanho];
+            System.arraycopy(empresas, 0, maior, 0, posicoes);
+            empresas = maior;
+            long[] maiores = new long[tamanho];
+            System.arraycopy(cnpjs, 0, maiores, 0, posicoes);
+            cnpjs = maiores;
+        }
+    }
+
+    /**
+     * Quando mais da metade das posições estiver descartada, move as empresas para o início do array e reconstrói os índices.
+     */
+    private void compactaSeNecessario() {
+        if (descartadas < COMPACTACAO_MINIMA || descartadas * 2 <= posicoes) {
+            return;
+        }
+        int vivas = 0;
+        for(int i = 0; i < posicoes; i++) {
+            if (empresas[i] != null) {
+                cnpjs[vivas] = cnpjs[i];
+                empresas[vivas++] = empresas[i];
+            }
+        }
+        for(int i = vivas; i < posicoes; i++) {
+            empresas[i] = null;
+        }
+        posicoes = vivas;
+        descartadas = 0;
+        porCnpj = IndiceLong.dasPosicoes(cnpjs, vivas);
+        for(IndiceMultiplo indice : secundarios) {
+            indice.clear();
+        }
+        porRaiz.clear();
+        porCep.clear();
+        indexaEmParalelo(0, vivas, false);
+        indexadas = vivas;
+    }
+
+    /**
+     * Indexa as posições do intervalo nos índices secundários, um índice por tarefa. O {@link IndiceDeCeps} recebe o intervalo
+     * inteiro em lote, e o {@link IndiceDeTelefones} o divide em tarefas próprias.
+     *
+     * @param inicio the inicio
+     * @param fim the fim
+     * @param acompanhadas se os telefones e os nomes também devem ser indexados (na compactação eles já estão)
+     */
+    private void indexaEmParalelo(final int inicio, final int fim, boolean acompanhadas) {
+        final List<RecursiveAction> tarefas = new ArrayList<RecursiveAction>();
+        for(IndiceSecundario indice : IndiceSecundario.values()) {
+            tarefas.add(new Indexa(indice, secundarios[indice.ordinal()], empresas, inicio, fim));
+        }
+        tarefas.add(new RecursiveAction() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void compute() {
+                porCep.indexa(empresas, inicio, fim);
+            }
+        });
+        tarefas.add(new RecursiveAction() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void compute() {
+                porRaiz.indexa(cnpjs, empresas, inicio, fim);
+            }
+        });
+        if (acompanhadas) {
+            tarefas.add(new RecursiveAction() {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected void compute() {
+                    porTelefone.adiciona(empresas, inicio, fim);
+                }
+            });
+            tarefas.add(new RecursiveAction() {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected void compute() {
+                    porNome.adiciona(empresas, inicio, fim);
+                }
+            });
+        }
+        pool.invoke(new RecursiveAction() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void compute() {
+                invokeAll(tarefas);
+            }
+        });
+    }
+
+    /**
+     * Hash FNV-1a de 64 bits do texto a partir do início informado, em minúsculas.
+     *
+     * @param texto the texto
+     * @param inicio the inicio
+     * @return the long
+     */
+    static long chaveDominio(String texto, int inicio) {
+        long hash = FNV_BASE;
+        for(int i = inicio; i < texto.length(); i++) {
+            hash ^= Character.toLowerCase(texto.charAt(i));
+            hash *= FNV_PRIMO;
+        }
+        return hash;
+    }
+
+    /**
+     * Verifica se o email pertence ao domínio, sem diferenciar maiúsculas.
+     *
+     * @param email the email
+     * @param dominio the dominio
+     * @return true, if successful
+     */
+    private static boolean temDominio(String email, String dominio) {
+        if (email == null) {
+            return false;
+        }
+        int arroba = email.lastIndexOf('@');
+        return arroba >= 0 && email.length() - arroba - 1 == dominio.length() && email.regionMatches(true, arroba + 1, dominio, 0, dominio.length());
+    }
+
+    /**
+     * Os índices secundários e a forma de extrair suas chaves de uma empresa.
+     */
+    private enum IndiceSecundario {
+
+        /** The dominio de email. */
+        DOMINIO_DE_EMAIL {
+
+            @Override
+            void indexa(IndiceMultiplo indice, int posicao, Empresa empresa) {
+                String email = empresa.getEmail();
+                int arroba = email == null ? -1 : email.lastIndexOf('@');
+                if (arroba >= 0) {
+                    indice.adiciona(chaveDominio(email, arroba + 1), posicao);
+                }
+            }
+        },
+
+        /** A própria instância, pelo hash de identidade, para achar a posição antiga de uma empresa que trocou de CNPJ. */
+        INSTANCIA {
+
+            @Override
+            void indexa(IndiceMultiplo indice, int posicao, Empresa empresa) {
+                indice.adiciona(System.identityHashCode(empresa), posicao);
+            }
+        };
+
+        /**
+         * Adiciona ao índice as chaves da empresa que está na posição.
+         *
+         * @param indice the indice
+         * @param posicao the posicao
+         * @param empresa the empresa
+         */
+        abstract void indexa(IndiceMultiplo indice, int posicao, Empresa empresa);
+    }
+
+    /**
+     * Tarefa que indexa um intervalo de posições em um único índice secundário.
+     */
+    private static final class Indexa extends RecursiveAction {
+
+        /** The Constant serialVersionUID. */
+        private static final long serialVersionUID = 1L;
+
+        /** The tipo. */
+        private final IndiceSecundario tipo;
+
+        /** The indice. */
+        private final IndiceMultiplo indice;
+
+        /** The empresas. */
+        private final Empresa[] empresas;
+
+        /** The inicio. */
+        private final int inicio;
+
+        /** The fim. */
+        private final int fim;
+
+        /**
+         * Instantiates a new indexa.
+         *
+         * @param tipo the tipo
+         * @param indice the indice
+         * @param empresas the empresas
+         * @param inicio the inicio
+         * @param fim the fim
+         */
+        Indexa(IndiceSecundario tipo, IndiceMultiplo indice, Empresa[] empresas, int inicio, int fim) {
+            this.tipo = tipo;
+            this.indice = indice;
+            this.empresas = empresas;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.util.concurrent.RecursiveAction#compute()
+         */
+        @Override
+        protected void compute() {
+            for(int i = inicio; i < fim; i++) {
+                if (empresas[i] != null) {
+                    tipo.indexa(indice, i, empresas[i]);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,307 @@
+package br.com.contmatic.empresawilliam.repository;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import br.com.contmatic.empresawilliam.Cnpj;
+import br.com.contmatic.empresawilliam.Empresa;
+
+/**
+ * The Class EmpresaStore.
+ *
+ * Armazenamento de empresas fora do heap, em dois arquivos mapeados em memória dentro de um diretório:
+ * <ul>
+ * <li>{@value #DADOS}: os registros no formato de {@link RegistroEmpresa}, um após o outro, sem atravessar o fim de um segmento;</li>
+ * <li>{@value #INDICE}: um cabeçalho com a quantidade de registros e a posição de cada registro no arquivo de dados.</li>
+ * </ul>
+ *
+ * Os registros só podem ser acrescentados. Abrir um armazenamento existente apenas lê o cabeçalho: os segmentos são mapeados na
+ * primeira leitura, e o índice de CNPJ (o único mantido no heap) é construído na primeira busca por CNPJ. As empresas são
+ * devolvidas como {@link EmpresaMapeada}, que lê os campos direto do arquivo.
+ *
+ * {@link #get(int)} não usa trava e pode ser chamado por várias threads; as buscas por CNPJ também podem ser concorrentes entre si.
+ * Os acréscimos são exclusivos.
+ */
+public final class EmpresaStore implements Closeable {
+
+    /** Nome do arquivo de dados. */
+    public static final String DADOS = "empresas.dados";
+
+    /** Nome do arquivo de índice. */
+    public static final String INDICE = "empresas.indice";
+
+    /** Tamanho padrão do segmento do arquivo de dados, 1 GB. */
+    static final int BITS_SEGMENTO_PADRAO = 30;
+
+    /** Menor segmento aceito, 64 KB, o bastante para o maior registro. */
+    static final int BITS_SEGMENTO_MINIMO = 16;
+
+    /** Tamanho do segmento do arquivo de índice, 16 MB (2 milhões de registros). */
+    private static final int BITS_INDICE = 24;
+
+    /** "EMPR". */
+    private static final int MAGICO = 0x454D5052;
+
+    /** The Constant VERSAO. */
+    private static final int VERSAO = 1;
+
+    /** The Constant CABECALHO_MAGICO. */
+    private static final int CABECALHO_MAGICO = 0;
+
+    /** The Constant CABECALHO_VERSAO. */
+    private static final int CABECALHO_VERSAO = 4;
+
+    /** The Constant CABECALHO_QUANTIDADE. */
+    private static final int CABECALHO_QUANTIDADE = 8;
+
+    /** The Constant CABECALHO_FIM. */
+    private static final int CABECALHO_FIM = 16;
+
+    /** The Constant CABECALHO_BITS_SEGMENTO. */
+    private static final int CABECALHO_BITS_SEGMENTO = 24;
+
+    /** Tamanho do cabeçalho do índice; as posições dos registros começam aqui. */
+    private static final int CABECALHO = 32;
+
+    // Variáveis
+
+    /** The dados. */
+    private final ArquivoMapeado dados;
+
+    /** The indice. */
+    private final ArquivoMapeado indice;
+
+    /** The lock, que protege os acréscimos e o índice de CNPJ. */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Quantidade de registros publicados; escrita depois do registro e de sua posição. */
+    private volatile int quantidade;
+
+    /** Fim do último registro no arquivo de dados. */
+    private long fim;
+
+    /** Registro de cada CNPJ, construído na primeira busca e depois alterado apenas com a trava de escrita. */
+    private volatile IndiceLong porCnpj;
+
+    /**
+     * Instantiates a new empresa store.
+     *
+     * @param dados the dados
+     * @param indice the indice
+     * @param quantidade the quantidade
+     * @param fim the fim
+     */
+    private EmpresaStore(ArquivoMapeado dados, ArquivoMapeado indice, int quantidade, long fim) {
+        this.dados = dados;
+        this.indice = indice;
+        this.quantidade = quantidade;
+        this.fim = fim;
+    }
+
+    /**
+     * Abre o armazenamento do diretório, criando os arquivos se ainda não existirem.
+     *
+     * @param diretorio the diretorio
+     * @return the empresa store
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public static EmpresaStore abre(Path diretorio) throws IOException {
+        return abre(diretorio, BITS_SEGMENTO_PADRAO);
+    }
+
+    /**
+     * Abre o armazenamento do diretório. O tamanho do segmento só vale para armazenamentos novos; os existentes mantêm o que
+     * está no cabeçalho.
+     *
+     * @param diretorio the diretorio
+     * @param bitsSegmento tamanho do segmento de dados em potência de 2
+     * @return the empresa store
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    static EmpresaStore abre(Path diretorio, int bitsSegmento) throws IOException {
+        checkNotNull(diretorio, "O diretório deve ser preenchido.");
+        checkArgument(bitsSegmento >= BITS_SEGMENTO_MINIMO && bitsSegmento <= BITS_SEGMENTO_PADRAO, "O segmento deve ter entre 2^%s e 2^%s bytes.",
+            BITS_SEGMENTO_MINIMO, BITS_SEGMENTO_PADRAO);
+        Files.createDirectories(diretorio);
+        Path arquivoDeIndice = diretorio.resolve(INDICE);
+        boolean novo = !Files.exists(arquivoDeIndice) || Files.size(arquivoDeIndice) == 0;
+        ArquivoMapeado indice = new ArquivoMapeado(arquivoDeIndice, BITS_INDICE);
+        ByteBuffer cabecalho = indice.segmento(0);
+        if (novo) {
+            cabecalho.putInt(CABECALHO_MAGICO, MAGICO);
+            cabecalho.putInt(CABECALHO_VERSAO, VERSAO);
+            cabecalho.putLong(CABECALHO_QUANTIDADE, 0);
+            cabecalho.putLong(CABECALHO_FIM, 0);
+            cabecalho.putInt(CABECALHO_BITS_SEGMENTO, bitsSegmento);
+        } else {
+            checkState(cabecalho.getInt(CABECALHO_MAGICO) == MAGICO, "O arquivo %s não é um índice de empresas.", arquivoDeIndice);
+            checkState(cabecalho.getInt(CABECALHO_VERSAO) == VERSAO, "Versão %s do índice de empresas não suportada.", cabecalho.getInt(CABECALHO_VERSAO));
+        }
+        ArquivoMapeado dados = new ArquivoMapeado(diretorio.resolve(DADOS), cabecalho.getInt(CABECALHO_BITS_SEGMENTO));
+        return new EmpresaStore(dados, indice, (int) cabecalho.getLong(CABECALHO_QUANTIDADE), cabecalho.getLong(CABECALHO_FIM));
+    }
+
+    // Escrita
+
+    /**
+     * Acrescenta a empresa ao fim do armazenamento. Se já houver uma empresa com o mesmo CNPJ, as buscas por CNPJ passam a
+     * devolver a nova, mas a antiga continua acessível por {@link #get(int)}.
+     *
+     * @param empresa the empresa
+     * @return o índice do registro
+     */
+    public int adiciona(Empresa empresa) {
+        checkNotNull(empresa, "A empresa deve ser preenchida.");
+        byte[] registro = RegistroEmpresa.codifica(empresa);
+        lock.writeLock().lock();
+        try {
+            int numero = quantidade;
+            checkState(numero < Integer.MAX_VALUE, "O armazenamento não comporta mais empresas.");
+            long posicao = fim;
+            if (dados.deslocamento(posicao) + registro.length > dados.tamanhoDoSegmento()) {
+                posicao = (posicao | (dados.tamanhoDoSegmento() - 1)) + 1;
+            }
+            dados.put(posicao, registro);
+            indice.putLong(CABECALHO + numero * 8L, posicao);
+            fim = posicao + registro.length;
+            ByteBuffer cabecalho = indice.segmento(0);
+            cabecalho.putLong(CABECALHO_FIM, fim);
+            cabecalho.putLong(CABECALHO_QUANTIDADE, numero + 1L);
+            if (porCnpj != null) {
+                indexa(porCnpj, empresa.getCnpjNumerico(), numero);
+            }
+            quantidade = numero + 1;
+            return numero;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Grava no disco todas as alterações ainda em memória.
+     */
+    public void force() {
+        lock.writeLock().lock();
+        try {
+            dados.force();
+            indice.force();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            dados.close();
+            indice.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Leitura
+
+    /**
+     * Visão da empresa do registro.
+     *
+     * @param numero o índice do registro, de 0 a {@link #size()} - 1
+     * @return the empresa mapeada
+     */
+    public EmpresaMapeada get(int numero) {
+        checkElementIndex(numero, quantidade);
+        long posicao = indice.getLong(CABECALHO + numero * 8L);
+        return new EmpresaMapeada(dados.segmento(posicao), dados.deslocamento(posicao));
+    }
+
+    /**
+     * Busca a última empresa acrescentada com o CNPJ.
+     *
+     * @param cnpj the cnpj
+     * @return a empresa, ou null
+     */
+    public EmpresaMapeada buscaPorCnpj(Cnpj cnpj) {
+        checkNotNull(cnpj, "O CNPJ deve ser preenchido.");
+        if (porCnpj == null) {
+            constroiIndiceDeCnpj();
+        }
+        int numero;
+        lock.readLock().lock();
+        try {
+            numero = porCnpj.get(cnpj.longValue());
+        } finally {
+            lock.readLock().unlock();
+        }
+        return numero == IndiceLong.AUSENTE ? null : get(numero);
+    }
+
+    /**
+     * Busca a última empresa acrescentada com o CNPJ, com ou sem máscara.
+     *
+     * @param cnpj the cnpj
+     * @return a empresa, ou null se não houver ou o texto não for um CNPJ
+     */
+    public EmpresaMapeada buscaPorCnpj(String cnpj) {
+        Cnpj numerico = Cnpj.tryParse(cnpj);
+        return numerico == null ? null : buscaPorCnpj(numerico);
+    }
+
+    /**
+     * Quantidade de registros.
+     *
+     * @return the int
+     */
+    public int size() {
+        return quantidade;
+    }
+
+    // Auxiliares
+
+    /**
+     * Lê o CNPJ de todos os registros para montar o índice.
+     */
+    private void constroiIndiceDeCnpj() {
+        lock.writeLock().lock();
+        try {
+            if (porCnpj != null) {
+                return;
+            }
+            IndiceLong indice = new IndiceLong(quantidade);
+            for(int numero = 0; numero < quantidade; numero++) {
+                indexa(indice, get(numero).getCnpjNumerico(), numero);
+            }
+            porCnpj = indice;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexa o CNPJ, se ele for numérico.
+     *
+     * @param indice the indice
+     * @param cnpj the cnpj
+     * @param numero the numero
+     */
+    private static void indexa(IndiceLong indice, Cnpj cnpj, int numero) {
+        if (cnpj != null) {
+            indice.put(cnpj.longValue(), numero);
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+package br.com.contmatic.empresawilliam.repository;
+
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.Endereco;
+
+/**
+ * The Class EnderecoDaEmpresa.
+ *
+ * Um endereço encontrado por {@link EmpresaRepository#buscaPorFaixaDeCep(String, String)} e a empresa a que ele pertence. Uma
+ * empresa com dois endereços na faixa aparece uma vez para cada endereço.
+ */
+public final class EnderecoDaEmpresa {
+
+    /** The empresa. */
+    private final Empresa empresa;
+
+    /** The endereco. */
+    private final Endereco endereco;
+
+    /**
+     * Instantiates a new endereco da empresa.
+     *
+     * @param empresa the empresa
+     * @param endereco the endereco
+     */
+    EnderecoDaEmpresa(Empresa empresa, Endereco endereco) {
+        this.empresa = empresa;
+        this.endereco = endereco;
+    }
+
+    /**
+     * Obtém empresa.
+     *
+     * @return the empresa
+     */
+    public Empresa getEmpresa() {
+        return empresa;
+    }
+
+    /**
+     * Obtém endereco.
+     *
+     * @return the endereco
+     */
+    public Endereco getEndereco() {
+        return endereco;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "EnderecoDaEmpresa[cnpj=" + empresa.getCnpj() + ", cep=" + endereco.getCep() + ", tipo=" + endereco.getTipoEndereco() + "]";
+    }
+
+}
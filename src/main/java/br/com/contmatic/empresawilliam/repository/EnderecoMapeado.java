@@ -0,0 +1,148 @@
+package br.com.contmatic.empresawilliam.repository;
+
+import static br.com.contmatic.empresawilliam.repository.EmpresaMapeada.SOMENTE_LEITURA;
+import static br.com.contmatic.empresawilliam.repository.RegistroEmpresa.ENDERECO_CEP;
+import static br.com.contmatic.empresawilliam.repository.RegistroEmpresa.ENDERECO_NOME_LOGRADOURO;
+import static br.com.contmatic.empresawilliam.repository.RegistroEmpresa.ENDERECO_NUMERO;
+import static br.com.contmatic.empresawilliam.repository.RegistroEmpresa.ENDERECO_TIPO;
+import static br.com.contmatic.empresawilliam.repository.RegistroEmpresa.ENDERECO_TIPO_LOGRADOURO;
+
+import java.nio.ByteBuffer;
+
+import br.com.contmatic.empresawilliam.Endereco;
+import br.com.contmatic.empresawilliam.EnderecoType;
+
+/**
+ * The Class EnderecoMapeado.
+ *
+ * Visão somente leitura de um endereço de uma {@link EmpresaMapeada}.
+ */
+public final class EnderecoMapeado extends Endereco {
+
+    /** The segmento. */
+    private final ByteBuffer segmento;
+
+    /** Início do registro da empresa no segmento. */
+    private final int registro;
+
+    /** Início do endereço no segmento. */
+    private final int posicao;
+
+    /**
+     * Instantiates a new endereco mapeado.
+     *
+     * @param segmento the segmento
+     * @param registro the registro
+     * @param posicao the posicao
+     */
+    EnderecoMapeado(ByteBuffer segmento, int registro, int posicao) {
+        this.segmento = segmento;
+        this.registro = registro;
+        this.posicao = posicao;
+    }
+
+    // getters
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Endereco#getTipoLogradouro()
+     */
+    @Override
+    public String getTipoLogradouro() {
+        return RegistroEmpresa.texto(segmento, registro, posicao + ENDERECO_TIPO_LOGRADOURO);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Endereco#getNomeLogradouro()
+     */
+    @Override
+    public String getNomeLogradouro() {
+        return RegistroEmpresa.texto(segmento, registro, posicao + ENDERECO_NOME_LOGRADOURO);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Endereco#getNumeroEndereco()
+     */
+    @Override
+    public int getNumeroEndereco() {
+        return segmento.getInt(posicao + ENDERECO_NUMERO);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Endereco#getCep()
+     */
+    @Override
+    public String getCep() {
+        return RegistroEmpresa.texto(segmento, registro, posicao + ENDERECO_CEP);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Endereco#getTipoEndereco()
+     */
+    @Override
+    public EnderecoType getTipoEndereco() {
+        return RegistroEmpresa.tipoEndereco(segmento.get(posicao + ENDERECO_TIPO));
+    }
+
+    // setters
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Endereco#setTipoLogradouro(java.lang.String)
+     */
+    @Override
+    public void setTipoLogradouro(String tipoLogradouro) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Endereco#setNomeLogradouro(java.lang.String)
+     */
+    @Override
+    public void setNomeLogradouro(String nomeLogradouro) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Endereco#setNumeroEndereco(int)
+     */
+    @Override
+    public void setNumeroEndereco(int numeroEndereco) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Endereco#setCep(java.lang.String)
+     */
+    @Override
+    public void setCep(String cep) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Endereco#setTipoEndereco(br.com.contmatic.empresawilliam.EnderecoType)
+     */
+    @Override
+    public void setTipoEndereco(EnderecoType tipoEndereco) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+}
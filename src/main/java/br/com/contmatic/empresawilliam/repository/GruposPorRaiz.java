@@ -0,0 +1,103 @@
+package br.com.contmatic.empresawilliam.repository;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+
+import java.util.Arrays;
+
+import br.com.contmatic.empresawilliam.Cnpj;
+
+/**
+ * The Class GruposPorRaiz.
+ *
+ * Retrato imutável da quantidade de estabelecimentos (matriz e filiais) de cada raiz de CNPJ ({@link Cnpj#getRaiz()}), tirado por
+ * {@link EmpresaRepository#grupos()}. As raízes ficam em ordem crescente, em dois arrays paralelos.
+ */
+public final class GruposPorRaiz {
+
+    /** The raizes. */
+    private final int[] raizes;
+
+    /** The tamanhos. */
+    private final int[] tamanhos;
+
+    /** The total. */
+    private final long total;
+
+    /**
+     * Instantiates a new grupos por raiz.
+     *
+     * @param raizes as raízes, em ordem crescente
+     * @param tamanhos a quantidade de estabelecimentos de cada raiz
+     */
+    GruposPorRaiz(int[] raizes, int[] tamanhos) {
+        this.raizes = raizes;
+        this.tamanhos = tamanhos;
+        long soma = 0;
+        for(int tamanho : tamanhos) {
+            soma += tamanho;
+        }
+        this.total = soma;
+    }
+
+    /**
+     * Quantidade de grupos.
+     *
+     * @return the int
+     */
+    public int quantidade() {
+        return raizes.length;
+    }
+
+    /**
+     * Raiz do grupo.
+     *
+     * @param grupo o índice do grupo, de 0 a {@link #quantidade()} - 1
+     * @return the raiz
+     */
+    public int getRaiz(int grupo) {
+        checkElementIndex(grupo, raizes.length, "Grupo");
+        return raizes[grupo];
+    }
+
+    /**
+     * Quantidade de estabelecimentos do grupo.
+     *
+     * @param grupo o índice do grupo, de 0 a {@link #quantidade()} - 1
+     * @return the tamanho
+     */
+    public int getTamanho(int grupo) {
+        checkElementIndex(grupo, tamanhos.length, "Grupo");
+        return tamanhos[grupo];
+    }
+
+    /**
+     * Quantidade de estabelecimentos da raiz.
+     *
+     * @param raiz the raiz
+     * @return a quantidade, ou 0 se a raiz não tiver estabelecimentos
+     */
+    public int tamanho(int raiz) {
+        int grupo = Arrays.binarySearch(raizes, raiz);
+        return grupo < 0 ? 0 : tamanhos[grupo];
+    }
+
+    /**
+     * Quantidade de estabelecimentos de todos os grupos.
+     *
+     * @return the long
+     */
+    public long total() {
+        return total;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "GruposPorRaiz[grupos=" + raizes.length + ", estabelecimentos=" + total + "]";
+    }
+
+}
@@ -0,0 +1,533 @@
+package br.com.contmatic.empresawilliam.repository;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.Endereco;
+import br.com.contmatic.empresawilliam.EnderecoType;
+
+/**
+ * The Class IndiceDeCeps.
+ *
+ * Índice de CEPs para buscas pelo CEP exato, por faixa e por prefixo. O CEP exato, com até {@value #DIGITOS_EXATOS} dígitos,
+ * aponta para as posições das empresas por um {@link IndiceMultiplo}. Para as faixas, cada endereço com CEP de 8 dígitos é uma
+ * entrada com o CEP como {@code int},
+ * o tipo do endereço, a posição da empresa no repositório e o próprio {@link Endereco}, em arrays paralelos ordenados pelo CEP.
+ * Uma busca é uma busca binária pelo início da faixa seguida de uma leitura sequencial até o fim dela.
+ *
+ * As entradas ficam em dois trechos ordenados: o principal, grande, e o dos recentes, que recebe as inclusões uma a uma e é
+ * fundido ao principal quando passa de {@link #limiteDosRecentes()} entradas. Assim uma inclusão desloca no máximo esse tanto de
+ * entradas, e as buscas percorrem os dois trechos ao mesmo tempo, sem perder a ordem. A carga em lote ordena as entradas novas de
+ * uma vez e funde os três trechos.
+ *
+ * Como o {@link IndiceMultiplo}, o índice nunca remove entradas: as posições descartadas são ignoradas na busca, e o índice é
+ * reconstruído na compactação do repositório. CEPs com caracteres que não são dígitos não são indexados. Não é thread-safe.
+ */
+final class IndiceDeCeps {
+
+    /** Valor de {@link #chave(String)} e {@link #chaveExata(String)} quando o CEP não tem chave. */
+    private static final int SEM_CHAVE = -1;
+
+    /** Maior CEP. */
+    static final int CEP_MAXIMO = 99999999;
+
+    /** Quantidade de dígitos de um CEP. */
+    static final int DIGITOS = 8;
+
+    /** Maior quantidade de dígitos de um CEP nas buscas pelo CEP exato. */
+    private static final int DIGITOS_EXATOS = 18;
+
+    /** Menor tamanho a partir do qual os recentes são fundidos ao principal. */
+    private static final int RECENTES_MINIMO = 256;
+
+    // Variáveis
+
+    /** Posições por CEP exato. */
+    private final IndiceMultiplo exatos;
+
+    /** The principal. */
+    private Trecho principal;
+
+    /** The recentes. */
+    private Trecho recentes = new Trecho(RECENTES_MINIMO);
+
+    /**
+     * Instantiates a new indice de ceps.
+     *
+     * @param quantidadeEsperada the quantidade esperada
+     */
+    IndiceDeCeps(int quantidadeEsperada) {
+        exatos = new IndiceMultiplo(quantidadeEsperada);
+        principal = new Trecho(quantidadeEsperada);
+    }
+
+    // Operações
+
+    /**
+     * Indexa os endereços da empresa que está na posição.
+     *
+     * @param empresa the empresa
+     * @param posicao the posicao
+     */
+    void indexa(Empresa empresa, int posicao) {
+        Set<Endereco> enderecos = empresa.getEnderecos();
+        if (enderecos == null) {
+            return;
+        }
+        for(Endereco endereco : enderecos) {
+            long exato = endereco == null ? SEM_CHAVE : chaveExata(endereco.getCep());
+            if (exato != SEM_CHAVE) {
+                exatos.adiciona(exato, posicao);
+            }
+            int cep = endereco == null ? SEM_CHAVE : chave(endereco.getCep());
+            if (cep != SEM_CHAVE) {
+                recentes.insere(cep, tipo(endereco.getTipoEndereco()), posicao, endereco);
+            }
+        }
+        if (recentes.quantidade > limiteDosRecentes()) {
+            principal = Trecho.funde(principal, recentes);
+            recentes = new Trecho(RECENTES_MINIMO);
+        }
+    }
+
+    /**
+     * Indexa de uma vez os endereços das empresas do intervalo de posições.
+     *
+     * @param empresas the empresas
+     * @param inicio the inicio
+     * @param fim the fim
+     */
+    void indexa(Empresa[] empresas, int inicio, int fim) {
+        Trecho lote = new Trecho(fim - inicio);
+        for(int posicao = inicio; posicao < fim; posicao++) {
+            Set<Endereco> enderecos = empresas[posicao] == null ? null : empresas[posicao].getEnderecos();
+            if (enderecos != null) {
+                for(Endereco endereco : enderecos) {
+                    long exato = endereco == null ? SEM_CHAVE : chaveExata(endereco.getCep());
+                    if (exato != SEM_CHAVE) {
+                        exatos.adiciona(exato, posicao);
+                    }
+                    int cep = endereco == null ? SEM_CHAVE : chave(endereco.getCep());
+                    if (cep != SEM_CHAVE) {
+                        lote.acrescenta(cep, tipo(endereco.getTipoEndereco()), posicao, endereco);
+                    }
+                }
+            }
+        }
+        principal = Trecho.funde(Trecho.funde(principal, recentes), lote.ordena());
+        recentes = new Trecho(RECENTES_MINIMO);
+    }
+
+    /**
+     * Acrescenta à lista as empresas com algum endereço no CEP informado, na ordem inversa em que foram indexadas. Cada empresa é
+     * conferida contra os CEPs atuais dos seus endereços.
+     *
+     * @param cep the cep
+     * @param empresas as empresas do repositório, por posição
+     * @param encontradas the encontradas
+     */
+    void busca(String cep, Empresa[] empresas, List<Empresa> encontradas) {
+        long chave = chaveExata(cep);
+        if (chave == SEM_CHAVE) {
+            return;
+        }
+        for(int no = exatos.primeiro(chave); no != IndiceMultiplo.FIM; no = exatos.proximo(no)) {
+            Empresa empresa = empresas[exatos.posicao(no)];
+            if (empresa != null && temCep(empresa, cep)) {
+                encontradas.add(empresa);
+            }
+        }
+    }
+
+    /**
+     * Acrescenta à lista os endereços com CEP entre os informados, inclusive, como em
+     * {@link #busca(int, int, EnderecoType, Empresa[], List)}.
+     *
+     * @param de o menor CEP, com 8 dígitos
+     * @param ate o maior CEP, com 8 dígitos
+     * @param tipo o tipo do endereço, ou null para qualquer tipo
+     * @param empresas as empresas do repositório, por posição
+     * @param encontrados the encontrados
+     */
+    void busca(String de, String ate, EnderecoType tipo, Empresa[] empresas, List<EnderecoDaEmpresa> encontrados) {
+        int inicio = chave(de);
+        int fim = chave(ate);
+        checkArgument(inicio != SEM_CHAVE, "O CEP inicial deve conter 8 dígitos.");
+        checkArgument(fim != SEM_CHAVE, "O CEP final deve conter 8 dígitos.");
+        checkArgument(inicio <= fim, "O CEP inicial não pode ser maior que o final.");
+        busca(inicio, fim, tipo, empresas, encontrados);
+    }
+
+    /**
+     * Acrescenta à lista os endereços cujo CEP começa com o prefixo informado, como em
+     * {@link #busca(int, int, EnderecoType, Empresa[], List)}.
+     *
+     * @param prefixo o prefixo, com até 8 dígitos
+     * @param tipo o tipo do endereço, ou null para qualquer tipo
+     * @param empresas as empresas do repositório, por posição
+     * @param encontrados the encontrados
+     */
+    void buscaPorPrefixo(String prefixo, EnderecoType tipo, Empresa[] empresas, List<EnderecoDaEmpresa> encontrados) {
+        checkNotNull(prefixo, "O prefixo do CEP deve ser preenchido.");
+        checkArgument(prefixo.length() <= DIGITOS, "O prefixo do CEP deve conter até 8 dígitos.");
+        int inicio = 0;
+        int tamanhoDaFaixa = 1;
+        for(int i = 0; i < DIGITOS; i++) {
+            if (i < prefixo.length()) {
+                char c = prefixo.charAt(i);
+                checkArgument(c >= '0' && c <= '9', "O prefixo do CEP deve conter apenas dígitos.");
+                inicio = inicio * 10 + (c - '0');
+            } else {
+                inicio *= 10;
+                tamanhoDaFaixa *= 10;
+            }
+        }
+        busca(inicio, inicio + tamanhoDaFaixa - 1, tipo, empresas, encontrados);
+    }
+
+    /**
+     * Acrescenta à lista os endereços com CEP entre os informados, inclusive, ordenados pelo CEP. Cada entrada é conferida
+     * contra a empresa que está na posição e contra o CEP e o tipo atuais do endereço.
+     *
+     * @param de o menor CEP
+     * @param ate o maior CEP
+     * @param tipo o tipo do endereço, ou null para qualquer tipo
+     * @param empresas as empresas do repositório, por posição
+     * @param encontrados the encontrados
+     */
+    void busca(int de, int ate, EnderecoType tipo, Empresa[] empresas, List<EnderecoDaEmpresa> encontrados) {
+        byte procurado = tipo(tipo);
+        int i = principal.primeiro(de);
+        int j = recentes.primeiro(de);
+        while(true) {
+            int cepPrincipal = i < principal.quantidade ? principal.ceps[i] : Integer.MAX_VALUE;
+            int cepRecente = j < recentes.quantidade ? recentes.ceps[j] : Integer.MAX_VALUE;
+            if (cepPrincipal <= cepRecente) {
+                if (cepPrincipal > ate) {
+                    return;
+                }
+                confere(principal, i++, procurado, tipo, empresas, encontrados);
+            } else {
+                if (cepRecente > ate) {
+                    return;
+                }
+                confere(recentes, j++, procurado, tipo, empresas, encontrados);
+            }
+        }
+    }
+
+    /**
+     * Esvazia o índice.
+     */
+    void clear() {
+        exatos.clear();
+        principal = new Trecho(principal.quantidade);
+        recentes = new Trecho(RECENTES_MINIMO);
+    }
+
+    /**
+     * Quantidade de entradas das buscas por faixa, inclusive as de posições descartadas.
+     *
+     * @return the int
+     */
+    int size() {
+        return principal.quantidade + recentes.quantidade;
+    }
+
+    /**
+     * Valor numérico do CEP.
+     *
+     * @param cep the cep
+     * @return o valor, ou {@link #SEM_CHAVE} se o CEP não tiver exatamente 8 dígitos
+     */
+    static int chave(String cep) {
+        if (cep == null || cep.length() != DIGITOS) {
+            return SEM_CHAVE;
+        }
+        int chave = 0;
+        for(int i = 0; i < DIGITOS; i++) {
+            char c = cep.charAt(i);
+            if (c < '0' || c > '9') {
+                return SEM_CHAVE;
+            }
+            chave = chave * 10 + (c - '0');
+        }
+        return chave;
+    }
+
+    // Auxiliares
+
+    /**
+     * Valor numérico do CEP, para as buscas pelo CEP exato.
+     *
+     * @param cep the cep
+     * @return o valor, ou {@link #SEM_CHAVE} se o CEP for nulo, vazio, longo demais ou tiver algo além de dígitos
+     */
+    private static long chaveExata(String cep) {
+        if (cep == null || cep.isEmpty() || cep.length() > DIGITOS_EXATOS) {
+            return SEM_CHAVE;
+        }
+        long chave = 0;
+        for(int i = 0; i < cep.length(); i++) {
+            char c = cep.charAt(i);
+            if (c < '0' || c > '9') {
+                return SEM_CHAVE;
+            }
+            chave = chave * 10 + (c - '0');
+        }
+        return chave;
+    }
+
+    /**
+     * Verifica se algum endereço da empresa tem o CEP.
+     *
+     * @param empresa the empresa
+     * @param cep the cep
+     * @return true, if successful
+     */
+    private static boolean temCep(Empresa empresa, String cep) {
+        Set<Endereco> enderecos = empresa.getEnderecos();
+        if (enderecos != null) {
+            for(Endereco endereco : enderecos) {
+                if (endereco != null && cep.equals(endereco.getCep())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tamanho a partir do qual os recentes são fundidos: a raiz quadrada do principal, para que inclusões e fusões custem, em
+     * média, a mesma ordem de grandeza.
+     *
+     * @return the int
+     */
+    private int limiteDosRecentes() {
+        return Math.max(RECENTES_MINIMO, (int) Math.sqrt(principal.quantidade));
+    }
+
+    /**
+     * Acrescenta à lista a entrada, se ela ainda valer (a empresa continua salva, o endereço continua nela e com o mesmo CEP) e for
+     * do tipo procurado.
+     *
+     * @param trecho the trecho
+     * @param i the i
+     * @param procurado o tipo procurado, como em {@link #tipo(EnderecoType)}
+     * @param tipo the tipo
+     * @param empresas the empresas
+     * @param encontrados the encontrados
+     */
+    private static void confere(Trecho trecho, int i, byte procurado, EnderecoType tipo, Empresa[] empresas, List<EnderecoDaEmpresa> encontrados) {
+        if (tipo != null && trecho.tipos[i] != procurado) {
+            return;
+        }
+        Empresa empresa = empresas[trecho.posicoes[i]];
+        Endereco endereco = trecho.enderecos[i];
+        if (empresa != null && chave(endereco.getCep()) == trecho.ceps[i] && (tipo == null || endereco.getTipoEndereco() == tipo)
+                && empresa.getEnderecos() != null && empresa.getEnderecos().contains(endereco)) {
+            encontrados.add(new EnderecoDaEmpresa(empresa, endereco));
+        }
+    }
+
+    /**
+     * Código do tipo: 0 para nenhum, o ordinal mais 1 para os demais.
+     *
+     * @param tipo the tipo
+     * @return the byte
+     */
+    private static byte tipo(EnderecoType tipo) {
+        return (byte) (tipo == null ? 0 : tipo.ordinal() + 1);
+    }
+
+    /**
+     * Entradas em arrays paralelos, ordenadas pelo CEP (exceto durante a montagem de um lote).
+     */
+    private static final class Trecho {
+
+        /** The ceps. */
+        int[] ceps;
+
+        /** The tipos. */
+        byte[] tipos;
+
+        /** The posicoes. */
+        int[] posicoes;
+
+        /** The enderecos. */
+        Endereco[] enderecos;
+
+        /** The quantidade. */
+        int quantidade;
+
+        /**
+         * Instantiates a new trecho.
+         *
+         * @param capacidade the capacidade
+         */
+        Trecho(int capacidade) {
+            ceps = new int[capacidade];
+            tipos = new byte[capacidade];
+            posicoes = new int[capacidade];
+            enderecos = new Endereco[capacidade];
+        }
+
+        /**
+         * Primeira entrada com CEP maior ou igual ao informado.
+         *
+         * @param cep the cep
+         * @return a posição da entrada, ou {@link #quantidade} se não houver
+         */
+        int primeiro(int cep) {
+            int baixo = 0;
+            int alto = quantidade;
+            while(baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (ceps[meio] < cep) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            return baixo;
+        }
+
+        /**
+         * Insere a entrada depois das que têm o mesmo CEP, mantendo a ordem.
+         *
+         * @param cep the cep
+         * @param tipo the tipo
+         * @param posicao the posicao
+         * @param endereco the endereco
+         */
+        void insere(int cep, byte tipo, int posicao, Endereco endereco) {
+            garanteCapacidade(quantidade + 1);
+            int i = primeiro(cep + 1);
+            int deslocadas = quantidade - i;
+            System.arraycopy(ceps, i, ceps, i + 1, deslocadas);
+            System.arraycopy(tipos, i, tipos, i + 1, deslocadas);
+            System.arraycopy(posicoes, i, posicoes, i + 1, deslocadas);
+            System.arraycopy(enderecos, i, enderecos, i + 1, deslocadas);
+            coloca(i, cep, tipo, posicao, endereco);
+            quantidade++;
+        }
+
+        /**
+         * Acrescenta a entrada no fim, sem manter a ordem; use {@link #ordena()} depois.
+         *
+         * @param cep the cep
+         * @param tipo the tipo
+         * @param posicao the posicao
+         * @param endereco the endereco
+         */
+        void acrescenta(int cep, byte tipo, int posicao, Endereco endereco) {
+            garanteCapacidade(quantidade + 1);
+            coloca(quantidade++, cep, tipo, posicao, endereco);
+        }
+
+        /**
+         * Ordena as entradas pelo CEP, mantendo a ordem de inclusão entre CEPs iguais. Ordena um único {@code long[]} com o CEP
+         * nos bits altos e a entrada nos baixos, sem comparadores nem objetos.
+         *
+         * @return este trecho
+         */
+        Trecho ordena() {
+            long[] chaves = new long[quantidade];
+            for(int i = 0; i < quantidade; i++) {
+                chaves[i] = (long) ceps[i] << Integer.SIZE | i;
+            }
+            Arrays.sort(chaves);
+            Trecho ordenado = new Trecho(quantidade);
+            for(int i = 0; i < quantidade; i++) {
+                int origem = (int) chaves[i];
+                ordenado.coloca(i, ceps[origem], tipos[origem], posicoes[origem], enderecos[origem]);
+            }
+            ordenado.quantidade = quantidade;
+            return ordenado;
+        }
+
+        /**
+         * Funde dois trechos ordenados; entre CEPs iguais, as entradas do primeiro vêm antes.
+         *
+         * @param primeiro the primeiro
+         * @param segundo the segundo
+         * @return the trecho
+         */
+        static Trecho funde(Trecho primeiro, Trecho segundo) {
+            if (segundo.quantidade == 0) {
+                return primeiro;
+            }
+            Trecho fundido = new Trecho(primeiro.quantidade + segundo.quantidade);
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while(i < primeiro.quantidade && j < segundo.quantidade) {
+                if (primeiro.ceps[i] <= segundo.ceps[j]) {
+                    fundido.copia(k++, primeiro, i++);
+                } else {
+                    fundido.copia(k++, segundo, j++);
+                }
+            }
+            while(i < primeiro.quantidade) {
+                fundido.copia(k++, primeiro, i++);
+            }
+            while(j < segundo.quantidade) {
+                fundido.copia(k++, segundo, j++);
+            }
+            fundido.quantidade = k;
+            return fundido;
+        }
+
+        /**
+         * Copia a entrada de outro trecho para a posição.
+         *
+         * @param i the i
+         * @param origem the origem
+         * @param j the j
+         */
+        private void copia(int i, Trecho origem, int j) {
+            coloca(i, origem.ceps[j], origem.tipos[j], origem.posicoes[j], origem.enderecos[j]);
+        }
+
+        /**
+         * Grava a entrada na posição.
+         *
+         * @param i the i
+         * @param cep the cep
+         * @param tipo the tipo
+         * @param posicao the posicao
+         * @param endereco the endereco
+         */
+        private void coloca(int i, int cep, byte tipo, int posicao, Endereco endereco) {
+            ceps[i] = cep;
+            tipos[i] = tipo;
+            posicoes[i] = posicao;
+            enderecos[i] = endereco;
+        }
+
+        /**
+         * Garante capacidade.
+         *
+         * @param capacidade the capacidade
+         */
+        private void garanteCapacidade(int capacidade) {
+            if (capacidade < 0) {
+                throw new IllegalStateException("O índice não comporta mais de " + quantidade + " endereços.");
+            }
+            if (capacidade > ceps.length) {
+                int tamanho = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(capacidade, ceps.length * 2L));
+                ceps = Arrays.copyOf(ceps, tamanho);
+                tipos = Arrays.copyOf(tipos, tamanho);
+                posicoes = Arrays.copyOf(posicoes, tamanho);
+                enderecos = Arrays.copyOf(enderecos, tamanho);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,495 @@
+package br.com.contmatic.empresawilliam.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+import br.com.contmatic.empresawilliam.Cnpj;
+import br.com.contmatic.empresawilliam.Empresa;
+
+/**
+ * The Class IndiceDeGrupos.
+ *
+ * Índice das posições de cada raiz de CNPJ ({@link Cnpj#getRaiz()}), para encontrar a matriz e as filiais de um grupo e a
+ * quantidade de estabelecimentos dele sem percorrer o repositório. As raízes são divididas por hash entre partições
+ * independentes, cada uma com um {@link IndiceMultiplo} das posições e a quantidade viva de cada raiz.
+ *
+ * A construção em lote ({@link #indexa(long[], Empresa[], int, int)}) é feita por fork/join em três fases: os trechos de
+ * posições contam, em paralelo, quantas vão para cada partição; as posições são distribuídas por partição em um único
+ * {@code int[]}; e cada partição indexa as suas em paralelo, sem trava, porque nenhuma raiz está em duas partições.
+ *
+ * Como o {@link IndiceMultiplo}, as posições nunca saem do índice; as descartadas são ignoradas na busca e o índice é reconstruído
+ * na compactação do repositório. As quantidades, porém, são atualizadas na hora. Não é thread-safe, exceto durante a construção
+ * em lote.
+ */
+final class IndiceDeGrupos {
+
+    /** Divisor que separa a raiz (8 primeiros dígitos) do restante do CNPJ. */
+    private static final long DIVISOR_DA_RAIZ = 1000000L;
+
+    /** Quantidade máxima de partições. */
+    private static final int PARTICOES_MAXIMO = 256;
+
+    /** Menor quantidade de posições por trecho na construção em lote. */
+    private static final int TRECHO_MINIMO = 4096;
+
+    // Variáveis
+
+    /** The particoes. */
+    private final Particao[] particoes;
+
+    /** Bits do hash que escolhem a partição. */
+    private final int bits;
+
+    /**
+     * Instantiates a new indice de grupos.
+     *
+     * @param paralelismo quantidade de threads que vão construir o índice
+     * @param quantidadeEsperada the quantidade esperada
+     */
+    IndiceDeGrupos(int paralelismo, int quantidadeEsperada) {
+        int quantidade = Math.min(PARTICOES_MAXIMO, Integer.highestOneBit(Math.max(1, paralelismo) * 4 - 1) << 1);
+        this.bits = Integer.numberOfTrailingZeros(quantidade);
+        this.particoes = new Particao[quantidade];
+        for(int i = 0; i < quantidade; i++) {
+            particoes[i] = new Particao(quantidadeEsperada / quantidade);
+        }
+    }
+
+    // Operações
+
+    /**
+     * Raiz do CNPJ.
+     *
+     * @param cnpj o valor numérico do CNPJ
+     * @return the int
+     */
+    static int raiz(long cnpj) {
+        return (int) (cnpj / DIVISOR_DA_RAIZ);
+    }
+
+    /**
+     * Indexa a posição do CNPJ.
+     *
+     * @param cnpj the cnpj
+     * @param posicao the posicao
+     */
+    void adiciona(long cnpj, int posicao) {
+        int raiz = raiz(cnpj);
+        particao(raiz).adiciona(raiz, posicao);
+    }
+
+    /**
+     * Desconta da raiz do CNPJ um estabelecimento descartado.
+     *
+     * @param cnpj the cnpj
+     */
+    void descarta(long cnpj) {
+        int raiz = raiz(cnpj);
+        particao(raiz).descarta(raiz);
+    }
+
+    /**
+     * Quantidade de estabelecimentos da raiz.
+     *
+     * @param raiz the raiz
+     * @return the int
+     */
+    int tamanho(int raiz) {
+        return particao(raiz).tamanho(raiz);
+    }
+
+    /**
+     * Acrescenta à lista os estabelecimentos da raiz, ordenados pelo número do estabelecimento (a matriz, 0001, primeiro).
+     *
+     * @param raiz the raiz
+     * @param cnpjs CNPJ de cada posição
+     * @param empresas empresa de cada posição
+     * @param encontradas the encontradas
+     */
+    void busca(int raiz, long[] cnpjs, Empresa[] empresas, List<Empresa> encontradas) {
+        IndiceMultiplo posicoes = particao(raiz).posicoes;
+        long[] ordenadas = new long[Math.max(1, tamanho(raiz))];
+        int quantidade = 0;
+        for(int no = posicoes.primeiro(raiz); no != IndiceMultiplo.FIM; no = posicoes.proximo(no)) {
+            int posicao = posicoes.posicao(no);
+            if (empresas[posicao] != null) {
+                if (quantidade == ordenadas.length) {
+                    ordenadas = Arrays.copyOf(ordenadas, quantidade * 2);
+                }
+                // Na mesma raiz, os 6 últimos dígitos bastam para ordenar; a posição vai nos 32 bits baixos.
+                ordenadas[quantidade++] = cnpjs[posicao] % DIVISOR_DA_RAIZ << Integer.SIZE | posicao;
+            }
+        }
+        Arrays.sort(ordenadas, 0, quantidade);
+        for(int i = 0; i < quantidade; i++) {
+            encontradas.add(empresas[(int) ordenadas[i]]);
+        }
+    }
+
+    /**
+     * Retrato das quantidades de todas as raízes com algum estabelecimento. Cada partição exporta as suas em paralelo, e o
+     * resultado é ordenado pela raiz. Deve ser chamado dentro de uma tarefa de fork/join.
+     *
+     * @return the grupos por raiz
+     */
+    GruposPorRaiz grupos() {
+        final long[][] exportados = new long[particoes.length][];
+        List<RecursiveAction> tarefas = new ArrayList<RecursiveAction>();
+        for(int i = 0; i < particoes.length; i++) {
+            final int particao = i;
+            tarefas.add(new RecursiveAction() {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected void compute() {
+                    exportados[particao] = particoes[particao].exporta();
+                }
+            });
+        }
+        RecursiveAction.invokeAll(tarefas);
+        int quantidade = 0;
+        for(long[] exportado : exportados) {
+            quantidade += exportado.length;
+        }
+        long[] grupos = new long[quantidade];
+        quantidade = 0;
+        for(long[] exportado : exportados) {
+            System.arraycopy(exportado, 0, grupos, quantidade, exportado.length);
+            quantidade += exportado.length;
+        }
+        Arrays.parallelSort(grupos);
+        int[] raizes = new int[grupos.length];
+        int[] tamanhos = new int[grupos.length];
+        for(int i = 0; i < grupos.length; i++) {
+            raizes[i] = (int) (grupos[i] >>> Integer.SIZE);
+            tamanhos[i] = (int) grupos[i];
+        }
+        return new GruposPorRaiz(raizes, tamanhos);
+    }
+
+    /**
+     * Indexa em lote as posições não descartadas do intervalo. Deve ser chamado dentro de uma tarefa de fork/join.
+     *
+     * @param cnpjs CNPJ de cada posição
+     * @param empresas empresa de cada posição
+     * @param inicio the inicio
+     * @param fim the fim
+     */
+    void indexa(long[] cnpjs, Empresa[] empresas, int inicio, int fim) {
+        new Construcao(cnpjs, empresas, inicio, fim).executa();
+    }
+
+    /**
+     * Remove todas as raízes.
+     */
+    void clear() {
+        for(Particao particao : particoes) {
+            particao.clear();
+        }
+    }
+
+    // Auxiliares
+
+    /**
+     * Partição da raiz, pelos bits altos do hash; os baixos escolhem a posição dentro das tabelas da partição.
+     *
+     * @param raiz the raiz
+     * @return the particao
+     */
+    private Particao particao(int raiz) {
+        return particoes[numero(raiz)];
+    }
+
+    /**
+     * Número da partição da raiz.
+     *
+     * @param raiz the raiz
+     * @return the int
+     */
+    private int numero(int raiz) {
+        return bits == 0 ? 0 : IndiceLong.espalha(raiz) >>> (Integer.SIZE - bits);
+    }
+
+    /**
+     * As raízes de uma partição: as posições de cada uma e, em arrays densos, a quantidade viva de cada raiz.
+     */
+    private static final class Particao {
+
+        /** Posições de cada raiz. */
+        final IndiceMultiplo posicoes;
+
+        /** Índice de cada raiz em {@link #raizes} e {@link #tamanhos}. */
+        final IndiceLong indices;
+
+        /** The raizes. */
+        int[] raizes;
+
+        /** The tamanhos. */
+        int[] tamanhos;
+
+        /** Quantidade de raízes já vistas, inclusive as que ficaram sem estabelecimentos. */
+        int quantidade;
+
+        /**
+         * Instantiates a new particao.
+         *
+         * @param quantidadeEsperada the quantidade esperada
+         */
+        Particao(int quantidadeEsperada) {
+            posicoes = new IndiceMultiplo(quantidadeEsperada);
+            indices = new IndiceLong(quantidadeEsperada);
+            raizes = new int[Math.max(16, quantidadeEsperada)];
+            tamanhos = new int[raizes.length];
+        }
+
+        /**
+         * Adiciona.
+         *
+         * @param raiz the raiz
+         * @param posicao the posicao
+         */
+        void adiciona(int raiz, int posicao) {
+            posicoes.adiciona(raiz, posicao);
+            int indice = indices.get(raiz);
+            if (indice == IndiceLong.AUSENTE) {
+                if (quantidade == raizes.length) {
+                    raizes = Arrays.copyOf(raizes, quantidade * 2);
+                    tamanhos = Arrays.copyOf(tamanhos, quantidade * 2);
+                }
+                indice = quantidade++;
+                indices.put(raiz, indice);
+                raizes[indice] = raiz;
+            }
+            tamanhos[indice]++;
+        }
+
+        /**
+         * Descarta.
+         *
+         * @param raiz the raiz
+         */
+        void descarta(int raiz) {
+            int indice = indices.get(raiz);
+            if (indice != IndiceLong.AUSENTE && tamanhos[indice] > 0) {
+                tamanhos[indice]--;
+            }
+        }
+
+        /**
+         * Tamanho.
+         *
+         * @param raiz the raiz
+         * @return the int
+         */
+        int tamanho(int raiz) {
+            int indice = indices.get(raiz);
+            return indice == IndiceLong.AUSENTE ? 0 : tamanhos[indice];
+        }
+
+        /**
+         * Raízes com algum estabelecimento, cada uma com a raiz nos 32 bits altos e a quantidade nos baixos.
+         *
+         * @return the long[]
+         */
+        long[] exporta() {
+            int vivas = 0;
+            for(int i = 0; i < quantidade; i++) {
+                if (tamanhos[i] > 0) {
+                    vivas++;
+                }
+            }
+            long[] exportadas = new long[vivas];
+            vivas = 0;
+            for(int i = 0; i < quantidade; i++) {
+                if (tamanhos[i] > 0) {
+                    exportadas[vivas++] = (long) raizes[i] << Integer.SIZE | tamanhos[i];
+                }
+            }
+            return exportadas;
+        }
+
+        /**
+         * Clear.
+         */
+        void clear() {
+            posicoes.clear();
+            indices.clear();
+            Arrays.fill(tamanhos, 0, quantidade, 0);
+            quantidade = 0;
+        }
+
+    }
+
+    /**
+     * Uma construção em lote: o intervalo de posições é dividido em trechos, e cada fase é um conjunto de tarefas, uma por trecho
+     * ou por partição.
+     */
+    private final class Construcao {
+
+        /** The cnpjs. */
+        final long[] cnpjs;
+
+        /** The empresas. */
+        final Empresa[] empresas;
+
+        /** The inicio. */
+        final int inicio;
+
+        /** The fim. */
+        final int fim;
+
+        /** The trechos. */
+        final int trechos;
+
+        /** Início, nas posições distribuídas, de cada trecho em cada partição; depois da distribuição, o fim. */
+        final int[][] destinos;
+
+        /** Início de cada partição nas posições distribuídas, com o fim da última na última entrada. */
+        final int[] limites = new int[particoes.length + 1];
+
+        /** Posições agrupadas por partição. */
+        int[] distribuidas;
+
+        /**
+         * Instantiates a new construcao.
+         *
+         * @param cnpjs the cnpjs
+         * @param empresas the empresas
+         * @param inicio the inicio
+         * @param fim the fim
+         */
+        Construcao(long[] cnpjs, Empresa[] empresas, int inicio, int fim) {
+            this.cnpjs = cnpjs;
+            this.empresas = empresas;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.trechos = Math.max(1, Math.min(particoes.length, (fim - inicio) / TRECHO_MINIMO));
+            this.destinos = new int[trechos][particoes.length];
+        }
+
+        /**
+         * Executa as três fases.
+         */
+        void executa() {
+            if (fim <= inicio) {
+                return;
+            }
+            fase(Fase.CONTA, trechos);
+            int total = 0;
+            for(int particao = 0; particao < particoes.length; particao++) {
+                limites[particao] = total;
+                for(int trecho = 0; trecho < trechos; trecho++) {
+                    int contadas = destinos[trecho][particao];
+                    destinos[trecho][particao] = total;
+                    total += contadas;
+                }
+            }
+            limites[particoes.length] = total;
+            distribuidas = new int[total];
+            fase(Fase.DISTRIBUI, trechos);
+            fase(Fase.INDEXA, particoes.length);
+        }
+
+        /**
+         * Executa uma tarefa para cada índice, em paralelo.
+         *
+         * @param fase the fase
+         * @param quantidade the quantidade
+         */
+        private void fase(final Fase fase, int quantidade) {
+            List<RecursiveAction> tarefas = new ArrayList<RecursiveAction>(quantidade);
+            for(int i = 0; i < quantidade; i++) {
+                final int indice = i;
+                tarefas.add(new RecursiveAction() {
+
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected void compute() {
+                        fase.executa(Construcao.this, indice);
+                    }
+                });
+            }
+            RecursiveAction.invokeAll(tarefas);
+        }
+
+        /**
+         * O índice em construção.
+         *
+         * @return the indice de grupos
+         */
+        IndiceDeGrupos indice() {
+            return IndiceDeGrupos.this;
+        }
+
+        /**
+         * Primeira posição do trecho.
+         *
+         * @param trecho the trecho
+         * @return the int
+         */
+        int inicio(int trecho) {
+            return inicio + (int) ((long) (fim - inicio) * trecho / trechos);
+        }
+
+    }
+
+    /**
+     * As fases da construção em lote.
+     */
+    private enum Fase {
+
+        /** Conta, em cada trecho, as posições de cada partição. */
+        CONTA {
+
+            @Override
+            void executa(Construcao construcao, int trecho) {
+                int[] contagem = construcao.destinos[trecho];
+                for(int posicao = construcao.inicio(trecho); posicao < construcao.inicio(trecho + 1); posicao++) {
+                    if (construcao.empresas[posicao] != null) {
+                        contagem[construcao.indice().numero(raiz(construcao.cnpjs[posicao]))]++;
+                    }
+                }
+            }
+        },
+
+        /** Copia as posições de cada trecho para a faixa da sua partição. */
+        DISTRIBUI {
+
+            @Override
+            void executa(Construcao construcao, int trecho) {
+                int[] destinos = construcao.destinos[trecho];
+                for(int posicao = construcao.inicio(trecho); posicao < construcao.inicio(trecho + 1); posicao++) {
+                    if (construcao.empresas[posicao] != null) {
+                        construcao.distribuidas[destinos[construcao.indice().numero(raiz(construcao.cnpjs[posicao]))]++] = posicao;
+                    }
+                }
+            }
+        },
+
+        /** Indexa na partição as posições da sua faixa, na ordem em que foram salvas. */
+        INDEXA {
+
+            @Override
+            void executa(Construcao construcao, int particao) {
+                Particao destino = construcao.indice().particoes[particao];
+                for(int i = construcao.limites[particao]; i < construcao.limites[particao + 1]; i++) {
+                    int posicao = construcao.distribuidas[i];
+                    destino.adiciona(raiz(construcao.cnpjs[posicao]), posicao);
+                }
+            }
+        };
+
+        /**
+         * Executa a fase para um trecho ou uma partição.
+         *
+         * @param construcao the construcao
+         * @param indice o trecho ou a partição
+         */
+        abstract void executa(Construcao construcao, int indice);
+    }
+
+}
@@ -0,0 +1,778 @@
+package br.com.contmatic.empresawilliam.repository;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.OuvinteDeNomes;
+
+/**
+ * The Class IndiceDeNomes.
+ *
+ * Índice invertido de trigramas da razão social e do proprietário, para buscas por parte do nome sem diferenciar maiúsculas nem
+ * acentos. Os textos são normalizados ({@link #normaliza(String)}) para letras minúsculas sem acento, dígitos e espaços simples;
+ * como só restam 37 símbolos, cada trigrama é um índice direto no array de listas, sem mapa nem hash.
+ *
+ * Cada empresa indexada é um documento, numerado na ordem em que foi indexada. As listas de cada trigrama guardam
+ * {@code documento * 2 + campo} em ordem crescente, comprimidas em blocos de {@value Postagens#BLOCO} diferenças codificadas em
+ * bytes de tamanho variável; o primeiro valor de cada bloco fica fora dos bytes, para que a interseção salte blocos inteiros por
+ * busca binária. Quando um nome muda, a empresa ganha um documento novo no fim e o antigo é descartado, de modo que as listas só
+ * recebem valores no fim. Os documentos descartados são ignorados nas buscas e eliminados quando passam da metade.
+ *
+ * As empresas indexadas são acompanhadas como {@link OuvinteDeNomes}: {@link Empresa#setRazaoSocial(String)} e
+ * {@link Empresa#setProprietario(String)} atualizam o índice na hora. As buscas podem ser feitas por várias threads ao mesmo tempo;
+ * as escritas são exclusivas.
+ */
+public final class IndiceDeNomes implements OuvinteDeNomes {
+
+    /** Campo da razão social, no bit mais baixo de cada valor das listas. */
+    static final int RAZAO_SOCIAL = 0;
+
+    /** Campo do proprietário. */
+    static final int PROPRIETARIO = 1;
+
+    /** Valor de {@link Cursor#proximo()} e {@link Cursor#avancaPara(int)} quando a lista acabou. */
+    static final int FIM = Integer.MAX_VALUE;
+
+    /** Símbolos de um trigrama: espaço, as 26 letras e os 10 dígitos. */
+    private static final int SIMBOLOS = 37;
+
+    /** Quantidade de trigramas possíveis. */
+    private static final int TRIGRAMAS = SIMBOLOS * SIMBOLOS * SIMBOLOS;
+
+    /** Maior quantidade de documentos, para que {@code documento * 2 + campo} caiba em um {@code int}. */
+    private static final int DOCUMENTOS_MAXIMO = 1 << 30;
+
+    /** Quantidade mínima de documentos descartados antes de compactar o índice. */
+    private static final int COMPACTACAO_MINIMA = 1024;
+
+    /** Maior tamanho de texto distinguido na ordenação dos resultados. */
+    private static final int TAMANHO_MAXIMO = (1 << 24) - 1;
+
+    /** Pontos de um texto igual à consulta. */
+    private static final int IGUAL = 4;
+
+    /** Pontos de um texto que começa com a consulta. */
+    private static final int INICIO = 3;
+
+    /** Pontos de um texto com uma palavra que começa com a consulta. */
+    private static final int INICIO_DE_PALAVRA = 2;
+
+    /** Pontos de um texto que contém a consulta no meio de uma palavra. */
+    private static final int MEIO = 1;
+
+    // Variáveis
+
+    /** The lock. */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Lista de cada trigrama, criada quando ele aparece pela primeira vez. */
+    private final Postagens[] postagens = new Postagens[TRIGRAMAS];
+
+    /** Documento atual de cada empresa indexada. */
+    private final Map<Empresa, Integer> documentos = new IdentityHashMap<Empresa, Integer>();
+
+    /** Empresa de cada documento; null nos descartados. */
+    private Empresa[] empresas;
+
+    /** Texto normalizado de cada valor ({@code documento * 2 + campo}). */
+    private String[] textos;
+
+    /** Próximo documento. */
+    private int proximo;
+
+    /** Quantidade de documentos descartados. */
+    private int descartados;
+
+    /**
+     * Instantiates a new indice de nomes.
+     */
+    public IndiceDeNomes() {
+        this(0);
+    }
+
+    /**
+     * Instantiates a new indice de nomes já dimensionado para a quantidade de empresas informada.
+     *
+     * @param quantidadeEsperada the quantidade esperada
+     */
+    public IndiceDeNomes(int quantidadeEsperada) {
+        checkArgument(quantidadeEsperada >= 0, "A quantidade esperada não pode ser negativa.");
+        int capacidade = Math.max(16, quantidadeEsperada);
+        empresas = new Empresa[capacidade];
+        textos = new String[capacidade * 2];
+    }
+
+    // Escrita
+
+    /**
+     * Indexa a razão social e o proprietário da empresa e passa a acompanhar as alterações deles.
+     *
+     * @param empresa the empresa
+     * @return false se a empresa já estava indexada
+     */
+    public boolean adiciona(Empresa empresa) {
+        checkNotNull(empresa, "A empresa deve ser preenchida.");
+        if (!empresa.adicionaOuvinteDeNomes(this)) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            indexa(empresa);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Indexa as empresas não nulas do intervalo, como {@link #adiciona(Empresa)}, travando o índice uma única vez.
+     *
+     * @param lote the lote
+     * @param inicio the inicio
+     * @param fim the fim
+     */
+    public void adiciona(Empresa[] lote, int inicio, int fim) {
+        checkNotNull(lote, "As empresas devem ser preenchidas.");
+        lock.writeLock().lock();
+        try {
+            for(int i = inicio; i < fim; i++) {
+                if (lote[i] != null && lote[i].adicionaOuvinteDeNomes(this)) {
+                    indexa(lote[i]);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a empresa do índice e deixa de acompanhá-la.
+     *
+     * @param empresa the empresa
+     * @return false se a empresa não estava indexada
+     */
+    public boolean remove(Empresa empresa) {
+        checkNotNull(empresa, "A empresa deve ser preenchida.");
+        if (!empresa.removeOuvinteDeNomes(this)) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer documento = documentos.remove(empresa);
+            if (documento != null) {
+                descarta(documento);
+                compactaSeNecessario();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Reindexa a empresa com um documento novo, se ela ainda estiver no índice.
+     *
+     * @param empresa the empresa
+     */
+    @Override
+    public void nomesAlterados(Empresa empresa) {
+        lock.writeLock().lock();
+        try {
+            if (documentos.containsKey(empresa)) {
+                indexa(empresa);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Leitura
+
+    /**
+     * Busca as empresas cuja razão social ou proprietário contém a consulta, sem diferenciar maiúsculas nem acentos. Consultas de
+     * 2 caracteres encontram as palavras que começam com eles; consultas mais curtas não encontram nada.
+     *
+     * Os resultados vêm dos mais aos menos relevantes: texto igual à consulta, texto que começa com ela, palavra que começa com ela
+     * e, por fim, consulta no meio de uma palavra. No mesmo nível, a razão social vem antes do proprietário, o texto mais curto
+     * antes do mais longo e a empresa indexada há mais tempo antes das demais.
+     *
+     * @param consulta the consulta
+     * @param limite quantidade máxima de empresas devolvidas
+     * @return as empresas, cada uma uma única vez
+     */
+    public List<Empresa> busca(String consulta, int limite) {
+        checkNotNull(consulta, "A consulta deve ser preenchida.");
+        checkArgument(limite > 0, "O limite deve ser positivo.");
+        String normalizada = normaliza(consulta);
+        if (normalizada.length() < 2) {
+            return Collections.emptyList();
+        }
+        int[] trigramas = normalizada.length() == 2 ? new int[] { trigrama(' ', normalizada.charAt(0), normalizada.charAt(1)) }
+                : trigramas(normalizada);
+        lock.readLock().lock();
+        try {
+            return busca(normalizada, trigramas, limite);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Quantidade de empresas indexadas.
+     *
+     * @return the int
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Texto em minúsculas, sem acentos, com cada sequência de caracteres que não são letras nem dígitos trocada por um único
+     * espaço e sem espaços nas pontas.
+     *
+     * @param texto the texto
+     * @return o texto normalizado, vazio se o texto for nulo
+     */
+    static String normaliza(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String decomposto = texto;
+        for(int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) >= 0x80) {
+                decomposto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+                break;
+            }
+        }
+        StringBuilder normalizado = new StringBuilder(decomposto.length());
+        boolean separado = true;
+        for(int i = 0; i < decomposto.length(); i++) {
+            char c = decomposto.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+            }
+            if (c >= 'a' && c <= 'z' || c >= '0' && c <= '9') {
+                normalizado.append(c);
+                separado = false;
+            } else if (!separado) {
+                normalizado.append(' ');
+                separado = true;
+            }
+        }
+        if (separado && normalizado.length() > 0) {
+            normalizado.setLength(normalizado.length() - 1);
+        }
+        return normalizado.toString();
+    }
+
+    // Auxiliares
+
+    /**
+     * Intersecta as listas dos trigramas, da menor para a maior, e guarda as melhores empresas em um heap limitado.
+     *
+     * @param consulta the consulta
+     * @param trigramas the trigramas
+     * @param limite the limite
+     * @return the list
+     */
+    private List<Empresa> busca(String consulta, int[] trigramas, int limite) {
+        Cursor[] cursores = new Cursor[trigramas.length];
+        for(int i = 0; i < trigramas.length; i++) {
+            Postagens lista = postagens[trigramas[i]];
+            if (lista == null) {
+                return Collections.emptyList();
+            }
+            cursores[i] = new Cursor(lista);
+        }
+        Arrays.sort(cursores);
+        Melhores melhores = new Melhores(limite);
+        int documentoPendente = -1;
+        long chavePendente = 0;
+        int candidato = cursores[0].proximo();
+        while(candidato != FIM) {
+            int valor = candidato;
+            for(int i = 1; i < cursores.length; i++) {
+                int encontrado = cursores[i].avancaPara(candidato);
+                if (encontrado != candidato) {
+                    candidato = encontrado == FIM ? FIM : cursores[0].avancaPara(encontrado);
+                    break;
+                }
+            }
+            if (candidato != valor) {
+                continue;
+            }
+            long chave = chave(consulta, valor);
+            if (chave != 0) {
+                int documento = valor >>> 1;
+                if (documento == documentoPendente) {
+                    chavePendente = Math.max(chavePendente, chave);
+                } else {
+                    if (documentoPendente >= 0) {
+                        melhores.oferece(chavePendente);
+                    }
+                    documentoPendente = documento;
+                    chavePendente = chave;
+                }
+            }
+            candidato = cursores[0].proximo();
+        }
+        if (documentoPendente >= 0) {
+            melhores.oferece(chavePendente);
+        }
+        long[] chaves = melhores.ordenadas();
+        List<Empresa> encontradas = new ArrayList<Empresa>(chaves.length);
+        for(long chave : chaves) {
+            encontradas.add(empresas[Integer.MAX_VALUE - (int) chave]);
+        }
+        return encontradas;
+    }
+
+    /**
+     * Chave de ordenação do valor: os pontos e o campo nos bits altos, o tamanho do texto invertido no meio e o documento
+     * invertido nos 32 bits baixos, de modo que uma chave maior é um resultado melhor.
+     *
+     * @param consulta the consulta
+     * @param valor the valor
+     * @return a chave, ou 0 se o documento foi descartado ou o texto não contém a consulta
+     */
+    private long chave(String consulta, int valor) {
+        int documento = valor >>> 1;
+        if (empresas[documento] == null) {
+            return 0;
+        }
+        String texto = textos[valor];
+        int pontos = pontos(texto, consulta);
+        if (pontos == 0 || consulta.length() == 2 && pontos == MEIO) {
+            return 0;
+        }
+        long nivel = pontos * 2 + ((valor & 1) == RAZAO_SOCIAL ? 1 : 0);
+        long tamanho = TAMANHO_MAXIMO - Math.min(texto.length(), TAMANHO_MAXIMO);
+        return nivel << 56 | tamanho << 32 | (Integer.MAX_VALUE - documento);
+    }
+
+    /**
+     * Pontos do texto para a consulta.
+     *
+     * @param texto the texto
+     * @param consulta the consulta
+     * @return {@link #IGUAL}, {@link #INICIO}, {@link #INICIO_DE_PALAVRA}, {@link #MEIO} ou 0 se o texto não contém a consulta
+     */
+    private static int pontos(String texto, String consulta) {
+        int posicao = texto.indexOf(consulta);
+        if (posicao < 0) {
+            return 0;
+        }
+        if (posicao == 0) {
+            return texto.length() == consulta.length() ? IGUAL : INICIO;
+        }
+        while(posicao > 0) {
+            if (texto.charAt(posicao - 1) == ' ') {
+                return INICIO_DE_PALAVRA;
+            }
+            posicao = texto.indexOf(consulta, posicao + 1);
+        }
+        return MEIO;
+    }
+
+    /**
+     * Indexa a empresa em um documento novo, descartando o anterior. Deve ser chamado com a trava de escrita.
+     *
+     * @param empresa the empresa
+     */
+    private void indexa(Empresa empresa) {
+        Integer anterior = documentos.get(empresa);
+        if (anterior != null) {
+            descarta(anterior);
+        }
+        if (proximo == empresas.length) {
+            compactaSeNecessario();
+        }
+        if (proximo == empresas.length) {
+            if (proximo == DOCUMENTOS_MAXIMO) {
+                throw new IllegalStateException("O índice não comporta mais de " + proximo + " empresas.");
+            }
+            int capacidade = (int) Math.min(DOCUMENTOS_MAXIMO, proximo * 2L);
+            empresas = Arrays.copyOf(empresas, capacidade);
+            textos = Arrays.copyOf(textos, capacidade * 2);
+        }
+        int documento = proximo++;
+        empresas[documento] = empresa;
+        documentos.put(empresa, documento);
+        indexaTexto(normaliza(empresa.getRazaoSocial()), documento * 2 + RAZAO_SOCIAL);
+        indexaTexto(normaliza(empresa.getProprietario()), documento * 2 + PROPRIETARIO);
+        compactaSeNecessario();
+    }
+
+    /**
+     * Guarda o texto e acrescenta o valor à lista de cada um dos seus trigramas, com um espaço em cada ponta.
+     *
+     * @param texto the texto
+     * @param valor the valor
+     */
+    private void indexaTexto(String texto, int valor) {
+        textos[valor] = texto;
+        if (texto.isEmpty()) {
+            return;
+        }
+        for(int trigrama : trigramas(' ' + texto + ' ')) {
+            Postagens lista = postagens[trigrama];
+            if (lista == null) {
+                lista = new Postagens();
+                postagens[trigrama] = lista;
+            }
+            lista.acrescenta(valor);
+        }
+    }
+
+    /**
+     * Descarta o documento.
+     *
+     * @param documento the documento
+     */
+    private void descarta(int documento) {
+        empresas[documento] = null;
+        textos[documento * 2 + RAZAO_SOCIAL] = null;
+        textos[documento * 2 + PROPRIETARIO] = null;
+        descartados++;
+    }
+
+    /**
+     * Quando mais da metade dos documentos estiver descartada, renumera os restantes e reconstrói as listas a partir dos textos
+     * guardados.
+     */
+    private void compactaSeNecessario() {
+        if (descartados < COMPACTACAO_MINIMA || descartados * 2 <= proximo) {
+            return;
+        }
+        Arrays.fill(postagens, null);
+        int vivos = 0;
+        for(int documento = 0; documento < proximo; documento++) {
+            Empresa empresa = empresas[documento];
+            if (empresa != null) {
+                String razaoSocial = textos[documento * 2 + RAZAO_SOCIAL];
+                String proprietario = textos[documento * 2 + PROPRIETARIO];
+                empresas[vivos] = empresa;
+                documentos.put(empresa, vivos);
+                indexaTexto(razaoSocial, vivos * 2 + RAZAO_SOCIAL);
+                indexaTexto(proprietario, vivos * 2 + PROPRIETARIO);
+                vivos++;
+            }
+        }
+        Arrays.fill(empresas, vivos, proximo, null);
+        Arrays.fill(textos, vivos * 2, proximo * 2, null);
+        proximo = vivos;
+        descartados = 0;
+    }
+
+    /**
+     * Trigramas distintos do texto normalizado, em ordem crescente.
+     *
+     * @param texto the texto
+     * @return the int[]
+     */
+    private static int[] trigramas(String texto) {
+        int[] trigramas = new int[texto.length() - 2];
+        for(int i = 0; i < trigramas.length; i++) {
+            trigramas[i] = trigrama(texto.charAt(i), texto.charAt(i + 1), texto.charAt(i + 2));
+        }
+        Arrays.sort(trigramas);
+        int distintos = 0;
+        for(int i = 0; i < trigramas.length; i++) {
+            if (i == 0 || trigramas[i] != trigramas[i - 1]) {
+                trigramas[distintos++] = trigramas[i];
+            }
+        }
+        return Arrays.copyOf(trigramas, distintos);
+    }
+
+    /**
+     * Código do trigrama.
+     *
+     * @param a the a
+     * @param b the b
+     * @param c the c
+     * @return the int
+     */
+    private static int trigrama(char a, char b, char c) {
+        return (simbolo(a) * SIMBOLOS + simbolo(b)) * SIMBOLOS + simbolo(c);
+    }
+
+    /**
+     * Código de um caractere normalizado: 0 para o espaço, 1 a 26 para as letras e 27 a 36 para os dígitos.
+     *
+     * @param c the c
+     * @return the int
+     */
+    private static int simbolo(char c) {
+        if (c == ' ') {
+            return 0;
+        }
+        return c <= '9' ? c - '0' + 27 : c - 'a' + 1;
+    }
+
+    /**
+     * Lista de valores crescentes de um trigrama. Os valores são agrupados em blocos de {@value #BLOCO}; o primeiro de cada bloco
+     * fica em {@link #primeiros} e os demais são gravados em {@link #dados} como a diferença para o anterior, 7 bits por byte.
+     */
+    static final class Postagens {
+
+        /** Quantidade de valores por bloco. */
+        static final int BLOCO = 64;
+
+        /** Diferenças codificadas. */
+        byte[] dados = new byte[8];
+
+        /** Bytes usados em {@link #dados}. */
+        int bytes;
+
+        /** Primeiro valor de cada bloco. */
+        int[] primeiros = new int[1];
+
+        /** Posição em {@link #dados} das diferenças de cada bloco. */
+        int[] inicios = new int[1];
+
+        /** Quantidade de valores. */
+        int quantidade;
+
+        /** Último valor acrescentado. */
+        int ultimo;
+
+        /**
+         * Acrescenta um valor maior que todos os anteriores.
+         *
+         * @param valor the valor
+         */
+        void acrescenta(int valor) {
+            if (quantidade % BLOCO == 0) {
+                int bloco = quantidade / BLOCO;
+                if (bloco == primeiros.length) {
+                    primeiros = Arrays.copyOf(primeiros, bloco * 2);
+                    inicios = Arrays.copyOf(inicios, bloco * 2);
+                }
+                primeiros[bloco] = valor;
+                inicios[bloco] = bytes;
+            } else {
+                if (bytes + 5 > dados.length) {
+                    dados = Arrays.copyOf(dados, Math.max(bytes + 5, dados.length * 2));
+                }
+                int diferenca = valor - ultimo;
+                while((diferenca & ~0x7F) != 0) {
+                    dados[bytes++] = (byte) (diferenca & 0x7F | 0x80);
+                    diferenca >>>= 7;
+                }
+                dados[bytes++] = (byte) diferenca;
+            }
+            ultimo = valor;
+            quantidade++;
+        }
+
+        /**
+         * Quantidade de blocos.
+         *
+         * @return the int
+         */
+        int blocos() {
+            return (quantidade + BLOCO - 1) / BLOCO;
+        }
+
+    }
+
+    /**
+     * Leitura de uma lista, do início ao fim. Ordena-se pelo tamanho da lista, para que a interseção comece pela menor.
+     */
+    static final class Cursor implements Comparable<Cursor> {
+
+        /** The lista. */
+        private final Postagens lista;
+
+        /** Índice do valor atual na lista; -1 antes do início. */
+        private int indice = -1;
+
+        /** Posição em {@link Postagens#dados} da próxima diferença. */
+        private int posicao;
+
+        /** The atual. */
+        private int atual;
+
+        /**
+         * Instantiates a new cursor.
+         *
+         * @param lista the lista
+         */
+        Cursor(Postagens lista) {
+            this.lista = lista;
+        }
+
+        /**
+         * Avança para o próximo valor.
+         *
+         * @return o valor, ou {@link IndiceDeNomes#FIM}
+         */
+        int proximo() {
+            int i = indice + 1;
+            if (i >= lista.quantidade) {
+                indice = lista.quantidade;
+                return FIM;
+            }
+            if (i % Postagens.BLOCO == 0) {
+                atual = lista.primeiros[i / Postagens.BLOCO];
+                posicao = lista.inicios[i / Postagens.BLOCO];
+            } else {
+                int diferenca = 0;
+                int deslocamento = 0;
+                byte b;
+                do {
+                    b = lista.dados[posicao++];
+                    diferenca |= (b & 0x7F) << deslocamento;
+                    deslocamento += 7;
+                } while(b < 0);
+                atual += diferenca;
+            }
+            indice = i;
+            return atual;
+        }
+
+        /**
+         * Avança até o primeiro valor maior ou igual ao alvo, saltando por busca binária os blocos que terminam antes dele.
+         *
+         * @param alvo the alvo
+         * @return o valor, ou {@link IndiceDeNomes#FIM}
+         */
+        int avancaPara(int alvo) {
+            if (indice >= lista.quantidade) {
+                return FIM;
+            }
+            if (indice >= 0 && atual >= alvo) {
+                return atual;
+            }
+            int baixo = indice < 0 ? 0 : indice / Postagens.BLOCO + 1;
+            int alto = lista.blocos() - 1;
+            int salto = -1;
+            while(baixo <= alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (lista.primeiros[meio] <= alvo) {
+                    salto = meio;
+                    baixo = meio + 1;
+                } else {
+                    alto = meio - 1;
+                }
+            }
+            if (salto >= 0) {
+                indice = salto * Postagens.BLOCO - 1;
+            }
+            int valor = proximo();
+            while(valor < alvo) {
+                valor = proximo();
+            }
+            return valor;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.lang.Comparable#compareTo(java.lang.Object)
+         */
+        @Override
+        public int compareTo(Cursor outro) {
+            return Integer.compare(lista.quantidade, outro.lista.quantidade);
+        }
+
+    }
+
+    /**
+     * As maiores chaves oferecidas, até o limite, em um heap mínimo sobre um {@code long[]}.
+     */
+    private static final class Melhores {
+
+        /** The limite. */
+        private final int limite;
+
+        /** The heap, que cresce até o limite. */
+        private long[] heap;
+
+        /** The tamanho. */
+        private int tamanho;
+
+        /**
+         * Instantiates a new melhores.
+         *
+         * @param limite the limite
+         */
+        Melhores(int limite) {
+            this.limite = limite;
+            this.heap = new long[Math.min(limite, 16)];
+        }
+
+        /**
+         * Guarda a chave se ela estiver entre as maiores.
+         *
+         * @param chave the chave
+         */
+        void oferece(long chave) {
+            if (tamanho < limite) {
+                if (tamanho == heap.length) {
+                    heap = Arrays.copyOf(heap, (int) Math.min(limite, heap.length * 2L));
+                }
+                int i = tamanho++;
+                while(i > 0 && heap[(i - 1) >>> 1] > chave) {
+                    heap[i] = heap[(i - 1) >>> 1];
+                    i = (i - 1) >>> 1;
+                }
+                heap[i] = chave;
+            } else if (chave > heap[0]) {
+                int i = 0;
+                while(true) {
+                    int filho = i * 2 + 1;
+                    if (filho >= tamanho) {
+                        break;
+                    }
+                    if (filho + 1 < tamanho && heap[filho + 1] < heap[filho]) {
+                        filho++;
+                    }
+                    if (heap[filho] >= chave) {
+                        break;
+                    }
+                    heap[i] = heap[filho];
+                    i = filho;
+                }
+                heap[i] = chave;
+            }
+        }
+
+        /**
+         * As chaves guardadas, da maior para a menor.
+         *
+         * @return the long[]
+         */
+        long[] ordenadas() {
+            long[] ordenadas = Arrays.copyOf(heap, tamanho);
+            Arrays.sort(ordenadas);
+            for(int i = 0, j = ordenadas.length - 1; i < j; i++, j--) {
+                long troca = ordenadas[i];
+                ordenadas[i] = ordenadas[j];
+                ordenadas[j] = troca;
+            }
+            return ordenadas;
+        }
+
+    }
+
+}
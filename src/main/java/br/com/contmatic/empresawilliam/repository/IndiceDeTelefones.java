@@ -0,0 +1,638 @@
+package br.com.contmatic.empresawilliam.repository;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.StampedLock;
+
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.OuvinteDeTelefones;
+import br.com.contmatic.empresawilliam.Telefone;
+import br.com.contmatic.empresawilliam.TelefoneSet;
+import br.com.contmatic.empresawilliam.TelefoneType;
+
+/**
+ * The Class IndiceDeTelefones.
+ *
+ * Índice reverso de telefones: encontra as empresas que têm um telefone com o DDD e o número informados, opcionalmente de um
+ * tipo. Cada entrada é o telefone empacotado ({@link Telefone#empacota()}) e a empresa, em arrays paralelos com endereçamento
+ * aberto, sem objetos de entrada, {@link Telefone}s ou chaves encaixotadas. Telefones que não cabem em um {@code long} não são
+ * indexados.
+ *
+ * O índice é dividido em {@value #SEGMENTOS} segmentos, cada um com sua própria trava. As buscas são otimistas
+ * ({@link StampedLock#tryOptimisticRead()}) e só esperam quando uma escrita no mesmo segmento acontece durante a leitura; as
+ * escritas travam apenas o segmento do telefone. As empresas indexadas são acompanhadas como {@link OuvinteDeTelefones}, de modo
+ * que {@link Empresa#setTelefones(Set)} atualiza o índice na hora. Telefones acrescentados direto no conjunto de telefones não são
+ * indexados; os retirados direto dele deixam de ser encontrados, porque cada resultado é conferido contra os telefones atuais da
+ * empresa. A conferência é feita depois da leitura do segmento, fora da trava, sobre a cópia que o {@link TelefoneSet} publica a
+ * cada alteração ({@link TelefoneSet#containsPublicado(long, TelefoneType)}); a leitura otimista só copia posições da tabela.
+ */
+public final class IndiceDeTelefones implements OuvinteDeTelefones {
+
+    /** Quantidade de segmentos, em potência de 2. */
+    private static final int SEGMENTOS = 64;
+
+    /** Bits que escolhem o segmento. */
+    private static final int BITS_SEGMENTO = Integer.numberOfTrailingZeros(SEGMENTOS);
+
+    /** Multiplicador de Fibonacci usado para espalhar as chaves. */
+    private static final long ESPALHAMENTO = 0x9E3779B97F4A7C15L;
+
+    // Variáveis
+
+    /** The segmentos. */
+    private final Segmento[] segmentos = new Segmento[SEGMENTOS];
+
+    /**
+     * Instantiates a new indice de telefones.
+     */
+    public IndiceDeTelefones() {
+        this(0);
+    }
+
+    /**
+     * Instantiates a new indice de telefones já dimensionado para a quantidade de telefones informada.
+     *
+     * @param quantidadeEsperada the quantidade esperada
+     */
+    public IndiceDeTelefones(int quantidadeEsperada) {
+        checkArgument(quantidadeEsperada >= 0, "A quantidade esperada não pode ser negativa.");
+        for(int i = 0; i < SEGMENTOS; i++) {
+            segmentos[i] = new Segmento(quantidadeEsperada / SEGMENTOS);
+        }
+    }
+
+    // Escrita
+
+    /**
+     * Indexa os telefones da empresa e passa a acompanhar as trocas de telefones dela.
+     *
+     * @param empresa the empresa
+     * @return false se a empresa já estava indexada
+     */
+    public boolean adiciona(Empresa empresa) {
+        checkNotNull(empresa, "A empresa deve ser preenchida.");
+        if (!empresa.adicionaOuvinte(this)) {
+            return false;
+        }
+        indexa(empresa, empresa.getTelefones());
+        return true;
+    }
+
+    /**
+     * Indexa as empresas não nulas do intervalo, como {@link #adiciona(Empresa)}, dividindo-o em tarefas paralelas enquanto ele
+     * for grande. As tarefas rodam no {@link java.util.concurrent.ForkJoinPool} da thread atual, ou no comum.
+     *
+     * @param lote the lote
+     * @param inicio the inicio
+     * @param fim the fim
+     */
+    public void adiciona(Empresa[] lote, int inicio, int fim) {
+        checkNotNull(lote, "As empresas devem ser preenchidas.");
+        new Indexa(this, lote, inicio, fim).invoke();
+    }
+
+    /**
+     * Remove os telefones da empresa e deixa de acompanhá-la. Os telefones da empresa não devem ser trocados durante a remoção.
+     *
+     * @param empresa the empresa
+     * @return false se a empresa não estava indexada
+     */
+    public boolean remove(Empresa empresa) {
+        checkNotNull(empresa, "A empresa deve ser preenchida.");
+        if (!empresa.removeOuvinte(this)) {
+            return false;
+        }
+        desindexa(empresa, empresa.getTelefones(), null);
+        return true;
+    }
+
+    /**
+     * Indexa os telefones novos antes de remover os que saíram, para que um telefone mantido não desapareça das buscas durante a
+     * troca.
+     *
+     * @param empresa the empresa
+     * @param anteriores the anteriores
+     */
+    @Override
+    public void telefonesAlterados(Empresa empresa, Set<Telefone> anteriores) {
+        Set<Telefone> atuais = empresa.getTelefones();
+        indexa(empresa, atuais);
+        desindexa(empresa, anteriores, atuais);
+    }
+
+    // Leitura
+
+    /**
+     * Busca as empresas com algum telefone com o DDD e o número informados, de qualquer tipo.
+     *
+     * @param ddd the ddd
+     * @param numero the numero
+     * @return as empresas, cada uma uma única vez e sem ordem definida
+     */
+    public List<Empresa> busca(int ddd, String numero) {
+        return busca(ddd, numero, null);
+    }
+
+    /**
+     * Busca as empresas com algum telefone com o DDD e o número informados, do tipo informado.
+     *
+     * @param ddd the ddd
+     * @param numero the numero
+     * @param tipo o tipo, ou null para qualquer tipo
+     * @return as empresas, cada uma uma única vez e sem ordem definida
+     */
+    public List<Empresa> busca(int ddd, String numero, TelefoneType tipo) {
+        List<Empresa> encontradas = new ArrayList<Empresa>();
+        long chave = Telefone.dddENumero(Telefone.empacota(null, ddd, numero));
+        if (chave != Telefone.NAO_EMPACOTAVEL) {
+            long espalhado = espalha(chave);
+            segmento(espalhado).busca(chave, tipo, (int) (espalhado ^ espalhado >>> Integer.SIZE), encontradas);
+        }
+        return encontradas;
+    }
+
+    /**
+     * Quantidade de pares de telefone e empresa indexados.
+     *
+     * @return the int
+     */
+    public int size() {
+        int quantidade = 0;
+        for(Segmento segmento : segmentos) {
+            quantidade += segmento.quantidade();
+        }
+        return quantidade;
+    }
+
+    // Auxiliares
+
+    /**
+     * Indexa os telefones empacotáveis do conjunto, lendo direto do array quando ele é um {@link TelefoneSet}.
+     *
+     * @param empresa the empresa
+     * @param telefones the telefones
+     */
+    private void indexa(Empresa empresa, Set<Telefone> telefones) {
+        if (telefones instanceof TelefoneSet) {
+            TelefoneSet empacotados = (TelefoneSet) telefones;
+            for(int i = 0; i < empacotados.quantidadeEmpacotada(); i++) {
+                insere(empacotados.getEmpacotado(i), empresa);
+            }
+        } else if (telefones != null) {
+            for(Telefone telefone : telefones) {
+                long empacotado = telefone == null ? Telefone.NAO_EMPACOTAVEL : telefone.empacota();
+                if (empacotado != Telefone.NAO_EMPACOTAVEL) {
+                    insere(empacotado, empresa);
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove os telefones do conjunto que não estão entre os mantidos.
+     *
+     * @param empresa the empresa
+     * @param telefones the telefones
+     * @param mantidos os telefones que continuam na empresa, ou null
+     */
+    private void desindexa(Empresa empresa, Set<Telefone> telefones, Set<Telefone> mantidos) {
+        if (telefones instanceof TelefoneSet) {
+            TelefoneSet empacotados = (TelefoneSet) telefones;
+            for(int i = 0; i < empacotados.quantidadeEmpacotada(); i++) {
+                retira(empacotados.getEmpacotado(i), empresa, mantidos);
+            }
+        } else if (telefones != null) {
+            for(Telefone telefone : telefones) {
+                long empacotado = telefone == null ? Telefone.NAO_EMPACOTAVEL : telefone.empacota();
+                if (empacotado != Telefone.NAO_EMPACOTAVEL) {
+                    retira(empacotado, empresa, mantidos);
+                }
+            }
+        }
+    }
+
+    /**
+     * Insere o par no segmento do telefone.
+     *
+     * @param empacotado the empacotado
+     * @param empresa the empresa
+     */
+    private void insere(long empacotado, Empresa empresa) {
+        long espalhado = espalha(Telefone.dddENumero(empacotado));
+        segmento(espalhado).insere(empacotado, empresa);
+    }
+
+    /**
+     * Remove o par do segmento do telefone, se o telefone não estiver entre os mantidos.
+     *
+     * @param empacotado the empacotado
+     * @param empresa the empresa
+     * @param mantidos the mantidos
+     */
+    private void retira(long empacotado, Empresa empresa, Set<Telefone> mantidos) {
+        if (!contem(mantidos, empacotado)) {
+            long espalhado = espalha(Telefone.dddENumero(empacotado));
+            segmento(espalhado).remove(empacotado, empresa);
+        }
+    }
+
+    /**
+     * Verifica se o conjunto contém o telefone empacotado.
+     *
+     * @param telefones the telefones
+     * @param empacotado the empacotado
+     * @return true, if successful
+     */
+    private static boolean contem(Set<Telefone> telefones, long empacotado) {
+        if (telefones instanceof TelefoneSet) {
+            return ((TelefoneSet) telefones).containsEmpacotado(empacotado);
+        }
+        if (telefones != null) {
+            for(Telefone telefone : telefones) {
+                if (telefone != null && telefone.empacota() == empacotado) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Segmento da chave espalhada, pelos bits mais altos.
+     *
+     * @param espalhado the espalhado
+     * @return the segmento
+     */
+    private Segmento segmento(long espalhado) {
+        return segmentos[(int) (espalhado >>> (Long.SIZE - BITS_SEGMENTO))];
+    }
+
+    /**
+     * Espalha a chave (DDD e número empacotados).
+     *
+     * @param chave the chave
+     * @return the long
+     */
+    private static long espalha(long chave) {
+        return (chave ^ chave >>> Integer.SIZE) * ESPALHAMENTO;
+    }
+
+    /**
+     * Posição inicial do telefone empacotado na tabela de um segmento, antes da máscara.
+     *
+     * @param empacotado the empacotado
+     * @return the int
+     */
+    private static int inicio(long empacotado) {
+        long espalhado = espalha(Telefone.dddENumero(empacotado));
+        return (int) (espalhado ^ espalhado >>> Integer.SIZE);
+    }
+
+    /**
+     * Verifica se a empresa ainda tem um telefone com a chave e o tipo. Conjuntos que não são {@link TelefoneSet} (atribuídos por
+     * fora dos setters, ou de visões somente leitura) são percorridos.
+     *
+     * @param empresa the empresa
+     * @param chave DDD e número empacotados
+     * @param tipo the tipo, ou null
+     * @return true, if successful
+     */
+    private static boolean temTelefone(Empresa empresa, long chave, TelefoneType tipo) {
+        Set<Telefone> telefones = empresa.getTelefones();
+        if (telefones instanceof TelefoneSet) {
+            return ((TelefoneSet) telefones).containsPublicado(chave, tipo);
+        }
+        if (telefones != null) {
+            for(Telefone telefone : telefones) {
+                long empacotado = telefone == null ? Telefone.NAO_EMPACOTAVEL : telefone.empacota();
+                if (empacotado != Telefone.NAO_EMPACOTAVEL && Telefone.dddENumero(empacotado) == chave
+                        && (tipo == null || Telefone.tipoEmpacotado(empacotado) == tipo)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Verifica se a lista já contém a instância.
+     *
+     * @param empresas the empresas
+     * @param empresa the empresa
+     * @param inicio posição a partir da qual procurar
+     * @return true, if successful
+     */
+    private static boolean contemInstancia(List<Empresa> empresas, Empresa empresa, int inicio) {
+        for(int i = inicio; i < empresas.size(); i++) {
+            if (empresas.get(i) == empresa) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tarefa que indexa as empresas de um intervalo, dividindo-o ao meio enquanto ele for grande. Os segmentos aceitam escritas
+     * concorrentes, então as metades rodam em paralelo.
+     */
+    private static final class Indexa extends RecursiveAction {
+
+        /** The Constant serialVersionUID. */
+        private static final long serialVersionUID = 1L;
+
+        /** Tamanho do intervalo abaixo do qual a tarefa não se divide. */
+        private static final int LIMITE = 1024;
+
+        /** The indice. */
+        private final IndiceDeTelefones indice;
+
+        /** The empresas. */
+        private final Empresa[] empresas;
+
+        /** The inicio. */
+        private final int inicio;
+
+        /** The fim. */
+        private final int fim;
+
+        /**
+         * Instantiates a new indexa.
+         *
+         * @param indice the indice
+         * @param empresas the empresas
+         * @param inicio the inicio
+         * @param fim the fim
+         */
+        Indexa(IndiceDeTelefones indice, Empresa[] empresas, int inicio, int fim) {
+            this.indice = indice;
+            this.empresas = empresas;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.util.concurrent.RecursiveAction#compute()
+         */
+        @Override
+        protected void compute() {
+            if (fim - inicio > LIMITE) {
+                int meio = (inicio + fim) >>> 1;
+                invokeAll(new Indexa(indice, empresas, inicio, meio), new Indexa(indice, empresas, meio, fim));
+                return;
+            }
+            for(int i = inicio; i < fim; i++) {
+                if (empresas[i] != null) {
+                    indice.adiciona(empresas[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tabela de um segmento: telefone empacotado e empresa de cada posição. A tabela é substituída por inteiro quando cresce, de
+     * modo que uma leitura otimista sempre vê os dois arrays do mesmo tamanho.
+     */
+    private static final class Tabela {
+
+        /** The Constant CAPACIDADE_MINIMA. */
+        private static final int CAPACIDADE_MINIMA = 16;
+
+        /** Maior quantidade de posições, em potência de 2. */
+        private static final int CAPACIDADE_MAXIMA = 1 << 30;
+
+        /** Telefone empacotado de cada posição. */
+        final long[] telefones;
+
+        /** Empresa de cada posição; null marca uma posição vazia. */
+        final Empresa[] empresas;
+
+        /** Quantidade a partir da qual a tabela dobra, 3/4 da capacidade. */
+        final int limite;
+
+        /**
+         * Instantiates a new tabela.
+         *
+         * @param capacidade the capacidade, em potência de 2
+         */
+        Tabela(int capacidade) {
+            this.telefones = new long[capacidade];
+            this.empresas = new Empresa[capacidade];
+            this.limite = capacidade == CAPACIDADE_MAXIMA ? Integer.MAX_VALUE : capacidade / 4 * 3;
+        }
+
+        /**
+         * Menor capacidade que comporta a quantidade sem passar do limite.
+         *
+         * @param quantidade the quantidade
+         * @return the int
+         */
+        static int capacidadePara(int quantidade) {
+            long desejada = Math.max(CAPACIDADE_MINIMA, quantidade * 4L / 3 + 1);
+            return desejada >= CAPACIDADE_MAXIMA ? CAPACIDADE_MAXIMA : Integer.highestOneBit((int) desejada - 1) << 1;
+        }
+
+    }
+
+    /**
+     * Um segmento do índice, com endereçamento aberto e sondagem linear. A remoção desloca para trás as entradas seguintes do
+     * mesmo agrupamento, sem marcadores de remoção.
+     */
+    private static final class Segmento {
+
+        /** The lock. */
+        private final StampedLock lock = new StampedLock();
+
+        /** The tabela. */
+        private Tabela tabela;
+
+        /** The quantidade. */
+        private int quantidade;
+
+        /**
+         * Instantiates a new segmento.
+         *
+         * @param quantidadeEsperada the quantidade esperada
+         */
+        Segmento(int quantidadeEsperada) {
+            this.tabela = new Tabela(Tabela.capacidadePara(quantidadeEsperada));
+        }
+
+        /**
+         * Acrescenta à lista as empresas com o telefone. Tenta primeiro sem travar; se uma escrita acontecer durante a leitura,
+         * descarta o que leu e repete com a trava de leitura. Só depois de a leitura ser confirmada, e sem a trava, as empresas são
+         * conferidas contra os telefones atuais.
+         *
+         * @param chave DDD e número empacotados
+         * @param tipo the tipo, ou null
+         * @param inicio the inicio
+         * @param encontradas the encontradas
+         */
+        void busca(long chave, TelefoneType tipo, int inicio, List<Empresa> encontradas) {
+            int antes = encontradas.size();
+            long stamp = lock.tryOptimisticRead();
+            if (stamp == 0 || !procura(chave, tipo, inicio, encontradas) || !lock.validate(stamp)) {
+                while(encontradas.size() > antes) {
+                    encontradas.remove(encontradas.size() - 1);
+                }
+                stamp = lock.readLock();
+                try {
+                    procura(chave, tipo, inicio, encontradas);
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            int mantidas = antes;
+            for(int i = antes; i < encontradas.size(); i++) {
+                Empresa empresa = encontradas.get(i);
+                if (temTelefone(empresa, chave, tipo)) {
+                    encontradas.set(mantidas++, empresa);
+                }
+            }
+            while(encontradas.size() > mantidas) {
+                encontradas.remove(encontradas.size() - 1);
+            }
+        }
+
+        /**
+         * Percorre o agrupamento da chave, copiando para a lista as empresas das posições com o telefone, sem consultar as
+         * empresas. Numa leitura otimista os arrays podem mudar durante a varredura; por isso ela nunca passa de uma volta na
+         * tabela.
+         *
+         * @param chave the chave
+         * @param tipo the tipo
+         * @param inicio the inicio
+         * @param encontradas the encontradas
+         * @return false se a varredura deu uma volta inteira sem achar posição vazia
+         */
+        private boolean procura(long chave, TelefoneType tipo, int inicio, List<Empresa> encontradas) {
+            Tabela atual = tabela;
+            long[] telefones = atual.telefones;
+            Empresa[] empresas = atual.empresas;
+            int mascara = telefones.length - 1;
+            int antes = encontradas.size();
+            for(int i = inicio & mascara, sondagens = 0; sondagens <= mascara; i = (i + 1) & mascara, sondagens++) {
+                Empresa empresa = empresas[i];
+                if (empresa == null) {
+                    return true;
+                }
+                long telefone = telefones[i];
+                if (Telefone.dddENumero(telefone) == chave && (tipo == null || Telefone.tipoEmpacotado(telefone) == tipo)
+                        && !contemInstancia(encontradas, empresa, antes)) {
+                    encontradas.add(empresa);
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Insere o par, se ainda não estiver no segmento.
+         *
+         * @param telefone the telefone
+         * @param empresa the empresa
+         */
+        void insere(long telefone, Empresa empresa) {
+            long stamp = lock.writeLock();
+            try {
+                if (quantidade >= tabela.limite) {
+                    cresce();
+                }
+                long[] telefones = tabela.telefones;
+                Empresa[] empresas = tabela.empresas;
+                int mascara = telefones.length - 1;
+                int i = inicio(telefone) & mascara;
+                while(empresas[i] != null) {
+                    if (empresas[i] == empresa && telefones[i] == telefone) {
+                        return;
+                    }
+                    i = (i + 1) & mascara;
+                }
+                telefones[i] = telefone;
+                empresas[i] = empresa;
+                quantidade++;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Remove o par e desloca para trás as entradas seguintes que podem ocupar a posição liberada.
+         *
+         * @param telefone the telefone
+         * @param empresa the empresa
+         */
+        void remove(long telefone, Empresa empresa) {
+            long stamp = lock.writeLock();
+            try {
+                long[] telefones = tabela.telefones;
+                Empresa[] empresas = tabela.empresas;
+                int mascara = telefones.length - 1;
+                int vazia = inicio(telefone) & mascara;
+                while(empresas[vazia] != empresa || telefones[vazia] != telefone) {
+                    if (empresas[vazia] == null) {
+                        return;
+                    }
+                    vazia = (vazia + 1) & mascara;
+                }
+                for(int j = (vazia + 1) & mascara; empresas[j] != null; j = (j + 1) & mascara) {
+                    int origem = inicio(telefones[j]) & mascara;
+                    if (((j - origem) & mascara) >= ((j - vazia) & mascara)) {
+                        telefones[vazia] = telefones[j];
+                        empresas[vazia] = empresas[j];
+                        vazia = j;
+                    }
+                }
+                telefones[vazia] = 0;
+                empresas[vazia] = null;
+                quantidade--;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Quantidade de pares do segmento.
+         *
+         * @return the int
+         */
+        int quantidade() {
+            long stamp = lock.readLock();
+            try {
+                return quantidade;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * Dobra a tabela, reinserindo as entradas numa tabela nova antes de publicá-la.
+         */
+        private void cresce() {
+            Tabela antiga = tabela;
+            if (antiga.telefones.length == Tabela.CAPACIDADE_MAXIMA) {
+                throw new IllegalStateException("O índice de telefones não comporta mais entradas.");
+            }
+            Tabela nova = new Tabela(antiga.telefones.length * 2);
+            int mascara = nova.telefones.length - 1;
+            for(int i = 0; i < antiga.empresas.length; i++) {
+                if (antiga.empresas[i] != null) {
+                    int j = inicio(antiga.telefones[i]) & mascara;
+                    while(nova.empresas[j] != null) {
+                        j = (j + 1) & mascara;
+                    }
+                    nova.telefones[j] = antiga.telefones[i];
+                    nova.empresas[j] = antiga.empresas[i];
+                }
+            }
+            tabela = nova;
+        }
+
+    }
+
+}
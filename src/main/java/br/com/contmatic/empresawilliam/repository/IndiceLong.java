@@ -0,0 +1,222 @@
+package br.com.contmatic.empresawilliam.repository;
+
+import java.util.Arrays;
+
+/**
+ * The Class IndiceLong.
+ *
+ * Mapa de chaves {@code long} para valores {@code int} não negativos, com endereçamento aberto e sondagem linear, sem objetos por
+ * entrada. Chave e valor ficam lado a lado em um único {@code long[]}, de modo que cada consulta toca uma só linha de cache. Os
+ * valores são guardados somados de 1, e 0 marca uma posição vazia. A remoção desloca para trás as entradas seguintes do mesmo
+ * agrupamento, sem marcadores de remoção. Não é thread-safe.
+ */
+final class IndiceLong {
+
+    /** Valor devolvido por {@link #get(long)} quando a chave não existe. */
+    static final int AUSENTE = -1;
+
+    /** The Constant CAPACIDADE_MINIMA. */
+    private static final int CAPACIDADE_MINIMA = 16;
+
+    /** Maior quantidade de entradas da tabela, em potência de 2. */
+    private static final int CAPACIDADE_MAXIMA = 1 << 29;
+
+    // Variáveis
+
+    /** Chave na posição par e valor + 1 na ímpar seguinte. */
+    private long[] tabela;
+
+    /** The quantidade. */
+    private int quantidade;
+
+    /** Quantidade a partir da qual a tabela dobra, 3/4 da capacidade. */
+    private int limite;
+
+    /**
+     * Instantiates a new indice long.
+     *
+     * @param quantidadeEsperada the quantidade esperada
+     */
+    IndiceLong(int quantidadeEsperada) {
+        aloca(capacidadePara(quantidadeEsperada));
+    }
+
+    /**
+     * Cria um índice de cada uma das primeiras chaves do array para a sua posição nele.
+     *
+     * @param chaves the chaves
+     * @param quantidade the quantidade
+     * @return the indice long
+     */
+    static IndiceLong dasPosicoes(long[] chaves, int quantidade) {
+        IndiceLong indice = new IndiceLong(quantidade);
+        for(int i = 0; i < quantidade; i++) {
+            indice.put(chaves[i], i);
+        }
+        return indice;
+    }
+
+    // Operações
+
+    /**
+     * Obtém o valor da chave.
+     *
+     * @param chave the chave
+     * @return o valor, ou {@link #AUSENTE}
+     */
+    int get(long chave) {
+        int mascara = tabela.length - 1;
+        for(int i = espalha(chave) << 1 & mascara;; i = (i + 2) & mascara) {
+            long valor = tabela[i + 1];
+            if (valor == 0 || tabela[i] == chave) {
+                return (int) valor - 1;
+            }
+        }
+    }
+
+    /**
+     * Associa o valor à chave.
+     *
+     * @param chave the chave
+     * @param valor o valor, não negativo
+     * @return o valor anterior, ou {@link #AUSENTE}
+     */
+    int put(long chave, int valor) {
+        int mascara = tabela.length - 1;
+        int i = espalha(chave) << 1 & mascara;
+        while(tabela[i + 1] != 0) {
+            if (tabela[i] == chave) {
+                int anterior = (int) tabela[i + 1] - 1;
+                tabela[i + 1] = valor + 1L;
+                return anterior;
+            }
+            i = (i + 2) & mascara;
+        }
+        tabela[i] = chave;
+        tabela[i + 1] = valor + 1L;
+        if (++quantidade > limite) {
+            redimensiona(tabela.length);
+        }
+        return AUSENTE;
+    }
+
+    /**
+     * Remove a chave.
+     *
+     * @param chave the chave
+     * @return o valor removido, ou {@link #AUSENTE}
+     */
+    int remove(long chave) {
+        int mascara = tabela.length - 1;
+        int i = espalha(chave) << 1 & mascara;
+        while(tabela[i + 1] != 0 && tabela[i] != chave) {
+            i = (i + 2) & mascara;
+        }
+        int removido = (int) tabela[i + 1] - 1;
+        if (removido == AUSENTE) {
+            return AUSENTE;
+        }
+        // Puxa para a posição livre as entradas seguintes que estariam fora do lugar se ela ficasse vazia.
+        for(int j = (i + 2) & mascara; tabela[j + 1] != 0; j = (j + 2) & mascara) {
+            int ideal = espalha(tabela[j]) << 1 & mascara;
+            if (((j - ideal) & mascara) >= ((j - i) & mascara)) {
+                tabela[i] = tabela[j];
+                tabela[i + 1] = tabela[j + 1];
+                i = j;
+            }
+        }
+        tabela[i + 1] = 0;
+        quantidade--;
+        return removido;
+    }
+
+    /**
+     * Remove a chave apenas se ela estiver associada ao valor informado.
+     *
+     * @param chave the chave
+     * @param valor the valor
+     * @return true, if successful
+     */
+    boolean remove(long chave, int valor) {
+        return get(chave) == valor && remove(chave) == valor;
+    }
+
+    /**
+     * Size.
+     *
+     * @return the int
+     */
+    int size() {
+        return quantidade;
+    }
+
+    /**
+     * Remove todas as chaves, mantendo a capacidade.
+     */
+    void clear() {
+        Arrays.fill(tabela, 0L);
+        quantidade = 0;
+    }
+
+    // Auxiliares
+
+    /**
+     * Espalha os bits da chave.
+     *
+     * @param chave the chave
+     * @return the int
+     */
+    static int espalha(long chave) {
+        long espalhado = chave * 0x9E3779B97F4A7C15L;
+        return (int) (espalhado ^ espalhado >>> 32);
+    }
+
+    /**
+     * Menor potência de 2 que comporta a quantidade sem passar de 3/4 de ocupação.
+     *
+     * @param quantidade the quantidade
+     * @return the int
+     */
+    private static int capacidadePara(int quantidade) {
+        long necessaria = Math.max(CAPACIDADE_MINIMA, (long) quantidade * 4 / 3 + 1);
+        if (necessaria > CAPACIDADE_MAXIMA) {
+            throw new IllegalStateException("O índice não comporta mais de " + CAPACIDADE_MAXIMA / 4 * 3 + " chaves.");
+        }
+        return Integer.highestOneBit((int) necessaria - 1) << 1;
+    }
+
+    /**
+     * Aloca uma tabela vazia.
+     *
+     * @param capacidade quantidade de entradas
+     */
+    private void aloca(int capacidade) {
+        tabela = new long[capacidade * 2];
+        limite = capacidade / 4 * 3;
+    }
+
+    /**
+     * Copia as entradas para uma tabela com a nova capacidade.
+     *
+     * @param capacidade quantidade de entradas
+     */
+    private void redimensiona(int capacidade) {
+        if (capacidade > CAPACIDADE_MAXIMA) {
+            throw new IllegalStateException("O índice não comporta mais de " + CAPACIDADE_MAXIMA / 4 * 3 + " chaves.");
+        }
+        long[] antiga = tabela;
+        aloca(capacidade);
+        int mascara = tabela.length - 1;
+        for(int j = 0; j < antiga.length; j += 2) {
+            if (antiga[j + 1] != 0) {
+                int i = espalha(antiga[j]) << 1 & mascara;
+                while(tabela[i + 1] != 0) {
+                    i = (i + 2) & mascara;
+                }
+                tabela[i] = antiga[j];
+                tabela[i + 1] = antiga[j + 1];
+            }
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+package br.com.contmatic.empresawilliam.repository;
+
+/**
+ * The Class IndiceMultiplo.
+ *
+ * Índice de chaves {@code long} para várias posições {@code int}. Cada chave aponta, por um {@link IndiceLong}, para o nó mais
+ * recente de uma lista encadeada guardada em dois arrays paralelos ({@link #posicoes} e {@link #proximos}), sem objetos por
+ * entrada. Os nós nunca são removidos: quem consulta descarta as posições que não valem mais, e o índice é reconstruído por
+ * inteiro quando elas se acumulam. Não é thread-safe.
+ */
+final class IndiceMultiplo {
+
+    /** Valor de {@link #primeiro(long)} e {@link #proximo(int)} quando não há mais nós. */
+    static final int FIM = -1;
+
+    /** The Constant CAPACIDADE_MINIMA. */
+    private static final int CAPACIDADE_MINIMA = 16;
+
+    // Variáveis
+
+    /** Nó mais recente de cada chave. */
+    private final IndiceLong cabecas;
+
+    /** Posição guardada em cada nó. */
+    private int[] posicoes;
+
+    /** Nó seguinte de cada nó, ou {@link #FIM}. */
+    private int[] proximos;
+
+    /** The quantidade de nos. */
+    private int nos;
+
+    /**
+     * Instantiates a new indice multiplo.
+     *
+     * @param quantidadeEsperada the quantidade esperada
+     */
+    IndiceMultiplo(int quantidadeEsperada) {
+        int capacidade = Math.max(CAPACIDADE_MINIMA, quantidadeEsperada);
+        cabecas = new IndiceLong(quantidadeEsperada);
+        posicoes = new int[capacidade];
+        proximos = new int[capacidade];
+    }
+
+    // Operações
+
+    /**
+     * Associa mais uma posição à chave. Se a posição mais recente da chave já for a informada, nada muda: assim uma empresa com
+     * dois endereços no mesmo CEP, indexada de uma só vez, aparece uma única vez.
+     *
+     * @param chave the chave
+     * @param posicao the posicao
+     */
+    void adiciona(long chave, int posicao) {
+        if (nos == posicoes.length) {
+            int capacidade = nos * 2;
+            if (capacidade < 0) {
+                throw new IllegalStateException("O índice não comporta mais de " + nos + " posições.");
+            }
+            int[] maiores = new int[capacidade];
+            System.arraycopy(posicoes, 0, maiores, 0, nos);
+            posicoes = maiores;
+            maiores = new int[capacidade];
+            System.arraycopy(proximos, 0, maiores, 0, nos);
+            proximos = maiores;
+        }
+        int cabeca = cabecas.put(chave, nos);
+        if (cabeca != FIM && posicoes[cabeca] == posicao) {
+            cabecas.put(chave, cabeca);
+            return;
+        }
+        posicoes[nos] = posicao;
+        proximos[nos] = cabeca;
+        nos++;
+    }
+
+    /**
+     * Primeiro nó da chave.
+     *
+     * @param chave the chave
+     * @return o nó, ou {@link #FIM}
+     */
+    int primeiro(long chave) {
+        return cabecas.get(chave);
+    }
+
+    /**
+     * Nó seguinte.
+     *
+     * @param no the no
+     * @return o nó, ou {@link #FIM}
+     */
+    int proximo(int no) {
+        return proximos[no];
+    }
+
+    /**
+     * Posição guardada no nó.
+     *
+     * @param no the no
+     * @return the int
+     */
+    int posicao(int no) {
+        return posicoes[no];
+    }
+
+    /**
+     * Remove todas as chaves, mantendo a capacidade.
+     */
+    void clear() {
+        cabecas.clear();
+        nos = 0;
+    }
+
+}
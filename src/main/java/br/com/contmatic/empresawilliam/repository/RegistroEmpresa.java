@@ -0,0 +1,333 @@
+package br.com.contmatic.empresawilliam.repository;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.joda.time.LocalDate;
+
+import br.com.contmatic.empresawilliam.DiaDaEpoca;
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.Endereco;
+import br.com.contmatic.empresawilliam.EnderecoType;
+import br.com.contmatic.empresawilliam.Telefone;
+import br.com.contmatic.empresawilliam.TelefoneType;
+
+/**
+ * The Class RegistroEmpresa.
+ *
+ * Formato binário de uma empresa no {@link EmpresaStore}, pensado para leitura direta pelas visões mapeadas, sem decodificar o
+ * registro inteiro. Todas as posições são relativas ao início do registro:
+ *
+ * <pre>
+ *  0  int    tamanho do registro
+ *  4  int    data de criação, em dias desde 01/01/1970 ({@link #SEM_DATA} se nula)
+ *  8  int    data de alteração
+ * 12  short  quantidade de endereços (-1 se o conjunto for nulo)
+ * 14  short  quantidade de telefones (-1 se o conjunto for nulo)
+ * 16  char   posição do texto do CNPJ, razão social, proprietário, email e site (0 se nulo)
+ * 26         endereços: int número, byte tipo, char tipo de logradouro, char nome de logradouro, char CEP
+ *            telefones: byte tipo, int DDD, char número
+ *            textos: char quantidade de bytes e os bytes em UTF-8
+ * </pre>
+ *
+ * Os tipos são guardados como ordinal + 1, com 0 para nulo e {@link #ELEMENTO_NULO} para um endereço ou telefone nulo dentro do
+ * conjunto. Como as posições são {@code char}, um registro tem no máximo {@link #TAMANHO_MAXIMO} bytes.
+ */
+final class RegistroEmpresa {
+
+    /** The Constant TAMANHO_MAXIMO. */
+    static final int TAMANHO_MAXIMO = Character.MAX_VALUE;
+
+    /** Valor guardado no lugar de uma data nula. */
+    static final int SEM_DATA = DiaDaEpoca.SEM_DATA;
+
+    /** Tipo que marca um endereço ou telefone nulo. */
+    static final byte ELEMENTO_NULO = -1;
+
+    /** The Constant TAMANHO. */
+    static final int TAMANHO = 0;
+
+    /** The Constant DATA_DE_CRIACAO. */
+    static final int DATA_DE_CRIACAO = 4;
+
+    /** The Constant DATA_DE_ALTERACAO. */
+    static final int DATA_DE_ALTERACAO = 8;
+
+    /** The Constant QUANTIDADE_ENDERECOS. */
+    static final int QUANTIDADE_ENDERECOS = 12;
+
+    /** The Constant QUANTIDADE_TELEFONES. */
+    static final int QUANTIDADE_TELEFONES = 14;
+
+    /** The Constant CNPJ. */
+    static final int CNPJ = 16;
+
+    /** The Constant RAZAO_SOCIAL. */
+    static final int RAZAO_SOCIAL = 18;
+
+    /** The Constant PROPRIETARIO. */
+    static final int PROPRIETARIO = 20;
+
+    /** The Constant EMAIL. */
+    static final int EMAIL = 22;
+
+    /** The Constant SITE. */
+    static final int SITE = 24;
+
+    /** Início dos endereços. */
+    static final int ENDERECOS = 26;
+
+    /** The Constant ENDERECO_NUMERO. */
+    static final int ENDERECO_NUMERO = 0;
+
+    /** The Constant ENDERECO_TIPO. */
+    static final int ENDERECO_TIPO = 4;
+
+    /** The Constant ENDERECO_TIPO_LOGRADOURO. */
+    static final int ENDERECO_TIPO_LOGRADOURO = 5;
+
+    /** The Constant ENDERECO_NOME_LOGRADOURO. */
+    static final int ENDERECO_NOME_LOGRADOURO = 7;
+
+    /** The Constant ENDERECO_CEP. */
+    static final int ENDERECO_CEP = 9;
+
+    /** The Constant TAMANHO_ENDERECO. */
+    static final int TAMANHO_ENDERECO = 11;
+
+    /** The Constant TELEFONE_TIPO. */
+    static final int TELEFONE_TIPO = 0;
+
+    /** The Constant TELEFONE_DDD. */
+    static final int TELEFONE_DDD = 1;
+
+    /** The Constant TELEFONE_NUMERO. */
+    static final int TELEFONE_NUMERO = 5;
+
+    /** The Constant TAMANHO_TELEFONE. */
+    static final int TAMANHO_TELEFONE = 7;
+
+    /**
+     * Instantiates a new registro empresa.
+     */
+    private RegistroEmpresa() {
+
+    }
+
+    // Escrita
+
+    /**
+     * Codifica a empresa no formato do registro.
+     *
+     * @param empresa the empresa
+     * @return os bytes do registro
+     */
+    static byte[] codifica(Empresa empresa) {
+        List<Endereco> enderecos = lista(empresa.getEnderecos());
+        List<Telefone> telefones = lista(empresa.getTelefones());
+        int quantidadeEnderecos = enderecos == null ? 0 : enderecos.size();
+        int quantidadeTelefones = telefones == null ? 0 : telefones.size();
+        Textos textos = new Textos(ENDERECOS + quantidadeEnderecos * TAMANHO_ENDERECO + quantidadeTelefones * TAMANHO_TELEFONE);
+        int cnpj = textos.adiciona(empresa.getCnpj());
+        int razaoSocial = textos.adiciona(empresa.getRazaoSocial());
+        int proprietario = textos.adiciona(empresa.getProprietario());
+        int email = textos.adiciona(empresa.getEmail());
+        int site = textos.adiciona(empresa.getSite());
+        int[] textosDosEnderecos = new int[quantidadeEnderecos * 3];
+        for(int i = 0; i < quantidadeEnderecos; i++) {
+            Endereco endereco = enderecos.get(i);
+            if (endereco != null) {
+                textosDosEnderecos[i * 3] = textos.adiciona(endereco.getTipoLogradouro());
+                textosDosEnderecos[i * 3 + 1] = textos.adiciona(endereco.getNomeLogradouro());
+                textosDosEnderecos[i * 3 + 2] = textos.adiciona(endereco.getCep());
+            }
+        }
+        int[] textosDosTelefones = new int[quantidadeTelefones];
+        for(int i = 0; i < quantidadeTelefones; i++) {
+            Telefone telefone = telefones.get(i);
+            textosDosTelefones[i] = telefone == null ? 0 : textos.adiciona(telefone.getTelefone());
+        }
+        checkArgument(textos.fim <= TAMANHO_MAXIMO, "O registro da empresa não pode passar de %s bytes.", TAMANHO_MAXIMO);
+
+        ByteBuffer registro = ByteBuffer.wrap(new byte[textos.fim]);
+        registro.putInt(TAMANHO, textos.fim);
+        registro.putInt(DATA_DE_CRIACAO, DiaDaEpoca.de(empresa.getDataDeCriacao()));
+        registro.putInt(DATA_DE_ALTERACAO, DiaDaEpoca.de(empresa.getDataDeAlteracao()));
+        registro.putShort(QUANTIDADE_ENDERECOS, (short) (enderecos == null ? -1 : quantidadeEnderecos));
+        registro.putShort(QUANTIDADE_TELEFONES, (short) (telefones == null ? -1 : quantidadeTelefones));
+        registro.putChar(CNPJ, (char) cnpj);
+        registro.putChar(RAZAO_SOCIAL, (char) razaoSocial);
+        registro.putChar(PROPRIETARIO, (char) proprietario);
+        registro.putChar(EMAIL, (char) email);
+        registro.putChar(SITE, (char) site);
+        int posicao = ENDERECOS;
+        for(int i = 0; i < quantidadeEnderecos; i++, posicao += TAMANHO_ENDERECO) {
+            Endereco endereco = enderecos.get(i);
+            if (endereco == null) {
+                registro.put(posicao + ENDERECO_TIPO, ELEMENTO_NULO);
+                continue;
+            }
+            registro.putInt(posicao + ENDERECO_NUMERO, endereco.getNumeroEndereco());
+            registro.put(posicao + ENDERECO_TIPO, tipo(endereco.getTipoEndereco()));
+            registro.putChar(posicao + ENDERECO_TIPO_LOGRADOURO, (char) textosDosEnderecos[i * 3]);
+            registro.putChar(posicao + ENDERECO_NOME_LOGRADOURO, (char) textosDosEnderecos[i * 3 + 1]);
+            registro.putChar(posicao + ENDERECO_CEP, (char) textosDosEnderecos[i * 3 + 2]);
+        }
+        for(int i = 0; i < quantidadeTelefones; i++, posicao += TAMANHO_TELEFONE) {
+            Telefone telefone = telefones.get(i);
+            if (telefone == null) {
+                registro.put(posicao + TELEFONE_TIPO, ELEMENTO_NULO);
+                continue;
+            }
+            registro.put(posicao + TELEFONE_TIPO, tipo(telefone.getTipoTelefone()));
+            registro.putInt(posicao + TELEFONE_DDD, telefone.getDdd());
+            registro.putChar(posicao + TELEFONE_NUMERO, (char) textosDosTelefones[i]);
+        }
+        textos.escreve(registro);
+        return registro.array();
+    }
+
+    // Leitura
+
+    /**
+     * Lê o texto apontado por um campo do registro.
+     *
+     * @param buffer the buffer
+     * @param registro início do registro no buffer
+     * @param campo posição, no buffer, do campo que aponta para o texto
+     * @return the string
+     */
+    static String texto(ByteBuffer buffer, int registro, int campo) {
+        int posicao = buffer.getChar(campo);
+        if (posicao == 0) {
+            return null;
+        }
+        posicao += registro;
+        int tamanho = buffer.getChar(posicao);
+        byte[] bytes = new byte[tamanho];
+        for(int i = 0; i < tamanho; i++) {
+            bytes[i] = buffer.get(posicao + 2 + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Lê a data.
+     *
+     * @param buffer the buffer
+     * @param posicao the posicao
+     * @return a data, ou null
+     */
+    static LocalDate data(ByteBuffer buffer, int posicao) {
+        return DiaDaEpoca.data(buffer.getInt(posicao));
+    }
+
+    /**
+     * Tipo do endereço guardado como ordinal + 1.
+     *
+     * @param tipo the tipo
+     * @return the endereco type
+     */
+    static EnderecoType tipoEndereco(byte tipo) {
+        return tipo == 0 ? null : EnderecoType.values()[tipo - 1];
+    }
+
+    /**
+     * Tipo do telefone guardado como ordinal + 1.
+     *
+     * @param tipo the tipo
+     * @return the telefone type
+     */
+    static TelefoneType tipoTelefone(byte tipo) {
+        return tipo == 0 ? null : TelefoneType.values()[tipo - 1];
+    }
+
+    // Auxiliares
+
+    /**
+     * Ordinal + 1 do tipo, ou 0 se nulo.
+     *
+     * @param tipo the tipo
+     * @return the byte
+     */
+    private static byte tipo(Enum<?> tipo) {
+        return (byte) (tipo == null ? 0 : tipo.ordinal() + 1);
+    }
+
+    /**
+     * Copia o conjunto para uma lista, na ordem de iteração.
+     *
+     * @param <T> the generic type
+     * @param conjunto the conjunto
+     * @return a lista, ou null se o conjunto for nulo
+     */
+    private static <T> List<T> lista(Set<T> conjunto) {
+        if (conjunto == null) {
+            return null;
+        }
+        checkArgument(conjunto.size() <= Short.MAX_VALUE, "A empresa não pode ter mais de %s endereços ou telefones.", Short.MAX_VALUE);
+        return new ArrayList<T>(conjunto);
+    }
+
+    /**
+     * Textos do registro, acumulados em UTF-8 depois da parte fixa.
+     */
+    private static final class Textos {
+
+        /** The bytes. */
+        private final List<byte[]> bytes = new ArrayList<byte[]>();
+
+        /** The inicio. */
+        private final int inicio;
+
+        /** Fim do registro até agora. */
+        private int fim;
+
+        /**
+         * Instantiates a new textos.
+         *
+         * @param inicio the inicio
+         */
+        Textos(int inicio) {
+            this.inicio = inicio;
+            this.fim = inicio;
+        }
+
+        /**
+         * Adiciona o texto.
+         *
+         * @param texto the texto
+         * @return a posição do texto, ou 0 se ele for nulo
+         */
+        int adiciona(String texto) {
+            if (texto == null) {
+                return 0;
+            }
+            byte[] utf8 = texto.getBytes(StandardCharsets.UTF_8);
+            checkArgument(utf8.length <= TAMANHO_MAXIMO, "O registro da empresa não pode passar de %s bytes.", TAMANHO_MAXIMO);
+            int posicao = fim;
+            bytes.add(utf8);
+            fim += 2 + utf8.length;
+            return posicao;
+        }
+
+        /**
+         * Escreve os textos no registro.
+         *
+         * @param registro the registro
+         */
+        void escreve(ByteBuffer registro) {
+            registro.position(inicio);
+            for(byte[] utf8 : bytes) {
+                registro.putChar((char) utf8.length);
+                registro.put(utf8);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+package br.com.contmatic.empresawilliam.repository;
+
+import static br.com.contmatic.empresawilliam.repository.EmpresaMapeada.SOMENTE_LEITURA;
+import static br.com.contmatic.empresawilliam.repository.RegistroEmpresa.TELEFONE_DDD;
+import static br.com.contmatic.empresawilliam.repository.RegistroEmpresa.TELEFONE_NUMERO;
+import static br.com.contmatic.empresawilliam.repository.RegistroEmpresa.TELEFONE_TIPO;
+
+import java.nio.ByteBuffer;
+
+import br.com.contmatic.empresawilliam.Telefone;
+import br.com.contmatic.empresawilliam.TelefoneType;
+
+/**
+ * The Class TelefoneMapeado.
+ *
+ * Visão somente leitura de um telefone de uma {@link EmpresaMapeada}.
+ */
+public final class TelefoneMapeado extends Telefone {
+
+    /** The segmento. */
+    private final ByteBuffer segmento;
+
+    /** Início do registro da empresa no segmento. */
+    private final int registro;
+
+    /** Início do telefone no segmento. */
+    private final int posicao;
+
+    /**
+     * Instantiates a new telefone mapeado.
+     *
+     * @param segmento the segmento
+     * @param registro the registro
+     * @param posicao the posicao
+     */
+    TelefoneMapeado(ByteBuffer segmento, int registro, int posicao) {
+        this.segmento = segmento;
+        this.registro = registro;
+        this.posicao = posicao;
+    }
+
+    // getters
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Telefone#getTipoTelefone()
+     */
+    @Override
+    public TelefoneType getTipoTelefone() {
+        return RegistroEmpresa.tipoTelefone(segmento.get(posicao + TELEFONE_TIPO));
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Telefone#getDdd()
+     */
+    @Override
+    public int getDdd() {
+        return segmento.getInt(posicao + TELEFONE_DDD);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Telefone#getTelefone()
+     */
+    @Override
+    public String getTelefone() {
+        return RegistroEmpresa.texto(segmento, registro, posicao + TELEFONE_NUMERO);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Telefone#getTelefoneFixo()
+     */
+    @Override
+    public String getTelefoneFixo() {
+        return getTelefone();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Telefone#getTelefoneCelular()
+     */
+    @Override
+    public String getTelefoneCelular() {
+        return getTelefone();
+    }
+
+    // setters
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Telefone#setTipoTelefone(br.com.contmatic.empresawilliam.TelefoneType)
+     */
+    @Override
+    public void setTipoTelefone(TelefoneType tipoTelefone) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Telefone#setDdd(int)
+     */
+    @Override
+    public void setDdd(int ddd) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Telefone#setTelefoneFixo(java.lang.String)
+     */
+    @Override
+    public void setTelefoneFixo(String telefoneFixo) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see br.com.contmatic.empresawilliam.Telefone#setTelefoneCelular(java.lang.String)
+     */
+    @Override
+    public void setTelefoneCelular(String telefoneCelular) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+}
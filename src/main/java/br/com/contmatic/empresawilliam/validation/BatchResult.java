@@ -0,0 +1,123 @@
+package br.com.contmatic.empresawilliam.validation;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+
+import java.util.Arrays;
+
+/**
+ * The Class BatchResult.
+ *
+ * Resultado imutável de uma validação em lote. Guarda apenas os objetos inválidos, em dois arrays paralelos ordenados pelo índice
+ * de entrada; os válidos não ocupam espaço e são consultados como {@link ValidationResult#VALID}.
+ */
+public final class BatchResult {
+
+    /** Quantidade de objetos recebidos no lote. */
+    private final int size;
+
+    /** Índices dos objetos inválidos, em ordem crescente. */
+    private final int[] indexes;
+
+    /** Resultado de cada índice inválido, na mesma ordem de {@link #indexes}. */
+    private final ValidationResult[] results;
+
+    /** Indica se o modo fail-fast interrompeu o lote. */
+    private final boolean stopped;
+
+    /**
+     * Instantiates a new batch result.
+     *
+     * @param size the size
+     * @param indexes the indexes
+     * @param results the results
+     * @param stopped the stopped
+     */
+    BatchResult(int size, int[] indexes, ValidationResult[] results, boolean stopped) {
+        this.size = size;
+        this.indexes = indexes;
+        this.results = results;
+        this.stopped = stopped;
+    }
+
+    /**
+     * Obtém a quantidade de objetos recebidos no lote.
+     *
+     * @return the int
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Verifica se todos os objetos validados são válidos.
+     *
+     * @return true, if is valid
+     */
+    public boolean isValid() {
+        return indexes.length == 0;
+    }
+
+    /**
+     * Obtém a quantidade de objetos inválidos encontrados.
+     *
+     * @return the invalid count
+     */
+    public int getInvalidCount() {
+        return indexes.length;
+    }
+
+    /**
+     * Obtém os índices dos objetos inválidos, em ordem crescente.
+     *
+     * @return the invalid indexes
+     */
+    public int[] getInvalidIndexes() {
+        return indexes.clone();
+    }
+
+    /**
+     * Obtém o índice do primeiro objeto inválido, ou -1 se não houver nenhum.
+     *
+     * @return the first invalid index
+     */
+    public int getFirstInvalidIndex() {
+        return indexes.length == 0 ? -1 : indexes[0];
+    }
+
+    /**
+     * Obtém o resultado do objeto no índice informado.
+     *
+     * @param index the index
+     * @return the validation result
+     */
+    public ValidationResult get(int index) {
+        checkElementIndex(index, size);
+        int posicao = Arrays.binarySearch(indexes, index);
+        return posicao >= 0 ? results[posicao] : ValidationResult.VALID;
+    }
+
+    /**
+     * Verifica se o lote foi interrompido no primeiro objeto inválido (modo fail-fast). Nesse caso os objetos posteriores podem não
+     * ter sido validados e só o primeiro inválido é informado.
+     *
+     * @return true, if is stopped
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder().append(size).append(" objetos, ").append(indexes.length).append(" inválidos");
+        for(int i = 0; i < indexes.length; i++) {
+            texto.append(i == 0 ? ": " : ", ").append(indexes[i]).append('=').append(results[i]);
+        }
+        return texto.toString();
+    }
+
+}
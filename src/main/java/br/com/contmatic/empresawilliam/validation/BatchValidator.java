@@ -0,0 +1,502 @@
+package br.com.contmatic.empresawilliam.validation;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * The Class BatchValidator.
+ *
+ * Valida grandes coleções em paralelo com fork/join, usando um {@link CompiledValidator} (que não tem estado e pode ser
+ * compartilhado entre threads). A entrada é dividida recursivamente até o tamanho do bloco, cada bloco é validado
+ * sequencialmente e só os inválidos são guardados no {@link BatchResult}.
+ *
+ * @param <T> the generic type
+ */
+public final class BatchValidator<T> implements AutoCloseable {
+
+    /** Tamanho padrão do bloco validado sequencialmente por uma tarefa. */
+    public static final int DEFAULT_CHUNK_SIZE = 512;
+
+    /** Marca de que nenhum objeto inválido foi encontrado ainda. */
+    private static final int NENHUM = Integer.MAX_VALUE;
+
+    /** The validator. */
+    private final CompiledValidator<T> validator;
+
+    /** The chunk size. */
+    private final int chunkSize;
+
+    /** The fail fast. */
+    private final boolean failFast;
+
+    /** The groups. */
+    private final Class<?>[] groups;
+
+    /** The pool. */
+    private final ForkJoinPool pool;
+
+    /** Indica se o pool foi criado por este validador (e deve ser encerrado por ele). */
+    private final boolean poolProprio;
+
+    /**
+     * Instantiates a new batch validator.
+     *
+     * @param builder the builder
+     */
+    private BatchValidator(Builder<T> builder) {
+        this.validator = builder.validator;
+        this.chunkSize = builder.chunkSize;
+        this.failFast = builder.failFast;
+        this.groups = builder.groups;
+        this.poolProprio = builder.parallelism > 0;
+        this.pool = poolProprio ? new ForkJoinPool(builder.parallelism) : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Cria um construtor de validador em lote para o validador informado.
+     *
+     * @param <T> the generic type
+     * @param validator the validator
+     * @return the builder
+     */
+    public static <T> Builder<T> builder(CompiledValidator<T> validator) {
+        return new Builder<T>(validator);
+    }
+
+    /**
+     * Valida todos os objetos da lista. Listas sem acesso aleatório são copiadas antes da divisão.
+     *
+     * @param objs the objs
+     * @return the batch result
+     */
+    public BatchResult validate(List<? extends T> objs) {
+        checkNotNull(objs, "A lista a ser validada deve ser preenchida.");
+        List<? extends T> lista = objs instanceof RandomAccess ? objs : new ArrayList<T>(objs);
+        Lote lote = new Lote();
+        Parcial parcial = pool.invoke(new ValidaLista(lista, 0, lista.size(), lote));
+        return lote.resultado(lista.size(), parcial);
+    }
+
+    /**
+     * Valida todos os objetos do spliterator. Os índices do resultado são as posições na ordem de encontro; se o spliterator não
+     * souber o tamanho exato de suas divisões ({@link Spliterator#SUBSIZED}), os objetos são copiados para uma lista antes.
+     *
+     * @param objs the objs
+     * @return the batch result
+     */
+    public BatchResult validate(Spliterator<? extends T> objs) {
+        checkNotNull(objs, "O spliterator a ser validado deve ser preenchido.");
+        if (!objs.hasCharacteristics(Spliterator.SUBSIZED)) {
+            final List<T> lista = new ArrayList<T>();
+            objs.forEachRemaining(new Consumer<T>() {
+
+                @Override
+                public void accept(T obj) {
+                    lista.add(obj);
+                }
+            });
+            return validate(lista);
+        }
+        int tamanho = (int) objs.getExactSizeIfKnown();
+        Lote lote = new Lote();
+        Parcial parcial = pool.invoke(new ValidaSpliterator(objs, 0, lote));
+        return lote.resultado(tamanho, parcial);
+    }
+
+    /**
+     * Encerra o pool de threads, se ele tiver sido criado por este validador.
+     */
+    @Override
+    public void close() {
+        if (poolProprio) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Valida um objeto e registra o resultado se ele for inválido.
+     *
+     * @param obj the obj
+     * @param indice the indice
+     * @param lote the lote
+     * @param parcial the parcial
+     * @return the parcial
+     */
+    private Parcial valida(T obj, int indice, Lote lote, Parcial parcial) {
+        checkNotNull(obj, "O objeto de índice %s deve ser preenchido.", indice);
+        List<Violation> violations = validator.validate(obj, "", null, groups);
+        if (violations == null || violations.isEmpty()) {
+            return parcial;
+        }
+        if (failFast) {
+            lote.encontrou(indice);
+        }
+        return (parcial == null ? new Parcial() : parcial).adiciona(indice, ValidationResult.of(violations, groups));
+    }
+
+    /**
+     * Estado compartilhado pelas tarefas de um lote.
+     */
+    private final class Lote {
+
+        /** Menor índice inválido encontrado até agora (usado apenas no modo fail-fast). */
+        private final AtomicInteger primeiroInvalido = new AtomicInteger(NENHUM);
+
+        /**
+         * Verifica se o índice ainda precisa ser validado: no modo fail-fast, índices após o primeiro inválido são ignorados.
+         *
+         * @param indice the indice
+         * @return true, if successful
+         */
+        boolean deveValidar(int indice) {
+            return indice < primeiroInvalido.get();
+        }
+
+        /**
+         * Registra um índice inválido, mantendo o menor deles.
+         *
+         * @param indice the indice
+         */
+        void encontrou(int indice) {
+            int atual = primeiroInvalido.get();
+            while(indice < atual && !primeiroInvalido.compareAndSet(atual, indice)) {
+                atual = primeiroInvalido.get();
+            }
+        }
+
+        /**
+         * Monta o resultado final. No modo fail-fast só o primeiro inválido é mantido, para que o resultado não dependa da ordem
+         * em que as tarefas rodaram.
+         *
+         * @param tamanho the tamanho
+         * @param parcial the parcial
+         * @return the batch result
+         */
+        BatchResult resultado(int tamanho, Parcial parcial) {
+            if (parcial == null) {
+                return new BatchResult(tamanho, new int[0], new ValidationResult[0], false);
+            }
+            if (failFast) {
+                return new BatchResult(tamanho, new int[] { parcial.indices[0] }, new ValidationResult[] { parcial.resultados[0] }, true);
+            }
+            return new BatchResult(tamanho, parcial.indices(), parcial.resultados(), false);
+        }
+
+    }
+
+    /**
+     * Objetos inválidos encontrados por uma tarefa, em ordem crescente de índice.
+     */
+    private static final class Parcial {
+
+        /** The indices. */
+        private int[] indices = new int[4];
+
+        /** The resultados. */
+        private ValidationResult[] resultados = new ValidationResult[4];
+
+        /** The tamanho. */
+        private int tamanho;
+
+        /**
+         * Adiciona um objeto inválido.
+         *
+         * @param indice the indice
+         * @param resultado the resultado
+         * @return the parcial
+         */
+        Parcial adiciona(int indice, ValidationResult resultado) {
+            garanteCapacidade(tamanho + 1);
+            indices[tamanho] = indice;
+            resultados[tamanho++] = resultado;
+            return this;
+        }
+
+        /**
+         * Junta dois parciais, sendo todos os índices do primeiro menores que os do segundo.
+         *
+         * @param antes the antes
+         * @param depois the depois
+         * @return the parcial
+         */
+        static Parcial junta(Parcial antes, Parcial depois) {
+            if (antes == null) {
+                return depois;
+            }
+            if (depois == null) {
+                return antes;
+            }
+            antes.garanteCapacidade(antes.tamanho + depois.tamanho);
+            System.arraycopy(depois.indices, 0, antes.indices, antes.tamanho, depois.tamanho);
+            System.arraycopy(depois.resultados, 0, antes.resultados, antes.tamanho, depois.tamanho);
+            antes.tamanho += depois.tamanho;
+            return antes;
+        }
+
+        /**
+         * Garante capacidade.
+         *
+         * @param capacidade the capacidade
+         */
+        private void garanteCapacidade(int capacidade) {
+            if (capacidade > indices.length) {
+                int novaCapacidade = Math.max(capacidade, indices.length * 2);
+                int[] novosIndices = new int[novaCapacidade];
+                ValidationResult[] novosResultados = new ValidationResult[novaCapacidade];
+                System.arraycopy(indices, 0, novosIndices, 0, tamanho);
+                System.arraycopy(resultados, 0, novosResultados, 0, tamanho);
+                indices = novosIndices;
+                resultados = novosResultados;
+            }
+        }
+
+        /**
+         * Índices no tamanho exato.
+         *
+         * @return the int[]
+         */
+        int[] indices() {
+            int[] exatos = new int[tamanho];
+            System.arraycopy(indices, 0, exatos, 0, tamanho);
+            return exatos;
+        }
+
+        /**
+         * Resultados no tamanho exato.
+         *
+         * @return the validation result[]
+         */
+        ValidationResult[] resultados() {
+            ValidationResult[] exatos = new ValidationResult[tamanho];
+            System.arraycopy(resultados, 0, exatos, 0, tamanho);
+            return exatos;
+        }
+
+    }
+
+    /**
+     * Tarefa que valida um intervalo de uma lista com acesso aleatório.
+     */
+    private final class ValidaLista extends RecursiveTask<Parcial> {
+
+        /** The Constant serialVersionUID. */
+        private static final long serialVersionUID = 1L;
+
+        /** The lista. */
+        private final List<? extends T> lista;
+
+        /** The inicio. */
+        private final int inicio;
+
+        /** The fim. */
+        private final int fim;
+
+        /** The lote. */
+        private final Lote lote;
+
+        /**
+         * Instantiates a new valida lista.
+         *
+         * @param lista the lista
+         * @param inicio the inicio
+         * @param fim the fim
+         * @param lote the lote
+         */
+        ValidaLista(List<? extends T> lista, int inicio, int fim, Lote lote) {
+            this.lista = lista;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.lote = lote;
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see java.util.concurrent.RecursiveTask#compute()
+         */
+        @Override
+        protected Parcial compute() {
+            if (fim - inicio > chunkSize) {
+                int meio = (inicio + fim) >>> 1;
+                ValidaLista antes = new ValidaLista(lista, inicio, meio, lote);
+                antes.fork();
+                Parcial depois = new ValidaLista(lista, meio, fim, lote).compute();
+                return Parcial.junta(antes.join(), depois);
+            }
+            Parcial parcial = null;
+            for(int i = inicio; i < fim && lote.deveValidar(i); i++) {
+                parcial = valida(lista.get(i), i, lote, parcial);
+            }
+            return parcial;
+        }
+
+    }
+
+    /**
+     * Tarefa que valida um spliterator {@link Spliterator#SUBSIZED}, cujo primeiro elemento está no índice informado.
+     */
+    private final class ValidaSpliterator extends RecursiveTask<Parcial> implements Consumer<T> {
+
+        /** The Constant serialVersionUID. */
+        private static final long serialVersionUID = 1L;
+
+        /** The spliterator. */
+        private final Spliterator<? extends T> spliterator;
+
+        /** The inicio. */
+        private final int inicio;
+
+        /** The lote. */
+        private final Lote lote;
+
+        /** Índice do próximo elemento consumido. */
+        private int indice;
+
+        /** The parcial. */
+        private Parcial parcial;
+
+        /**
+         * Instantiates a new valida spliterator.
+         *
+         * @param spliterator the spliterator
+         * @param inicio the inicio
+         * @param lote the lote
+         */
+        ValidaSpliterator(Spliterator<? extends T> spliterator, int inicio, Lote lote) {
+            this.spliterator = spliterator;
+            this.inicio = inicio;
+            this.lote = lote;
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see java.util.concurrent.RecursiveTask#compute()
+         */
+        @Override
+        protected Parcial compute() {
+            if (spliterator.estimateSize() > chunkSize) {
+                Spliterator<? extends T> prefixo = spliterator.trySplit();
+                if (prefixo != null) {
+                    ValidaSpliterator antes = new ValidaSpliterator(prefixo, inicio, lote);
+                    antes.fork();
+                    Parcial depois = new ValidaSpliterator(spliterator, inicio + (int) prefixo.getExactSizeIfKnown(), lote).compute();
+                    return Parcial.junta(antes.join(), depois);
+                }
+            }
+            indice = inicio;
+            while(lote.deveValidar(indice) && spliterator.tryAdvance(this)) {
+                indice++;
+            }
+            return parcial;
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see java.util.function.Consumer#accept(java.lang.Object)
+         */
+        @Override
+        public void accept(T obj) {
+            parcial = valida(obj, indice, lote, parcial);
+        }
+
+    }
+
+    /**
+     * The Class Builder.
+     *
+     * @param <T> the generic type
+     */
+    public static final class Builder<T> {
+
+        /** The validator. */
+        private final CompiledValidator<T> validator;
+
+        /** The chunk size. */
+        private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+        /** Paralelismo de um pool próprio; zero usa o {@link ForkJoinPool#commonPool()}. */
+        private int parallelism;
+
+        /** The fail fast. */
+        private boolean failFast;
+
+        /** The groups. */
+        private Class<?>[] groups = Constraints.DEFAULT_GROUPS;
+
+        /**
+         * Instantiates a new builder.
+         *
+         * @param validator the validator
+         */
+        private Builder(CompiledValidator<T> validator) {
+            this.validator = checkNotNull(validator, "O validador deve ser preenchido.");
+        }
+
+        /**
+         * Define quantos objetos cada tarefa valida sequencialmente antes de deixar de dividir a entrada.
+         *
+         * @param chunkSize the chunk size
+         * @return the builder
+         */
+        public Builder<T> chunkSize(int chunkSize) {
+            checkArgument(chunkSize > 0, "O tamanho do bloco deve ser maior que zero.");
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * Usa um pool próprio com o paralelismo informado, em vez do {@link ForkJoinPool#commonPool()}. O pool é encerrado por
+         * {@link BatchValidator#close()}.
+         *
+         * @param parallelism the parallelism
+         * @return the builder
+         */
+        public Builder<T> parallelism(int parallelism) {
+            checkArgument(parallelism > 0, "O paralelismo deve ser maior que zero.");
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Interrompe o lote no primeiro objeto inválido.
+         *
+         * @param failFast the fail fast
+         * @return the builder
+         */
+        public Builder<T> failFast(boolean failFast) {
+            this.failFast = failFast;
+            return this;
+        }
+
+        /**
+         * Define os grupos validados (o grupo {@link javax.validation.groups.Default} se nenhum for informado).
+         *
+         * @param groups the groups
+         * @return the builder
+         */
+        public Builder<T> groups(Class<?>... groups) {
+            checkNotNull(groups, "Os grupos devem ser preenchidos.");
+            this.groups = groups.length == 0 ? Constraints.DEFAULT_GROUPS : groups.clone();
+            return this;
+        }
+
+        /**
+         * Cria o validador em lote.
+         *
+         * @return the batch validator
+         */
+        public BatchValidator<T> build() {
+            return new BatchValidator<T>(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,19 @@
+package br.com.contmatic.empresawilliam.validation;
+
+/**
+ * The Interface Casador.
+ *
+ * Verifica se um texto inteiro casa com uma expressão regular, como {@link java.util.regex.Matcher#matches()}. As instâncias são
+ * obtidas em {@link Padroes#casador(String, int)} e podem ser usadas por várias threads.
+ */
+public interface Casador {
+
+    /**
+     * Verifica se o valor inteiro casa com a expressão.
+     *
+     * @param valor the valor
+     * @return true, if successful
+     */
+    boolean casa(CharSequence valor);
+
+}
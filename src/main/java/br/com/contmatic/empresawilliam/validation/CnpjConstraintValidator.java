@@ -0,0 +1,37 @@
+package br.com.contmatic.empresawilliam.validation;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+import br.com.caelum.stella.bean.validation.CNPJ;
+
+/**
+ * The Class CnpjConstraintValidator.
+ *
+ * Substitui o validador do Stella para {@link CNPJ} (registrado pelo {@link ValidationEngine}), mantendo a mesma semântica
+ * mas usando o {@link CnpjValidator}, que não aloca.
+ */
+public class CnpjConstraintValidator implements ConstraintValidator<CNPJ, String> {
+
+    /** The formatted. */
+    private boolean formatted;
+
+    /*
+     * (non-Javadoc)
+     * @see javax.validation.ConstraintValidator#initialize(java.lang.annotation.Annotation)
+     */
+    @Override
+    public void initialize(CNPJ constraintAnnotation) {
+        this.formatted = constraintAnnotation.formatted();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.validation.ConstraintValidator#isValid(java.lang.Object, javax.validation.ConstraintValidatorContext)
+     */
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return Constraints.isCnpj(value, formatted);
+    }
+
+}
@@ -0,0 +1,299 @@
+package br.com.contmatic.empresawilliam.validation;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkPositionIndex;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
+import java.util.BitSet;
+
+/**
+ * The Class CnpjValidator.
+ *
+ * Validação de CNPJ em uma única passada, sem alocação: confere o tamanho, se todos os caracteres são dígitos e os dois dígitos
+ * verificadores ao mesmo tempo. Trabalha sobre {@link CharSequence}, {@code char[]} e trechos de {@code byte[]} em ASCII, e
+ * possui um modo em lote para buffers de CNPJs de largura fixa. O cálculo é o mesmo do Stella (módulo 11, com 10 e 11
+ * virando 0).
+ */
+public final class CnpjValidator {
+
+    /** Quantidade de dígitos de um CNPJ. */
+    public static final int TAMANHO = 14;
+
+    /** Tamanho do CNPJ formatado (00.000.000/0000-00). */
+    public static final int TAMANHO_FORMATADO = 18;
+
+    /** Maior número representável com 14 dígitos. */
+    public static final long MAIOR_CNPJ = 99999999999999L;
+
+    /** Máscara do CNPJ formatado; {@code #} representa um dígito. */
+    private static final String MASCARA = "##.###.###/####-##";
+
+    /** Pesos do primeiro dígito verificador, para os 12 primeiros dígitos. */
+    private static final int[] PESOS_PRIMEIRO = { 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2 };
+
+    /** Pesos do segundo dígito verificador, para os 13 primeiros dígitos. */
+    private static final int[] PESOS_SEGUNDO = { 6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2 };
+
+    /** The Constant MODULO. */
+    private static final int MODULO = 11;
+
+    /** Estado que indica um caractere que não é dígito. */
+    private static final int INVALIDO = -1;
+
+    /**
+     * Instantiates a new cnpj validator.
+     */
+    private CnpjValidator() {
+
+    }
+
+    // Somente dígitos
+
+    /**
+     * Verifica se a sequência é um CNPJ de 14 dígitos com dígitos verificadores corretos.
+     *
+     * @param cnpj the cnpj
+     * @return true, if is valid
+     */
+    public static boolean isValid(CharSequence cnpj) {
+        if (cnpj == null || cnpj.length() != TAMANHO) {
+            return false;
+        }
+        int primeiro = 0;
+        int segundo = 0;
+        for(int i = 0; i < TAMANHO - 2; i++) {
+            int digito = digito(cnpj.charAt(i));
+            if (digito == INVALIDO) {
+                return false;
+            }
+            primeiro += digito * PESOS_PRIMEIRO[i];
+            segundo += digito * PESOS_SEGUNDO[i];
+        }
+        return confere(primeiro, segundo, digito(cnpj.charAt(TAMANHO - 2)), digito(cnpj.charAt(TAMANHO - 1)));
+    }
+
+    /**
+     * Verifica se o trecho do array é um CNPJ de 14 dígitos com dígitos verificadores corretos.
+     *
+     * @param cnpj the cnpj
+     * @param offset the offset
+     * @param length the length
+     * @return true, if is valid
+     */
+    public static boolean isValid(char[] cnpj, int offset, int length) {
+        checkNotNull(cnpj, "O CNPJ deve ser preenchido.");
+        checkPositionIndexes(offset, offset + length, cnpj.length);
+        if (length != TAMANHO) {
+            return false;
+        }
+        int primeiro = 0;
+        int segundo = 0;
+        for(int i = 0; i < TAMANHO - 2; i++) {
+            int digito = digito(cnpj[offset + i]);
+            if (digito == INVALIDO) {
+                return false;
+            }
+            primeiro += digito * PESOS_PRIMEIRO[i];
+            segundo += digito * PESOS_SEGUNDO[i];
+        }
+        return confere(primeiro, segundo, digito(cnpj[offset + TAMANHO - 2]), digito(cnpj[offset + TAMANHO - 1]));
+    }
+
+    /**
+     * Verifica se o trecho do array, em ASCII, é um CNPJ de 14 dígitos com dígitos verificadores corretos.
+     *
+     * @param cnpj the cnpj
+     * @param offset the offset
+     * @param length the length
+     * @return true, if is valid
+     */
+    public static boolean isValid(byte[] cnpj, int offset, int length) {
+        checkNotNull(cnpj, "O CNPJ deve ser preenchido.");
+        checkPositionIndexes(offset, offset + length, cnpj.length);
+        return length == TAMANHO && isValidSemVerificacao(cnpj, offset);
+    }
+
+    /**
+     * Verifica se o número, lido como 14 dígitos com zeros à esquerda, tem dígitos verificadores corretos.
+     *
+     * @param cnpj the cnpj
+     * @return true, if is valid
+     */
+    public static boolean isValid(long cnpj) {
+        if (cnpj < 0 || cnpj > MAIOR_CNPJ) {
+            return false;
+        }
+        int ultimo = (int) (cnpj % 10);
+        int penultimo = (int) (cnpj / 10 % 10);
+        long base = cnpj / 100;
+        int primeiro = 0;
+        int segundo = 0;
+        for(int i = TAMANHO - 3; i >= 0; i--, base /= 10) {
+            int digito = (int) (base % 10);
+            primeiro += digito * PESOS_PRIMEIRO[i];
+            segundo += digito * PESOS_SEGUNDO[i];
+        }
+        return confere(primeiro, segundo, penultimo, ultimo);
+    }
+
+    // Com máscara
+
+    /**
+     * Verifica se a sequência é um CNPJ no formato 00.000.000/0000-00 com dígitos verificadores corretos.
+     *
+     * @param cnpj the cnpj
+     * @return true, if is valid formatado
+     */
+    public static boolean isValidFormatado(CharSequence cnpj) {
+        if (cnpj == null || cnpj.length() != TAMANHO_FORMATADO) {
+            return false;
+        }
+        int primeiro = 0;
+        int segundo = 0;
+        int posicao = 0;
+        int penultimo = INVALIDO;
+        for(int i = 0; i < TAMANHO_FORMATADO; i++) {
+            char c = cnpj.charAt(i);
+            char esperado = MASCARA.charAt(i);
+            if (esperado != '#') {
+                if (c != esperado) {
+                    return false;
+                }
+                continue;
+            }
+            int digito = digito(c);
+            if (digito == INVALIDO) {
+                return false;
+            }
+            if (posicao < TAMANHO - 2) {
+                primeiro += digito * PESOS_PRIMEIRO[posicao];
+                segundo += digito * PESOS_SEGUNDO[posicao];
+            } else if (posicao == TAMANHO - 2) {
+                penultimo = digito;
+            } else {
+                return confere(primeiro, segundo, penultimo, digito);
+            }
+            posicao++;
+        }
+        return false;
+    }
+
+    /**
+     * Verifica se a sequência é um CNPJ válido com ou sem máscara.
+     *
+     * @param cnpj the cnpj
+     * @return true, if is valid com ou sem mascara
+     */
+    public static boolean isValidComOuSemMascara(CharSequence cnpj) {
+        return isValid(cnpj) || isValidFormatado(cnpj);
+    }
+
+    // Lote
+
+    /**
+     * Valida um buffer ASCII com CNPJs de 14 dígitos gravados lado a lado.
+     *
+     * @param buffer the buffer
+     * @param offset the offset
+     * @param quantidade the quantidade
+     * @return os índices (a partir de 0) dos CNPJs inválidos
+     */
+    public static BitSet invalidos(byte[] buffer, int offset, int quantidade) {
+        return invalidos(buffer, offset, quantidade, TAMANHO);
+    }
+
+    /**
+     * Valida um buffer ASCII com registros de largura fixa, cada um começando por um CNPJ de 14 dígitos (o restante do registro,
+     * como separadores ou quebras de linha, é ignorado).
+     *
+     * @param buffer the buffer
+     * @param offset the offset
+     * @param quantidade the quantidade
+     * @param larguraDoRegistro the largura do registro
+     * @return os índices (a partir de 0) dos CNPJs inválidos
+     */
+    public static BitSet invalidos(byte[] buffer, int offset, int quantidade, int larguraDoRegistro) {
+        checkNotNull(buffer, "O buffer deve ser preenchido.");
+        checkArgument(quantidade >= 0, "A quantidade de CNPJs não pode ser negativa.");
+        checkArgument(larguraDoRegistro >= TAMANHO, "O registro deve ter ao menos %s bytes.", TAMANHO);
+        if (quantidade > 0) {
+            // Em long: com muitos registros largos o fim estouraria o int e poderia cair dentro do buffer.
+            long fim = offset + (long) (quantidade - 1) * larguraDoRegistro + TAMANHO;
+            checkPositionIndex(offset, buffer.length);
+            if (fim > buffer.length) {
+                throw new IndexOutOfBoundsException("Os registros terminam em " + fim + ", além do tamanho do buffer (" + buffer.length + ").");
+            }
+        }
+        BitSet invalidos = new BitSet(quantidade);
+        for(int i = 0, posicao = offset; i < quantidade; i++, posicao += larguraDoRegistro) {
+            if (!isValidSemVerificacao(buffer, posicao)) {
+                invalidos.set(i);
+            }
+        }
+        return invalidos;
+    }
+
+    // Cálculo
+
+    /**
+     * Valida 14 bytes a partir da posição, sem conferir os limites do array.
+     *
+     * @param cnpj the cnpj
+     * @param offset the offset
+     * @return true, if is valid sem verificacao
+     */
+    private static boolean isValidSemVerificacao(byte[] cnpj, int offset) {
+        int primeiro = 0;
+        int segundo = 0;
+        for(int i = 0; i < TAMANHO - 2; i++) {
+            int digito = digito(cnpj[offset + i]);
+            if (digito == INVALIDO) {
+                return false;
+            }
+            primeiro += digito * PESOS_PRIMEIRO[i];
+            segundo += digito * PESOS_SEGUNDO[i];
+        }
+        return confere(primeiro, segundo, digito(cnpj[offset + TAMANHO - 2]), digito(cnpj[offset + TAMANHO - 1]));
+    }
+
+    /**
+     * Confere os dois dígitos verificadores a partir das somas ponderadas dos 12 primeiros dígitos.
+     *
+     * @param primeiro soma ponderada para o primeiro dígito
+     * @param segundo soma ponderada parcial para o segundo dígito
+     * @param penultimo the penultimo
+     * @param ultimo the ultimo
+     * @return true, if successful
+     */
+    private static boolean confere(int primeiro, int segundo, int penultimo, int ultimo) {
+        int primeiroDigito = digitoVerificador(primeiro);
+        if (penultimo != primeiroDigito) {
+            return false;
+        }
+        return ultimo == digitoVerificador(segundo + primeiroDigito * PESOS_SEGUNDO[TAMANHO - 2]);
+    }
+
+    /**
+     * Calcula o dígito verificador: o complemento do resto da divisão por 11, sendo 10 e 11 substituídos por 0.
+     *
+     * @param soma the soma
+     * @return the int
+     */
+    private static int digitoVerificador(int soma) {
+        int resto = soma % MODULO;
+        return resto < 2 ? 0 : MODULO - resto;
+    }
+
+    /**
+     * Converte um caractere ASCII em dígito, ou {@link #INVALIDO} se não for um dígito.
+     *
+     * @param c the c
+     * @return the int
+     */
+    private static int digito(int c) {
+        int digito = c - '0';
+        return digito >= 0 && digito <= 9 ? digito : INVALIDO;
+    }
+
+}
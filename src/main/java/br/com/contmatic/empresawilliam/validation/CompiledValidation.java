@@ -0,0 +1,21 @@
+package br.com.contmatic.empresawilliam.validation;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.SOURCE;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * The Annotation CompiledValidation.
+ *
+ * Marca uma entidade para que o processador de anotações gere, em tempo de compilação, um {@link CompiledValidator} com as
+ * mesmas constraints declaradas nos seus campos. O validador gerado fica no mesmo pacote, com o nome {@code <Entidade>Validator}.
+ */
+@Documented
+@Retention(SOURCE)
+@Target(TYPE)
+public @interface CompiledValidation {
+
+}
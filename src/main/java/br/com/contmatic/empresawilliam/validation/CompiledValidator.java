@@ -0,0 +1,115 @@
+package br.com.contmatic.empresawilliam.validation;
+
+import java.util.List;
+
+/**
+ * The Interface CompiledValidator.
+ *
+ * Validador gerado em tempo de compilação para uma entidade anotada com {@link CompiledValidation}. Produz exatamente as mesmas
+ * mensagens e caminhos de propriedade do Hibernate Validator, sem reflexão e sem alocar nada quando não há violações.
+ *
+ * @param <T> the generic type
+ */
+public interface CompiledValidator<T> {
+
+    /**
+     * Valida o objeto no grupo {@link javax.validation.groups.Default}.
+     *
+     * @param obj the obj
+     * @return the validation result
+     */
+    ValidationResult validate(T obj);
+
+    /**
+     * Valida o objeto nos grupos informados (ou no grupo {@link javax.validation.groups.Default}, se nenhum for informado).
+     *
+     * @param obj the obj
+     * @param groups the groups
+     * @return the validation result
+     */
+    ValidationResult validate(T obj, Class<?>... groups);
+
+    /**
+     * Valida o objeto acumulando as violações na lista informada. A lista só é criada quando surge a primeira violação, por isso
+     * pode ser nula na entrada e é devolvida (possivelmente nula) na saída. Usado pela validação em cascata ({@code @Valid}).
+     *
+     * @param obj the obj
+     * @param prefix prefixo do caminho das propriedades (vazio para o objeto raiz)
+     * @param violations the violations
+     * @param groups the groups
+     * @return the list
+     */
+    List<Violation> validate(T obj, String prefix, List<Violation> violations, Class<?>[] groups);
+
+    /**
+     * Como {@link #validate(Object, String, List, Class[])}, no modo informado. No modo {@link ValidationMode#FIRST} a validação
+     * para assim que a lista deixa de ser nula, inclusive se ela já chegar preenchida. Validadores que não distinguem os modos
+     * verificam tudo.
+     *
+     * @param obj the obj
+     * @param prefix prefixo do caminho das propriedades (vazio para o objeto raiz)
+     * @param violations the violations
+     * @param groups the groups
+     * @param mode the mode
+     * @return the list
+     */
+    default List<Violation> validate(T obj, String prefix, List<Violation> violations, Class<?>[] groups, ValidationMode mode) {
+        return validate(obj, prefix, violations, groups);
+    }
+
+    /**
+     * Valida o objeto no modo e nos grupos informados (ou no grupo {@link javax.validation.groups.Default}, se nenhum for
+     * informado).
+     *
+     * @param obj the obj
+     * @param mode the mode
+     * @param groups the groups
+     * @return the validation result
+     */
+    default ValidationResult validate(T obj, ValidationMode mode, Class<?>... groups) {
+        return ValidationResult.of(validate(obj, "", null, groups.length == 0 ? Constraints.DEFAULT_GROUPS : groups, mode), groups);
+    }
+
+    /**
+     * Verifica se o objeto é válido no grupo {@link javax.validation.groups.Default}, parando na primeira violação
+     * ({@link ValidationMode#FIRST}). Não aloca nada quando o objeto é válido.
+     *
+     * @param obj the obj
+     * @return true, if is valid
+     */
+    default boolean isValid(T obj) {
+        return validate(obj, "", null, Constraints.DEFAULT_GROUPS, ValidationMode.FIRST) == null;
+    }
+
+    /**
+     * Verifica se o objeto é válido nos grupos informados, parando na primeira violação ({@link ValidationMode#FIRST}).
+     *
+     * @param obj the obj
+     * @param groups the groups
+     * @return true, if is valid
+     */
+    default boolean isValid(T obj, Class<?>... groups) {
+        return validate(obj, "", null, groups.length == 0 ? Constraints.DEFAULT_GROUPS : groups, ValidationMode.FIRST) == null;
+    }
+
+    /**
+     * Revalida o objeto depois de alterações feitas pelos setters. Nas entidades {@link DirtyTracked}, o validador gerado verifica
+     * só as propriedades alteradas desde a última revalidação (e as que dependem da data atual), reaproveitando do resultado
+     * anterior as violações das demais, e então esquece as alterações. Propriedades validadas em cascata são verificadas de novo
+     * por inteiro quando a coleção foi trocada ou algum elemento foi alterado.
+     *
+     * O resultado anterior deve ser o da validação completa mais recente do objeto; se for nulo ou de outros grupos
+     * ({@link ValidationResult#hasGroups(Class...)}), o objeto é validado por inteiro. Inclusões e remoções feitas direto nas
+     * coleções são percebidas quando a coleção conta as alterações ({@link ModificationCounted}); as demais alterações que não
+     * passam pelos setters não são percebidas. Validadores de entidades sem rastreamento validam tudo.
+     *
+     * @param obj the obj
+     * @param previous resultado da validação anterior, ou nulo
+     * @param groups the groups
+     * @return the validation result
+     */
+    default ValidationResult revalidate(T obj, ValidationResult previous, Class<?>... groups) {
+        return validate(obj, groups);
+    }
+
+}
@@ -0,0 +1,342 @@
+package br.com.contmatic.empresawilliam.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.validation.groups.Default;
+
+import org.hibernate.validator.internal.constraintvalidators.hv.EmailValidator;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Instant;
+import org.joda.time.LocalDate;
+import org.joda.time.ReadablePartial;
+
+/**
+ * The Class Constraints.
+ *
+ * Funções de suporte chamadas pelos validadores gerados. Cada método reproduz a semântica do validador correspondente do
+ * Hibernate Validator (ou do Stella, no caso do CNPJ) e nenhum deles aloca quando o valor é válido.
+ */
+public final class Constraints {
+
+    /** Grupos usados quando nenhum grupo é informado. */
+    public static final Class<?>[] DEFAULT_GROUPS = { Default.class };
+
+    /** Tamanho máximo da parte local de um email. */
+    private static final int TAMANHO_MAXIMO_PARTE_LOCAL = 64;
+
+    /** Até esse tamanho o email é convertido para ASCII num único bloco pelo Hibernate Validator. */
+    private static final int TAMANHO_MAXIMO_BLOCO_ASCII = 63;
+
+    /** Milissegundos em um dia. */
+    private static final long MILIS_POR_DIA = 86400000L;
+
+    /** Validador de email do Hibernate Validator, usado apenas quando o caminho rápido não decide. */
+    private static final EmailValidator EMAIL = new EmailValidator();
+
+    /** Data de hoje em UTC, calculada no máximo uma vez por dia. */
+    private static volatile Hoje hojeUtc = new Hoje(0L);
+
+    /**
+     * Instantiates a new constraints.
+     */
+    private Constraints() {
+
+    }
+
+    // Grupos e violações
+
+    /**
+     * Verifica se algum dos grupos requisitados é o grupo informado ou herda dele.
+     *
+     * @param groups the groups
+     * @param group the group
+     * @return true, if successful
+     */
+    public static boolean contains(Class<?>[] groups, Class<?> group) {
+        for(int i = 0; i < groups.length; i++) {
+            if (group.isAssignableFrom(groups[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adiciona uma violação, criando a lista na primeira chamada.
+     *
+     * @param violations the violations
+     * @param prefix the prefix
+     * @param property the property
+     * @param message the message
+     * @return the list
+     */
+    public static List<Violation> add(List<Violation> violations, String prefix, String property, String message) {
+        List<Violation> lista = violations != null ? violations : new ArrayList<Violation>(4);
+        lista.add(new Violation(prefix.isEmpty() ? property : prefix + property, message));
+        return lista;
+    }
+
+    // Revalidação
+
+    /**
+     * Copia do resultado anterior as violações da propriedade informada do objeto raiz: as da própria propriedade e as dos objetos
+     * validados em cascata a partir dela ({@code property.x} e {@code property[].x}).
+     *
+     * @param previous the previous
+     * @param property the property
+     * @param violations the violations
+     * @return the list
+     */
+    public static List<Violation> reuse(ValidationResult previous, String property, List<Violation> violations) {
+        List<Violation> anteriores = previous.getViolations();
+        for(int i = 0; i < anteriores.size(); i++) {
+            Violation violation = anteriores.get(i);
+            if (isDaPropriedade(violation.getPropertyPath(), property)) {
+                if (violations == null) {
+                    violations = new ArrayList<Violation>(4);
+                }
+                violations.add(violation);
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Verifica se o valor validado em cascata foi alterado: um {@link DirtyTracked} com alterações ou uma coleção com algum
+     * elemento alterado. Coleções que guardam cópias ({@link ModificationCounted#copiesElements()}) não são percorridas, já que
+     * seus elementos não podem ser alterados por fora; inclusões e remoções são percebidas pela entidade dona da coleção.
+     *
+     * @param value the value
+     * @return true, if is dirty
+     */
+    public static boolean isDirty(Object value) {
+        if (value instanceof DirtyTracked) {
+            return ((DirtyTracked) value).dirtyProperties() != 0;
+        }
+        if (value instanceof ModificationCounted && ((ModificationCounted) value).copiesElements()) {
+            return false;
+        }
+        if (value instanceof Iterable) {
+            for(Object elemento : (Iterable<?>) value) {
+                if (elemento instanceof DirtyTracked && ((DirtyTracked) elemento).dirtyProperties() != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Esquece as alterações do valor validado em cascata (ou de cada elemento, se for uma coleção).
+     *
+     * @param value the value
+     */
+    public static void markClean(Object value) {
+        if (value instanceof DirtyTracked) {
+            ((DirtyTracked) value).markClean();
+        } else if (value instanceof Iterable && !(value instanceof ModificationCounted && ((ModificationCounted) value).copiesElements())) {
+            for(Object elemento : (Iterable<?>) value) {
+                if (elemento instanceof DirtyTracked) {
+                    ((DirtyTracked) elemento).markClean();
+                }
+            }
+        }
+    }
+
+    // Validações
+
+    /**
+     * Equivalente ao {@code NotBlankValidator}: verdadeiro se a sequência só contém caracteres que {@link String#trim()} remove.
+     *
+     * @param value the value
+     * @return true, if is blank
+     */
+    public static boolean isBlank(CharSequence value) {
+        for(int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cria um {@link Matcher} por thread para a expressão, reaproveitado a cada validação.
+     *
+     * @param regexp the regexp
+     * @param flags the flags
+     * @return the thread local
+     */
+    public static ThreadLocal<Matcher> matcher(String regexp, int flags) {
+        final Pattern pattern = Pattern.compile(regexp, flags);
+        return new ThreadLocal<Matcher>() {
+
+            @Override
+            protected Matcher initialValue() {
+                return pattern.matcher("");
+            }
+
+        };
+    }
+
+    /**
+     * Equivalente ao {@code PatternValidator}: a sequência inteira deve casar com a expressão.
+     *
+     * @param matcher the matcher
+     * @param value the value
+     * @return true, if successful
+     */
+    public static boolean matches(ThreadLocal<Matcher> matcher, CharSequence value) {
+        Matcher m = matcher.get();
+        boolean casou = m.reset(value).matches();
+        m.reset("");
+        return casou;
+    }
+
+    /**
+     * Equivalente ao {@code EmailValidator}. Emails curtos, em ASCII e com a estrutura simples aceita pelo Hibernate Validator são
+     * decididos sem alocação; os demais são repassados ao próprio {@code EmailValidator}.
+     *
+     * @param value the value
+     * @return true, if is email
+     */
+    public static boolean isEmail(CharSequence value) {
+        if (value.length() == 0) {
+            return true;
+        }
+        if (value.length() <= TAMANHO_MAXIMO_BLOCO_ASCII) {
+            int arroba = -1;
+            boolean simples = true;
+            for(int i = 0; i < value.length() && simples; i++) {
+                char c = value.charAt(i);
+                if (c == '@') {
+                    simples = arroba < 0;
+                    arroba = i;
+                } else {
+                    simples = c == '.' || isAtomo(c);
+                }
+            }
+            if (simples && arroba > 0 && arroba <= TAMANHO_MAXIMO_PARTE_LOCAL && arroba < value.length() - 1) {
+                return isSequenciaDeAtomos(value, 0, arroba) && isSequenciaDeAtomos(value, arroba + 1, value.length());
+            }
+        }
+        return EMAIL.isValid(value, null);
+    }
+
+    /**
+     * Equivalente ao {@code StellaCNPJValidator}: valores nulos ou em branco são aceitos; sem formatação, o Stella aceita tanto os
+     * 14 dígitos quanto o CNPJ com máscara.
+     *
+     * @param value the value
+     * @param formatted the formatted
+     * @return true, if is cnpj
+     */
+    public static boolean isCnpj(String value, boolean formatted) {
+        if (value == null || isBlank(value)) {
+            return true;
+        }
+        return formatted ? CnpjValidator.isValidFormatado(value) : CnpjValidator.isValidComOuSemMascara(value);
+    }
+
+    /**
+     * Equivalente ao {@code FutureValidatorForReadablePartial}: a data, completada com o horário atual em UTC, deve ser posterior
+     * ao instante atual. Para {@link LocalDate} isso equivale a ser posterior à data de hoje em UTC.
+     *
+     * @param value the value
+     * @return true, if is future
+     */
+    public static boolean isFuture(ReadablePartial value) {
+        long agora = System.currentTimeMillis();
+        if (value instanceof LocalDate) {
+            return ((LocalDate) value).isAfter(hojeUtc(agora));
+        }
+        return value.toDateTime(new Instant(agora)).isAfter(agora);
+    }
+
+    /**
+     * Obtém a data de hoje em UTC, reaproveitando a instância enquanto o dia não muda.
+     *
+     * @param agora the agora
+     * @return the local date
+     */
+    private static LocalDate hojeUtc(long agora) {
+        Hoje hoje = hojeUtc;
+        if (hoje.dia != Math.floorDiv(agora, MILIS_POR_DIA)) {
+            hoje = new Hoje(agora);
+            hojeUtc = hoje;
+        }
+        return hoje.data;
+    }
+
+    /**
+     * Verifica se o caminho é o da propriedade ou de algum objeto validado em cascata a partir dela.
+     *
+     * @param caminho the caminho
+     * @param propriedade the propriedade
+     * @return true, if is da propriedade
+     */
+    private static boolean isDaPropriedade(String caminho, String propriedade) {
+        if (!caminho.startsWith(propriedade)) {
+            return false;
+        }
+        int fim = propriedade.length();
+        return caminho.length() == fim || caminho.charAt(fim) == '.' || caminho.startsWith("[].", fim);
+    }
+
+    /**
+     * Verifica se o caractere pertence ao átomo de email do Hibernate Validator.
+     *
+     * @param c the c
+     * @return true, if is atomo
+     */
+    private static boolean isAtomo(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || "!#$%&'*+/=?^_`{|}~-".indexOf(c) >= 0;
+    }
+
+    /**
+     * Verifica se o trecho é uma sequência de átomos separados por pontos, sem pontos no início, no fim ou repetidos.
+     *
+     * @param value the value
+     * @param inicio the inicio
+     * @param fim the fim
+     * @return true, if is sequencia de atomos
+     */
+    private static boolean isSequenciaDeAtomos(CharSequence value, int inicio, int fim) {
+        boolean anteriorEraPonto = true;
+        for(int i = inicio; i < fim; i++) {
+            boolean ponto = value.charAt(i) == '.';
+            if (ponto && anteriorEraPonto) {
+                return false;
+            }
+            anteriorEraPonto = ponto;
+        }
+        return !anteriorEraPonto;
+    }
+
+    /**
+     * The Class Hoje.
+     */
+    private static final class Hoje {
+
+        /** Dia desde a época, em UTC. */
+        private final long dia;
+
+        /** The data. */
+        private final LocalDate data;
+
+        /**
+         * Instantiates a new hoje.
+         *
+         * @param agora the agora
+         */
+        private Hoje(long agora) {
+            this.dia = Math.floorDiv(agora, MILIS_POR_DIA);
+            this.data = new LocalDate(agora, DateTimeZone.UTC);
+        }
+
+    }
+
+}
@@ -0,0 +1,24 @@
+package br.com.contmatic.empresawilliam.validation;
+
+/**
+ * The Interface DirtyTracked.
+ *
+ * Entidade que registra, em uma máscara de bits, as propriedades alteradas pelos setters desde a última revalidação. Usada por
+ * {@link CompiledValidator#revalidate(Object, ValidationResult, Class...)} para verificar só o que mudou. Cada propriedade
+ * validada corresponde a uma constante {@code static final int ALTERACAO_<PROPRIEDADE>} da entidade, exigida pelo processador.
+ */
+public interface DirtyTracked {
+
+    /**
+     * Propriedades alteradas desde a última chamada de {@link #markClean()}.
+     *
+     * @return a máscara com os bits {@code ALTERACAO_*} das propriedades alteradas
+     */
+    int dirtyProperties();
+
+    /**
+     * Esquece as alterações registradas.
+     */
+    void markClean();
+
+}
@@ -0,0 +1,26 @@
+package br.com.contmatic.empresawilliam.validation;
+
+/**
+ * The Interface ModificationCounted.
+ *
+ * Coleção que conta as próprias alterações (inclusões, remoções e limpezas, inclusive pelo iterador). Permite a uma entidade
+ * {@link DirtyTracked} perceber alterações feitas direto na coleção devolvida pelo getter, que não passam pelos setters.
+ */
+public interface ModificationCounted {
+
+    /**
+     * Quantidade de alterações desde a criação da coleção; só cresce.
+     *
+     * @return the int
+     */
+    int modificationCount();
+
+    /**
+     * Indica se a coleção guarda e devolve cópias dos elementos. Nesse caso alterar um elemento devolvido não altera a coleção, e
+     * a revalidação em cascata não precisa procurar elementos alterados.
+     *
+     * @return true, if successful
+     */
+    boolean copiesElements();
+
+}
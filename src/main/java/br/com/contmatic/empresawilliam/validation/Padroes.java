@@ -0,0 +1,381 @@
+package br.com.contmatic.empresawilliam.validation;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.regex.Matcher;
+
+/**
+ * The Class Padroes.
+ *
+ * Casadores das expressões regulares usadas nas entidades. As expressões conhecidas (email, site, CEP e logradouro, além das
+ * sequências de dígitos e letras) são verificadas por código escrito à mão, numa só passada e sem alocação; as demais passam pelo
+ * {@code java.util.regex}, com um {@link Matcher} reaproveitado por thread.
+ *
+ * Os casadores escritos à mão reproduzem a semântica do {@code java.util.regex} sem flags: {@code \d} e {@code \w} só aceitam
+ * caracteres ASCII e as classes diferenciam maiúsculas de minúsculas.
+ */
+public final class Padroes {
+
+    /** Expressão do email da empresa. */
+    public static final String EMAIL = "[a-z]+@{1}\\w+\\.com{1}(\\.br)*";
+
+    /** Expressão do site da empresa. */
+    public static final String SITE = "[a-z]+(\\.com)*\\.br{1}";
+
+    /** Expressão do tipo de logradouro. */
+    public static final String TIPO_LOGRADOURO = "[a-zA-Z]{3,10}";
+
+    /** Expressão do nome de logradouro. */
+    public static final String NOME_LOGRADOURO = "[a-zA-Z0-9]+";
+
+    /** Expressão do nome de proprietário. */
+    public static final String LETRAS = "[a-zA-Z]+";
+
+    /** Prefixo das expressões de quantidade fixa de dígitos ({@code \d{8}}, {@code \d{14}}...). */
+    private static final String DIGITOS = "\\d{";
+
+    /** Maior quantidade de dígitos reconhecida em {@code \d{n}}. */
+    private static final int MAXIMO_DE_DIGITOS = 999;
+
+    /** The Constant CASADOR_DE_EMAIL. */
+    private static final Casador CASADOR_DE_EMAIL = new Casador() {
+
+        @Override
+        public boolean casa(CharSequence valor) {
+            return isEmail(valor);
+        }
+
+        @Override
+        public String toString() {
+            return EMAIL;
+        }
+    };
+
+    /** The Constant CASADOR_DE_SITE. */
+    private static final Casador CASADOR_DE_SITE = new Casador() {
+
+        @Override
+        public boolean casa(CharSequence valor) {
+            return isSite(valor);
+        }
+
+        @Override
+        public String toString() {
+            return SITE;
+        }
+    };
+
+    /**
+     * Instantiates a new padroes.
+     */
+    private Padroes() {
+
+    }
+
+    /**
+     * Casador da expressão: escrito à mão para as expressões conhecidas e sem flags, ou baseado em {@code java.util.regex}.
+     *
+     * @param regexp the regexp
+     * @param flags as flags de {@link java.util.regex.Pattern}
+     * @return the casador
+     */
+    public static Casador casador(String regexp, int flags) {
+        checkNotNull(regexp, "A expressão deve ser preenchida.");
+        Casador casador = flags == 0 ? escritoAMao(regexp) : null;
+        return casador != null ? casador : new PorExpressao(regexp, flags);
+    }
+
+    // Casadores escritos à mão
+
+    /**
+     * Equivalente a {@link #EMAIL}: letras minúsculas, {@code @}, caracteres de palavra, {@code .com} e zero ou mais {@code .br}.
+     *
+     * @param valor the valor
+     * @return true, if is email
+     */
+    public static boolean isEmail(CharSequence valor) {
+        int tamanho = valor.length();
+        int i = pulaMinusculas(valor, 0);
+        if (i == 0 || i == tamanho || valor.charAt(i) != '@') {
+            return false;
+        }
+        int inicio = ++i;
+        while(i < tamanho && isCaractereDePalavra(valor.charAt(i))) {
+            i++;
+        }
+        if (i == inicio || !comeca(valor, i, ".com")) {
+            return false;
+        }
+        for(i += 4; i < tamanho; i += 3) {
+            if (!comeca(valor, i, ".br")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Equivalente a {@link #SITE}: letras minúsculas, zero ou mais {@code .com} e {@code .br} no final.
+     *
+     * @param valor the valor
+     * @return true, if is site
+     */
+    public static boolean isSite(CharSequence valor) {
+        int tamanho = valor.length();
+        int i = pulaMinusculas(valor, 0);
+        if (i == 0) {
+            return false;
+        }
+        while(comeca(valor, i, ".com")) {
+            i += 4;
+        }
+        return i == tamanho - 3 && comeca(valor, i, ".br");
+    }
+
+    // Auxiliares
+
+    /**
+     * Casador escrito à mão para a expressão, se houver.
+     *
+     * @param regexp the regexp
+     * @return the casador, ou null
+     */
+    private static Casador escritoAMao(String regexp) {
+        if (EMAIL.equals(regexp)) {
+            return CASADOR_DE_EMAIL;
+        }
+        if (SITE.equals(regexp)) {
+            return CASADOR_DE_SITE;
+        }
+        if (TIPO_LOGRADOURO.equals(regexp)) {
+            return new Repeticao(regexp, Classe.LETRA, 3, 10);
+        }
+        if (NOME_LOGRADOURO.equals(regexp)) {
+            return new Repeticao(regexp, Classe.LETRA_OU_DIGITO, 1, Integer.MAX_VALUE);
+        }
+        if (LETRAS.equals(regexp)) {
+            return new Repeticao(regexp, Classe.LETRA, 1, Integer.MAX_VALUE);
+        }
+        int quantidade = quantidadeDeDigitos(regexp);
+        return quantidade < 0 ? null : new Repeticao(regexp, Classe.DIGITO, quantidade, quantidade);
+    }
+
+    /**
+     * Quantidade {@code n} de uma expressão {@code \d{n}}.
+     *
+     * @param regexp the regexp
+     * @return a quantidade, ou -1 se a expressão não tiver essa forma
+     */
+    private static int quantidadeDeDigitos(String regexp) {
+        if (!regexp.startsWith(DIGITOS) || !regexp.endsWith("}") || regexp.length() == DIGITOS.length() + 1) {
+            return -1;
+        }
+        int quantidade = 0;
+        for(int i = DIGITOS.length(); i < regexp.length() - 1; i++) {
+            char c = regexp.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            quantidade = quantidade * 10 + (c - '0');
+            if (quantidade > MAXIMO_DE_DIGITOS) {
+                return -1;
+            }
+        }
+        return quantidade;
+    }
+
+    /**
+     * Posição do primeiro caractere, a partir de {@code inicio}, que não é uma letra minúscula ASCII.
+     *
+     * @param valor the valor
+     * @param inicio the inicio
+     * @return the int
+     */
+    private static int pulaMinusculas(CharSequence valor, int inicio) {
+        int i = inicio;
+        while(i < valor.length() && valor.charAt(i) >= 'a' && valor.charAt(i) <= 'z') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Verifica se o texto tem o trecho na posição informada.
+     *
+     * @param valor the valor
+     * @param posicao the posicao
+     * @param trecho the trecho
+     * @return true, if successful
+     */
+    private static boolean comeca(CharSequence valor, int posicao, String trecho) {
+        if (posicao + trecho.length() > valor.length()) {
+            return false;
+        }
+        for(int i = 0; i < trecho.length(); i++) {
+            if (valor.charAt(posicao + i) != trecho.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Equivalente a {@code \w} sem flags: {@code [a-zA-Z_0-9]}.
+     *
+     * @param c the c
+     * @return true, if is caractere de palavra
+     */
+    private static boolean isCaractereDePalavra(char c) {
+        return Classe.LETRA_OU_DIGITO.contem(c) || c == '_';
+    }
+
+    /**
+     * Classes de caracteres ASCII das expressões conhecidas.
+     */
+    private enum Classe {
+
+        /** {@code \d}. */
+        DIGITO {
+
+            @Override
+            boolean contem(char c) {
+                return c >= '0' && c <= '9';
+            }
+        },
+
+        /** {@code [a-zA-Z]}. */
+        LETRA {
+
+            @Override
+            boolean contem(char c) {
+                return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+            }
+        },
+
+        /** {@code [a-zA-Z0-9]}. */
+        LETRA_OU_DIGITO {
+
+            @Override
+            boolean contem(char c) {
+                return LETRA.contem(c) || DIGITO.contem(c);
+            }
+        };
+
+        /**
+         * Verifica se o caractere pertence à classe.
+         *
+         * @param c the c
+         * @return true, if successful
+         */
+        abstract boolean contem(char c);
+
+    }
+
+    /**
+     * Uma classe de caracteres repetida entre um mínimo e um máximo de vezes ({@code [a-zA-Z]{3,10}}, {@code \d{8}}...).
+     */
+    private static final class Repeticao implements Casador {
+
+        /** The regexp. */
+        private final String regexp;
+
+        /** The classe. */
+        private final Classe classe;
+
+        /** The minimo. */
+        private final int minimo;
+
+        /** The maximo. */
+        private final int maximo;
+
+        /**
+         * Instantiates a new repeticao.
+         *
+         * @param regexp the regexp
+         * @param classe the classe
+         * @param minimo the minimo
+         * @param maximo the maximo
+         */
+        Repeticao(String regexp, Classe classe, int minimo, int maximo) {
+            this.regexp = regexp;
+            this.classe = classe;
+            this.minimo = minimo;
+            this.maximo = maximo;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see br.com.contmatic.empresawilliam.validation.Casador#casa(java.lang.CharSequence)
+         */
+        @Override
+        public boolean casa(CharSequence valor) {
+            int tamanho = valor.length();
+            if (tamanho < minimo || tamanho > maximo) {
+                return false;
+            }
+            for(int i = 0; i < tamanho; i++) {
+                if (!classe.contem(valor.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.lang.Object#toString()
+         */
+        @Override
+        public String toString() {
+            return regexp;
+        }
+
+    }
+
+    /**
+     * Casador das demais expressões, pelo {@code java.util.regex}.
+     */
+    private static final class PorExpressao implements Casador {
+
+        /** The regexp. */
+        private final String regexp;
+
+        /** The matcher. */
+        private final ThreadLocal<Matcher> matcher;
+
+        /**
+         * Instantiates a new por expressao.
+         *
+         * @param regexp the regexp
+         * @param flags the flags
+         */
+        PorExpressao(String regexp, int flags) {
+            this.regexp = regexp;
+            this.matcher = Constraints.matcher(regexp, flags);
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see br.com.contmatic.empresawilliam.validation.Casador#casa(java.lang.CharSequence)
+         */
+        @Override
+        public boolean casa(CharSequence valor) {
+            return Constraints.matches(matcher, valor);
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.lang.Object#toString()
+         */
+        @Override
+        public String toString() {
+            return regexp;
+        }
+
+    }
+
+}
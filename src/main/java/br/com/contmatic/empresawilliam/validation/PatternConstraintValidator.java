@@ -0,0 +1,41 @@
+package br.com.contmatic.empresawilliam.validation;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.constraints.Pattern;
+
+/**
+ * The Class PatternConstraintValidator.
+ *
+ * Substitui o {@code PatternValidator} do Hibernate Validator (registrado pelo {@link ValidationEngine}), com a mesma semântica,
+ * usando o {@link Casador} de {@link Padroes}: as expressões das entidades são verificadas sem {@code java.util.regex}. Como o
+ * {@code @Email} do Hibernate Validator é composto por um {@link Pattern}, o {@code regexp} do email também passa por aqui.
+ */
+public class PatternConstraintValidator implements ConstraintValidator<Pattern, CharSequence> {
+
+    /** The casador. */
+    private Casador casador;
+
+    /*
+     * (non-Javadoc)
+     * @see javax.validation.ConstraintValidator#initialize(java.lang.annotation.Annotation)
+     */
+    @Override
+    public void initialize(Pattern constraintAnnotation) {
+        int flags = 0;
+        for(Pattern.Flag flag : constraintAnnotation.flags()) {
+            flags |= flag.getValue();
+        }
+        this.casador = Padroes.casador(constraintAnnotation.regexp(), flags);
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.validation.ConstraintValidator#isValid(java.lang.Object, javax.validation.ConstraintValidatorContext)
+     */
+    @Override
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        return value == null || casador.casa(value);
+    }
+
+}
@@ -0,0 +1,181 @@
+package br.com.contmatic.empresawilliam.validation;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collections;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorContext;
+import javax.validation.ValidatorFactory;
+import javax.validation.constraints.Pattern;
+import javax.validation.groups.Default;
+
+import org.hibernate.validator.HibernateValidator;
+import org.hibernate.validator.HibernateValidatorFactory;
+import org.hibernate.validator.spi.constraintdefinition.ConstraintDefinitionContributor;
+
+import br.com.caelum.stella.bean.validation.CNPJ;
+import br.com.contmatic.empresawilliam.Celular;
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.Endereco;
+import br.com.contmatic.empresawilliam.Fixo;
+import br.com.contmatic.empresawilliam.Telefone;
+
+/**
+ * The Class ValidationEngine.
+ *
+ * Mantém um único {@link Validator} (thread-safe) para toda a aplicação. A fábrica é criada uma só vez e os metadados de
+ * {@link Empresa}, {@link Endereco} e {@link Telefone} são pré-aquecidos na inicialização, de modo que nenhuma validação paga
+ * pelo bootstrap do Hibernate Validator ou pela compilação dos {@code @Pattern}.
+ */
+public final class ValidationEngine {
+
+    /** Grupos usados no pré-aquecimento de cada entidade. */
+    private static final Class<?>[][] GRUPOS_DE_PRE_AQUECIMENTO = { { Default.class }, { Fixo.class }, { Celular.class } };
+
+    /** Troca o validador do Stella para {@link CNPJ} pelo {@link CnpjConstraintValidator}, que não aloca. */
+    private static final ConstraintDefinitionContributor CNPJ_SEM_ALOCACAO = new ConstraintDefinitionContributor() {
+
+        @Override
+        public void collectConstraintDefinitions(ConstraintDefinitionBuilder builder) {
+            builder.constraint(CNPJ.class).includeExistingValidators(false).validatedBy(CnpjConstraintValidator.class);
+        }
+    };
+
+    /** Troca o validador de {@link Pattern} pelo {@link PatternConstraintValidator}, que usa os casadores escritos à mão. */
+    private static final ConstraintDefinitionContributor PADROES_ESCRITOS_A_MAO = new ConstraintDefinitionContributor() {
+
+        @Override
+        public void collectConstraintDefinitions(ConstraintDefinitionBuilder builder) {
+            builder.constraint(Pattern.class).includeExistingValidators(false).validatedBy(PatternConstraintValidator.class);
+        }
+    };
+
+    /** The factory. */
+    private final ValidatorFactory factory;
+
+    /** The validator. */
+    private final Validator validator;
+
+    /** Validador que para na primeira violação, usado por {@link #isValid(Object, Class...)}. */
+    private final Validator validadorRapido;
+
+    /**
+     * The Class Holder.
+     */
+    private static final class Holder {
+
+        /** The Constant INSTANCE. */
+        private static final ValidationEngine INSTANCE = new ValidationEngine();
+
+    }
+
+    /**
+     * Instantiates a new validation engine.
+     */
+    private ValidationEngine() {
+        this.factory = Validation.byProvider(HibernateValidator.class).configure().addConstraintDefinitionContributor(CNPJ_SEM_ALOCACAO)
+                .addConstraintDefinitionContributor(PADROES_ESCRITOS_A_MAO).buildValidatorFactory();
+        this.validator = factory.getValidator();
+        this.validadorRapido = factory.unwrap(HibernateValidatorFactory.class).usingContext().failFast(true).getValidator();
+        preAquece(new Empresa());
+        preAquece(new Endereco());
+        preAquece(new Telefone());
+        preAquece(empresaDePreAquecimento());
+    }
+
+    /**
+     * Obtém a instância compartilhada, criada e pré-aquecida no primeiro acesso.
+     *
+     * @return the instance
+     */
+    public static ValidationEngine getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Obtém o validador compartilhado.
+     *
+     * @return the validator
+     */
+    public Validator getValidator() {
+        return validator;
+    }
+
+    /**
+     * Cria um contexto para obter, a partir da mesma fábrica, um validador com configuração própria (por exemplo, um
+     * {@link javax.validation.TraversableResolver} que desliga a validação em cascata).
+     *
+     * @return the validator context
+     */
+    public ValidatorContext usingContext() {
+        return factory.usingContext();
+    }
+
+    /**
+     * Valida um objeto nos grupos informados (ou no grupo {@link Default}, se nenhum for informado).
+     *
+     * @param <T> the generic type
+     * @param obj the obj
+     * @param groups the groups
+     * @return the validation result
+     */
+    public <T> ValidationResult validate(T obj, Class<?>... groups) {
+        checkNotNull(obj, "O objeto a ser validado deve ser preenchido.");
+        return ValidationResult.from(validator.validate(obj, groups), groups);
+    }
+
+    /**
+     * Verifica se um objeto é válido nos grupos informados. A validação para na primeira violação (fail fast do Hibernate
+     * Validator), já que as mensagens não são usadas.
+     *
+     * @param <T> the generic type
+     * @param obj the obj
+     * @param groups the groups
+     * @return true, if is valid
+     */
+    public <T> boolean isValid(T obj, Class<?>... groups) {
+        checkNotNull(obj, "O objeto a ser validado deve ser preenchido.");
+        return validadorRapido.validate(obj, groups).isEmpty();
+    }
+
+    /**
+     * Carrega os metadados da classe e inicializa os validadores de todas as suas constraints, validando uma instância vazia em
+     * cada grupo conhecido.
+     *
+     * @param instancia the instancia
+     */
+    private void preAquece(Object instancia) {
+        validator.getConstraintsForClass(instancia.getClass());
+        for(Class<?>[] grupos : GRUPOS_DE_PRE_AQUECIMENTO) {
+            validator.validate(instancia, grupos);
+        }
+    }
+
+    /**
+     * Monta uma empresa com todos os campos preenchidos com valores curtos e inválidos, para que cada validador seja
+     * efetivamente executado e cada mensagem interpolada ao menos uma vez.
+     *
+     * @return the empresa
+     */
+    private static Empresa empresaDePreAquecimento() {
+        Endereco endereco = new Endereco();
+        endereco.setTipoLogradouro("R");
+        endereco.setNomeLogradouro("R");
+        endereco.setCep("0");
+        Telefone telefone = new Telefone();
+        telefone.setDdd(0);
+        telefone.setTelefoneFixo("0");
+        Empresa empresa = new Empresa();
+        empresa.setCnpj("0");
+        empresa.setRazaoSocial("e");
+        empresa.setProprietario("e");
+        empresa.setEmail("e");
+        empresa.setSite("e");
+        empresa.setEnderecos(Collections.singleton(endereco));
+        empresa.setTelefones(Collections.singleton(telefone));
+        return empresa;
+    }
+
+}
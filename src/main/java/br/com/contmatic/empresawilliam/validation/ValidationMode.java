@@ -0,0 +1,26 @@
+package br.com.contmatic.empresawilliam.validation;
+
+/**
+ * The Enum ValidationMode.
+ *
+ * Quanto o {@link CompiledValidator} deve verificar depois de encontrar uma violação.
+ */
+public enum ValidationMode {
+
+    /** Verifica todas as constraints, com as mesmas mensagens do Hibernate Validator. */
+    FULL,
+
+    /**
+     * Cada propriedade para na sua primeira violação: as verificações são feitas da mais barata para a mais cara (nulo, tamanho,
+     * varredura, expressão regular, CNPJ...), o que também descarta as mensagens redundantes de {@code @NotNull},
+     * {@code @NotEmpty} e {@code @NotBlank} sobre o mesmo valor. A cascata só é validada se a própria propriedade for válida.
+     */
+    FIRST_PER_FIELD,
+
+    /**
+     * Como {@link #FIRST_PER_FIELD}, mas o objeto inteiro para na primeira violação, com as propriedades em cascata por último.
+     * Serve para saber se o objeto é válido, sem se importar com quais são todas as violações.
+     */
+    FIRST
+
+}
@@ -0,0 +1,249 @@
+package br.com.contmatic.empresawilliam.validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.groups.Default;
+
+/**
+ * The Class ValidationResult.
+ *
+ * Resultado imutável de uma validação. As violações são convertidas uma única vez e as consultas por mensagem ou por propriedade
+ * apenas percorrem a lista, sem revalidar o objeto. O resultado guarda os grupos em que o objeto foi validado, para que a
+ * revalidação não reaproveite violações de outros grupos.
+ */
+public final class ValidationResult {
+
+    /** Resultado sem violações no grupo {@link Default}, compartilhado por todas as validações bem-sucedidas nesse grupo. */
+    public static final ValidationResult VALID = new ValidationResult(Collections.<Violation> emptyList(), Constraints.DEFAULT_GROUPS);
+
+    /** The violations. */
+    private final List<Violation> violations;
+
+    /** Grupos em que o objeto foi validado. */
+    private final Class<?>[] groups;
+
+    /**
+     * Instantiates a new validation result.
+     *
+     * @param violations the violations
+     * @param groups the groups
+     */
+    private ValidationResult(List<Violation> violations, Class<?>[] groups) {
+        this.violations = violations;
+        this.groups = groups;
+    }
+
+    /**
+     * Cria o resultado de uma validação no grupo {@link Default} a partir de uma lista de violações. Uma lista nula ou vazia
+     * devolve {@link #VALID}.
+     *
+     * @param violations the violations
+     * @return the validation result
+     */
+    public static ValidationResult of(List<Violation> violations) {
+        return of(violations, Constraints.DEFAULT_GROUPS);
+    }
+
+    /**
+     * Cria o resultado de uma validação nos grupos informados (ou no grupo {@link Default}, se nenhum for informado). Uma lista
+     * nula ou vazia no grupo {@link Default} devolve {@link #VALID}; nos demais grupos o resultado vazio é criado para guardar os
+     * grupos.
+     *
+     * @param violations the violations
+     * @param groups the groups
+     * @return the validation result
+     */
+    public static ValidationResult of(List<Violation> violations, Class<?>... groups) {
+        boolean vazio = violations == null || violations.isEmpty();
+        if (vazio && isDefault(groups)) {
+            return VALID;
+        }
+        List<Violation> copia = vazio ? Collections.<Violation> emptyList() : Collections.unmodifiableList(new ArrayList<Violation>(violations));
+        return new ValidationResult(copia, copiaDos(groups));
+    }
+
+    /**
+     * Cria o resultado de uma validação no grupo {@link Default} a partir das violações devolvidas pelo Bean Validation.
+     *
+     * @param <T> the generic type
+     * @param constraintViolations the constraint violations
+     * @return the validation result
+     */
+    public static <T> ValidationResult from(Set<ConstraintViolation<T>> constraintViolations) {
+        return from(constraintViolations, Constraints.DEFAULT_GROUPS);
+    }
+
+    /**
+     * Cria o resultado de uma validação nos grupos informados a partir das violações devolvidas pelo Bean Validation.
+     *
+     * @param <T> the generic type
+     * @param constraintViolations the constraint violations
+     * @param groups the groups
+     * @return the validation result
+     */
+    public static <T> ValidationResult from(Set<ConstraintViolation<T>> constraintViolations, Class<?>... groups) {
+        if (constraintViolations.isEmpty()) {
+            return of(null, groups);
+        }
+        List<Violation> violations = new ArrayList<Violation>(constraintViolations.size());
+        for(ConstraintViolation<T> constraintViolation : constraintViolations) {
+            violations.add(new Violation(constraintViolation.getPropertyPath().toString(), constraintViolation.getMessage()));
+        }
+        return new ValidationResult(Collections.unmodifiableList(violations), copiaDos(groups));
+    }
+
+    /**
+     * Verifica se o objeto validado não possui violações.
+     *
+     * @return true, if is valid
+     */
+    public boolean isValid() {
+        return violations.isEmpty();
+    }
+
+    /**
+     * Verifica se o objeto foi validado exatamente nos grupos informados (ou no grupo {@link Default}, se nenhum for informado),
+     * em qualquer ordem.
+     *
+     * @param groups the groups
+     * @return true, if successful
+     */
+    public boolean hasGroups(Class<?>... groups) {
+        Class<?>[] grupos = groups.length == 0 ? Constraints.DEFAULT_GROUPS : groups;
+        if (grupos == this.groups) {
+            return true;
+        }
+        return contemTodos(this.groups, grupos) && contemTodos(grupos, this.groups);
+    }
+
+    /**
+     * Obtém todas as violações.
+     *
+     * @return the violations
+     */
+    public List<Violation> getViolations() {
+        return violations;
+    }
+
+    /**
+     * Verifica se alguma violação possui a mensagem informada.
+     *
+     * @param message the message
+     * @return true, if successful
+     */
+    public boolean hasMessage(String message) {
+        if (message != null) {
+            for(int i = 0; i < violations.size(); i++) {
+                if (message.equals(violations.get(i).getMessage())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Verifica se a propriedade informada possui alguma violação.
+     *
+     * @param propertyPath the property path
+     * @return true, if successful
+     */
+    public boolean hasViolation(String propertyPath) {
+        if (propertyPath != null) {
+            for(int i = 0; i < violations.size(); i++) {
+                if (propertyPath.equals(violations.get(i).getPropertyPath())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Obtém as violações de uma propriedade.
+     *
+     * @param propertyPath the property path
+     * @return the violations
+     */
+    public List<Violation> getViolations(String propertyPath) {
+        List<Violation> daPropriedade = new ArrayList<Violation>();
+        for(int i = 0; i < violations.size(); i++) {
+            Violation violation = violations.get(i);
+            if (violation.getPropertyPath().equals(propertyPath)) {
+                daPropriedade.add(violation);
+            }
+        }
+        return daPropriedade;
+    }
+
+    /**
+     * Obtém as mensagens de todas as violações.
+     *
+     * @return the messages
+     */
+    public List<String> getMessages() {
+        List<String> messages = new ArrayList<String>(violations.size());
+        for(int i = 0; i < violations.size(); i++) {
+            messages.add(violations.get(i).getMessage());
+        }
+        return messages;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return violations.toString();
+    }
+
+    // Auxiliares
+
+    /**
+     * Verifica se os grupos são só o grupo {@link Default}.
+     *
+     * @param groups the groups
+     * @return true, if is default
+     */
+    private static boolean isDefault(Class<?>[] groups) {
+        return groups.length == 0 || groups == Constraints.DEFAULT_GROUPS || groups.length == 1 && groups[0] == Default.class;
+    }
+
+    /**
+     * Copia os grupos, para que o resultado não mude se o array do chamador for alterado.
+     *
+     * @param groups the groups
+     * @return the class[]
+     */
+    private static Class<?>[] copiaDos(Class<?>[] groups) {
+        return isDefault(groups) ? Constraints.DEFAULT_GROUPS : Arrays.copyOf(groups, groups.length);
+    }
+
+    /**
+     * Verifica se todos os grupos de {@code outros} estão em {@code grupos}.
+     *
+     * @param grupos the grupos
+     * @param outros the outros
+     * @return true, if successful
+     */
+    private static boolean contemTodos(Class<?>[] grupos, Class<?>[] outros) {
+        for(int i = 0; i < outros.length; i++) {
+            boolean contem = false;
+            for(int j = 0; j < grupos.length && !contem; j++) {
+                contem = grupos[j] == outros[i];
+            }
+            if (!contem) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
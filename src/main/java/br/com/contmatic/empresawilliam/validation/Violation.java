@@ -0,0 +1,86 @@
+package br.com.contmatic.empresawilliam.validation;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+/**
+ * The Class Violation.
+ *
+ * Uma violação de constraint já resolvida: caminho da propriedade e mensagem interpolada.
+ */
+public final class Violation {
+
+    /** The property path. */
+    private final String propertyPath;
+
+    /** The message. */
+    private final String message;
+
+    /**
+     * Instantiates a new violation.
+     *
+     * @param propertyPath the property path
+     * @param message the message
+     */
+    public Violation(String propertyPath, String message) {
+        this.propertyPath = checkNotNull(propertyPath, "O caminho da propriedade deve ser preenchido.");
+        this.message = checkNotNull(message, "A mensagem deve ser preenchida.");
+    }
+
+    /**
+     * Obtém o caminho da propriedade, no formato do Hibernate Validator (ex.: "enderecos[].cep").
+     *
+     * @return the property path
+     */
+    public String getPropertyPath() {
+        return propertyPath;
+    }
+
+    /**
+     * Obtém a mensagem já interpolada.
+     *
+     * @return the message
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    // Equals, HashCode e toString
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder().append(this.propertyPath).append(this.message).toHashCode();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#equals(java.lang.Object)
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof Violation)) {
+            return false;
+        }
+        Violation outra = (Violation) obj;
+        return new EqualsBuilder().append(this.propertyPath, outra.propertyPath).append(this.message, outra.message).isEquals();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return propertyPath + ": " + message;
+    }
+
+}
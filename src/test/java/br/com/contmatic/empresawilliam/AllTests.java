@@ -4,10 +4,28 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
+import br.com.contmatic.empresawilliam.codec.EmpresaCodecTeste;
+import br.com.contmatic.empresawilliam.ingest.ImportadorCsvTeste;
+import br.com.contmatic.empresawilliam.json.EscritorJsonTeste;
+import br.com.contmatic.empresawilliam.render.RenderizadorTeste;
+import br.com.contmatic.empresawilliam.repository.EmpresaRepositoryTeste;
+import br.com.contmatic.empresawilliam.repository.EmpresaStoreTeste;
+import br.com.contmatic.empresawilliam.repository.IndiceDeNomesTeste;
+import br.com.contmatic.empresawilliam.repository.IndiceDeTelefonesTeste;
+import br.com.contmatic.empresawilliam.validation.BatchValidatorTeste;
+import br.com.contmatic.empresawilliam.validation.CnpjValidatorTeste;
+import br.com.contmatic.empresawilliam.validation.PadroesTeste;
+import br.com.contmatic.empresawilliam.validation.ValidationEngineTeste;
+
 /**
  * The Class AllTests.
  */
 @RunWith(Suite.class)
-@SuiteClasses({ EmpresaTeste.class, EnderecoTeste.class, TelefoneTeste.class })
+@SuiteClasses({ EmpresaTeste.class, EnderecoTeste.class, TelefoneTeste.class, ValidationEngineTeste.class, CompiledValidatorTeste.class, CnpjValidatorTeste.class,
+        BatchValidatorTeste.class, CnpjTeste.class, TelefoneSetTeste.class, SmallSetTeste.class,
+        EmpresaRepositoryTeste.class, EmpresaStoreTeste.class, EmpresaCodecTeste.class, ImportadorCsvTeste.class,
+        EscritorJsonTeste.class, RenderizadorTeste.class, DiaDaEpocaTeste.class, RelogioDeDiasTeste.class,
+        DicionarioTeste.class, PadroesTeste.class, IndiceDeTelefonesTeste.class,
+        IndiceDeNomesTeste.class, PersistentSetTeste.class, EmpresaImutavelTeste.class })
 public class AllTests {
 }
@@ -0,0 +1,147 @@
+package br.com.contmatic.empresawilliam;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runners.MethodSorters;
+
+import br.com.six2six.fixturefactory.Fixture;
+import br.com.six2six.fixturefactory.loader.FixtureFactoryLoader;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class CnpjTeste {
+
+    private static final String VALIDO = "11222333000181";
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        FixtureFactoryLoader.loadTemplates("br.com.contmatic.empresawilliam.templates");
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        System.out.println("Teste de Cnpj terminado.");
+    }
+
+    // Testes
+
+    @Test
+    public void deve_converter_texto_com_e_sem_mascara() {
+        assertThat(Cnpj.parse(VALIDO).longValue(), is(11222333000181L));
+        assertThat(Cnpj.parse("11.222.333/0001-81"), is(Cnpj.parse(VALIDO)));
+    }
+
+    @Test
+    public void deve_manter_os_zeros_a_esquerda() {
+        Cnpj cnpj = Cnpj.parse("00000000000191");
+        assertThat(cnpj.longValue(), is(191L));
+        assertThat(cnpj.toString(), is("00000000000191"));
+        assertThat(cnpj.formatado(), is("00.000.000/0001-91"));
+    }
+
+    @Test
+    public void deve_escrever_no_final_do_builder() {
+        assertThat(Cnpj.parse(VALIDO).appendTo(new StringBuilder("CNPJ ")).toString(), is("CNPJ " + VALIDO));
+    }
+
+    @Test
+    public void deve_separar_raiz_e_filial() {
+        Cnpj cnpj = Cnpj.parse(VALIDO);
+        assertThat(cnpj.getRaiz(), is(11222333));
+        assertThat(cnpj.getFilial(), is(1));
+    }
+
+    @Test
+    public void deve_conferir_os_digitos_verificadores() {
+        assertTrue(Cnpj.parse(VALIDO).isValid());
+        assertFalse(Cnpj.parse("11222333000182").isValid());
+        assertTrue(Cnpj.of(0L).isValid());
+    }
+
+    @Test
+    public void deve_ser_igual_e_ter_o_mesmo_hash_para_o_mesmo_numero() {
+        Cnpj cnpj = Cnpj.parse(VALIDO);
+        Cnpj outro = Cnpj.of(11222333000181L);
+        assertThat(cnpj, is(outro));
+        assertThat(cnpj.hashCode(), is(outro.hashCode()));
+        assertThat(cnpj, is(not(Cnpj.of(11222333000182L))));
+        assertThat(cnpj.compareTo(Cnpj.of(11222333000182L)) < 0, is(true));
+    }
+
+    @Test
+    public void deve_devolver_nulo_para_texto_que_nao_e_cnpj() {
+        assertThat(Cnpj.tryParse(null), is(nullValue()));
+        assertThat(Cnpj.tryParse("1122233300018"), is(nullValue()));
+        assertThat(Cnpj.tryParse("1122233300018a"), is(nullValue()));
+        assertThat(Cnpj.tryParse("11.222.333-0001/81"), is(nullValue()));
+    }
+
+    @Test
+    public void nao_deve_converter_texto_que_nao_e_cnpj() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("O CNPJ deve conter 14 dígitos numéricos.");
+        Cnpj.parse("abcderf5467534");
+    }
+
+    @Test
+    public void nao_deve_aceitar_numero_com_mais_de_14_digitos() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("O CNPJ deve conter 14 dígitos numéricos.");
+        Cnpj.of(100000000000000L);
+    }
+
+    @Test
+    public void deve_expor_o_cnpj_compacto_da_empresa() {
+        Empresa empresa = Fixture.from(Empresa.class).gimme("empresa_valida");
+        assertThat(empresa.getCnpjNumerico().toString(), is(empresa.getCnpj()));
+        empresa.setCnpj("abc");
+        assertThat(empresa.getCnpjNumerico(), is(nullValue()));
+    }
+
+    @Test
+    public void deve_manter_o_hash_da_empresa() {
+        Empresa empresa = Fixture.from(Empresa.class).gimme("empresa_valida");
+        assertThat(empresa.hashCode(), is(new HashCodeBuilder().append(empresa.getCnpj()).toHashCode()));
+        empresa.setCnpj(null);
+        assertThat(empresa.hashCode(), is(new HashCodeBuilder().append((Object) null).toHashCode()));
+    }
+
+    @Test
+    public void deve_guardar_o_cnpj_da_empresa_empacotado() {
+        Empresa empresa = new Empresa();
+        empresa.setCnpj("00000000000191");
+        assertThat(empresa.getCnpjEmpacotado(), is(191L));
+        assertThat(empresa.getCnpj(), is("00000000000191"));
+        empresa.setCnpj("11.222.333/0001-81");
+        assertThat(empresa.getCnpj(), is("11.222.333/0001-81"));
+        assertThat(empresa.getCnpjEmpacotado(), is(11222333000181L));
+        empresa.setCnpj("abcderf5467534");
+        assertThat(empresa.getCnpj(), is("abcderf5467534"));
+        assertThat(empresa.getCnpjEmpacotado(), is(Cnpj.NAO_E_CNPJ));
+    }
+
+    @Test
+    public void deve_manter_hash_e_igualdade_entre_cnpj_empacotado_e_texto() {
+        Empresa texto = Fixture.from(Empresa.class).gimme("empresa_valida");
+        Empresa empacotada = new Empresa();
+        empacotada.setCnpj(texto.getCnpj());
+        assertThat(empacotada.hashCode(), is(new HashCodeBuilder().append(texto.getCnpj()).toHashCode()));
+        assertThat(empacotada.hashCode(), is(texto.hashCode()));
+        assertTrue(empacotada.equals(texto));
+        assertTrue(texto.equals(empacotada));
+    }
+}
@@ -0,0 +1,357 @@
+package br.com.contmatic.empresawilliam;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import javax.validation.groups.Default;
+
+import org.joda.time.LocalDate;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import br.com.contmatic.empresawilliam.validation.ValidationEngine;
+import br.com.contmatic.empresawilliam.validation.ValidationMode;
+import br.com.contmatic.empresawilliam.validation.ValidationResult;
+import br.com.contmatic.empresawilliam.validation.Violation;
+import br.com.six2six.fixturefactory.Fixture;
+import br.com.six2six.fixturefactory.loader.FixtureFactoryLoader;
+
+/**
+ * Compara os validadores gerados em tempo de compilação com o Hibernate Validator: para cada objeto, os dois devem produzir
+ * exatamente as mesmas violações (caminho e mensagem).
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class CompiledValidatorTeste {
+
+    private static final int REPETICOES = 50;
+
+    private ValidationEngine engine;
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        FixtureFactoryLoader.loadTemplates("br.com.contmatic.empresawilliam.templates");
+    }
+
+    @Before
+    public void setUp() {
+        this.engine = ValidationEngine.getInstance();
+    }
+
+    @After
+    public void tearDown() {
+        engine = null;
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        System.out.println("Teste de CompiledValidator terminado.");
+    }
+
+    // Testes
+
+    @Test
+    public void deve_gerar_as_mesmas_violacoes_para_empresas_validas_e_invalidas() {
+        for(int i = 0; i < REPETICOES; i++) {
+            comparaEmpresa(Fixture.from(Empresa.class).<Empresa> gimme("empresa_valida"));
+            comparaEmpresa(Fixture.from(Empresa.class).<Empresa> gimme("empresa_invalida"));
+        }
+    }
+
+    @Test
+    public void deve_gerar_as_mesmas_violacoes_para_campos_nulos_vazios_e_em_branco() {
+        for(String valor : new String[] { null, "", " ", "a", "123", "12345678000195", "12.345.678/0001-95", "teste.com.br", "a@b.com" }) {
+            Empresa empresa = Fixture.from(Empresa.class).gimme("empresa_valida");
+            empresa.setCnpj(valor);
+            empresa.setRazaoSocial(valor);
+            empresa.setProprietario(valor);
+            empresa.setEmail(valor);
+            empresa.setSite(valor);
+            comparaEmpresa(empresa);
+        }
+    }
+
+    @Test
+    public void deve_gerar_as_mesmas_violacoes_para_colecoes_nulas_e_vazias() {
+        Empresa empresa = Fixture.from(Empresa.class).gimme("empresa_valida");
+        empresa.setEnderecos(null);
+        empresa.setTelefones(Collections.<Telefone> emptySet());
+        comparaEmpresa(empresa);
+    }
+
+    @Test
+    public void deve_gerar_as_mesmas_violacoes_para_enderecos() {
+        for(int i = 0; i < REPETICOES; i++) {
+            comparaEndereco(Fixture.from(Endereco.class).<Endereco> gimme("endereco_valido"));
+            comparaEndereco(Fixture.from(Endereco.class).<Endereco> gimme("endereco_invalido"));
+        }
+        comparaEndereco(new Endereco());
+    }
+
+    @Test
+    public void deve_gerar_as_mesmas_violacoes_para_telefones_em_todos_os_grupos() {
+        for(int i = 0; i < REPETICOES; i++) {
+            for(String template : new String[] { "fixo_valido", "celular_valido", "fixo_invalido", "celular_invalido", "ddd_menor_que_limite" }) {
+                Telefone telefone = Fixture.from(Telefone.class).gimme(template);
+                comparaTelefone(telefone);
+                comparaTelefone(telefone, Fixo.class);
+                comparaTelefone(telefone, Celular.class);
+                comparaTelefone(telefone, Fixo.class, Celular.class);
+            }
+        }
+        comparaTelefone(new Telefone());
+    }
+
+    @Test
+    public void deve_gerar_as_mesmas_violacoes_com_o_grupo_do_tipo_de_telefone() {
+        for(TelefoneType tipo : new TelefoneType[] { null, TelefoneType.FIXO, TelefoneType.CELULAR }) {
+            for(int ddd : new int[] { 11, 5 }) {
+                for(String numero : new String[] { null, " ", "1234567", "12345678", "123456789", "12345678a" }) {
+                    Telefone telefone = new Telefone();
+                    telefone.setTipoTelefone(tipo);
+                    telefone.setDdd(ddd);
+                    telefone.setTelefoneFixo(numero);
+                    comparaTelefone(telefone);
+                    comparaTelefone(telefone, Fixo.class);
+                    comparaTelefone(telefone, Default.class, Celular.class);
+                    comparaTelefone(telefone, Fixo.class, Celular.class, Default.class);
+                    ValidationResult completo = TelefoneValidator.INSTANCE.validate(telefone);
+                    for(ValidationMode mode : ValidationMode.values()) {
+                        assertThat(completo.getViolations().containsAll(TelefoneValidator.INSTANCE.validate(telefone, mode).getViolations()), is(true));
+                    }
+                    assertThat(TelefoneValidator.INSTANCE.isValid(telefone), is(engine.isValid(telefone)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void deve_verificar_o_numero_pelo_tipo_na_validacao_em_cascata() {
+        Empresa empresa = Fixture.from(Empresa.class).gimme("empresa_valida");
+        Telefone telefone = new Telefone();
+        telefone.setTipoTelefone(TelefoneType.CELULAR);
+        telefone.setDdd(11);
+        telefone.setTelefoneCelular("12345678");
+        Set<Telefone> telefones = new HashSet<Telefone>(empresa.getTelefones());
+        telefones.add(telefone);
+        empresa.setTelefones(telefones);
+        ValidationResult resultado = EmpresaValidator.INSTANCE.validate(empresa);
+        assertThat(resultado.getViolations("telefones[].telefone").get(0).getMessage(), is("Para telefone celular, por favor informar 9 dígitos."));
+        comparaEmpresa(empresa);
+    }
+
+    @Test
+    public void deve_devolver_resultado_compartilhado_quando_nao_ha_violacoes() {
+        Telefone telefone = Fixture.from(Telefone.class).gimme("fixo_valido");
+        assertThat(TelefoneValidator.INSTANCE.validate(telefone), sameInstance(ValidationResult.VALID));
+    }
+
+    @Test
+    public void deve_usar_o_caminho_do_elemento_na_validacao_em_cascata() {
+        Empresa empresa = Fixture.from(Empresa.class).gimme("empresa_invalida");
+        assertThat(EmpresaValidator.INSTANCE.validate(empresa).hasViolation("enderecos[].cep"), is(true));
+    }
+
+    @Test
+    public void deve_parar_cada_campo_na_primeira_violacao() {
+        for(String valor : new String[] { null, "", " ", "a", "12345678000195", "teste.com.br" }) {
+            Empresa empresa = Fixture.from(Empresa.class).gimme(valor == null ? "empresa_invalida" : "empresa_valida");
+            empresa.setCnpj(valor);
+            empresa.setRazaoSocial(valor);
+            empresa.setEmail(valor);
+            empresa.setSite(valor);
+            ValidationResult completo = EmpresaValidator.INSTANCE.validate(empresa, ValidationMode.FULL);
+            ValidationResult porCampo = EmpresaValidator.INSTANCE.validate(empresa, ValidationMode.FIRST_PER_FIELD);
+            assertThat(completo.getViolations(), is(EmpresaValidator.INSTANCE.validate(empresa).getViolations()));
+            assertThat(completo.getViolations().containsAll(porCampo.getViolations()), is(true));
+            for(String propriedade : new String[] { "cnpj", "razaoSocial", "proprietario", "email", "site", "dataDeCriacao", "dataDeAlteracao" }) {
+                assertThat(propriedade, porCampo.getViolations(propriedade).size(), is(completo.hasViolation(propriedade) ? 1 : 0));
+            }
+        }
+    }
+
+    @Test
+    public void deve_verificar_primeiro_as_constraints_mais_baratas() {
+        Empresa empresa = new Empresa();
+        empresa.setRazaoSocial(" ");
+        ValidationResult porCampo = EmpresaValidator.INSTANCE.validate(empresa, ValidationMode.FIRST_PER_FIELD);
+        assertThat(porCampo.getViolations("cnpj").get(0).getMessage(), is("O CNPJ deve ser preenchido."));
+        assertThat(porCampo.getViolations("razaoSocial").get(0).getMessage(), is("A razão social deve conter entre 4 e 40 caracteres."));
+        assertThat(porCampo.hasViolation("enderecos[].cep"), is(false));
+    }
+
+    @Test
+    public void deve_parar_o_objeto_na_primeira_violacao() {
+        for(int i = 0; i < REPETICOES; i++) {
+            for(Empresa empresa : Arrays.asList(Fixture.from(Empresa.class).<Empresa> gimme("empresa_valida"),
+                Fixture.from(Empresa.class).<Empresa> gimme("empresa_invalida"), new Empresa())) {
+                ValidationResult completo = EmpresaValidator.INSTANCE.validate(empresa);
+                ValidationResult primeira = EmpresaValidator.INSTANCE.validate(empresa, ValidationMode.FIRST);
+                assertThat(primeira.getViolations().size(), is(completo.isValid() ? 0 : 1));
+                assertThat(completo.getViolations().containsAll(primeira.getViolations()), is(true));
+                assertThat(EmpresaValidator.INSTANCE.isValid(empresa), is(completo.isValid()));
+                assertThat(engine.isValid(empresa), is(completo.isValid()));
+            }
+        }
+    }
+
+    @Test
+    public void deve_verificar_se_e_valido_nos_grupos_informados() {
+        Telefone telefone = Fixture.from(Telefone.class).gimme("fixo_valido");
+        assertThat(TelefoneValidator.INSTANCE.isValid(telefone, Fixo.class), is(engine.isValid(telefone, Fixo.class)));
+        assertThat(TelefoneValidator.INSTANCE.isValid(telefone, Celular.class), is(engine.isValid(telefone, Celular.class)));
+        assertThat(TelefoneValidator.INSTANCE.isValid(telefone), is(engine.isValid(telefone)));
+    }
+
+    @Test
+    public void deve_revalidar_como_a_validacao_completa_apos_alteracoes_pelos_setters() {
+        for(int i = 0; i < REPETICOES; i++) {
+            Empresa empresa = Fixture.from(Empresa.class).gimme(i % 2 == 0 ? "empresa_valida" : "empresa_invalida");
+            ValidationResult resultado = EmpresaValidator.INSTANCE.revalidate(empresa, null);
+            assertThat(resultado.getViolations(), is(EmpresaValidator.INSTANCE.validate(empresa).getViolations()));
+            String[] valores = { null, "", "abc", "12345678000195", "teste.com.br", "a@b.com" };
+            for(int j = 0; j < valores.length; j++) {
+                String valor = valores[(i + j) % valores.length];
+                switch (j % 4) {
+                    case 0:
+                        empresa.setCnpj(valor);
+                        break;
+                    case 1:
+                        empresa.setSite(valor);
+                        empresa.setEmail(valor);
+                        break;
+                    case 2:
+                        empresa.getEnderecos().iterator().next().setCep(valor);
+                        break;
+                    default:
+                        empresa.setDataDeCriacao(LocalDate.now());
+                        empresa.setProprietario(valor);
+                }
+                resultado = EmpresaValidator.INSTANCE.revalidate(empresa, resultado);
+                assertThat(resultado.getViolations(), is(EmpresaValidator.INSTANCE.validate(empresa).getViolations()));
+                assertThat(ordena(resultado), is(ordena(engine.validate(empresa))));
+                assertThat(empresa.dirtyProperties(), is(0));
+            }
+        }
+    }
+
+    @Test
+    public void deve_reaproveitar_as_violacoes_das_propriedades_nao_alteradas() {
+        Empresa empresa = Fixture.from(Empresa.class).gimme("empresa_invalida");
+        empresa.setCnpj("123");
+        ValidationResult anterior = EmpresaValidator.INSTANCE.revalidate(empresa, null);
+        empresa.setSite("x");
+        ValidationResult resultado = EmpresaValidator.INSTANCE.revalidate(empresa, anterior);
+        assertThat(resultado.getViolations("cnpj").isEmpty(), is(false));
+        assertThat(resultado.getViolations("cnpj").get(0), sameInstance(anterior.getViolations("cnpj").get(0)));
+        assertThat(resultado.getViolations("site"), is(not(anterior.getViolations("site"))));
+        assertThat(resultado.getViolations(), is(EmpresaValidator.INSTANCE.validate(empresa).getViolations()));
+    }
+
+    @Test
+    public void deve_marcar_a_data_de_alteracao_ao_alterar_a_data_de_criacao() {
+        Empresa empresa = new Empresa();
+        empresa.setDataDeCriacao(LocalDate.now());
+        assertThat(empresa.dirtyProperties(), is(Empresa.ALTERACAO_DATA_DE_CRIACAO | Empresa.ALTERACAO_DATA_DE_ALTERACAO));
+        empresa.markClean();
+        assertThat(empresa.dirtyProperties(), is(0));
+    }
+
+    @Test
+    public void deve_revalidar_tudo_nos_validadores_sem_resultado_anterior() {
+        Telefone telefone = Fixture.from(Telefone.class).gimme("celular_invalido");
+        telefone.setDdd(1);
+        assertThat(TelefoneValidator.INSTANCE.revalidate(telefone, null, Celular.class).getViolations(),
+            is(TelefoneValidator.INSTANCE.validate(telefone, Celular.class).getViolations()));
+        assertThat(telefone.dirtyProperties(), is(0));
+    }
+
+    @Test
+    public void deve_revalidar_os_telefones_alterados_direto_na_colecao() {
+        Empresa empresa = empresaComColecoesDosSetters();
+        ValidationResult anterior = EmpresaValidator.INSTANCE.revalidate(empresa, null);
+        assertThat(anterior.hasMessage("A empresa deve conter no mínimo 2 telefones."), is(false));
+        Iterator<Telefone> telefones = empresa.getTelefones().iterator();
+        Telefone retirado = telefones.next();
+        telefones.remove();
+        ValidationResult resultado = EmpresaValidator.INSTANCE.revalidate(empresa, anterior);
+        assertThat(resultado.hasMessage("A empresa deve conter no mínimo 2 telefones."), is(true));
+        assertThat(resultado.getViolations(), is(EmpresaValidator.INSTANCE.validate(empresa).getViolations()));
+        empresa.getTelefones().add(retirado);
+        resultado = EmpresaValidator.INSTANCE.revalidate(empresa, resultado);
+        assertThat(resultado.hasMessage("A empresa deve conter no mínimo 2 telefones."), is(false));
+        assertThat(resultado.getViolations(), is(EmpresaValidator.INSTANCE.validate(empresa).getViolations()));
+    }
+
+    @Test
+    public void deve_revalidar_os_enderecos_alterados_direto_na_colecao() {
+        Empresa empresa = empresaComColecoesDosSetters();
+        ValidationResult anterior = EmpresaValidator.INSTANCE.revalidate(empresa, null);
+        empresa.getEnderecos().clear();
+        ValidationResult resultado = EmpresaValidator.INSTANCE.revalidate(empresa, anterior);
+        assertThat(resultado.isValid(), is(false));
+        assertThat(resultado.getViolations(), is(EmpresaValidator.INSTANCE.validate(empresa).getViolations()));
+        assertThat(empresa.dirtyProperties(), is(0));
+    }
+
+    @Test
+    public void nao_deve_reaproveitar_o_resultado_anterior_de_outros_grupos() {
+        Telefone telefone = Fixture.from(Telefone.class).gimme("fixo_valido");
+        ValidationResult celular = TelefoneValidator.INSTANCE.validate(telefone, Celular.class);
+        assertThat(celular.isValid(), is(false));
+        assertThat(celular.hasGroups(Celular.class), is(true));
+        assertThat(celular.hasGroups(), is(false));
+        assertThat(TelefoneValidator.INSTANCE.revalidate(telefone, celular).getViolations(),
+            is(TelefoneValidator.INSTANCE.validate(telefone).getViolations()));
+        Empresa empresa = Fixture.from(Empresa.class).gimme("empresa_invalida");
+        ValidationResult outroGrupo = ValidationResult.of(Collections.<Violation> emptyList(), Celular.class);
+        assertThat(EmpresaValidator.INSTANCE.revalidate(empresa, outroGrupo).getViolations(),
+            is(EmpresaValidator.INSTANCE.validate(empresa).getViolations()));
+    }
+
+    // Auxiliares
+
+    private static Empresa empresaComColecoesDosSetters() {
+        Empresa empresa = Fixture.from(Empresa.class).gimme("empresa_valida");
+        empresa.setEnderecos(new HashSet<Endereco>(empresa.getEnderecos()));
+        empresa.setTelefones(new HashSet<Telefone>(empresa.getTelefones()));
+        return empresa;
+    }
+
+    // Comparações
+
+    private void comparaEmpresa(Empresa empresa) {
+        assertThat(ordena(EmpresaValidator.INSTANCE.validate(empresa)), is(ordena(engine.validate(empresa))));
+    }
+
+    private void comparaEndereco(Endereco endereco) {
+        assertThat(ordena(EnderecoValidator.INSTANCE.validate(endereco)), is(ordena(engine.validate(endereco))));
+    }
+
+    private void comparaTelefone(Telefone telefone, Class<?>... groups) {
+        assertThat(ordena(TelefoneValidator.INSTANCE.validate(telefone, groups)), is(ordena(engine.validate(telefone, groups))));
+    }
+
+    private static List<String> ordena(ValidationResult result) {
+        List<String> violacoes = new ArrayList<String>();
+        for(Violation violation : result.getViolations()) {
+            violacoes.add(violation.toString());
+        }
+        Collections.sort(violacoes);
+        return violacoes;
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.contmatic.empresawilliam;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.joda.time.DateTimeConstants;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
+import org.joda.time.chrono.GJChronology;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runners.MethodSorters;
+
+import br.com.six2six.fixturefactory.loader.FixtureFactoryLoader;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class DiaDaEpocaTeste {
+
+    private static final LocalDate EPOCA = new LocalDate(1970, 1, 1);
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        FixtureFactoryLoader.loadTemplates("br.com.contmatic.empresawilliam.templates");
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        System.out.println("Teste de DiaDaEpoca terminado.");
+    }
+
+    // Testes
+
+    @Test
+    public void deve_converter_como_o_joda_time() {
+        for(int dia = -800000; dia <= 800000; dia += 7) {
+            LocalDate data = EPOCA.plusDays(dia);
+            assertThat(DiaDaEpoca.de(data), is(dia));
+            assertThat(DiaDaEpoca.data(dia), is(data));
+        }
+    }
+
+    @Test
+    public void deve_converter_datas_conhecidas() {
+        assertThat(DiaDaEpoca.de(EPOCA), is(0));
+        assertThat(DiaDaEpoca.de(new LocalDate(1969, 12, 31)), is(-1));
+        assertThat(DiaDaEpoca.de(new LocalDate(2000, 3, 1)), is(11017));
+        assertThat(DiaDaEpoca.data(11016), is(new LocalDate(2000, 2, 29)));
+        assertThat(DiaDaEpoca.data(-719528), is(new LocalDate(0, 1, 1)));
+    }
+
+    @Test
+    public void deve_converter_datas_de_outras_cronologias() {
+        LocalDate data = new LocalDate(1500, 3, 10, GJChronology.getInstanceUTC());
+        long milissegundos = data.toDateTimeAtStartOfDay(DateTimeZone.UTC).getMillis();
+        assertThat(DiaDaEpoca.de(data), is((int) Math.floorDiv(milissegundos, (long) DateTimeConstants.MILLIS_PER_DAY)));
+    }
+
+    @Test
+    public void deve_tratar_data_nula() {
+        assertThat(DiaDaEpoca.de(null), is(DiaDaEpoca.SEM_DATA));
+        assertThat(DiaDaEpoca.data(DiaDaEpoca.SEM_DATA), is(nullValue()));
+    }
+
+    @Test
+    public void nao_deve_converter_data_fora_do_intervalo() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Data fora do intervalo");
+        DiaDaEpoca.de(new LocalDate(9000000, 1, 1));
+    }
+}
@@ -0,0 +1,152 @@
+package br.com.contmatic.empresawilliam;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runners.MethodSorters;
+
+import br.com.six2six.fixturefactory.Fixture;
+import br.com.six2six.fixturefactory.loader.FixtureFactoryLoader;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class DicionarioTeste {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        FixtureFactoryLoader.loadTemplates("br.com.contmatic.empresawilliam.templates");
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        System.out.println("Teste de Dicionario terminado.");
+    }
+
+    // Testes
+
+    @Test
+    public void deve_devolver_a_primeira_instancia_de_cada_valor() {
+        Dicionario dicionario = new Dicionario(4);
+        String rua = new String("Rua");
+        assertThat(dicionario.canonico(rua), is(sameInstance(rua)));
+        assertThat(dicionario.canonico(new String("Rua")), is(sameInstance(rua)));
+        assertThat(dicionario.canonico(null), is(nullValue()));
+    }
+
+    @Test
+    public void deve_codificar_na_ordem_de_chegada() {
+        Dicionario dicionario = new Dicionario(4);
+        assertThat(dicionario.codigo("Rua"), is(0));
+        assertThat(dicionario.codigo("Avenida"), is(1));
+        assertThat(dicionario.codigo("Rua"), is(0));
+        assertThat(dicionario.codigo(null), is(Dicionario.SEM_CODIGO));
+        assertThat(dicionario.valor(1), is("Avenida"));
+        assertThat(dicionario.tamanho(), is(2));
+    }
+
+    @Test
+    public void deve_contar_acertos_e_falhas() {
+        Dicionario dicionario = new Dicionario(4);
+        for(int i = 0; i < 10; i++) {
+            dicionario.canonico(i % 2 == 0 ? "Rua" : "Praça");
+        }
+        assertThat(dicionario.acertos(), is(8L));
+        assertThat(dicionario.falhas(), is(2L));
+        assertThat(dicionario.toString(), is("Dicionario[tamanho=2, capacidade=4, acertos=8, falhas=2]"));
+    }
+
+    @Test
+    public void deve_devolver_o_proprio_valor_quando_cheio() {
+        Dicionario dicionario = new Dicionario(1);
+        dicionario.canonico("Rua");
+        String avenida = new String("Avenida");
+        assertThat(dicionario.canonico(avenida), is(sameInstance(avenida)));
+        assertThat(dicionario.codigo("Avenida"), is(Dicionario.SEM_CODIGO));
+        assertThat(dicionario.codigo("Rua"), is(0));
+        assertThat(dicionario.tamanho(), is(1));
+        assertThat(dicionario.falhas(), is(3L));
+    }
+
+    @Test
+    public void deve_compartilhar_valores_entre_threads() throws Exception {
+        final Dicionario dicionario = new Dicionario(64);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String[]>> resultados = new ArrayList<Future<String[]>>();
+            for(int t = 0; t < 4; t++) {
+                resultados.add(executor.submit(new Callable<String[]>() {
+
+                    @Override
+                    public String[] call() {
+                        String[] canonicos = new String[32];
+                        for(int repeticao = 0; repeticao < 100; repeticao++) {
+                            for(int i = 0; i < canonicos.length; i++) {
+                                canonicos[i] = dicionario.canonico(new String("valor" + i));
+                            }
+                        }
+                        return canonicos;
+                    }
+                }));
+            }
+            String[] primeiro = resultados.get(0).get();
+            for(Future<String[]> resultado : resultados) {
+                String[] canonicos = resultado.get();
+                for(int i = 0; i < canonicos.length; i++) {
+                    assertThat(canonicos[i], is(sameInstance(primeiro[i])));
+                    assertThat(dicionario.valor(dicionario.codigo(canonicos[i])), is(sameInstance(canonicos[i])));
+                }
+            }
+            assertThat(dicionario.tamanho(), is(32));
+            assertThat(dicionario.acertos() + dicionario.falhas(), is(4L * 100 * 32 + 4 * 32));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void deve_compartilhar_tipo_de_logradouro_e_site_nos_setters() {
+        Endereco endereco = new Endereco();
+        endereco.setTipoLogradouro(new String("Avenida"));
+        Endereco outro = new Endereco();
+        outro.setTipoLogradouro(new String("Avenida"));
+        assertThat(outro.getTipoLogradouro(), is(sameInstance(endereco.getTipoLogradouro())));
+        Empresa empresa = Fixture.from(Empresa.class).gimme("empresa_valida");
+        Empresa copia = new Empresa();
+        copia.setSite(new String(empresa.getSite()));
+        Empresa outra = new Empresa();
+        outra.setSite(new String(empresa.getSite()));
+        assertThat(outra.getSite(), is(sameInstance(copia.getSite())));
+        assertThat(Dicionarios.SITES.acertos(), is(not(0L)));
+    }
+
+    @Test
+    public void nao_deve_ler_codigo_inexistente() {
+        thrown.expect(IndexOutOfBoundsException.class);
+        new Dicionario(4).valor(0);
+    }
+
+    @Test
+    public void nao_deve_criar_dicionario_sem_capacidade() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("A capacidade do dicionário deve ser positiva.");
+        new Dicionario(0);
+    }
+}
@@ -0,0 +1,181 @@
+package br.com.contmatic.empresawilliam;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.joda.time.LocalDate;
+import org.junit.AfterClass;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runners.MethodSorters;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class EmpresaImutavelTeste {
+
+    private static final String VALIDO = "11222333000181";
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        System.out.println("Teste de EmpresaImutavel terminado.");
+    }
+
+    // Testes
+
+    @Test
+    public void deve_retratar_a_empresa_sem_acompanhar_as_alteracoes() {
+        Empresa empresa = empresa();
+        EmpresaImutavel retrato = EmpresaImutavel.de(empresa);
+        empresa.setRazaoSocial("Mercado Central");
+        empresa.getEnderecos().iterator().next().setCep("99999999");
+        empresa.setTelefones(Collections.<Telefone> emptySet());
+        assertThat(retrato.getCnpj(), is(VALIDO));
+        assertThat(retrato.getCnpjNumerico(), is(Cnpj.parse(VALIDO)));
+        assertThat(retrato.getRazaoSocial(), is("Padaria Central"));
+        assertThat(retrato.getProprietario(), is("Maria"));
+        assertThat(retrato.getEmail(), is("contato@padaria.com.br"));
+        assertThat(retrato.getSite(), is("padaria.com.br"));
+        assertThat(retrato.getDataDeCriacao(), is(nullValue()));
+        assertThat(retrato.getEnderecos().size(), is(2));
+        assertThat(ceps(retrato.getEnderecos()), is((Set<String>) new HashSet<String>(Arrays.asList("01234567", "07654321"))));
+        assertThat(retrato.getTelefones().size(), is(1));
+        TelefoneImutavel telefone = retrato.getTelefones().iterator().next();
+        assertThat(telefone.getDdd(), is(11));
+        assertThat(telefone.getTelefone(), is("12345678"));
+        assertThat(telefone.empacota(), is(telefone.paraTelefone().empacota()));
+    }
+
+    @Test
+    public void deve_compartilhar_os_conjuntos_entre_versoes() {
+        EmpresaImutavel anterior = EmpresaImutavel.de(empresa());
+        EnderecoImutavel novo = EnderecoImutavel.builder().cep("05555000").numeroEndereco(3).tipoEndereco(EnderecoType.COMERCIAL).build();
+        EmpresaImutavel renomeada = anterior.toBuilder().razaoSocial("Padaria Nova").build();
+        EmpresaImutavel ampliada = renomeada.toBuilder().adicionaEndereco(novo).build();
+        assertThat(renomeada.getEnderecos(), is(sameInstance(anterior.getEnderecos())));
+        assertThat(renomeada.getTelefones(), is(sameInstance(anterior.getTelefones())));
+        assertThat(ampliada.getTelefones(), is(sameInstance(anterior.getTelefones())));
+        assertThat(ampliada.getEnderecos().size(), is(3));
+        assertThat(renomeada.getEnderecos().size(), is(2));
+        assertTrue(ampliada.getEnderecos().contains(novo));
+        assertThat(anterior.getRazaoSocial(), is("Padaria Central"));
+        assertThat(ampliada, is(anterior));
+        EmpresaImutavel reduzida = ampliada.toBuilder().removeEndereco(novo.toBuilder().nomeLogradouro("Outro").build()).build();
+        assertThat(reduzida.getEnderecos(), is((Set<EnderecoImutavel>) anterior.getEnderecos()));
+        assertThat(reduzida.getEnderecos(), is(not(sameInstance(anterior.getEnderecos()))));
+    }
+
+    @Test
+    public void deve_publicar_versoes_trocando_uma_referencia() throws InterruptedException {
+        final AtomicReference<EmpresaImutavel> publicada = new AtomicReference<EmpresaImutavel>(EmpresaImutavel.de(empresa()));
+        final List<Throwable> erros = Collections.synchronizedList(new ArrayList<Throwable>());
+        Thread leitora = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    for(int i = 0; i < 10000; i++) {
+                        EmpresaImutavel empresa = publicada.get();
+                        // Cada versão tem tantos telefones quanto o número no nome do proprietário.
+                        assertThat(empresa.getTelefones().size(), is(Integer.parseInt(empresa.getProprietario().substring(1))));
+                    }
+                } catch (Throwable e) {
+                    erros.add(e);
+                }
+            }
+        });
+        publicada.set(publicada.get().toBuilder().telefones(Collections.<TelefoneImutavel> emptySet()).proprietario("p0").build());
+        leitora.start();
+        for(int i = 1; i <= 200; i++) {
+            TelefoneImutavel telefone = TelefoneImutavel.builder().tipoTelefone(TelefoneType.CELULAR).ddd(11).telefone(String.valueOf(900000000 + i))
+                    .build();
+            publicada.set(publicada.get().toBuilder().adicionaTelefone(telefone).proprietario("p" + i).build());
+        }
+        leitora.join();
+        assertTrue(erros.toString(), erros.isEmpty());
+        assertThat(publicada.get().getTelefones().size(), is(200));
+    }
+
+    @Test
+    public void deve_guardar_as_datas_em_dias() {
+        LocalDate criacao = new LocalDate(2016, 3, 1);
+        EmpresaImutavel empresa = EmpresaImutavel.builder().cnpj(VALIDO).dataDeCriacao(criacao).dataDeAlteracao(criacao.plusDays(10)).build();
+        assertThat(empresa.getDataDeCriacao(), is(criacao));
+        assertThat(empresa.getDataDeAlteracao(), is(criacao.plusDays(10)));
+        assertThat(empresa.toBuilder().build().getDataDeAlteracao(), is(criacao.plusDays(10)));
+    }
+
+    @Test
+    public void deve_copiar_endereco_e_telefone_para_os_mutaveis() {
+        EnderecoImutavel endereco = EnderecoImutavel.de(endereco("01234567"));
+        Endereco copia = endereco.paraEndereco();
+        assertThat(copia, is(endereco("01234567")));
+        assertThat(copia.getTipoLogradouro(), is("Rua"));
+        assertThat(EnderecoImutavel.de(copia), is(endereco));
+        TelefoneImutavel telefone = TelefoneImutavel.builder().tipoTelefone(TelefoneType.FIXO).ddd(11).telefone("12345678").build();
+        assertThat(TelefoneImutavel.de(telefone.paraTelefone()), is(telefone));
+        assertThat(telefone.toBuilder().ddd(12).build(), is(not(telefone)));
+    }
+
+    @Test
+    public void nao_deve_retratar_empresa_nula() {
+        thrown.expect(NullPointerException.class);
+        thrown.expectMessage("A empresa deve ser preenchida.");
+        EmpresaImutavel.de(null);
+    }
+
+    // Auxiliares
+
+    private static Set<String> ceps(Set<EnderecoImutavel> enderecos) {
+        Set<String> ceps = new HashSet<String>();
+        for(EnderecoImutavel endereco : enderecos) {
+            ceps.add(endereco.getCep());
+        }
+        return ceps;
+    }
+
+    private static Empresa empresa() {
+        Empresa empresa = new Empresa();
+        empresa.setCnpj(VALIDO);
+        empresa.setRazaoSocial("Padaria Central");
+        empresa.setProprietario("Maria");
+        empresa.setEmail("contato@padaria.com.br");
+        empresa.setSite("padaria.com.br");
+        Set<Endereco> enderecos = new HashSet<Endereco>();
+        enderecos.add(endereco("01234567"));
+        enderecos.add(endereco("07654321"));
+        empresa.setEnderecos(enderecos);
+        Telefone telefone = new Telefone();
+        telefone.setTipoTelefone(TelefoneType.FIXO);
+        telefone.setDdd(11);
+        telefone.setTelefoneFixo("12345678");
+        empresa.setTelefones(Collections.singleton(telefone));
+        return empresa;
+    }
+
+    private static Endereco endereco(String cep) {
+        Endereco endereco = new Endereco();
+        endereco.setCep(cep);
+        endereco.setNumeroEndereco(1);
+        endereco.setTipoLogradouro("Rua");
+        endereco.setNomeLogradouro("Central");
+        endereco.setTipoEndereco(EnderecoType.COMERCIAL);
+        return endereco;
+    }
+
+}
@@ -17,6 +17,7 @@ import org.junit.rules.ExpectedException;
 import org.junit.rules.Timeout;
 import org.junit.runners.MethodSorters;
 
+import br.com.contmatic.empresawilliam.validation.ValidationEngine;
 import br.com.six2six.fixturefactory.Fixture;
 import br.com.six2six.fixturefactory.loader.FixtureFactoryLoader;
 
@@ -34,6 +35,8 @@ public class EmpresaTeste {
     @BeforeClass
     public static void setUpBeforeClass() {
         FixtureFactoryLoader.loadTemplates("br.com.contmatic.empresawilliam.templates");
+        // O bootstrap e o pré-aquecimento do validador compartilhado levam perto de 1s e não devem contar no timeout do primeiro teste.
+        ValidationEngine.getInstance();
     }
 
     @Before
@@ -128,6 +131,12 @@ public class EmpresaTeste {
         assertTrue(hasErrors(empresa, "O nome de proprietário só pode conter letras."));
     }
 
+    @Test
+    public void deve_aceitar_proprietario_com_mais_de_uma_letra() {
+        empresa.setProprietario("Fulano");
+        assertThat(hasErrors(empresa, "O nome de proprietário só pode conter letras."), is(false));
+    }
+
     @Test
     public void deve_aceitar_razaoSocial_valido() {
         assertThat(hasErrors(empresa, null), is(false));
@@ -325,6 +334,19 @@ public class EmpresaTeste {
         assertThat(hasErrors(empresa, null), is(false));
     }
 
+    @Test
+    public void deve_aceitar_dataAlteracao_posterior_a_criacao_no_setter() {
+        empresa.setDataDeAlteracao(LocalDate.now().plusDays(1));
+        assertThat(empresa.getDataDeAlteracao(), is(LocalDate.now().plusDays(1)));
+    }
+
+    @Test
+    public void nao_deve_aceitar_dataAlteracao_igual_a_criacao() {
+        thrown.expect(IllegalStateException.class);
+        thrown.expectMessage("A data de alteração deve ser posterior à data de criação.");
+        empresa.setDataDeAlteracao(empresa.getDataDeCriacao());
+    }
+
     @Test
     public void nao_deve_aceitar_dataAlteracao_anterior_a_criacao() {
         thrown.expect(IllegalStateException.class);
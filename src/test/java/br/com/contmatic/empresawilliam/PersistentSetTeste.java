@@ -0,0 +1,138 @@
+package br.com.contmatic.empresawilliam;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.AfterClass;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runners.MethodSorters;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class PersistentSetTeste {
+
+    private static final int REPETICOES = 5000;
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        System.out.println("Teste de PersistentSet terminado.");
+    }
+
+    // Testes
+
+    @Test
+    public void deve_se_comportar_como_hash_set() {
+        for(int limite : new int[]{ 4, 64, 4096 }) {
+            Random random = new Random(limite);
+            Set<Object> esperado = new HashSet<Object>();
+            PersistentSet<Object> elementos = PersistentSet.vazio();
+            for(int i = 0; i < REPETICOES; i++) {
+                // Chaves com hashes iguais exercitam os nós de colisão.
+                Object elemento = random.nextBoolean() ? "e" + random.nextInt(limite) : new Colisao(random.nextInt(limite));
+                if (random.nextInt(3) == 0) {
+                    elementos = elementos.sem(elemento);
+                    esperado.remove(elemento);
+                } else {
+                    elementos = elementos.com(elemento);
+                    esperado.add(elemento);
+                }
+                assertThat(elementos.size(), is(esperado.size()));
+                assertThat(elementos.contains(elemento), is(esperado.contains(elemento)));
+            }
+            assertThat(elementos, is(esperado));
+            assertThat(new HashSet<Object>(elementos), is(esperado));
+            for(Object elemento : esperado) {
+                elementos = elementos.sem(elemento);
+            }
+            assertThat(elementos, is(sameInstance(PersistentSet.vazio())));
+        }
+    }
+
+    @Test
+    public void deve_manter_as_versoes_anteriores() {
+        Random random = new Random(3L);
+        List<PersistentSet<Integer>> versoes = new ArrayList<PersistentSet<Integer>>();
+        List<Set<Integer>> esperadas = new ArrayList<Set<Integer>>();
+        PersistentSet<Integer> atual = PersistentSet.vazio();
+        Set<Integer> esperado = new HashSet<Integer>();
+        for(int i = 0; i < 500; i++) {
+            Integer elemento = random.nextInt(200);
+            if (random.nextInt(3) == 0) {
+                atual = atual.sem(elemento);
+                esperado.remove(elemento);
+            } else {
+                atual = atual.com(elemento);
+                esperado.add(elemento);
+            }
+            versoes.add(atual);
+            esperadas.add(new HashSet<Integer>(esperado));
+        }
+        for(int i = 0; i < versoes.size(); i++) {
+            assertThat(versoes.get(i), is(esperadas.get(i)));
+        }
+    }
+
+    @Test
+    public void deve_devolver_o_mesmo_conjunto_quando_nada_muda() {
+        PersistentSet<String> elementos = PersistentSet.de(Arrays.asList("a", "b", "c"));
+        assertThat(elementos.com("a"), is(sameInstance(elementos)));
+        assertThat(elementos.sem("d"), is(sameInstance(elementos)));
+        assertThat(elementos.sem(null), is(sameInstance(elementos)));
+        assertThat(PersistentSet.de(elementos), is(sameInstance(elementos)));
+        assertFalse(elementos.contains(null));
+        assertTrue(elementos.com("d").contains("d"));
+        assertFalse(elementos.contains("d"));
+    }
+
+    @Test
+    public void nao_deve_aceitar_elemento_nulo() {
+        thrown.expect(NullPointerException.class);
+        thrown.expectMessage("O elemento deve ser preenchido.");
+        PersistentSet.<String> vazio().com(null);
+    }
+
+    @Test
+    public void nao_deve_remover_pelo_iterador() {
+        thrown.expect(UnsupportedOperationException.class);
+        thrown.expectMessage("O conjunto é imutável.");
+        PersistentSet.de(Arrays.asList("a")).iterator().remove();
+    }
+
+    // Auxiliares
+
+    private static final class Colisao {
+
+        private final int valor;
+
+        Colisao(int valor) {
+            this.valor = valor;
+        }
+
+        @Override
+        public int hashCode() {
+            return valor % 3;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Colisao && ((Colisao) obj).valor == valor;
+        }
+
+    }
+
+}
@@ -0,0 +1,102 @@
+package br.com.contmatic.empresawilliam;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.joda.time.LocalDate;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runners.MethodSorters;
+
+import br.com.six2six.fixturefactory.Fixture;
+import br.com.six2six.fixturefactory.loader.FixtureFactoryLoader;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class RelogioDeDiasTeste {
+
+    private static final LocalDate DIA = new LocalDate(2020, 2, 29);
+
+    private static final RelogioDeDias RELOGIO = RelogioDeDias.fixo(DIA);
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        FixtureFactoryLoader.loadTemplates("br.com.contmatic.empresawilliam.templates");
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        System.out.println("Teste de RelogioDeDias terminado.");
+    }
+
+    // Testes
+
+    @Test
+    public void deve_informar_o_dia_de_hoje_do_sistema() {
+        assertThat(RelogioDeDias.doSistema(), is(sameInstance(RelogioDeDias.doSistema())));
+        int antes = DiaDaEpoca.de(LocalDate.now());
+        int hoje = RelogioDeDias.doSistema().hoje();
+        int depois = DiaDaEpoca.de(LocalDate.now());
+        assertThat(hoje == antes || hoje == depois, is(true));
+    }
+
+    @Test
+    public void deve_aceitar_a_data_de_criacao_do_relogio_fixo() {
+        Empresa empresa = new Empresa();
+        empresa.setDataDeCriacao(DIA, RELOGIO);
+        assertThat(empresa.getDataDeCriacao(), is(DIA));
+        assertThat(empresa.getDataDeAlteracao(), is(nullValue()));
+    }
+
+    @Test
+    public void nao_deve_aceitar_data_de_criacao_anterior_ao_relogio() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Data de criação informada não pode ser anterior à data atual.");
+        new Empresa().setDataDeCriacao(DIA.minusDays(1), RELOGIO);
+    }
+
+    @Test
+    public void nao_deve_aceitar_data_de_criacao_posterior_ao_relogio() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Data de criação informada não pode ser posterior à data atual.");
+        new Empresa().setDataDeCriacao(DIA.plusDays(1), RELOGIO);
+    }
+
+    @Test
+    public void deve_usar_o_relogio_do_sistema_no_setter_sem_relogio() {
+        Empresa empresa = new Empresa();
+        empresa.setDataDeCriacao(DIA, RELOGIO);
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Data de criação informada não pode ser anterior à data atual.");
+        empresa.setDataDeCriacao(DIA);
+    }
+
+    @Test
+    public void nao_deve_aceitar_data_de_alteracao_sem_data_de_criacao() {
+        thrown.expect(IllegalStateException.class);
+        thrown.expectMessage("A data de alteração deve ser posterior à data de criação.");
+        new Empresa().setDataDeAlteracao(LocalDate.now());
+    }
+
+    @Test
+    public void deve_manter_as_datas_do_fixture() {
+        Empresa empresa = Fixture.from(Empresa.class).gimme("empresa_valida");
+        assertThat(empresa.getDataDeCriacao(), is(LocalDate.now()));
+        assertThat(empresa.getDataDeAlteracao(), is(LocalDate.now().plusDays(300)));
+    }
+
+    @Test
+    public void nao_deve_aceitar_relogio_nulo() {
+        thrown.expect(NullPointerException.class);
+        thrown.expectMessage("O relógio deve ser preenchido.");
+        new Empresa().setDataDeCriacao(DIA, null);
+    }
+}
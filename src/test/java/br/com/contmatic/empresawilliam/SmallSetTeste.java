@@ -0,0 +1,201 @@
+package br.com.contmatic.empresawilliam;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runners.MethodSorters;
+
+import br.com.contmatic.empresawilliam.validation.ValidationEngine;
+import br.com.contmatic.empresawilliam.validation.ValidationResult;
+import br.com.contmatic.empresawilliam.validation.Violation;
+import br.com.six2six.fixturefactory.Fixture;
+import br.com.six2six.fixturefactory.loader.FixtureFactoryLoader;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class SmallSetTeste {
+
+    private static final int REPETICOES = 5000;
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        FixtureFactoryLoader.loadTemplates("br.com.contmatic.empresawilliam.templates");
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        System.out.println("Teste de SmallSet terminado.");
+    }
+
+    // Testes
+
+    @Test
+    public void deve_se_comportar_como_hash_set_pequeno_e_grande() {
+        for(int limite : new int[]{ 4, SmallSet.LIMITE_LINEAR + 1, 64 }) {
+            Random random = new Random(limite);
+            Set<String> esperado = new HashSet<String>();
+            SmallSet<String> elementos = new SmallSet<String>();
+            for(int i = 0; i < REPETICOES; i++) {
+                String elemento = random.nextInt(limite * 2) == 0 ? null : "e" + random.nextInt(limite);
+                if (random.nextInt(3) == 0) {
+                    assertThat(elementos.remove(elemento), is(esperado.remove(elemento)));
+                } else {
+                    assertThat(elementos.add(elemento), is(esperado.add(elemento)));
+                }
+                assertThat(elementos.size(), is(esperado.size()));
+                assertThat(elementos.contains(elemento), is(esperado.contains(elemento)));
+            }
+            assertThat(elementos, is(esperado));
+            assertThat(elementos.hashCode(), is(esperado.hashCode()));
+        }
+    }
+
+    @Test
+    public void deve_manter_a_ordem_de_insercao() {
+        SmallSet<String> elementos = new SmallSet<String>(Arrays.asList("c", "a", "b", "a"));
+        assertThat(new ArrayList<String>(elementos), is(Arrays.asList("c", "a", "b")));
+    }
+
+    @Test
+    public void deve_manter_a_ordem_de_insercao_depois_de_remover() {
+        for(int tamanho : new int[]{ 5, 20 }) {
+            SmallSet<Integer> elementos = new SmallSet<Integer>();
+            List<Integer> esperado = new ArrayList<Integer>();
+            for(int i = 0; i < tamanho; i++) {
+                elementos.add(i);
+                esperado.add(i);
+            }
+            elementos.remove(1);
+            esperado.remove(Integer.valueOf(1));
+            for(Iterator<Integer> iterador = elementos.iterator(); iterador.hasNext();) {
+                if (iterador.next() % 3 == 0) {
+                    iterador.remove();
+                }
+            }
+            for(Iterator<Integer> iterador = esperado.iterator(); iterador.hasNext();) {
+                if (iterador.next() % 3 == 0) {
+                    iterador.remove();
+                }
+            }
+            elementos.add(0);
+            esperado.add(0);
+            assertThat(new ArrayList<Integer>(elementos), is(esperado));
+            for(Integer elemento : esperado) {
+                assertTrue(elementos.contains(elemento));
+            }
+        }
+    }
+
+    @Test
+    public void deve_encontrar_elementos_com_o_mesmo_hash_depois_de_crescer() {
+        SmallSet<String> elementos = new SmallSet<String>();
+        // "Aa" e "BB" têm o mesmo hashCode, assim como todas as combinações abaixo.
+        List<String> colisoes = Arrays.asList("AaAa", "AaBB", "BBAa", "BBBB", "AaAaAa", "AaAaBB", "AaBBAa", "AaBBBB", "BBAaAa", "BBAaBB");
+        elementos.addAll(colisoes);
+        for(String colisao : colisoes) {
+            assertTrue(elementos.contains(colisao));
+        }
+        assertTrue(elementos.remove("AaAa"));
+        assertFalse(elementos.contains("AaAa"));
+        assertTrue(elementos.contains("BBAaBB"));
+    }
+
+    @Test
+    public void deve_remover_pelo_iterador_visitando_todos_os_elementos() {
+        SmallSet<Integer> elementos = new SmallSet<Integer>();
+        for(int i = 0; i < 20; i++) {
+            elementos.add(i);
+        }
+        int visitados = 0;
+        for(Iterator<Integer> iterador = elementos.iterator(); iterador.hasNext();) {
+            int elemento = iterador.next();
+            visitados++;
+            if (elemento % 2 == 0) {
+                iterador.remove();
+            }
+        }
+        assertThat(visitados, is(20));
+        assertThat(elementos.size(), is(10));
+        assertTrue(elementos.contains(19));
+        assertFalse(elementos.contains(18));
+    }
+
+    @Test
+    public void nao_deve_permitir_alteracao_durante_a_iteracao() {
+        SmallSet<String> elementos = new SmallSet<String>(Arrays.asList("a", "b"));
+        Iterator<String> iterador = elementos.iterator();
+        iterador.next();
+        elementos.add("c");
+        thrown.expect(ConcurrentModificationException.class);
+        iterador.next();
+    }
+
+    @Test
+    public void deve_copiar_os_enderecos_da_empresa_para_um_small_set() {
+        Empresa empresa = Fixture.from(Empresa.class).gimme("empresa_valida");
+        Set<Endereco> originais = new HashSet<Endereco>(empresa.getEnderecos());
+        empresa.setEnderecos(originais);
+        assertThat(empresa.getEnderecos(), is(instanceOf(SmallSet.class)));
+        assertThat(empresa.getEnderecos(), is(originais));
+        originais.clear();
+        assertFalse(empresa.getEnderecos().isEmpty());
+    }
+
+    @Test
+    public void deve_validar_a_empresa_da_mesma_forma_com_small_set() {
+        for(int i = 0; i < 20; i++) {
+            Empresa empresa = Fixture.from(Empresa.class).gimme(i % 2 == 0 ? "empresa_valida" : "empresa_invalida");
+            Set<Endereco> enderecos = empresa.getEnderecos() == null ? null : new HashSet<Endereco>(empresa.getEnderecos());
+            Set<Telefone> telefones = empresa.getTelefones() == null ? null : new HashSet<Telefone>(empresa.getTelefones());
+            List<String> compactos = ordena(ValidationEngine.getInstance().validate(empresa));
+            // Volta para HashSet por reflexão, já que os setters sempre copiam para os conjuntos compactos.
+            substitui(empresa, "enderecos", enderecos);
+            substitui(empresa, "telefones", telefones);
+            assertThat(ordena(ValidationEngine.getInstance().validate(empresa)), is(compactos));
+            assertThat(ordena(EmpresaValidator.INSTANCE.validate(empresa)), is(compactos));
+        }
+    }
+
+    // Auxiliares
+
+    private static void substitui(Empresa empresa, String campo, Object valor) {
+        try {
+            Field field = Empresa.class.getDeclaredField(campo);
+            field.setAccessible(true);
+            field.set(empresa, valor);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<String> ordena(ValidationResult result) {
+        List<String> violacoes = new ArrayList<String>();
+        for(Violation violation : result.getViolations()) {
+            violacoes.add(violation.toString());
+        }
+        Collections.sort(violacoes);
+        return violacoes;
+    }
+}
@@ -0,0 +1,248 @@
+package br.com.contmatic.empresawilliam;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runners.MethodSorters;
+
+import br.com.contmatic.empresawilliam.validation.ValidationEngine;
+import br.com.contmatic.empresawilliam.validation.ValidationResult;
+import br.com.contmatic.empresawilliam.validation.Violation;
+import br.com.six2six.fixturefactory.Fixture;
+import br.com.six2six.fixturefactory.loader.FixtureFactoryLoader;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TelefoneSetTeste {
+
+    private static final String[] TEMPLATES = { "fixo_valido", "celular_valido", "fixo_invalido", "celular_invalido", "ddd_menor_que_limite" };
+
+    private static final int REPETICOES = 200;
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        FixtureFactoryLoader.loadTemplates("br.com.contmatic.empresawilliam.templates");
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        System.out.println("Teste de TelefoneSet terminado.");
+    }
+
+    // Testes
+
+    @Test
+    public void deve_empacotar_e_desempacotar_sem_perder_dados() {
+        for(int i = 0; i < REPETICOES; i++) {
+            for(String template : TEMPLATES) {
+                Telefone telefone = Fixture.from(Telefone.class).gimme(template);
+                if (telefone.getTelefone().length() <= 9) {
+                    assertThat(Telefone.desempacota(telefone.empacota()), is(telefone));
+                } else {
+                    assertThat(telefone.empacota(), is(Telefone.NAO_EMPACOTAVEL));
+                }
+            }
+        }
+        Telefone vazio = new Telefone();
+        assertThat(Telefone.desempacota(vazio.empacota()), is(vazio));
+        assertThat(Telefone.desempacota(vazio.empacota()).getTelefone(), is(nullValue()));
+    }
+
+    @Test
+    public void deve_distinguir_numeros_com_zeros_a_esquerda() {
+        assertThat(telefone(11, "01234567").empacota(), is(not(telefone(11, "1234567").empacota())));
+        assertThat(Telefone.desempacota(telefone(11, "01234567").empacota()).getTelefone(), is("01234567"));
+    }
+
+    @Test
+    public void nao_deve_empacotar_numero_com_letras_ou_longo_demais() {
+        assertThat(telefone(11, "1234567a").empacota(), is(Telefone.NAO_EMPACOTAVEL));
+        assertThat(telefone(11, "1234567890").empacota(), is(Telefone.NAO_EMPACOTAVEL));
+        assertThat(telefone(600, "12345678").empacota(), is(Telefone.NAO_EMPACOTAVEL));
+    }
+
+    @Test
+    public void nao_deve_desempacotar_valor_invalido() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Valor empacotado de telefone inválido.");
+        Telefone.desempacota(-2L);
+    }
+
+    @Test
+    public void deve_se_comportar_como_hash_set() {
+        Random random = new Random(7L);
+        Set<Telefone> esperado = new HashSet<Telefone>();
+        TelefoneSet telefones = new TelefoneSet();
+        for(int i = 0; i < REPETICOES * 5; i++) {
+            Telefone telefone = aleatorio(random);
+            if (random.nextInt(3) == 0) {
+                assertThat(telefones.remove(telefone), is(esperado.remove(telefone)));
+            } else {
+                assertThat(telefones.add(telefone), is(esperado.add(telefone)));
+            }
+            assertThat(telefones.size(), is(esperado.size()));
+            assertThat(telefones.contains(telefone), is(esperado.contains(telefone)));
+        }
+        assertThat(telefones, is(esperado));
+        assertThat(telefones.hashCode(), is(esperado.hashCode()));
+    }
+
+    @Test
+    public void deve_se_comportar_como_hash_set_com_muitos_telefones() {
+        Random random = new Random(8L);
+        Set<Telefone> esperado = new HashSet<Telefone>();
+        TelefoneSet telefones = new TelefoneSet();
+        for(int i = 0; i < REPETICOES * 20; i++) {
+            Telefone telefone = telefone(11 + random.nextInt(4), String.valueOf(10000000 + random.nextInt(20)));
+            if (random.nextInt(3) == 0) {
+                assertThat(telefones.remove(telefone), is(esperado.remove(telefone)));
+            } else {
+                assertThat(telefones.add(telefone), is(esperado.add(telefone)));
+            }
+            assertThat(telefones.contains(telefone), is(esperado.contains(telefone)));
+        }
+        assertThat(telefones, is(esperado));
+    }
+
+    @Test
+    public void deve_remover_pelo_iterador_visitando_todos_os_telefones() {
+        TelefoneSet telefones = new TelefoneSet();
+        for(int i = 0; i < 6; i++) {
+            telefones.add(telefone(11 + i, "1234567" + i));
+        }
+        telefones.add(telefone(11, "abc"));
+        int visitados = 0;
+        for(Iterator<Telefone> iterador = telefones.iterator(); iterador.hasNext();) {
+            Telefone telefone = iterador.next();
+            visitados++;
+            if (telefone.getDdd() % 2 == 0 || "abc".equals(telefone.getTelefone())) {
+                iterador.remove();
+            }
+        }
+        assertThat(visitados, is(7));
+        assertThat(telefones.size(), is(3));
+        assertTrue(telefones.contains(telefone(11, "12345670")));
+        assertFalse(telefones.contains(telefone(12, "12345671")));
+    }
+
+    @Test
+    public void deve_copiar_na_insercao_e_na_leitura_empacotaveis_ou_nao() {
+        for(String numero : new String[]{ "12345678", "12a" }) {
+            Telefone original = telefone(11, numero);
+            Empresa empresa = new Empresa();
+            empresa.setTelefones(Collections.singleton(original));
+            original.setDdd(31);
+            for(Telefone telefone : empresa.getTelefones()) {
+                telefone.setDdd(21);
+            }
+            Telefone lido = empresa.getTelefones().iterator().next();
+            assertThat(lido.getDdd(), is(11));
+            assertThat(lido.getTelefone(), is(numero));
+            assertTrue(lido != empresa.getTelefones().iterator().next());
+            assertTrue(empresa.getTelefones().contains(telefone(11, numero)));
+        }
+    }
+
+    @Test
+    public void deve_publicar_os_telefones_empacotados_a_cada_alteracao() {
+        TelefoneSet telefones = new TelefoneSet();
+        long chave = Telefone.dddENumero(telefone(11, "12345678").empacota());
+        assertFalse(telefones.containsPublicado(chave, null));
+        for(int i = 0; i < 20; i++) {
+            telefones.add(telefone(11, String.valueOf(12345678 + i)));
+        }
+        assertTrue(telefones.containsPublicado(chave, null));
+        assertTrue(telefones.containsPublicado(chave, TelefoneType.FIXO));
+        assertFalse(telefones.containsPublicado(chave, TelefoneType.CELULAR));
+        Iterator<Telefone> iterador = telefones.iterator();
+        while(iterador.hasNext()) {
+            if ("12345678".equals(iterador.next().getTelefone())) {
+                iterador.remove();
+            }
+        }
+        assertFalse(telefones.containsPublicado(chave, null));
+        assertTrue(telefones.containsPublicado(Telefone.dddENumero(telefone(11, "12345679").empacota()), null));
+        telefones.clear();
+        assertFalse(telefones.containsPublicado(Telefone.dddENumero(telefone(11, "12345679").empacota()), null));
+    }
+
+    @Test
+    public void deve_copiar_os_telefones_da_empresa_para_um_telefone_set() {
+        Empresa empresa = Fixture.from(Empresa.class).gimme("empresa_valida");
+        Set<Telefone> originais = new HashSet<Telefone>(empresa.getTelefones());
+        empresa.setTelefones(originais);
+        assertThat(empresa.getTelefones(), is(instanceOf(TelefoneSet.class)));
+        assertThat(empresa.getTelefones(), is(originais));
+    }
+
+    @Test
+    public void deve_validar_a_empresa_da_mesma_forma_com_telefone_set() {
+        for(int i = 0; i < REPETICOES / 10; i++) {
+            Empresa empresa = Fixture.from(Empresa.class).gimme(i % 2 == 0 ? "empresa_valida" : "empresa_invalida");
+            List<String> comHashSet = ordena(ValidationEngine.getInstance().validate(empresa));
+            empresa.setTelefones(empresa.getTelefones());
+            assertThat(ordena(ValidationEngine.getInstance().validate(empresa)), is(comHashSet));
+            assertThat(ordena(EmpresaValidator.INSTANCE.validate(empresa)), is(comHashSet));
+        }
+    }
+
+    // Auxiliares
+
+    private static List<String> ordena(ValidationResult result) {
+        List<String> violacoes = new ArrayList<String>();
+        for(Violation violation : result.getViolations()) {
+            violacoes.add(violation.toString());
+        }
+        Collections.sort(violacoes);
+        return violacoes;
+    }
+
+    private static Telefone telefone(int ddd, String numero) {
+        Telefone telefone = new Telefone();
+        telefone.setTipoTelefone(TelefoneType.FIXO);
+        telefone.setDdd(ddd);
+        telefone.setTelefoneFixo(numero);
+        return telefone;
+    }
+
+    private static Telefone aleatorio(Random random) {
+        Telefone telefone = new Telefone();
+        telefone.setTipoTelefone(random.nextInt(5) == 0 ? null : TelefoneType.values()[random.nextInt(TelefoneType.values().length)]);
+        telefone.setDdd(random.nextInt(4) == 0 ? 1000 + random.nextInt(3) : 11 + random.nextInt(3));
+        switch(random.nextInt(4)) {
+            case 0:
+                telefone.setTelefoneFixo(null);
+                break;
+            case 1:
+                telefone.setTelefoneFixo("0" + random.nextInt(3));
+                break;
+            case 2:
+                telefone.setTelefoneFixo("x" + random.nextInt(3));
+                break;
+            default:
+                telefone.setTelefoneFixo(String.valueOf(random.nextInt(3)));
+        }
+        return telefone;
+    }
+}
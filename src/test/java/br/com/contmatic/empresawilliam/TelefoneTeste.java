@@ -5,6 +5,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertTrue;
 
+import org.apache.commons.lang3.StringUtils;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -15,6 +16,7 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runners.MethodSorters;
 
+import br.com.contmatic.empresawilliam.validation.ValidationEngine;
 import br.com.six2six.fixturefactory.Fixture;
 import br.com.six2six.fixturefactory.loader.FixtureFactoryLoader;
 
@@ -152,4 +154,27 @@ public class TelefoneTeste {
     public void nao_deve_aceitar_telefoneCelular_maior_que_limite() {
         assertTrue(hasErrors(celularInvalido, "Para telefone celular, por favor informar 9 dígitos.", Celular.class));
     }
+
+    @Test
+    public void nao_deve_aceitar_telefoneCelular_com_tamanho_de_fixo_no_grupo_padrao() {
+        celularValido.setTelefoneCelular("12345678");
+        assertTrue(hasErrors(celularValido, "Para telefone celular, por favor informar 9 dígitos."));
+    }
+
+    @Test
+    public void deve_verificar_o_numero_pelo_tamanho_do_tipo_no_grupo_padrao() {
+        for(TelefoneType tipo : TelefoneType.values()) {
+            fixoValido.setTipoTelefone(tipo);
+            fixoValido.setTelefoneFixo(StringUtils.repeat('9', tipo.getTamanho()));
+            assertThat(ValidationEngine.getInstance().validate(fixoValido).isValid(), is(true));
+            fixoValido.setTelefoneFixo(StringUtils.repeat('9', tipo.getTamanho() + 1));
+            assertThat(ValidationEngine.getInstance().validate(fixoValido).isValid(), is(false));
+        }
+    }
+
+    @Test
+    public void nao_deve_verificar_o_numero_no_grupo_padrao_se_as_demais_constraints_falharem() {
+        assertTrue(hasErrors(telefoneDDDMenor, "O número de DDD informado deve ser entre 11 e 99."));
+        assertThat(hasErrors(telefoneDDDMenor, "Para telefone fixo, por favor informar 8 dígitos."), is(false));
+    }
 }
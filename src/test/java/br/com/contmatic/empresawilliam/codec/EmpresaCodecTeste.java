@@ -0,0 +1,282 @@
+package br.com.contmatic.empresawilliam.codec;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.joda.time.LocalDate;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runners.MethodSorters;
+
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.EmpresaValidator;
+import br.com.contmatic.empresawilliam.Endereco;
+import br.com.contmatic.empresawilliam.EnderecoType;
+import br.com.contmatic.empresawilliam.Telefone;
+import br.com.contmatic.empresawilliam.TelefoneType;
+import br.com.six2six.fixturefactory.Fixture;
+import br.com.six2six.fixturefactory.loader.FixtureFactoryLoader;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class EmpresaCodecTeste {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        FixtureFactoryLoader.loadTemplates("br.com.contmatic.empresawilliam.templates");
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        System.out.println("Teste de EmpresaCodec terminado.");
+    }
+
+    // Testes
+
+    @Test
+    public void deve_decodificar_as_empresas_como_foram_codificadas() {
+        for(int i = 0; i < 50; i++) {
+            Empresa empresa = Fixture.from(Empresa.class).gimme(i % 2 == 0 ? "empresa_valida" : "empresa_invalida");
+            Empresa decodificada = EmpresaCodec.decodifica(ByteBuffer.wrap(EmpresaCodec.codifica(empresa)));
+            assertMesmaEmpresa(decodificada, empresa);
+            assertThat(decodificada, is(empresa));
+            assertThat(decodificada.hashCode(), is(empresa.hashCode()));
+        }
+    }
+
+    @Test
+    public void deve_codificar_empresa_vazia_em_tres_bytes() {
+        Empresa vazia = new Empresa();
+        byte[] bytes = EmpresaCodec.codifica(vazia);
+        assertThat(bytes.length, is(3));
+        assertThat((int) bytes[0], is(EmpresaCodec.VERSAO));
+        assertMesmaEmpresa(EmpresaCodec.decodifica(ByteBuffer.wrap(bytes)), vazia);
+    }
+
+    @Test
+    public void deve_guardar_elementos_nulos_e_telefones_nao_empacotaveis() {
+        Empresa empresa = empresa();
+        Set<Endereco> enderecos = new HashSet<Endereco>(empresa.getEnderecos());
+        enderecos.add(null);
+        enderecos.add(new Endereco());
+        empresa.setEnderecos(enderecos);
+        Telefone estranho = new Telefone();
+        estranho.setDdd(-100000);
+        estranho.setTelefoneFixo("12a45678");
+        Telefone semNumero = new Telefone();
+        semNumero.setTipoTelefone(TelefoneType.CELULAR);
+        semNumero.setDdd(Integer.MAX_VALUE);
+        empresa.setTelefones(new HashSet<Telefone>(Arrays.asList(estranho, semNumero, null)));
+        assertMesmaEmpresa(EmpresaCodec.decodifica(ByteBuffer.wrap(EmpresaCodec.codifica(empresa))), empresa);
+    }
+
+    @Test
+    public void deve_manter_cnpj_com_mascara_ou_invalido_como_texto() {
+        for(String cnpj : Arrays.asList("11.222.333/0001-81", "1122233300018A", "", "00000000000000", "99999999999999")) {
+            Empresa empresa = empresa();
+            empresa.setCnpj(cnpj);
+            Empresa decodificada = EmpresaCodec.decodifica(ByteBuffer.wrap(EmpresaCodec.codifica(empresa)));
+            assertThat(decodificada.getCnpj(), is(cnpj));
+            assertThat(decodificada.getCnpjNumerico(), is(empresa.getCnpjNumerico()));
+        }
+    }
+
+    @Test
+    public void deve_guardar_textos_acentuados_e_datas_antigas() {
+        Empresa empresa = new Empresa() {
+
+            @Override
+            public LocalDate getDataDeCriacao() {
+                return new LocalDate(1900, 2, 28);
+            }
+
+            @Override
+            public LocalDate getDataDeAlteracao() {
+                return new LocalDate(2999, 12, 31);
+            }
+        };
+        empresa.setRazaoSocial("Açaí & Pão de Queijo — Ltda 😀");
+        assertMesmaEmpresa(EmpresaCodec.decodifica(ByteBuffer.wrap(EmpresaCodec.codifica(empresa))), empresa);
+    }
+
+    @Test
+    public void deve_ler_varios_registros_em_sequencia_de_um_buffer_direto() {
+        List<Empresa> empresas = new ArrayList<Empresa>();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+        for(int i = 0; i < 20; i++) {
+            empresas.add(Fixture.from(Empresa.class).<Empresa> gimme("empresa_valida"));
+            EmpresaCodec.codifica(empresas.get(i), buffer);
+        }
+        buffer.flip();
+        for(int i = 0; i < 20; i++) {
+            assertMesmaEmpresa(EmpresaCodec.decodifica(buffer), empresas.get(i));
+        }
+        assertThat(buffer.hasRemaining(), is(false));
+    }
+
+    @Test
+    public void deve_ler_os_campos_direto_do_buffer() {
+        Empresa empresa = empresa();
+        byte[] bytes = EmpresaCodec.codifica(empresa);
+        Empresa decodificada = EmpresaCodec.decodifica(ByteBuffer.wrap(bytes));
+        byte[] razaoSocial = empresa.getRazaoSocial().getBytes(StandardCharsets.UTF_8);
+        int posicao = indiceDe(bytes, razaoSocial);
+        bytes[posicao] = 'X';
+        assertThat(decodificada.getRazaoSocial(), is("X" + empresa.getRazaoSocial().substring(1)));
+    }
+
+    @Test
+    public void deve_validar_como_a_empresa_original() {
+        for(int i = 0; i < 20; i++) {
+            Empresa empresa = Fixture.from(Empresa.class).gimme(i % 2 == 0 ? "empresa_valida" : "empresa_invalida");
+            Empresa decodificada = EmpresaCodec.decodifica(ByteBuffer.wrap(EmpresaCodec.codifica(empresa)));
+            assertThat(mensagens(EmpresaValidator.INSTANCE.validate(decodificada).getViolations().toString()),
+                is(mensagens(EmpresaValidator.INSTANCE.validate(empresa).getViolations().toString())));
+        }
+    }
+
+    @Test
+    public void nao_deve_alterar_a_empresa_decodificada() {
+        Empresa decodificada = EmpresaCodec.decodifica(ByteBuffer.wrap(EmpresaCodec.codifica(empresa())));
+        thrown.expect(UnsupportedOperationException.class);
+        thrown.expectMessage("A empresa decodificada é somente leitura.");
+        decodificada.setRazaoSocial("Outra");
+    }
+
+    @Test
+    public void nao_deve_alterar_os_enderecos_da_empresa_decodificada() {
+        Empresa decodificada = EmpresaCodec.decodifica(ByteBuffer.wrap(EmpresaCodec.codifica(empresa())));
+        thrown.expect(UnsupportedOperationException.class);
+        decodificada.getEnderecos().clear();
+    }
+
+    @Test
+    public void nao_deve_decodificar_versao_desconhecida() {
+        byte[] bytes = EmpresaCodec.codifica(empresa());
+        bytes[0] = 2;
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Versão 2 do formato binário de empresa não suportada.");
+        EmpresaCodec.decodifica(ByteBuffer.wrap(bytes));
+    }
+
+    @Test
+    public void nao_deve_decodificar_registro_truncado() {
+        byte[] bytes = EmpresaCodec.codifica(empresa());
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("passa do fim do buffer.");
+        EmpresaCodec.decodifica(ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length - 1)));
+    }
+
+    @Test
+    public void nao_deve_escrever_parte_do_registro_quando_nao_couber() {
+        ByteBuffer destino = ByteBuffer.allocate(10);
+        try {
+            EmpresaCodec.codifica(empresa(), destino);
+        } catch (BufferOverflowException e) {
+            assertThat(destino.position(), is(0));
+            return;
+        }
+        throw new AssertionError("O registro não deveria caber em 10 bytes.");
+    }
+
+    @Test
+    public void nao_deve_codificar_empresa_nula() {
+        thrown.expect(NullPointerException.class);
+        thrown.expectMessage("A empresa deve ser preenchida.");
+        EmpresaCodec.codifica(null);
+    }
+
+    // Auxiliares
+
+    private static int indiceDe(byte[] bytes, byte[] procurado) {
+        for(int i = 0; i + procurado.length <= bytes.length; i++) {
+            if (Arrays.equals(Arrays.copyOfRange(bytes, i, i + procurado.length), procurado)) {
+                return i;
+            }
+        }
+        throw new AssertionError("Texto não encontrado no registro.");
+    }
+
+    private static List<String> mensagens(String violacoes) {
+        List<String> mensagens = new ArrayList<String>(Arrays.asList(violacoes.split(", ")));
+        Collections.sort(mensagens);
+        return mensagens;
+    }
+
+    private static void assertMesmaEmpresa(Empresa lida, Empresa original) {
+        assertThat(lida.getCnpj(), is(original.getCnpj()));
+        assertThat(lida.getRazaoSocial(), is(original.getRazaoSocial()));
+        assertThat(lida.getProprietario(), is(original.getProprietario()));
+        assertThat(lida.getEmail(), is(original.getEmail()));
+        assertThat(lida.getSite(), is(original.getSite()));
+        assertThat(lida.getDataDeCriacao(), is(original.getDataDeCriacao()));
+        assertThat(lida.getDataDeAlteracao(), is(original.getDataDeAlteracao()));
+        assertThat(enderecos(lida.getEnderecos()), is(enderecos(original.getEnderecos())));
+        assertThat(telefones(lida.getTelefones()), is(telefones(original.getTelefones())));
+    }
+
+    private static List<String> enderecos(Set<Endereco> enderecos) {
+        if (enderecos == null) {
+            return null;
+        }
+        List<String> descricoes = new ArrayList<String>();
+        for(Endereco endereco : enderecos) {
+            descricoes.add(endereco == null ? "null"
+                : endereco.getTipoLogradouro() + "|" + endereco.getNomeLogradouro() + "|" + endereco.getNumeroEndereco() + "|" + endereco.getCep() + "|"
+                    + endereco.getTipoEndereco());
+        }
+        Collections.sort(descricoes);
+        return descricoes;
+    }
+
+    private static List<String> telefones(Set<Telefone> telefones) {
+        if (telefones == null) {
+            return null;
+        }
+        List<String> descricoes = new ArrayList<String>();
+        for(Telefone telefone : telefones) {
+            descricoes.add(telefone == null ? "null" : telefone.getTipoTelefone() + "|" + telefone.getDdd() + "|" + telefone.getTelefone());
+        }
+        Collections.sort(descricoes);
+        return descricoes;
+    }
+
+    private static Empresa empresa() {
+        Empresa empresa = new Empresa();
+        empresa.setCnpj("11222333000181");
+        empresa.setRazaoSocial("Empresa Exemplo");
+        empresa.setProprietario("Fulano");
+        empresa.setEmail("contato@exemplo.com");
+        empresa.setSite("exemplo.com.br");
+        empresa.setDataDeCriacao(LocalDate.now());
+        Endereco endereco = new Endereco();
+        endereco.setTipoLogradouro("Rua");
+        endereco.setNomeLogradouro("Exemplo");
+        endereco.setNumeroEndereco(-12);
+        endereco.setCep("01234567");
+        endereco.setTipoEndereco(EnderecoType.RESIDENCIAL);
+        empresa.setEnderecos(Collections.singleton(endereco));
+        Telefone telefone = new Telefone();
+        telefone.setTipoTelefone(TelefoneType.FIXO);
+        telefone.setDdd(11);
+        telefone.setTelefoneFixo("12345678");
+        empresa.setTelefones(Collections.singleton(telefone));
+        return empresa;
+    }
+}
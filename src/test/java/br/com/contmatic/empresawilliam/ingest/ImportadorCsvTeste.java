@@ -0,0 +1,401 @@
+package br.com.contmatic.empresawilliam.ingest;
+
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.joda.time.LocalDate;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runners.MethodSorters;
+
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.Endereco;
+import br.com.contmatic.empresawilliam.EnderecoType;
+import br.com.contmatic.empresawilliam.RelogioDeDias;
+import br.com.contmatic.empresawilliam.Telefone;
+import br.com.contmatic.empresawilliam.TelefoneType;
+import br.com.contmatic.empresawilliam.validation.CompiledValidator;
+import br.com.contmatic.empresawilliam.validation.ValidationEngine;
+import br.com.contmatic.empresawilliam.validation.ValidationResult;
+import br.com.contmatic.empresawilliam.validation.Violation;
+import br.com.six2six.fixturefactory.loader.FixtureFactoryLoader;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ImportadorCsvTeste {
+
+    private static final String CABECALHO = "cnpj;razaoSocial;proprietario;email;site;dataDeCriacao;dataDeAlteracao;"
+        + "endereco1.tipoLogradouro;endereco1.nomeLogradouro;endereco1.numeroEndereco;endereco1.cep;endereco1.tipoEndereco;"
+        + "telefone1.tipoTelefone;telefone1.ddd;telefone1.telefone\n";
+
+    private static final String CABECALHO_COMPLETO = "cnpj;razaoSocial;proprietario;email;site;dataDeCriacao;dataDeAlteracao;"
+        + "endereco1.tipoLogradouro;endereco1.nomeLogradouro;endereco1.numeroEndereco;endereco1.cep;endereco1.tipoEndereco;"
+        + "endereco2.tipoLogradouro;endereco2.nomeLogradouro;endereco2.numeroEndereco;endereco2.cep;endereco2.tipoEndereco;"
+        + "telefone1.tipoTelefone;telefone1.ddd;telefone1.telefone;telefone2.tipoTelefone;telefone2.ddd;telefone2.telefone\n";
+
+    private static final String HOJE = LocalDate.now().toString("dd/MM/yyyy");
+
+    private static final String DAQUI_A_UM_ANO = LocalDate.now().plusYears(1).toString("dd/MM/yyyy");
+
+    /** Valida apenas a conversão do CSV, para que os registros bem formados sejam aceitos. */
+    private static final CompiledValidator<Empresa> SOMENTE_CONVERSAO = new CompiledValidator<Empresa>() {
+
+        @Override
+        public ValidationResult validate(Empresa obj) {
+            return ValidationResult.VALID;
+        }
+
+        @Override
+        public ValidationResult validate(Empresa obj, Class<?>... groups) {
+            return ValidationResult.VALID;
+        }
+
+        @Override
+        public List<Violation> validate(Empresa obj, String prefix, List<Violation> violations, Class<?>[] groups) {
+            return violations;
+        }
+    };
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder pasta = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        FixtureFactoryLoader.loadTemplates("br.com.contmatic.empresawilliam.templates");
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        System.out.println("Teste de ImportadorCsv terminado.");
+    }
+
+    // Testes
+
+    @Test
+    public void deve_montar_a_empresa_com_todas_as_colunas() throws Exception {
+        Destinos destinos = importa(importador().build(), CABECALHO + linha(1));
+        assertThat(destinos.rejeitadas.toString(), destinos.validas.size(), is(1));
+        Empresa empresa = destinos.validas.get(2L);
+        assertThat(empresa.getCnpj(), is("11222333000181"));
+        assertThat(empresa.getRazaoSocial(), is("Empresa 1"));
+        assertThat(empresa.getProprietario(), is("Fulano"));
+        assertThat(empresa.getEmail(), is("contato@exemplo.com"));
+        assertThat(empresa.getSite(), is("exemplo.com.br"));
+        assertThat(empresa.getDataDeCriacao(), is(LocalDate.now()));
+        assertThat(empresa.getDataDeAlteracao(), is(nullValue()));
+        Endereco endereco = empresa.getEnderecos().iterator().next();
+        assertThat(endereco.getTipoLogradouro(), is("Rua"));
+        assertThat(endereco.getNomeLogradouro(), is("Exemplo"));
+        assertThat(endereco.getNumeroEndereco(), is(-12));
+        assertThat(endereco.getCep(), is("01234567"));
+        assertThat(endereco.getTipoEndereco(), is(EnderecoType.COMERCIAL));
+        Telefone telefone = empresa.getTelefones().iterator().next();
+        assertThat(telefone.getTipoTelefone(), is(TelefoneType.CELULAR));
+        assertThat(telefone.getDdd(), is(11));
+        assertThat(telefone.getTelefone(), is("912345678"));
+    }
+
+    @Test
+    public void deve_ler_campos_entre_aspas_com_separador_quebra_de_linha_e_aspas() throws Exception {
+        String csv = "razaoSocial;proprietario;site\r\n\"Empresa; \"\"Aspas\"\"\";\"Linha\r\nquebrada\";site.com.br\r\nOutra;Fulano;x.br";
+        Destinos destinos = importa(importador().build(), csv);
+        assertThat(destinos.validas.size(), is(2));
+        assertThat(destinos.validas.get(2L).getRazaoSocial(), is("Empresa; \"Aspas\""));
+        assertThat(destinos.validas.get(2L).getProprietario(), is("Linha\r\nquebrada"));
+        assertThat(destinos.validas.get(4L).getRazaoSocial(), is("Outra"));
+        assertThat(destinos.validas.get(4L).getSite(), is("x.br"));
+    }
+
+    @Test
+    public void deve_ignorar_bom_linhas_em_branco_e_colunas_vazias() throws Exception {
+        String csv = "﻿razaoSocial;site;endereco1.cep;telefone1.ddd\n\nEmpresa;;;\n\n";
+        Destinos destinos = importa(importador().build(), csv);
+        assertThat(destinos.validas.size(), is(1));
+        Empresa empresa = destinos.validas.get(3L);
+        assertThat(empresa.getRazaoSocial(), is("Empresa"));
+        assertThat(empresa.getSite(), is(nullValue()));
+        assertThat(empresa.getEnderecos().isEmpty(), is(true));
+        assertThat(empresa.getTelefones().isEmpty(), is(true));
+    }
+
+    @Test
+    public void deve_ler_registros_divididos_entre_blocos_e_maiores_que_o_bloco() throws Exception {
+        StringBuilder csv = new StringBuilder(CABECALHO);
+        for(int i = 1; i <= 200; i++) {
+            csv.append(linha(i));
+        }
+        String grande = "Empresa " + String.format("%0500d", 0);
+        csv.append("11222333000181;\"").append(grande).append("\";Fulano\r\n");
+        Destinos destinos = importa(importador().tamanhoDoBloco(7).paralelismo(3).capacidadeDaFila(1).build(), csv.toString());
+        assertThat(destinos.rejeitadas.toString(), destinos.validas.size(), is(201));
+        for(int i = 1; i <= 200; i++) {
+            assertThat(destinos.validas.get(i + 1L).getRazaoSocial(), is("Empresa " + i));
+        }
+        assertThat(destinos.validas.get(202L).getRazaoSocial(), is(grande));
+    }
+
+    @Test
+    public void deve_separar_as_invalidas_com_linha_registro_e_mensagens() throws Exception {
+        String invalida = "11222333000181;Empresa 2;Fulano;contato@exemplo.com;exemplo.com.br;31/02/2020;01/01/2030;"
+            + "Rua;Exemplo;doze;01234567;Outro;FAX;11;912345678";
+        Destinos destinos = importa(importador().build(), CABECALHO + linha(1) + invalida + "\n");
+        assertThat(destinos.validas.size(), is(1));
+        assertThat(destinos.rejeitadas.size(), is(1));
+        EmpresaRejeitada rejeitada = destinos.rejeitadas.get(0);
+        assertThat(rejeitada.getLinha(), is(3L));
+        assertThat(rejeitada.getRegistro(), is(invalida));
+        assertThat(rejeitada.getEmpresa().getRazaoSocial(), is("Empresa 2"));
+        assertThat(rejeitada.getResultado().hasViolation("dataDeCriacao"), is(true));
+        assertThat(rejeitada.getMensagens(), hasItem("Data inválida: 31/02/2020. Use o formato dd/MM/yyyy."));
+        assertThat(rejeitada.getMensagens(), hasItem("A data de alteração deve ser posterior à data de criação."));
+        assertThat(rejeitada.getMensagens(), hasItem("Número inválido: doze."));
+        assertThat(rejeitada.getMensagens(), hasItem("Tipo inválido: Outro."));
+        assertThat(rejeitada.getMensagens(), hasItem("Tipo inválido: FAX."));
+        assertThat(rejeitada.getResultado().hasViolation("enderecos[].numeroEndereco"), is(true));
+        assertThat(rejeitada.getResultado().hasViolation("telefones[].tipoTelefone"), is(true));
+    }
+
+    @Test
+    public void deve_validar_com_o_validador_da_empresa() throws Exception {
+        String csv = CABECALHO + "11222333000181;Empresa;Fulano;email invalido;exemplo.com.br;" + HOJE + ";;Rua;Exemplo;12;01234567;comercial;fixo;11;12345678";
+        Destinos destinos = importa(ImportadorCsv.builder().build(), csv);
+        assertThat(destinos.validas.size(), is(0));
+        EmpresaRejeitada rejeitada = destinos.rejeitadas.get(0);
+        assertThat(rejeitada.getMensagens(), hasItem("O email informado é inválido."));
+        assertThat(rejeitada.getMensagens(), hasItem("A data de alteração deve ser preenchida."));
+        assertThat(rejeitada.getMensagens(), hasItem("A empresa deve conter no mínimo 2 endereços."));
+        assertThat(rejeitada.toString().startsWith("Linha 2: ["), is(true));
+    }
+
+    @Test
+    public void deve_conferir_a_data_de_criacao_com_o_relogio_do_importador() throws Exception {
+        LocalDate dia = new LocalDate(2020, 2, 29);
+        String csv = CABECALHO + linha(1).replace(HOJE, "29/02/2020") + linha(2);
+        Destinos destinos = importa(importador().relogio(RelogioDeDias.fixo(dia)).build(), csv);
+        assertThat(destinos.validas.size(), is(1));
+        assertThat(destinos.validas.get(2L).getDataDeCriacao(), is(dia));
+        assertThat(destinos.rejeitadas.get(0).getLinha(), is(3L));
+        assertThat(destinos.rejeitadas.get(0).getMensagens(), hasItem("Data de criação informada não pode ser posterior à data atual."));
+    }
+
+    @Test
+    public void deve_aceitar_registros_completos_com_o_validador_da_empresa() throws Exception {
+        StringBuilder csv = new StringBuilder(CABECALHO_COMPLETO);
+        for(int i = 1; i <= 300; i++) {
+            csv.append("11222333000181;Empresa ").append(i).append(";Fulano;contato@exemplo.com;exemplo.com.br;").append(HOJE).append(';')
+                .append(DAQUI_A_UM_ANO).append(";Rua;Exemplo;").append(i).append(";01234567;comercial;Avenida;Teste;").append(i)
+                .append(";07654321;residencial;fixo;11;12345678;celular;21;912345678\n");
+        }
+        Destinos destinos = new Destinos();
+        EstatisticasDeImportacao estatisticas = ImportadorCsv.builder().tamanhoDoBloco(1024).paralelismo(3).build()
+            .importa(new StringReader(csv.toString()), destinos, destinos);
+        assertThat(destinos.rejeitadas.toString(), estatisticas.getValidas(), is(300L));
+        assertThat(estatisticas.getInvalidas(), is(0L));
+        Empresa empresa = destinos.validas.get(2L);
+        assertThat(empresa.getDataDeCriacao(), is(LocalDate.now()));
+        assertThat(empresa.getDataDeAlteracao(), is(LocalDate.now().plusYears(1)));
+        assertThat(empresa.getEnderecos().size(), is(2));
+        assertThat(empresa.getTelefones().size(), is(2));
+        assertThat(ValidationEngine.getInstance().validate(empresa).isValid(), is(true));
+    }
+
+    @Test
+    public void deve_contar_caracteres_registros_validas_e_invalidas() throws Exception {
+        StringBuilder csv = new StringBuilder(CABECALHO);
+        for(int i = 1; i <= 1000; i++) {
+            csv.append(i % 10 == 0 ? "11222333000181;Empresa;Fulano;;;ontem\n" : linha(i));
+        }
+        Destinos destinos = new Destinos();
+        EstatisticasDeImportacao estatisticas = importador().tamanhoDoBloco(1024).paralelismo(4).build()
+            .importa(new StringReader(csv.toString()), destinos, destinos);
+        assertThat(estatisticas.isConcluida(), is(true));
+        assertThat(estatisticas.getEmAndamento(), is(0L));
+        assertThat(estatisticas.getCaracteresLidos(), is((long) csv.length()));
+        assertThat(estatisticas.getRegistrosLidos(), is(1000L));
+        assertThat(estatisticas.getValidas(), is(900L));
+        assertThat(estatisticas.getInvalidas(), is(100L));
+        assertThat(destinos.validas.size(), is(900));
+        assertThat(destinos.rejeitadas.size(), is(100));
+    }
+
+    @Test
+    public void deve_importar_arquivo() throws Exception {
+        Path arquivo = pasta.newFile("empresas.csv").toPath();
+        Files.write(arquivo, ("razaoSocial\nAçaí & Pão\n").getBytes(StandardCharsets.UTF_8));
+        Destinos destinos = new Destinos();
+        EstatisticasDeImportacao estatisticas = importador().build().importa(arquivo, StandardCharsets.UTF_8, destinos, destinos);
+        assertThat(destinos.validas.get(2L).getRazaoSocial(), is("Açaí & Pão"));
+        assertThat(estatisticas.getValidas(), is(1L));
+    }
+
+    @Test
+    public void deve_aceitar_outro_separador() throws Exception {
+        Destinos destinos = importa(importador().separador(',').build(), "razaoSocial,proprietario\n\"A, B\",C\n");
+        assertThat(destinos.validas.get(2L).getRazaoSocial(), is("A, B"));
+        assertThat(destinos.validas.get(2L).getProprietario(), is("C"));
+    }
+
+    @Test
+    public void deve_retornar_estatisticas_zeradas_para_entrada_vazia() throws Exception {
+        Destinos destinos = new Destinos();
+        EstatisticasDeImportacao estatisticas = importador().build().importa(new StringReader(""), destinos, destinos);
+        assertThat(estatisticas.isConcluida(), is(true));
+        assertThat(estatisticas.getRegistrosLidos(), is(0L));
+        assertThat(destinos.validas.isEmpty(), is(true));
+    }
+
+    @Test
+    public void nao_deve_importar_cabecalho_com_coluna_desconhecida() throws Exception {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Coluna desconhecida no cabeçalho: fax.");
+        importa(importador().build(), "cnpj;fax\n1;2\n");
+    }
+
+    @Test
+    public void nao_deve_importar_cabecalho_com_coluna_repetida() throws Exception {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Coluna repetida no cabeçalho: endereco1.CEP.");
+        importa(importador().build(), "endereco1.cep;endereco1.CEP\n1;2\n");
+    }
+
+    @Test
+    public void deve_relancar_a_excecao_do_destino() throws Exception {
+        StringBuilder csv = new StringBuilder(CABECALHO);
+        for(int i = 1; i <= 500; i++) {
+            csv.append(linha(i));
+        }
+        thrown.expect(IllegalStateException.class);
+        thrown.expectMessage("Destino indisponível.");
+        importador().tamanhoDoBloco(256).paralelismo(2).capacidadeDaFila(1).build().importa(new StringReader(csv.toString()), new DestinoDeEmpresas() {
+
+            @Override
+            public void aceita(long linha, Empresa empresa) {
+                throw new IllegalStateException("Destino indisponível.");
+            }
+        }, new Destinos());
+    }
+
+    @Test
+    public void deve_relancar_o_erro_de_leitura() throws Exception {
+        Reader entrada = new Reader() {
+
+            private boolean lido;
+
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                if (lido) {
+                    throw new IOException("Disco indisponível.");
+                }
+                lido = true;
+                String texto = "razaoSocial\nA\nB\n";
+                texto.getChars(0, texto.length(), cbuf, off);
+                return texto.length();
+            }
+
+            @Override
+            public void close() {
+
+            }
+        };
+        thrown.expect(IOException.class);
+        thrown.expectMessage("Disco indisponível.");
+        importador().tamanhoDoBloco(16).build().importa(entrada, new Destinos(), new Destinos());
+    }
+
+    @Test(timeout = 10000)
+    public void deve_relancar_o_erro_do_validador_sem_travar() throws Exception {
+        StringBuilder csv = new StringBuilder(CABECALHO);
+        for(int i = 1; i <= 500; i++) {
+            csv.append(linha(i));
+        }
+        CompiledValidator<Empresa> quebrado = new CompiledValidator<Empresa>() {
+
+            @Override
+            public ValidationResult validate(Empresa obj) {
+                throw new AssertionError("Validador quebrado.");
+            }
+
+            @Override
+            public ValidationResult validate(Empresa obj, Class<?>... groups) {
+                throw new AssertionError("Validador quebrado.");
+            }
+
+            @Override
+            public List<Violation> validate(Empresa obj, String prefix, List<Violation> violations, Class<?>[] groups) {
+                throw new AssertionError("Validador quebrado.");
+            }
+        };
+        thrown.expect(AssertionError.class);
+        thrown.expectMessage("Validador quebrado.");
+        ImportadorCsv.builder().validador(quebrado).tamanhoDoBloco(256).paralelismo(2).capacidadeDaFila(1).build()
+            .importa(new StringReader(csv.toString()), new Destinos(), new Destinos());
+    }
+
+    @Test
+    public void nao_deve_aceitar_paralelismo_zero() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("O paralelismo deve ser maior que zero.");
+        ImportadorCsv.builder().paralelismo(0);
+    }
+
+    @Test
+    public void nao_deve_aceitar_aspas_como_separador() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("O separador não pode ser aspas nem quebra de linha.");
+        ImportadorCsv.builder().separador('"');
+    }
+
+    // Auxiliares
+
+    private static ImportadorCsv.Builder importador() {
+        return ImportadorCsv.builder().validador(SOMENTE_CONVERSAO);
+    }
+
+    private static Destinos importa(ImportadorCsv importador, String csv) throws IOException, InterruptedException {
+        Destinos destinos = new Destinos();
+        importador.importa(new StringReader(csv), destinos, destinos);
+        return destinos;
+    }
+
+    private static String linha(int i) {
+        return "11222333000181;Empresa " + i + ";Fulano;contato@exemplo.com;exemplo.com.br;" + HOJE + ";;Rua;Exemplo;-12;01234567;comercial;Celular;11;912345678\n";
+    }
+
+    private static final class Destinos implements DestinoDeEmpresas, DestinoDeRejeitadas {
+
+        private final Map<Long, Empresa> validas = Collections.synchronizedMap(new TreeMap<Long, Empresa>());
+
+        private final List<EmpresaRejeitada> rejeitadas = Collections.synchronizedList(new ArrayList<EmpresaRejeitada>());
+
+        @Override
+        public void aceita(long linha, Empresa empresa) {
+            validas.put(linha, empresa);
+        }
+
+        @Override
+        public void rejeita(EmpresaRejeitada rejeitada) {
+            rejeitadas.add(rejeitada);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package br.com.contmatic.empresawilliam.json;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.joda.time.LocalDate;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runners.MethodSorters;
+
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.Endereco;
+import br.com.contmatic.empresawilliam.EnderecoType;
+import br.com.contmatic.empresawilliam.Telefone;
+import br.com.contmatic.empresawilliam.TelefoneType;
+import br.com.six2six.fixturefactory.Fixture;
+import br.com.six2six.fixturefactory.loader.FixtureFactoryLoader;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class EscritorJsonTeste {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        FixtureFactoryLoader.loadTemplates("br.com.contmatic.empresawilliam.templates");
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        System.out.println("Teste de EscritorJson terminado.");
+    }
+
+    // Testes
+
+    @Test
+    public void deve_escrever_todas_as_propriedades_da_empresa() {
+        Empresa empresa = empresa();
+        assertThat(EscritorJson.paraJson(empresa),
+            is("{\"cnpj\":\"11222333000181\",\"razaoSocial\":\"Empresa Exemplo\",\"proprietario\":\"Fulano\",\"email\":\"contato@exemplo.com\","
+                + "\"site\":\"exemplo.com.br\",\"dataDeCriacao\":\"" + empresa.converteDataDeCriacao(LocalDate.now()) + "\",\"dataDeAlteracao\":null,"
+                + "\"enderecos\":[{\"tipoLogradouro\":\"Rua\",\"nomeLogradouro\":\"Exemplo\",\"numeroEndereco\":-12,\"cep\":\"01234567\","
+                + "\"tipoEndereco\":\"RESIDENCIAL\"}],\"telefones\":[{\"tipoTelefone\":\"FIXO\",\"ddd\":11,\"telefone\":\"12345678\"}]}"));
+    }
+
+    @Test
+    public void deve_escrever_empresa_vazia_com_nulos() {
+        assertThat(EscritorJson.paraJson(new Empresa()), is("{\"cnpj\":null,\"razaoSocial\":null,\"proprietario\":null,\"email\":null,\"site\":null,"
+            + "\"dataDeCriacao\":null,\"dataDeAlteracao\":null,\"enderecos\":null,\"telefones\":null}"));
+        assertThat(EscritorJson.paraJson(null), is("null"));
+    }
+
+    @Test
+    public void deve_escrever_datas_como_converte_data_de_criacao() {
+        for(final LocalDate data : Arrays.asList(new LocalDate(1, 1, 1), new LocalDate(999, 12, 31), new LocalDate(2024, 2, 29), new LocalDate(12345, 6, 7))) {
+            Empresa empresa = new Empresa() {
+
+                @Override
+                public LocalDate getDataDeCriacao() {
+                    return data;
+                }
+            };
+            assertThat(EscritorJson.paraJson(empresa).contains("\"dataDeCriacao\":\"" + empresa.converteDataDeCriacao(data) + "\""), is(true));
+        }
+    }
+
+    @Test
+    public void deve_escapar_os_textos() {
+        Empresa empresa = new Empresa();
+        empresa.setRazaoSocial("A \"B\" \\ C\n\r\t\u0001\u2028 Açaí 😀");
+        assertThat(EscritorJson.paraJson(empresa).contains("\"razaoSocial\":\"A \\\"B\\\" \\\\ C\\n\\r\\t\\u0001\\u2028 Açaí 😀\""), is(true));
+    }
+
+    @Test
+    public void deve_escrever_numeros_extremos_e_elementos_nulos() {
+        Empresa empresa = new Empresa();
+        Endereco endereco = new Endereco();
+        endereco.setNumeroEndereco(Integer.MIN_VALUE);
+        Telefone telefone = new Telefone();
+        telefone.setDdd(Integer.MAX_VALUE);
+        empresa.setEnderecos(Collections.singleton(endereco));
+        empresa.setTelefones(Collections.singleton(telefone));
+        String json = EscritorJson.paraJson(empresa);
+        assertThat(json.contains("\"numeroEndereco\":-2147483648"), is(true));
+        assertThat(json.contains("\"ddd\":2147483647"), is(true));
+        assertThat(json.contains("\"tipoEndereco\":null"), is(true));
+        assertThat(json.contains("\"tipoTelefone\":null,\"ddd\":2147483647,\"telefone\":null"), is(true));
+    }
+
+    @Test
+    public void deve_escrever_os_mesmos_bytes_em_utf8_com_buffer_pequeno() throws Exception {
+        List<Empresa> empresas = new ArrayList<Empresa>();
+        for(int i = 0; i < 30; i++) {
+            Empresa empresa = Fixture.from(Empresa.class).gimme(i % 2 == 0 ? "empresa_valida" : "empresa_invalida");
+            empresa.setRazaoSocial(empresa.getRazaoSocial() + " 😀ç€" + i);
+            empresas.add(empresa);
+        }
+        StringWriter texto = new StringWriter();
+        new EscritorJson(texto).escreveTodas(empresas);
+        for(int tamanho = 2; tamanho <= 17; tamanho++) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            new EscritorJson(bytes, tamanho).escreveTodas(empresas);
+            assertThat(new String(bytes.toByteArray(), StandardCharsets.UTF_8), is(texto.toString()));
+            assertThat(bytes.toByteArray(), is(texto.toString().getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    @Test
+    public void deve_escrever_array_vazio_e_com_separadores() throws Exception {
+        StringBuilder json = new StringBuilder();
+        EscritorJson escritor = new EscritorJson(json);
+        escritor.escreveTodas(Collections.<Empresa> emptyList());
+        escritor.escreveTodas(Arrays.asList(null, null));
+        assertThat(json.toString(), is("[][null,null]"));
+    }
+
+    @Test
+    public void deve_enviar_o_array_aos_poucos_sem_guardar_o_documento() throws Exception {
+        final int quantidade = 20000;
+        final Empresa empresa = empresa();
+        final int[] lidas = new int[1];
+        Iterable<Empresa> empresas = new Iterable<Empresa>() {
+
+            @Override
+            public Iterator<Empresa> iterator() {
+                return new Iterator<Empresa>() {
+
+                    @Override
+                    public boolean hasNext() {
+                        return lidas[0] < quantidade;
+                    }
+
+                    @Override
+                    public Empresa next() {
+                        lidas[0]++;
+                        return empresa;
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+        };
+        final long[] escritos = new long[1];
+        final int[] maiorEscrita = new int[1];
+        final int[] lidasNaPrimeiraEscrita = { -1 };
+        OutputStream saida = new OutputStream() {
+
+            @Override
+            public void write(int b) {
+                write(new byte[] { (byte) b }, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                if (lidasNaPrimeiraEscrita[0] < 0) {
+                    lidasNaPrimeiraEscrita[0] = lidas[0];
+                }
+                escritos[0] += len;
+                maiorEscrita[0] = Math.max(maiorEscrita[0], len);
+            }
+        };
+        new EscritorJson(saida, 1024).escreveTodas(empresas);
+        long esperado = quantidade * (long) (EscritorJson.paraJson(empresa).length() + 1) + 1;
+        assertThat(escritos[0], is(esperado));
+        assertThat(maiorEscrita[0] <= 1024, is(true));
+        assertThat(lidasNaPrimeiraEscrita[0] < 10, is(true));
+    }
+
+    @Test
+    public void nao_deve_aceitar_buffer_menor_que_dois_caracteres() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("O buffer deve ter pelo menos 2 caracteres.");
+        new EscritorJson(new StringBuilder(), 1);
+    }
+
+    @Test
+    public void nao_deve_aceitar_saida_nula() {
+        thrown.expect(NullPointerException.class);
+        thrown.expectMessage("A saída deve ser preenchida.");
+        new EscritorJson((OutputStream) null);
+    }
+
+    // Auxiliares
+
+    private static Empresa empresa() {
+        Empresa empresa = new Empresa();
+        empresa.setCnpj("11222333000181");
+        empresa.setRazaoSocial("Empresa Exemplo");
+        empresa.setProprietario("Fulano");
+        empresa.setEmail("contato@exemplo.com");
+        empresa.setSite("exemplo.com.br");
+        empresa.setDataDeCriacao(LocalDate.now());
+        Endereco endereco = new Endereco();
+        endereco.setTipoLogradouro("Rua");
+        endereco.setNomeLogradouro("Exemplo");
+        endereco.setNumeroEndereco(-12);
+        endereco.setCep("01234567");
+        endereco.setTipoEndereco(EnderecoType.RESIDENCIAL);
+        empresa.setEnderecos(Collections.singleton(endereco));
+        Telefone telefone = new Telefone();
+        telefone.setTipoTelefone(TelefoneType.FIXO);
+        telefone.setDdd(11);
+        telefone.setTelefoneFixo("12345678");
+        empresa.setTelefones(Collections.singleton(telefone));
+        return empresa;
+    }
+}
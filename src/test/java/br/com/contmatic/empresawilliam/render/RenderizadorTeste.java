@@ -0,0 +1,181 @@
+package br.com.contmatic.empresawilliam.render;
+
+import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.joda.time.LocalDate;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runners.MethodSorters;
+
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.Endereco;
+import br.com.contmatic.empresawilliam.EnderecoType;
+import br.com.contmatic.empresawilliam.Telefone;
+import br.com.contmatic.empresawilliam.TelefoneType;
+import br.com.six2six.fixturefactory.Fixture;
+import br.com.six2six.fixturefactory.loader.FixtureFactoryLoader;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class RenderizadorTeste {
+
+    private static final String HOJE = LocalDate.now().toString("dd/MM/yyyy");
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        FixtureFactoryLoader.loadTemplates("br.com.contmatic.empresawilliam.templates");
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        System.out.println("Teste de Renderizador terminado.");
+    }
+
+    // Testes
+
+    @Test
+    public void deve_manter_o_texto_do_to_string_anterior() {
+        for(int i = 0; i < 20; i++) {
+            Empresa empresa = Fixture.from(Empresa.class).gimme(i % 2 == 0 ? "empresa_valida" : "empresa_invalida");
+            assertThat(empresa.toString(), is(toStringAnterior(empresa)));
+            for(Endereco endereco : empresa.getEnderecos()) {
+                assertThat(endereco.toString(), is(toStringAnterior(endereco)));
+            }
+            for(Telefone telefone : empresa.getTelefones()) {
+                assertThat(telefone.toString(), is(toStringAnterior(telefone)));
+            }
+        }
+    }
+
+    @Test
+    public void deve_escrever_nulos_em_multiplas_linhas_sem_lancar_excecao() {
+        Empresa empresa = new Empresa();
+        empresa.setEnderecos(new LinkedHashSet<Endereco>(Arrays.asList(new Endereco(), null)));
+        String texto = empresa.toString();
+        assertThat(texto.contains("  Data de criação: =<null>"), is(true));
+        assertThat(texto.contains("  Telefone: =<null>"), is(true));
+        assertThat(texto.contains("  CEP: =<null>"), is(true));
+        assertThat(texto.contains("],<null>}"), is(true));
+    }
+
+    @Test
+    public void deve_escrever_em_linha_unica() {
+        assertThat(Renderizador.renderiza(empresa(), EstiloDeTexto.LINHA_UNICA, new StringBuilder()).toString(),
+            is("Empresa[razaoSocial=Empresa Exemplo, proprietario=Fulano, cnpj=11222333000181, enderecos=[Endereco[tipoLogradouro=Rua, "
+                + "nomeLogradouro=Exemplo, numeroEndereco=-12, cep=01234567, tipoEndereco=RESIDENCIAL]], telefones=[Telefone[tipoTelefone=FIXO, "
+                + "ddd=11, telefone=12345678], null], email=contato@exemplo.com, site=null, dataDeCriacao=" + HOJE + ", dataDeAlteracao=null]"));
+    }
+
+    @Test
+    public void deve_escrever_chave_valor_omitindo_nulos() {
+        assertThat(Renderizador.renderiza(empresa(), EstiloDeTexto.CHAVE_VALOR, new StringBuilder()).toString(),
+            is("razaoSocial=\"Empresa Exemplo\" proprietario=Fulano cnpj=11222333000181 enderecos[0].tipoLogradouro=Rua enderecos[0].nomeLogradouro=Exemplo "
+                + "enderecos[0].numeroEndereco=-12 enderecos[0].cep=01234567 enderecos[0].tipoEndereco=RESIDENCIAL telefones[0].tipoTelefone=FIXO "
+                + "telefones[0].ddd=11 telefones[0].telefone=12345678 email=contato@exemplo.com dataDeCriacao=" + HOJE));
+    }
+
+    @Test
+    public void deve_escapar_valores_em_chave_valor() {
+        Telefone telefone = new Telefone();
+        telefone.setDdd(Integer.MIN_VALUE);
+        Endereco endereco = new Endereco();
+        endereco.setNomeLogradouro("a=\"b\"\\c\nd");
+        endereco.setCep("");
+        assertThat(Renderizador.renderiza(telefone, EstiloDeTexto.CHAVE_VALOR, new StringBuilder()).toString(), is("ddd=-2147483648"));
+        assertThat(Renderizador.renderiza(endereco, EstiloDeTexto.CHAVE_VALOR, new StringBuilder()).toString(),
+            is("nomeLogradouro=\"a=\\\"b\\\"\\\\c\\nd\" numeroEndereco=0 cep=\"\""));
+    }
+
+    @Test
+    public void deve_acrescentar_ao_texto_informado() throws Exception {
+        Empresa empresa = Fixture.from(Empresa.class).gimme("empresa_valida");
+        StringBuilder texto = new StringBuilder("auditoria: ");
+        assertThat(Renderizador.renderiza(empresa, EstiloDeTexto.LINHA_UNICA, texto).toString().startsWith("auditoria: Empresa[razaoSocial="), is(true));
+        for(EstiloDeTexto estilo : EstiloDeTexto.values()) {
+            StringWriter destino = new StringWriter();
+            Renderizador.renderiza(empresa, estilo, destino);
+            assertThat(destino.toString(), is(Renderizador.renderiza(empresa, estilo, new StringBuilder()).toString()));
+        }
+    }
+
+    @Test
+    public void deve_escrever_entidade_nula() {
+        assertThat(Renderizador.renderiza((Empresa) null, EstiloDeTexto.MULTIPLAS_LINHAS, new StringBuilder()).toString(), is("<null>"));
+        assertThat(Renderizador.renderiza((Telefone) null, EstiloDeTexto.LINHA_UNICA, new StringBuilder()).toString(), is("null"));
+    }
+
+    @Test
+    public void deve_escrever_datas_como_o_formato_de_data() throws Exception {
+        for(LocalDate data : Arrays.asList(new LocalDate(1, 1, 1), new LocalDate(987, 6, 5), new LocalDate(2024, 2, 29), new LocalDate(12345, 12, 31),
+            LocalDate.now())) {
+            StringBuilder texto = new StringBuilder();
+            Renderizador.escreveData(data, texto);
+            assertThat(texto.toString(), is(data.toString(Renderizador.FORMATO_DE_DATA)));
+            assertThat(new Empresa().converteDataDeCriacao(data), is(texto.toString()));
+        }
+    }
+
+    @Test
+    public void nao_deve_renderizar_sem_estilo() {
+        thrown.expect(NullPointerException.class);
+        thrown.expectMessage("O estilo deve ser preenchido.");
+        Renderizador.renderiza(new Empresa(), null, new StringBuilder());
+    }
+
+    // Auxiliares
+
+    private static Empresa empresa() {
+        Empresa empresa = new Empresa();
+        empresa.setCnpj("11222333000181");
+        empresa.setRazaoSocial("Empresa Exemplo");
+        empresa.setProprietario("Fulano");
+        empresa.setEmail("contato@exemplo.com");
+        empresa.setDataDeCriacao(LocalDate.now());
+        Endereco endereco = new Endereco();
+        endereco.setTipoLogradouro("Rua");
+        endereco.setNomeLogradouro("Exemplo");
+        endereco.setNumeroEndereco(-12);
+        endereco.setCep("01234567");
+        endereco.setTipoEndereco(EnderecoType.RESIDENCIAL);
+        empresa.setEnderecos(Collections.singleton(endereco));
+        Telefone telefone = new Telefone();
+        telefone.setTipoTelefone(TelefoneType.FIXO);
+        telefone.setDdd(11);
+        telefone.setTelefoneFixo("12345678");
+        empresa.setTelefones(new LinkedHashSet<Telefone>(Arrays.asList(telefone, null)));
+        return empresa;
+    }
+
+    private static String toStringAnterior(Empresa empresa) {
+        return new ToStringBuilder(empresa, MULTI_LINE_STYLE).append("Razão social: ", empresa.getRazaoSocial()).append("Proprietário: ", empresa.getProprietario())
+            .append("CNPJ", empresa.getCnpj()).append("Endereço: ", empresa.getEnderecos().toArray()).append("Telefone: ", empresa.getTelefones().toArray())
+            .append("Email: ", empresa.getEmail()).append("Site: ", empresa.getSite())
+            .append("Data de criação: ", empresa.converteDataDeCriacao(empresa.getDataDeCriacao()))
+            .append("Data de alteração: ", empresa.converteDataDeAlteracao(empresa.getDataDeAlteracao())).build();
+    }
+
+    private static String toStringAnterior(Endereco endereco) {
+        return new ToStringBuilder(endereco, MULTI_LINE_STYLE).append("tipo de logradouro: ", endereco.getTipoLogradouro())
+            .append("nome de logradouro: ", endereco.getNomeLogradouro()).append("número de endereço: ", endereco.getNumeroEndereco()).append("CEP: ", endereco.getCep())
+            .append("Tipo de endereço: ", endereco.getTipoEndereco()).build();
+    }
+
+    private static String toStringAnterior(Telefone telefone) {
+        return new ToStringBuilder(telefone, MULTI_LINE_STYLE).append("tipo de telefone: ", telefone.getTipoTelefone()).append("ddd: ", telefone.getDdd())
+            .append("telefone: ", telefone.getTelefone()).build();
+    }
+}
@@ -0,0 +1,535 @@
+package br.com.contmatic.empresawilliam.repository;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.AfterClass;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runners.MethodSorters;
+
+import br.com.contmatic.empresawilliam.Cnpj;
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.Endereco;
+import br.com.contmatic.empresawilliam.EnderecoType;
+import br.com.contmatic.empresawilliam.Telefone;
+import br.com.contmatic.empresawilliam.TelefoneType;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class EmpresaRepositoryTeste {
+
+    private static final String VALIDO = "11222333000181";
+
+    private static final int REPETICOES = 20000;
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        System.out.println("Teste de EmpresaRepository terminado.");
+    }
+
+    // Testes
+
+    @Test
+    public void deve_buscar_pelo_cnpj_com_ou_sem_mascara() {
+        EmpresaRepository repository = new EmpresaRepository();
+        Empresa empresa = empresa(11222333000181L, "01234567", 11, "12345678", "contato@teste.com");
+        assertThat(repository.salva(empresa), is(nullValue()));
+        assertThat(repository.buscaPorCnpj(VALIDO), is(sameInstance(empresa)));
+        assertThat(repository.buscaPorCnpj("11.222.333/0001-81"), is(sameInstance(empresa)));
+        assertThat(repository.buscaPorCnpj(Cnpj.parse(VALIDO)), is(sameInstance(empresa)));
+        assertThat(repository.buscaPorCnpj(11222333000182L), is(nullValue()));
+        assertThat(repository.buscaPorCnpj("abc"), is(nullValue()));
+        assertThat(repository.size(), is(1));
+    }
+
+    @Test
+    public void deve_buscar_pelos_indices_secundarios() {
+        EmpresaRepository repository = new EmpresaRepository();
+        Empresa empresa = empresa(11222333000181L, "01234567", 11, "12345678", "contato@teste.com.br");
+        Empresa outra = empresa(1L, "01234567", 12, "12345678", "vendas@Teste.com.br");
+        repository.salva(empresa);
+        repository.salva(outra);
+        assertThat(repository.buscaPorCep("01234567"), is(Arrays.asList(outra, empresa)));
+        assertThat(repository.buscaPorCep("1234567"), is(Collections.<Empresa> emptyList()));
+        assertThat(repository.buscaPorCep("0123456x"), is(Collections.<Empresa> emptyList()));
+        assertThat(repository.buscaPorTelefone(11, "12345678"), is(Collections.singletonList(empresa)));
+        assertThat(repository.buscaPorTelefone(12, "012345678"), is(Collections.<Empresa> emptyList()));
+        assertThat(repository.buscaPorDominioDeEmail("TESTE.com.br"), is(Arrays.asList(outra, empresa)));
+        assertThat(repository.buscaPorDominioDeEmail("teste.com"), is(Collections.<Empresa> emptyList()));
+    }
+
+    @Test
+    public void deve_buscar_por_faixa_e_prefixo_de_cep() {
+        EmpresaRepository repository = new EmpresaRepository();
+        Empresa centro = empresa(1L, "01001000", 11, "12345678", "contato@centro.com");
+        Empresa paulista = empresa(2L, "01310100", 11, "12345678", "contato@paulista.com");
+        Empresa campinas = empresa(3L, "13010001", 19, "12345678", "contato@campinas.com");
+        Set<Endereco> enderecos = new HashSet<Endereco>(campinas.getEnderecos());
+        Endereco residencial = endereco("01002000");
+        residencial.setTipoEndereco(EnderecoType.RESIDENCIAL);
+        enderecos.add(residencial);
+        campinas.setEnderecos(enderecos);
+        repository.salva(paulista);
+        repository.salva(campinas);
+        repository.salva(centro);
+        assertThat(ceps(repository.buscaPorPrefixoDeCep("01")), is(Arrays.asList("01001000", "01002000", "01310100")));
+        assertThat(repository.buscaPorPrefixoDeCep("01").get(1).getEmpresa(), is(sameInstance(campinas)));
+        assertThat(repository.buscaPorPrefixoDeCep("010").get(1).getEndereco(), is(sameInstance(residencial)));
+        assertThat(ceps(repository.buscaPorPrefixoDeCep("01", EnderecoType.COMERCIAL)), is(Arrays.asList("01001000", "01310100")));
+        assertThat(ceps(repository.buscaPorPrefixoDeCep("", EnderecoType.RESIDENCIAL)), is(Collections.singletonList("01002000")));
+        assertThat(ceps(repository.buscaPorPrefixoDeCep("")).size(), is(4));
+        assertThat(ceps(repository.buscaPorFaixaDeCep("01001000", "01002000")), is(Arrays.asList("01001000", "01002000")));
+        assertThat(ceps(repository.buscaPorFaixaDeCep("01002001", "13010000")), is(Collections.singletonList("01310100")));
+        assertThat(ceps(repository.buscaPorFaixaDeCep("13010001", "99999999")), is(Collections.singletonList("13010001")));
+        assertThat(ceps(repository.buscaPorPrefixoDeCep("13010002")), is(Collections.<String> emptyList()));
+    }
+
+    @Test
+    public void deve_conferir_o_cep_atual_na_busca_por_faixa() {
+        EmpresaRepository repository = new EmpresaRepository();
+        Empresa empresa = empresa(1L, "01001000", 11, "12345678", "contato@teste.com");
+        Empresa substituida = empresa(2L, "01001000", 11, "12345678", "contato@teste.com");
+        repository.salva(empresa);
+        repository.salva(substituida);
+        repository.salva(empresa(2L, "02001000", 11, "12345678", "contato@teste.com"));
+        empresa.getEnderecos().iterator().next().setCep("01001001");
+        assertThat(repository.buscaPorPrefixoDeCep("01"), is(Collections.<EnderecoDaEmpresa> emptyList()));
+        repository.salva(empresa);
+        assertThat(ceps(repository.buscaPorPrefixoDeCep("01")), is(Collections.singletonList("01001001")));
+        repository.remove(Cnpj.of(1L));
+        assertThat(repository.buscaPorPrefixoDeCep("01"), is(Collections.<EnderecoDaEmpresa> emptyList()));
+    }
+
+    @Test
+    public void deve_conferir_se_o_endereco_continua_na_empresa_na_busca_por_faixa() {
+        EmpresaRepository repository = new EmpresaRepository();
+        Empresa empresa = empresa(1L, "01001000", 11, "12345678", "contato@teste.com");
+        repository.salva(empresa);
+        empresa.setEnderecos(Collections.singleton(endereco("02001000")));
+        assertThat(repository.buscaPorCep("01001000"), is(Collections.<Empresa> emptyList()));
+        assertThat(repository.buscaPorPrefixoDeCep("01"), is(Collections.<EnderecoDaEmpresa> emptyList()));
+        assertThat(repository.buscaPorFaixaDeCep("01000000", "01999999"), is(Collections.<EnderecoDaEmpresa> emptyList()));
+        repository.salva(empresa);
+        assertThat(ceps(repository.buscaPorPrefixoDeCep("02")), is(Collections.singletonList("02001000")));
+    }
+
+    @Test
+    public void nao_deve_buscar_faixa_de_cep_invertida() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("O CEP inicial não pode ser maior que o final.");
+        new EmpresaRepository().buscaPorFaixaDeCep("02000000", "01999999");
+    }
+
+    @Test
+    public void nao_deve_buscar_faixa_de_cep_sem_8_digitos() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("O CEP final deve conter 8 dígitos.");
+        new EmpresaRepository().buscaPorFaixaDeCep("01000000", "0199999");
+    }
+
+    @Test
+    public void nao_deve_buscar_prefixo_de_cep_com_letras() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("O prefixo do CEP deve conter apenas dígitos.");
+        new EmpresaRepository().buscaPorPrefixoDeCep("01a");
+    }
+
+    @Test
+    public void deve_buscar_o_telefone_de_qualquer_tipo() {
+        EmpresaRepository repository = new EmpresaRepository();
+        Empresa empresa = empresa(1L, "01234567", 11, "912345678", "contato@teste.com");
+        repository.salva(empresa);
+        Telefone celular = new Telefone();
+        celular.setTipoTelefone(TelefoneType.CELULAR);
+        celular.setDdd(11);
+        celular.setTelefoneCelular("912345678");
+        assertThat(repository.buscaPorTelefone(celular), is(Collections.singletonList(empresa)));
+    }
+
+    @Test
+    public void deve_listar_uma_vez_a_empresa_com_dois_enderecos_no_mesmo_cep() {
+        EmpresaRepository repository = new EmpresaRepository();
+        Empresa empresa = empresa(1L, "01234567", 11, "12345678", "contato@teste.com");
+        Set<Endereco> enderecos = new HashSet<Endereco>(empresa.getEnderecos());
+        Endereco outro = endereco("01234567");
+        outro.setNumeroEndereco(2);
+        enderecos.add(outro);
+        empresa.setEnderecos(enderecos);
+        repository.salva(empresa);
+        assertThat(repository.buscaPorCep("01234567"), is(Collections.singletonList(empresa)));
+    }
+
+    @Test
+    public void deve_substituir_a_empresa_com_o_mesmo_cnpj() {
+        EmpresaRepository repository = new EmpresaRepository();
+        Empresa antiga = empresa(1L, "01234567", 11, "12345678", "contato@antiga.com");
+        Empresa nova = empresa(1L, "76543210", 11, "12345678", "contato@nova.com");
+        repository.salva(antiga);
+        assertThat(repository.salva(nova), is(sameInstance(antiga)));
+        assertThat(repository.size(), is(1));
+        assertThat(repository.buscaPorCnpj(1L), is(sameInstance(nova)));
+        assertThat(repository.buscaPorCep("01234567"), is(Collections.<Empresa> emptyList()));
+        assertThat(repository.buscaPorTelefone(11, "12345678"), is(Collections.singletonList(nova)));
+        assertThat(repository.buscaPorDominioDeEmail("antiga.com"), is(Collections.<Empresa> emptyList()));
+    }
+
+    @Test
+    public void deve_remover_a_empresa_de_todos_os_indices() {
+        EmpresaRepository repository = new EmpresaRepository();
+        Empresa empresa = empresa(1L, "01234567", 11, "12345678", "contato@teste.com");
+        repository.salva(empresa);
+        assertThat(repository.remove(Cnpj.of(1L)), is(sameInstance(empresa)));
+        assertThat(repository.remove(Cnpj.of(1L)), is(nullValue()));
+        assertThat(repository.size(), is(0));
+        assertThat(repository.buscaPorCnpj(1L), is(nullValue()));
+        assertThat(repository.buscaPorCep("01234567"), is(Collections.<Empresa> emptyList()));
+        assertThat(repository.buscaPorTelefone(11, "12345678"), is(Collections.<Empresa> emptyList()));
+        assertThat(repository.buscaPorDominioDeEmail("teste.com"), is(Collections.<Empresa> emptyList()));
+    }
+
+    @Test
+    public void nao_deve_devolver_empresa_alterada_depois_de_salva() {
+        EmpresaRepository repository = new EmpresaRepository();
+        Empresa empresa = empresa(1L, "01234567", 11, "12345678", "contato@teste.com");
+        repository.salva(empresa);
+        empresa.setEmail("contato@outro.com");
+        assertThat(repository.buscaPorDominioDeEmail("teste.com"), is(Collections.<Empresa> emptyList()));
+        repository.salva(empresa);
+        assertThat(repository.buscaPorDominioDeEmail("outro.com"), is(Collections.singletonList(empresa)));
+    }
+
+    @Test
+    public void deve_descartar_o_cnpj_antigo_da_empresa_salva_de_novo() {
+        EmpresaRepository repository = new EmpresaRepository();
+        Empresa empresa = empresa(11222333000100L, "01234567", 11, "12345678", "contato@teste.com");
+        repository.salva(empresa);
+        empresa.setCnpj(Cnpj.of(11222333000200L).toString());
+        assertThat(repository.buscaPorCnpj(11222333000100L), is(nullValue()));
+        repository.salva(empresa);
+        assertThat(repository.size(), is(1));
+        assertThat(repository.buscaPorCnpj(11222333000100L), is(nullValue()));
+        assertThat(repository.buscaPorCnpj(11222333000200L), is(sameInstance(empresa)));
+        assertThat(repository.tamanhoDoGrupo(11222333), is(1));
+        assertThat(repository.buscaPorTelefone(11, "12345678"), is(Collections.singletonList(empresa)));
+        empresa.setCnpj(Cnpj.of(44555666000100L).toString());
+        repository.carrega(Collections.singletonList(empresa));
+        assertThat(repository.size(), is(1));
+        assertThat(repository.tamanhoDoGrupo(11222333), is(0));
+        assertThat(repository.buscaFiliais(Cnpj.of(44555666000100L)), is(Collections.singletonList(empresa)));
+    }
+
+    @Test
+    public void deve_encontrar_os_telefones_trocados_sem_salvar_de_novo() {
+        EmpresaRepository repository = new EmpresaRepository();
+        Empresa empresa = empresa(1L, "01234567", 11, "12345678", "contato@teste.com");
+        repository.salva(empresa);
+        empresa.setTelefones(empresa(2L, "01234567", 21, "912345678", "contato@teste.com").getTelefones());
+        assertThat(repository.buscaPorTelefone(11, "12345678"), is(Collections.<Empresa> emptyList()));
+        assertThat(repository.buscaPorTelefone(21, "912345678", TelefoneType.CELULAR), is(Collections.singletonList(empresa)));
+        assertThat(repository.buscaPorTelefone(21, "912345678", TelefoneType.FIXO), is(Collections.<Empresa> emptyList()));
+    }
+
+    @Test
+    public void nao_deve_encontrar_telefone_retirado_direto_do_conjunto() {
+        EmpresaRepository repository = new EmpresaRepository();
+        Empresa empresa = empresa(1L, "01234567", 11, "12345678", "contato@teste.com");
+        repository.salva(empresa);
+        empresa.getTelefones().clear();
+        assertThat(repository.buscaPorTelefone(11, "12345678"), is(Collections.<Empresa> emptyList()));
+    }
+
+    @Test
+    public void deve_buscar_pelo_nome_acompanhando_os_setters() {
+        EmpresaRepository repository = new EmpresaRepository();
+        Empresa empresa = empresa(1L, "01234567", 11, "12345678", "contato@teste.com");
+        empresa.setRazaoSocial("Padaria São João");
+        Empresa outra = empresa(2L, "01234567", 11, "12345678", "contato@teste.com");
+        outra.setRazaoSocial("Mercado Central");
+        repository.carrega(Arrays.asList(empresa, outra));
+        assertThat(repository.buscaPorNome("sao joao", 10), is(Collections.singletonList(empresa)));
+        outra.setProprietario("João Souza");
+        assertThat(repository.buscaPorNome("JOÃO", 10), is(Arrays.asList(outra, empresa)));
+        repository.remove(Cnpj.of(1L));
+        assertThat(repository.buscaPorNome("joao", 10), is(Collections.singletonList(outra)));
+    }
+
+    @Test
+    public void deve_buscar_a_matriz_e_as_filiais_pela_raiz() {
+        EmpresaRepository repository = new EmpresaRepository();
+        Empresa terceira = empresa(11222333000300L, "01234567", 11, "12345678", "contato@teste.com");
+        Empresa matriz = empresa(11222333000100L, "01234567", 11, "12345678", "contato@teste.com");
+        Empresa segunda = empresa(11222333000200L, "01234567", 11, "12345678", "contato@teste.com");
+        Empresa outroGrupo = empresa(44555666000100L, "01234567", 11, "12345678", "contato@teste.com");
+        repository.salva(terceira);
+        repository.carrega(Arrays.asList(outroGrupo, matriz));
+        repository.salva(segunda);
+        assertThat(repository.buscaFiliais(Cnpj.of(11222333000300L)), is(Arrays.asList(matriz, segunda, terceira)));
+        assertThat(repository.tamanhoDoGrupo(11222333), is(3));
+        repository.remove(Cnpj.of(11222333000200L));
+        Empresa substituta = empresa(11222333000300L, "07654321", 11, "12345678", "contato@teste.com");
+        repository.salva(substituta);
+        assertThat(repository.buscaPorRaiz(11222333), is(Arrays.asList(matriz, substituta)));
+        assertThat(repository.tamanhoDoGrupo(11222333), is(2));
+        assertThat(repository.tamanhoDoGrupo(99999999), is(0));
+        GruposPorRaiz grupos = repository.grupos();
+        assertThat(grupos.quantidade(), is(2));
+        assertThat(grupos.getRaiz(0), is(11222333));
+        assertThat(grupos.getTamanho(1), is(1));
+        assertThat(grupos.tamanho(44555666), is(1));
+        assertThat(grupos.total(), is(3L));
+    }
+
+    @Test
+    public void deve_agrupar_em_paralelo_uma_carga_grande() {
+        EmpresaRepository repository = new EmpresaRepository();
+        Map<Long, Empresa> esperado = new LinkedHashMap<Long, Empresa>();
+        List<Empresa> lote = new ArrayList<Empresa>();
+        for(int i = 0; i < REPETICOES; i++) {
+            // CNPJs repetidos no mesmo lote: vale o último, e o grupo não pode contar os dois.
+            long cnpj = (i % 3000 + 1) * 1000000L + (i / 3000 % 6 + 1) * 100L;
+            Empresa empresa = empresa(cnpj, cep(i % 50), 11, numero(i % 50), "contato@" + dominio(i % 50));
+            lote.add(empresa);
+            esperado.put(cnpj, empresa);
+        }
+        repository.carrega(lote);
+        confereGrupos(repository, esperado);
+        for(long raiz = 1; raiz <= 3000; raiz += 2) {
+            for(long filial = 1; filial <= 6; filial++) {
+                long cnpj = raiz * 1000000L + filial * 100L;
+                assertThat(repository.remove(Cnpj.of(cnpj)), is(esperado.remove(cnpj)));
+            }
+        }
+        confereGrupos(repository, esperado);
+    }
+
+    @Test
+    public void nao_deve_salvar_empresa_sem_cnpj_numerico() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("A empresa deve ter um CNPJ com 14 dígitos numéricos.");
+        Empresa empresa = empresa(1L, "01234567", 11, "12345678", "contato@teste.com");
+        empresa.setCnpj("abc");
+        new EmpresaRepository().salva(empresa);
+    }
+
+    @Test
+    public void nao_deve_carregar_nenhuma_empresa_se_alguma_for_invalida() {
+        EmpresaRepository repository = new EmpresaRepository();
+        Empresa invalida = empresa(2L, "01234567", 11, "12345678", "contato@teste.com");
+        invalida.setCnpj("123");
+        try {
+            repository.carrega(Arrays.asList(empresa(1L, "01234567", 11, "12345678", "contato@teste.com"), invalida));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("A empresa de índice 1 deve ter um CNPJ com 14 dígitos numéricos."));
+        }
+        assertThat(repository.size(), is(0));
+        assertThat(repository.buscaPorCnpj(1L), is(nullValue()));
+    }
+
+    @Test
+    public void deve_se_comportar_como_mapas_comuns_em_cargas_e_remocoes() {
+        Random random = new Random(9L);
+        EmpresaRepository repository = new EmpresaRepository(16);
+        Map<Long, Empresa> esperado = new LinkedHashMap<Long, Empresa>();
+        for(int rodada = 0; rodada < 10; rodada++) {
+            List<Empresa> lote = new ArrayList<Empresa>();
+            for(int i = 0; i < REPETICOES / 10; i++) {
+                Empresa empresa = aleatoria(random);
+                lote.add(empresa);
+                esperado.remove(empresa.getCnpjNumerico().longValue());
+                esperado.put(empresa.getCnpjNumerico().longValue(), empresa);
+            }
+            if (rodada % 2 == 0) {
+                repository.carrega(lote);
+            } else {
+                for(Empresa empresa : lote) {
+                    repository.salva(empresa);
+                }
+            }
+            for(int i = 0; i < REPETICOES / 20; i++) {
+                long cnpj = random.nextInt(REPETICOES / 4);
+                assertThat(repository.remove(Cnpj.of(cnpj)), is(esperado.remove(cnpj)));
+            }
+            assertThat(repository.size(), is(esperado.size()));
+        }
+        for(long cnpj = 0; cnpj < REPETICOES / 4; cnpj++) {
+            assertThat(repository.buscaPorCnpj(cnpj), is(esperado.get(cnpj)));
+        }
+        for(int i = 0; i < 50; i++) {
+            String cep = cep(i);
+            assertThat(new HashSet<Empresa>(repository.buscaPorCep(cep)), is(filtra(esperado, "cep", cep)));
+            assertThat(new HashSet<Empresa>(repository.buscaPorTelefone(11, numero(i))), is(filtra(esperado, "telefone", numero(i))));
+            assertThat(new HashSet<Empresa>(repository.buscaPorDominioDeEmail(dominio(i))), is(filtra(esperado, "dominio", dominio(i))));
+        }
+        for(int i = 0; i < 5; i++) {
+            List<EnderecoDaEmpresa> encontrados = repository.buscaPorPrefixoDeCep("000" + i);
+            Set<Empresa> empresas = new HashSet<Empresa>();
+            String anterior = "";
+            for(EnderecoDaEmpresa encontrado : encontrados) {
+                assertTrue(encontrado.getEndereco().getCep().compareTo(anterior) >= 0);
+                anterior = encontrado.getEndereco().getCep();
+                empresas.add(encontrado.getEmpresa());
+            }
+            Set<Empresa> filtradas = new HashSet<Empresa>();
+            for(int j = i * 10; j < i * 10 + 10; j++) {
+                filtradas.addAll(filtra(esperado, "cep", cep(j)));
+            }
+            assertThat(empresas, is(filtradas));
+        }
+    }
+
+    @Test
+    public void deve_permitir_leituras_concorrentes() throws InterruptedException {
+        final EmpresaRepository repository = new EmpresaRepository();
+        final List<Empresa> empresas = new ArrayList<Empresa>();
+        for(long cnpj = 0; cnpj < 1000; cnpj++) {
+            empresas.add(empresa(cnpj, cep((int) cnpj % 10), 11, numero((int) cnpj % 10), "contato@" + dominio((int) cnpj % 10)));
+        }
+        repository.carrega(empresas);
+        final List<Throwable> erros = Collections.synchronizedList(new ArrayList<Throwable>());
+        List<Thread> threads = new ArrayList<Thread>();
+        for(int t = 0; t < 4; t++) {
+            Thread thread = new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+                    try {
+                        for(int i = 0; i < empresas.size(); i++) {
+                            assertThat(repository.buscaPorCnpj((long) i), is(sameInstance(empresas.get(i))));
+                            assertThat(repository.buscaPorCep(cep(i % 10)).size(), is(100));
+                        }
+                    } catch (Throwable e) {
+                        erros.add(e);
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for(Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(erros.toString(), erros.isEmpty());
+    }
+
+    // Auxiliares
+
+    private static void confereGrupos(EmpresaRepository repository, Map<Long, Empresa> esperado) {
+        Map<Integer, List<Empresa>> porRaiz = new HashMap<Integer, List<Empresa>>();
+        for(Empresa empresa : esperado.values()) {
+            int raiz = empresa.getCnpjNumerico().getRaiz();
+            if (!porRaiz.containsKey(raiz)) {
+                porRaiz.put(raiz, new ArrayList<Empresa>());
+            }
+            porRaiz.get(raiz).add(empresa);
+        }
+        GruposPorRaiz grupos = repository.grupos();
+        assertThat(grupos.quantidade(), is(porRaiz.size()));
+        assertThat(grupos.total(), is((long) esperado.size()));
+        for(int i = 0; i < grupos.quantidade(); i++) {
+            int raiz = grupos.getRaiz(i);
+            assertTrue(i == 0 || grupos.getRaiz(i - 1) < raiz);
+            assertThat(grupos.getTamanho(i), is(porRaiz.get(raiz).size()));
+            assertThat(repository.tamanhoDoGrupo(raiz), is(porRaiz.get(raiz).size()));
+            List<Empresa> filiais = repository.buscaPorRaiz(raiz);
+            assertThat(new HashSet<Empresa>(filiais), is(new HashSet<Empresa>(porRaiz.get(raiz))));
+            for(int j = 1; j < filiais.size(); j++) {
+                assertTrue(filiais.get(j - 1).getCnpjNumerico().longValue() < filiais.get(j).getCnpjNumerico().longValue());
+            }
+        }
+    }
+
+    private static Set<Empresa> filtra(Map<Long, Empresa> empresas, String campo, String valor) {
+        Set<Empresa> filtradas = new HashSet<Empresa>();
+        for(Empresa empresa : empresas.values()) {
+            boolean encontrada = false;
+            if ("cep".equals(campo)) {
+                for(Endereco endereco : empresa.getEnderecos()) {
+                    encontrada |= valor.equals(endereco.getCep());
+                }
+            } else if ("telefone".equals(campo)) {
+                for(Telefone telefone : empresa.getTelefones()) {
+                    encontrada |= telefone.getDdd() == 11 && valor.equals(telefone.getTelefone());
+                }
+            } else {
+                encontrada = empresa.getEmail().toLowerCase().endsWith("@" + valor.toLowerCase());
+            }
+            if (encontrada) {
+                filtradas.add(empresa);
+            }
+        }
+        return filtradas;
+    }
+
+    private static Empresa aleatoria(Random random) {
+        Empresa empresa = empresa(random.nextInt(REPETICOES / 4), cep(random.nextInt(50)), 11, numero(random.nextInt(50)),
+            (random.nextBoolean() ? "contato@" : "VENDAS@") + dominio(random.nextInt(50)).toUpperCase());
+        if (random.nextBoolean()) {
+            Set<Endereco> enderecos = new HashSet<Endereco>(empresa.getEnderecos());
+            enderecos.add(endereco(cep(random.nextInt(50))));
+            empresa.setEnderecos(enderecos);
+        }
+        return empresa;
+    }
+
+    private static List<String> ceps(List<EnderecoDaEmpresa> encontrados) {
+        List<String> ceps = new ArrayList<String>();
+        for(EnderecoDaEmpresa encontrado : encontrados) {
+            ceps.add(encontrado.getEndereco().getCep());
+        }
+        return ceps;
+    }
+
+    private static String cep(int i) {
+        return String.format("%08d", i * 1000);
+    }
+
+    private static String numero(int i) {
+        return String.valueOf(30000000 + i);
+    }
+
+    private static String dominio(int i) {
+        return "empresa" + i + ".com.br";
+    }
+
+    private static Empresa empresa(long cnpj, String cep, int ddd, String numero, String email) {
+        Empresa empresa = new Empresa();
+        empresa.setCnpj(Cnpj.of(cnpj).toString());
+        empresa.setEmail(email);
+        empresa.setEnderecos(Collections.singleton(endereco(cep)));
+        Telefone telefone = new Telefone();
+        telefone.setTipoTelefone(numero.length() == 9 ? TelefoneType.CELULAR : TelefoneType.FIXO);
+        telefone.setDdd(ddd);
+        telefone.setTelefoneFixo(numero);
+        empresa.setTelefones(Collections.singleton(telefone));
+        return empresa;
+    }
+
+    private static Endereco endereco(String cep) {
+        Endereco endereco = new Endereco();
+        endereco.setCep(cep);
+        endereco.setNumeroEndereco(1);
+        endereco.setTipoEndereco(EnderecoType.COMERCIAL);
+        return endereco;
+    }
+}
@@ -0,0 +1,273 @@
+package br.com.contmatic.empresawilliam.repository;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.joda.time.LocalDate;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runners.MethodSorters;
+
+import br.com.contmatic.empresawilliam.Cnpj;
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.EmpresaValidator;
+import br.com.contmatic.empresawilliam.Endereco;
+import br.com.contmatic.empresawilliam.EnderecoType;
+import br.com.contmatic.empresawilliam.Telefone;
+import br.com.contmatic.empresawilliam.TelefoneType;
+import br.com.six2six.fixturefactory.Fixture;
+import br.com.six2six.fixturefactory.loader.FixtureFactoryLoader;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class EmpresaStoreTeste {
+
+    private static final int REPETICOES = 1000;
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder pasta = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        FixtureFactoryLoader.loadTemplates("br.com.contmatic.empresawilliam.templates");
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        System.out.println("Teste de EmpresaStore terminado.");
+    }
+
+    // Testes
+
+    @Test
+    public void deve_ler_as_empresas_como_foram_gravadas() throws IOException {
+        try (EmpresaStore store = EmpresaStore.abre(pasta.getRoot().toPath())) {
+            List<Empresa> empresas = new ArrayList<Empresa>();
+            for(int i = 0; i < 50; i++) {
+                Empresa empresa = Fixture.from(Empresa.class).gimme(i % 2 == 0 ? "empresa_valida" : "empresa_invalida");
+                assertThat(store.adiciona(empresa), is(i));
+                empresas.add(empresa);
+            }
+            assertThat(store.size(), is(50));
+            for(int i = 0; i < empresas.size(); i++) {
+                assertMesmaEmpresa(store.get(i), empresas.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void deve_guardar_campos_nulos_e_textos_acentuados() throws IOException {
+        Empresa vazia = new Empresa();
+        Empresa acentuada = empresa(1L);
+        acentuada.setRazaoSocial("Açaí & Pão de Queijo Ltda");
+        Set<Endereco> enderecos = new HashSet<Endereco>(acentuada.getEnderecos());
+        enderecos.add(null);
+        acentuada.setEnderecos(enderecos);
+        acentuada.setTelefones(new HashSet<Telefone>(Arrays.asList((Telefone) null)));
+        try (EmpresaStore store = EmpresaStore.abre(pasta.getRoot().toPath())) {
+            store.adiciona(vazia);
+            store.adiciona(acentuada);
+            assertMesmaEmpresa(store.get(0), vazia);
+            assertMesmaEmpresa(store.get(1), acentuada);
+            assertThat(store.get(0).getEnderecos(), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void deve_reabrir_o_armazenamento_e_continuar_acrescentando() throws IOException {
+        Path diretorio = pasta.getRoot().toPath();
+        List<Empresa> empresas = new ArrayList<Empresa>();
+        try (EmpresaStore store = EmpresaStore.abre(diretorio, EmpresaStore.BITS_SEGMENTO_MINIMO)) {
+            for(int i = 0; i < REPETICOES; i++) {
+                empresas.add(empresa(i));
+                store.adiciona(empresas.get(i));
+            }
+        }
+        try (EmpresaStore store = EmpresaStore.abre(diretorio)) {
+            assertThat(store.size(), is(REPETICOES));
+            for(int i = 0; i < REPETICOES; i++) {
+                empresas.add(empresa(REPETICOES + i));
+                store.adiciona(empresas.get(REPETICOES + i));
+            }
+            assertThat(Files.size(diretorio.resolve(EmpresaStore.DADOS)) > 1L << EmpresaStore.BITS_SEGMENTO_MINIMO, is(true));
+            for(int i = 0; i < empresas.size(); i++) {
+                assertMesmaEmpresa(store.get(i), empresas.get(i));
+                assertMesmaEmpresa(store.buscaPorCnpj(Cnpj.of(i)), empresas.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void deve_buscar_a_ultima_empresa_com_o_cnpj() throws IOException {
+        try (EmpresaStore store = EmpresaStore.abre(pasta.getRoot().toPath())) {
+            Empresa antiga = empresa(1L);
+            Empresa nova = empresa(1L);
+            nova.setRazaoSocial("Nova");
+            store.adiciona(antiga);
+            assertThat(store.buscaPorCnpj("00000000000001").getRazaoSocial(), is(antiga.getRazaoSocial()));
+            store.adiciona(nova);
+            assertThat(store.buscaPorCnpj("00.000.000/0000-01").getRazaoSocial(), is("Nova"));
+            assertThat(store.get(0).getRazaoSocial(), is(antiga.getRazaoSocial()));
+            assertThat(store.buscaPorCnpj(Cnpj.of(2L)), is(nullValue()));
+            assertThat(store.buscaPorCnpj("abc"), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void deve_validar_a_visao_como_a_empresa_original() throws IOException {
+        try (EmpresaStore store = EmpresaStore.abre(pasta.getRoot().toPath())) {
+            for(int i = 0; i < 20; i++) {
+                Empresa empresa = Fixture.from(Empresa.class).gimme(i % 2 == 0 ? "empresa_valida" : "empresa_invalida");
+                store.adiciona(empresa);
+                assertThat(mensagens(EmpresaValidator.INSTANCE.validate(store.get(i)).getViolations().toString()),
+                    is(mensagens(EmpresaValidator.INSTANCE.validate(empresa).getViolations().toString())));
+            }
+        }
+    }
+
+    @Test
+    public void deve_ser_igual_a_empresa_original() throws IOException {
+        try (EmpresaStore store = EmpresaStore.abre(pasta.getRoot().toPath())) {
+            Empresa empresa = empresa(1L);
+            store.adiciona(empresa);
+            assertThat(store.get(0), is(empresa));
+            assertThat(empresa.equals(store.get(0)), is(true));
+            assertThat(store.get(0).hashCode(), is(empresa.hashCode()));
+            assertThat(store.get(0).getEnderecos(), is(empresa.getEnderecos()));
+            assertThat(store.get(0).getTelefones(), is(empresa.getTelefones()));
+            assertThat(store.get(0).getTelefones().iterator().next(), is(instanceOf(TelefoneMapeado.class)));
+        }
+    }
+
+    @Test
+    public void nao_deve_alterar_a_empresa_mapeada() throws IOException {
+        try (EmpresaStore store = EmpresaStore.abre(pasta.getRoot().toPath())) {
+            store.adiciona(empresa(1L));
+            thrown.expect(UnsupportedOperationException.class);
+            thrown.expectMessage("A empresa mapeada é somente leitura.");
+            store.get(0).getEnderecos().iterator().next().setCep("12345678");
+        }
+    }
+
+    @Test
+    public void nao_deve_gravar_registro_maior_que_o_limite() throws IOException {
+        try (EmpresaStore store = EmpresaStore.abre(pasta.getRoot().toPath())) {
+            Empresa empresa = empresa(1L);
+            empresa.setRazaoSocial(StringUtils.repeat('x', RegistroEmpresa.TAMANHO_MAXIMO));
+            thrown.expect(IllegalArgumentException.class);
+            thrown.expectMessage("O registro da empresa não pode passar de 65535 bytes.");
+            store.adiciona(empresa);
+        }
+    }
+
+    @Test
+    public void nao_deve_abrir_arquivo_que_nao_e_indice_de_empresas() throws IOException {
+        Path diretorio = pasta.getRoot().toPath();
+        Files.write(diretorio.resolve(EmpresaStore.INDICE), new byte[64]);
+        thrown.expect(IllegalStateException.class);
+        thrown.expectMessage("não é um índice de empresas.");
+        EmpresaStore.abre(diretorio);
+    }
+
+    @Test
+    public void nao_deve_ler_registro_inexistente() throws IOException {
+        try (EmpresaStore store = EmpresaStore.abre(pasta.getRoot().toPath())) {
+            store.adiciona(empresa(1L));
+            thrown.expect(IndexOutOfBoundsException.class);
+            store.get(1);
+        }
+    }
+
+    // Auxiliares
+
+    private static List<String> mensagens(String violacoes) {
+        List<String> mensagens = new ArrayList<String>(Arrays.asList(violacoes.split(", ")));
+        Collections.sort(mensagens);
+        return mensagens;
+    }
+
+    private static void assertMesmaEmpresa(Empresa lida, Empresa original) {
+        assertThat(lida.getCnpj(), is(original.getCnpj()));
+        assertThat(lida.getRazaoSocial(), is(original.getRazaoSocial()));
+        assertThat(lida.getProprietario(), is(original.getProprietario()));
+        assertThat(lida.getEmail(), is(original.getEmail()));
+        assertThat(lida.getSite(), is(original.getSite()));
+        assertThat(lida.getDataDeCriacao(), is(original.getDataDeCriacao()));
+        assertThat(lida.getDataDeAlteracao(), is(original.getDataDeAlteracao()));
+        assertThat(enderecos(lida.getEnderecos()), is(enderecos(original.getEnderecos())));
+        assertThat(telefones(lida.getTelefones()), is(telefones(original.getTelefones())));
+    }
+
+    private static List<String> enderecos(Set<Endereco> enderecos) {
+        if (enderecos == null) {
+            return null;
+        }
+        List<String> descricoes = new ArrayList<String>();
+        for(Iterator<Endereco> iterador = enderecos.iterator(); iterador.hasNext();) {
+            Endereco endereco = iterador.next();
+            descricoes.add(endereco == null ? "null"
+                : endereco.getTipoLogradouro() + "|" + endereco.getNomeLogradouro() + "|" + endereco.getNumeroEndereco() + "|" + endereco.getCep() + "|"
+                    + endereco.getTipoEndereco());
+        }
+        return descricoes;
+    }
+
+    private static List<String> telefones(Set<Telefone> telefones) {
+        if (telefones == null) {
+            return null;
+        }
+        List<String> descricoes = new ArrayList<String>();
+        for(Telefone telefone : telefones) {
+            descricoes.add(telefone == null ? "null" : telefone.getTipoTelefone() + "|" + telefone.getDdd() + "|" + telefone.getTelefone());
+        }
+        return descricoes;
+    }
+
+    private static Empresa empresa(long cnpj) {
+        Empresa empresa = new Empresa();
+        empresa.setCnpj(Cnpj.of(cnpj).toString());
+        empresa.setRazaoSocial("Empresa " + cnpj);
+        empresa.setProprietario("Fulano");
+        empresa.setEmail("contato@empresa" + cnpj + ".com");
+        empresa.setSite("empresa" + cnpj + ".com.br");
+        empresa.setDataDeCriacao(LocalDate.now());
+        Endereco endereco = new Endereco();
+        endereco.setTipoLogradouro("Rua");
+        endereco.setNomeLogradouro("Exemplo");
+        endereco.setNumeroEndereco((int) cnpj);
+        endereco.setCep("01234567");
+        endereco.setTipoEndereco(EnderecoType.COMERCIAL);
+        empresa.setEnderecos(Collections.singleton(endereco));
+        Telefone telefone = new Telefone();
+        telefone.setTipoTelefone(TelefoneType.CELULAR);
+        telefone.setDdd(11);
+        telefone.setTelefoneCelular("912345678");
+        Telefone fixo = new Telefone();
+        fixo.setTipoTelefone(TelefoneType.FIXO);
+        fixo.setDdd(-3);
+        fixo.setTelefoneFixo("12345678");
+        empresa.setTelefones(new HashSet<Telefone>(Arrays.asList(telefone, fixo)));
+        return empresa;
+    }
+}
@@ -0,0 +1,176 @@
+package br.com.contmatic.empresawilliam.repository;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.AfterClass;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runners.MethodSorters;
+
+import br.com.contmatic.empresawilliam.Cnpj;
+import br.com.contmatic.empresawilliam.Empresa;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class IndiceDeNomesTeste {
+
+    private static final String[] PALAVRAS = { "silva", "souza", "comercio", "padaria", "sao", "joao", "construcoes", "mercado", "ltda", "me" };
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        System.out.println("Teste de IndiceDeNomes terminado.");
+    }
+
+    // Testes
+
+    @Test
+    public void deve_normalizar_maiusculas_acentos_e_separadores() {
+        assertThat(IndiceDeNomes.normaliza("  Padaria São João - LTDA.  "), is("padaria sao joao ltda"));
+        assertThat(IndiceDeNomes.normaliza("Construções & Comércio"), is("construcoes comercio"));
+        assertThat(IndiceDeNomes.normaliza("..."), is(""));
+        assertThat(IndiceDeNomes.normaliza(null), is(""));
+    }
+
+    @Test
+    public void deve_buscar_sem_diferenciar_maiusculas_nem_acentos() {
+        IndiceDeNomes indice = new IndiceDeNomes();
+        Empresa padaria = empresa(1L, "Padaria São João", "Maria Conceição");
+        Empresa mercado = empresa(2L, "Mercado Joãozinho", "José Silva");
+        indice.adiciona(padaria);
+        indice.adiciona(mercado);
+        assertThat(indice.busca("SAO JOAO", 10), is(Collections.singletonList(padaria)));
+        assertThat(indice.busca("joão", 10), is(Arrays.asList(padaria, mercado)));
+        assertThat(indice.busca("conceicao", 10), is(Collections.singletonList(padaria)));
+        assertThat(indice.busca("josé", 10), is(Collections.singletonList(mercado)));
+        assertThat(indice.busca("padoca", 10), is(Collections.<Empresa> emptyList()));
+        assertThat(indice.size(), is(2));
+    }
+
+    @Test
+    public void deve_ordenar_pela_relevancia() {
+        IndiceDeNomes indice = new IndiceDeNomes();
+        Empresa meio = empresa(1L, "Supersilva Comercio", "Ana");
+        Empresa palavra = empresa(2L, "Comercio Silva", "Ana");
+        Empresa proprietario = empresa(3L, "Comercio", "Silva Ana");
+        Empresa inicioLongo = empresa(4L, "Silva e Filhos Comercio", "Ana");
+        Empresa inicioCurto = empresa(5L, "Silva Comercio", "Ana");
+        Empresa igual = empresa(6L, "Silva", "Ana");
+        for(Empresa empresa : Arrays.asList(meio, palavra, proprietario, inicioLongo, inicioCurto, igual)) {
+            indice.adiciona(empresa);
+        }
+        assertThat(indice.busca("silva", 10), is(Arrays.asList(igual, inicioCurto, inicioLongo, proprietario, palavra, meio)));
+        assertThat(indice.busca("silva", 2), is(Arrays.asList(igual, inicioCurto)));
+    }
+
+    @Test
+    public void deve_buscar_inicio_de_palavra_com_dois_caracteres() {
+        IndiceDeNomes indice = new IndiceDeNomes();
+        Empresa inicio = empresa(1L, "Mercado Central", "Ana");
+        Empresa meio = empresa(2L, "Supermercado", "Ana");
+        indice.adiciona(inicio);
+        indice.adiciona(meio);
+        assertThat(indice.busca("ME", 10), is(Collections.singletonList(inicio)));
+        assertThat(indice.busca("m", 10), is(Collections.<Empresa> emptyList()));
+    }
+
+    @Test
+    public void deve_acompanhar_os_setters() {
+        IndiceDeNomes indice = new IndiceDeNomes();
+        Empresa empresa = empresa(1L, "Padaria Central", "Ana");
+        indice.adiciona(empresa);
+        empresa.setRazaoSocial("Mercado Central");
+        assertThat(indice.busca("padaria", 10), is(Collections.<Empresa> emptyList()));
+        assertThat(indice.busca("mercado", 10), is(Collections.singletonList(empresa)));
+        empresa.setProprietario("Bruno");
+        assertThat(indice.busca("ana", 10), is(Collections.<Empresa> emptyList()));
+        assertThat(indice.busca("bruno", 10), is(Collections.singletonList(empresa)));
+        assertThat(indice.remove(empresa), is(true));
+        assertThat(indice.remove(empresa), is(false));
+        empresa.setRazaoSocial("Padaria Central");
+        assertThat(indice.busca("central", 10), is(Collections.<Empresa> emptyList()));
+        assertThat(indice.size(), is(0));
+    }
+
+    @Test
+    public void deve_encontrar_o_mesmo_que_uma_busca_por_contains() {
+        IndiceDeNomes indice = new IndiceDeNomes();
+        Random random = new Random(7L);
+        List<Empresa> empresas = new ArrayList<Empresa>();
+        for(int i = 0; i < 2000; i++) {
+            Empresa empresa = empresa(i, nome(random), nome(random));
+            empresas.add(empresa);
+        }
+        indice.adiciona(empresas.toArray(new Empresa[0]), 0, 1000);
+        for(int i = 1000; i < empresas.size(); i++) {
+            indice.adiciona(empresas.get(i));
+        }
+        // Alterações suficientes para compactar o índice mais de uma vez.
+        for(int i = 0; i < 5000; i++) {
+            Empresa empresa = empresas.get(random.nextInt(empresas.size()));
+            if (random.nextBoolean()) {
+                empresa.setRazaoSocial(nome(random));
+            } else {
+                empresa.setProprietario(nome(random));
+            }
+        }
+        for(String consulta : Arrays.asList("silva", "ao jo", "merc", "ltda me", "construcoes", "ouza")) {
+            Set<Empresa> esperadas = new HashSet<Empresa>();
+            for(Empresa empresa : empresas) {
+                if (IndiceDeNomes.normaliza(empresa.getRazaoSocial()).contains(consulta) || IndiceDeNomes.normaliza(empresa.getProprietario()).contains(consulta)) {
+                    esperadas.add(empresa);
+                }
+            }
+            List<Empresa> encontradas = indice.busca(consulta, empresas.size());
+            assertThat(encontradas.size(), is(esperadas.size()));
+            assertThat(new HashSet<Empresa>(encontradas), is(esperadas));
+            assertThat(indice.busca(consulta, 5), is(encontradas.subList(0, Math.min(5, encontradas.size()))));
+        }
+    }
+
+    @Test
+    public void nao_deve_aceitar_limite_zero() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("O limite deve ser positivo.");
+        new IndiceDeNomes().busca("silva", 0);
+    }
+
+    @Test
+    public void nao_deve_aceitar_consulta_nula() {
+        thrown.expect(NullPointerException.class);
+        thrown.expectMessage("A consulta deve ser preenchida.");
+        new IndiceDeNomes().busca(null, 10);
+    }
+
+    // Auxiliares
+
+    private static String nome(Random random) {
+        StringBuilder nome = new StringBuilder();
+        for(int i = random.nextInt(4); i >= 0; i--) {
+            String palavra = PALAVRAS[random.nextInt(PALAVRAS.length)];
+            nome.append(random.nextBoolean() ? palavra.toUpperCase() : palavra).append(' ');
+        }
+        return nome.toString();
+    }
+
+    private static Empresa empresa(long cnpj, String razaoSocial, String proprietario) {
+        Empresa empresa = new Empresa();
+        empresa.setCnpj(Cnpj.of(cnpj).toString());
+        empresa.setRazaoSocial(razaoSocial);
+        empresa.setProprietario(proprietario);
+        return empresa;
+    }
+
+}
@@ -0,0 +1,324 @@
+package br.com.contmatic.empresawilliam.repository;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.AfterClass;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runners.MethodSorters;
+
+import br.com.contmatic.empresawilliam.Cnpj;
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.Telefone;
+import br.com.contmatic.empresawilliam.TelefoneType;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class IndiceDeTelefonesTeste {
+
+    private static final int REPETICOES = 20000;
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        System.out.println("Teste de IndiceDeTelefones terminado.");
+    }
+
+    // Testes
+
+    @Test
+    public void deve_buscar_pelo_ddd_e_numero_filtrando_o_tipo() {
+        IndiceDeTelefones indice = new IndiceDeTelefones();
+        Empresa fixo = empresa(1L, telefone(TelefoneType.FIXO, 11, "12345678"));
+        Empresa celular = empresa(2L, telefone(TelefoneType.CELULAR, 11, "912345678"), telefone(TelefoneType.FIXO, 11, "12345678"));
+        indice.adiciona(fixo);
+        indice.adiciona(celular);
+        assertThat(new HashSet<Empresa>(indice.busca(11, "12345678")), is(conjunto(fixo, celular)));
+        assertThat(indice.busca(11, "12345678", TelefoneType.CELULAR), is(Collections.<Empresa> emptyList()));
+        assertThat(indice.busca(11, "912345678", TelefoneType.CELULAR), is(Collections.singletonList(celular)));
+        assertThat(indice.busca(11, "912345678", TelefoneType.FIXO), is(Collections.<Empresa> emptyList()));
+        assertThat(indice.busca(12, "12345678"), is(Collections.<Empresa> emptyList()));
+        assertThat(indice.busca(11, "1234567x"), is(Collections.<Empresa> emptyList()));
+        assertThat(indice.size(), is(3));
+    }
+
+    @Test
+    public void deve_acompanhar_a_troca_de_telefones() {
+        IndiceDeTelefones indice = new IndiceDeTelefones();
+        Empresa empresa = empresa(1L, telefone(TelefoneType.FIXO, 11, "12345678"), telefone(TelefoneType.FIXO, 11, "87654321"));
+        indice.adiciona(empresa);
+        empresa.setTelefones(conjunto(telefone(TelefoneType.FIXO, 11, "87654321"), telefone(TelefoneType.CELULAR, 21, "912345678")));
+        assertThat(indice.busca(11, "12345678"), is(Collections.<Empresa> emptyList()));
+        assertThat(indice.busca(11, "87654321"), is(Collections.singletonList(empresa)));
+        assertThat(indice.busca(21, "912345678", TelefoneType.CELULAR), is(Collections.singletonList(empresa)));
+        empresa.setTelefones(null);
+        assertThat(indice.busca(11, "87654321"), is(Collections.<Empresa> emptyList()));
+        assertThat(indice.size(), is(0));
+    }
+
+    @Test
+    public void deve_listar_uma_vez_a_empresa_com_o_mesmo_numero_em_dois_tipos() {
+        IndiceDeTelefones indice = new IndiceDeTelefones();
+        Empresa empresa = empresa(1L, telefone(TelefoneType.FIXO, 11, "12345678"), telefone(TelefoneType.CELULAR, 11, "12345678"));
+        indice.adiciona(empresa);
+        assertThat(indice.busca(11, "12345678"), is(Collections.singletonList(empresa)));
+        assertThat(indice.size(), is(2));
+    }
+
+    @Test
+    public void deve_indexar_em_paralelo_as_empresas_nao_nulas_do_intervalo() {
+        IndiceDeTelefones indice = new IndiceDeTelefones();
+        Empresa[] lote = new Empresa[5000];
+        for(int i = 0; i < lote.length; i++) {
+            lote[i] = i % 7 == 0 ? null : empresa(i, telefone(TelefoneType.FIXO, 11, numero(i)));
+        }
+        indice.adiciona(lote, 1, lote.length - 1);
+        int indexadas = 0;
+        for(int i = 1; i < lote.length - 1; i++) {
+            if (lote[i] != null) {
+                assertThat(indice.busca(11, numero(i)), is(Collections.singletonList(lote[i])));
+                indexadas++;
+            }
+        }
+        assertThat(indice.busca(11, numero(lote.length - 1)), is(Collections.<Empresa> emptyList()));
+        assertThat(indice.size(), is(indexadas));
+        lote[1].setTelefones(null);
+        assertThat(indice.busca(11, numero(1)), is(Collections.<Empresa> emptyList()));
+    }
+
+    @Test
+    public void deve_remover_a_empresa_e_deixar_de_acompanha_la() {
+        IndiceDeTelefones indice = new IndiceDeTelefones();
+        Empresa empresa = empresa(1L, telefone(TelefoneType.FIXO, 11, "12345678"));
+        assertThat(indice.adiciona(empresa), is(true));
+        assertThat(indice.adiciona(empresa), is(false));
+        assertThat(indice.size(), is(1));
+        assertThat(indice.remove(empresa), is(true));
+        assertThat(indice.remove(empresa), is(false));
+        empresa.setTelefones(conjunto(telefone(TelefoneType.FIXO, 11, "87654321")));
+        assertThat(indice.busca(11, "12345678"), is(Collections.<Empresa> emptyList()));
+        assertThat(indice.busca(11, "87654321"), is(Collections.<Empresa> emptyList()));
+        assertThat(indice.size(), is(0));
+    }
+
+    @Test
+    public void deve_se_comportar_como_um_conjunto_de_pares() {
+        IndiceDeTelefones indice = new IndiceDeTelefones();
+        Random random = new Random(42);
+        List<Empresa> empresas = new ArrayList<Empresa>();
+        Set<Empresa> indexadas = new HashSet<Empresa>();
+        for(int i = 0; i < 500; i++) {
+            Empresa empresa = empresa(i, telefone(TelefoneType.FIXO, 11, numero(random.nextInt(20))));
+            empresas.add(empresa);
+            indice.adiciona(empresa);
+            indexadas.add(empresa);
+        }
+        for(int i = 0; i < REPETICOES; i++) {
+            Empresa empresa = empresas.get(random.nextInt(empresas.size()));
+            switch(random.nextInt(3)) {
+                case 0:
+                    assertThat(indice.remove(empresa), is(indexadas.remove(empresa)));
+                    break;
+                case 1:
+                    assertThat(indice.adiciona(empresa), is(indexadas.add(empresa)));
+                    break;
+                default:
+                    empresa.setTelefones(conjunto(telefone(TelefoneType.FIXO, 11, numero(random.nextInt(20))),
+                        telefone(TelefoneType.CELULAR, 11, numero(random.nextInt(20)))));
+            }
+        }
+        for(int n = 0; n < 20; n++) {
+            assertThat(new HashSet<Empresa>(indice.busca(11, numero(n))), is(filtra(indexadas, numero(n))));
+        }
+    }
+
+    @Test
+    public void deve_permitir_buscas_durante_as_trocas() throws InterruptedException {
+        final IndiceDeTelefones indice = new IndiceDeTelefones();
+        final List<Empresa> fixas = new ArrayList<Empresa>();
+        final List<Empresa> trocadas = new ArrayList<Empresa>();
+        for(int i = 0; i < 200; i++) {
+            Empresa fixa = empresa(i, telefone(TelefoneType.FIXO, 11, numero(i % 10)));
+            fixas.add(fixa);
+            indice.adiciona(fixa);
+            Empresa trocada = empresa(1000 + i, telefone(TelefoneType.FIXO, 11, numero(i % 10)));
+            trocadas.add(trocada);
+            indice.adiciona(trocada);
+        }
+        final AtomicBoolean fim = new AtomicBoolean();
+        final List<Throwable> erros = Collections.synchronizedList(new ArrayList<Throwable>());
+        List<Thread> threads = new ArrayList<Thread>();
+        threads.add(new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    for(int i = 0; i < REPETICOES; i++) {
+                        int j = i % trocadas.size();
+                        trocadas.get(j).setTelefones(conjunto(telefone(TelefoneType.FIXO, 11, numero(10 + i % 10)),
+                            telefone(TelefoneType.FIXO, 11, numero(j % 10))));
+                    }
+                } catch (Throwable e) {
+                    erros.add(e);
+                } finally {
+                    fim.set(true);
+                }
+            }
+        }));
+        for(int t = 0; t < 4; t++) {
+            threads.add(new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+                    try {
+                        do {
+                            for(int n = 0; n < 10; n++) {
+                                // Cada número tem 20 fixas e 20 trocadas, que mantêm o número a cada troca.
+                                assertThat(indice.busca(11, numero(n)).size(), is(40));
+                            }
+                        } while(!fim.get());
+                    } catch (Throwable e) {
+                        erros.add(e);
+                    }
+                }
+            }));
+        }
+        for(Thread thread : threads) {
+            thread.start();
+        }
+        for(Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(erros.toString(), erros.isEmpty());
+        assertThat(indice.size(), is(600));
+    }
+
+    @Test
+    public void deve_conferir_os_telefones_alterados_direto_no_conjunto_durante_as_buscas() throws InterruptedException {
+        final IndiceDeTelefones indice = new IndiceDeTelefones();
+        for(int i = 0; i < 20; i++) {
+            indice.adiciona(empresa(i, telefone(TelefoneType.FIXO, 11, numero(0))));
+        }
+        final Telefone telefone = telefone(TelefoneType.FIXO, 11, numero(0));
+        final Empresa alterada = empresa(1000, telefone, telefone(TelefoneType.FIXO, 11, numero(1)));
+        indice.adiciona(alterada);
+        alterada.getTelefones().remove(telefone);
+        assertThat(indice.busca(11, numero(0)).size(), is(20));
+        alterada.getTelefones().add(telefone);
+        assertThat(indice.busca(11, numero(0)).size(), is(21));
+        final AtomicBoolean fim = new AtomicBoolean();
+        final List<Throwable> erros = Collections.synchronizedList(new ArrayList<Throwable>());
+        List<Thread> threads = new ArrayList<Thread>();
+        threads.add(new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    for(int i = 0; i < REPETICOES; i++) {
+                        alterada.getTelefones().remove(telefone);
+                        alterada.getTelefones().add(telefone);
+                    }
+                } catch (Throwable e) {
+                    erros.add(e);
+                } finally {
+                    fim.set(true);
+                }
+            }
+        }));
+        for(int t = 0; t < 4; t++) {
+            threads.add(new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+                    try {
+                        do {
+                            int encontradas = indice.busca(11, numero(0)).size();
+                            assertTrue(String.valueOf(encontradas), encontradas == 20 || encontradas == 21);
+                            assertThat(indice.busca(11, numero(1)).size(), is(1));
+                        } while(!fim.get());
+                    } catch (Throwable e) {
+                        erros.add(e);
+                    }
+                }
+            }));
+        }
+        for(Thread thread : threads) {
+            thread.start();
+        }
+        for(Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(erros.toString(), erros.isEmpty());
+        assertThat(indice.busca(11, numero(0)).size(), is(21));
+    }
+
+    @Test
+    public void nao_deve_aceitar_empresa_nula() {
+        thrown.expect(NullPointerException.class);
+        thrown.expectMessage("A empresa deve ser preenchida.");
+        new IndiceDeTelefones().adiciona(null);
+    }
+
+    @Test
+    public void nao_deve_aceitar_quantidade_esperada_negativa() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("A quantidade esperada não pode ser negativa.");
+        new IndiceDeTelefones(-1);
+    }
+
+    // Auxiliares
+
+    private static Set<Empresa> filtra(Set<Empresa> empresas, String numero) {
+        Set<Empresa> filtradas = new HashSet<Empresa>();
+        for(Empresa empresa : empresas) {
+            for(Telefone telefone : empresa.getTelefones()) {
+                if (telefone.getDdd() == 11 && numero.equals(telefone.getTelefone())) {
+                    filtradas.add(empresa);
+                }
+            }
+        }
+        return filtradas;
+    }
+
+    private static String numero(int i) {
+        return String.valueOf(30000000 + i);
+    }
+
+    private static Telefone telefone(TelefoneType tipo, int ddd, String numero) {
+        Telefone telefone = new Telefone();
+        telefone.setTipoTelefone(tipo);
+        telefone.setDdd(ddd);
+        telefone.setTelefoneFixo(numero);
+        return telefone;
+    }
+
+    private static Empresa empresa(long cnpj, Telefone... telefones) {
+        Empresa empresa = new Empresa();
+        empresa.setCnpj(Cnpj.of(cnpj).toString());
+        empresa.setTelefones(conjunto(telefones));
+        return empresa;
+    }
+
+    private static Set<Telefone> conjunto(Telefone... telefones) {
+        return new HashSet<Telefone>(Arrays.asList(telefones));
+    }
+
+    private static Set<Empresa> conjunto(Empresa... empresas) {
+        return new HashSet<Empresa>(Arrays.asList(empresas));
+    }
+
+}
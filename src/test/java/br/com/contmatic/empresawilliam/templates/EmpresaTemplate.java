@@ -2,6 +2,7 @@ package br.com.contmatic.empresawilliam.templates;
 
 import org.joda.time.LocalDate;
 
+import br.com.contmatic.empresawilliam.DiaDaEpoca;
 import br.com.contmatic.empresawilliam.Empresa;
 import br.com.contmatic.empresawilliam.Endereco;
 import br.com.contmatic.empresawilliam.Telefone;
@@ -28,8 +29,8 @@ public class EmpresaTemplate implements TemplateLoader {
                 add("site", random("teste.com.br", "exemplo.com"));
                 add("enderecos", has(2).of(Endereco.class, "endereco_valido"));
                 add("telefones", has(2).of(Telefone.class, "fixo_valido", "celular_valido"));
-                add("dataDeCriacao", random(LocalDate.now()));
-                add("dataDeAlteracao", random(LocalDate.now().plusDays(300)));
+                add("diaDeCriacao", random(DiaDaEpoca.de(LocalDate.now())));
+                add("diaDeAlteracao", random(DiaDaEpoca.de(LocalDate.now().plusDays(300))));
             }
         });
 
@@ -40,8 +41,8 @@ public class EmpresaTemplate implements TemplateLoader {
                 add("site", random("teste.com", "exemplocom", ".teste.com.br", "exemplo.br.com"));
                 add("enderecos", has(1).of(Endereco.class, "endereco_invalido"));
                 add("telefones", has(1).of(Telefone.class, "fixo_invalido"));
-                add("dataDeCriacao", random(LocalDate.now().minusDays(300)));
-                add("dataDeAlteracao", random(LocalDate.now()));
+                add("diaDeCriacao", random(DiaDaEpoca.de(LocalDate.now().minusDays(300))));
+                add("diaDeAlteracao", random(DiaDaEpoca.de(LocalDate.now())));
             }
         });
     }
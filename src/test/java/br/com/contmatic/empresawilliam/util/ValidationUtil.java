@@ -1,8 +1,6 @@
 package br.com.contmatic.empresawilliam.util;
 
-import java.util.Set;
-
-import javax.validation.*;
+import br.com.contmatic.empresawilliam.validation.ValidationEngine;
 
 /**
  * The Class ValidationUtil.
@@ -25,14 +23,7 @@ public final class ValidationUtil {
      */
     public static boolean hasErrors(Object obj, String message) {
         if (message != null) {
-            ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
-            Validator validator = factory.getValidator();
-            Set<ConstraintViolation<Object>> errors = validator.validate(obj);
-            for(ConstraintViolation<Object> constraintViolation : errors) {
-                if (message.equals(constraintViolation.getMessage())) {
-                    return true;
-                }
-            }
+            return ValidationEngine.getInstance().validate(obj).hasMessage(message);
         }
         return false;
 
@@ -48,14 +39,7 @@ public final class ValidationUtil {
      */
     public static boolean hasErrors(Object obj, String message, Class<?>... groups) {
         if (message != null) {
-            ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
-            Validator validator = factory.getValidator();
-            Set<ConstraintViolation<Object>> errors = validator.validate(obj, groups);
-            for(ConstraintViolation<Object> constraintViolation : errors) {
-                if (message.equals(constraintViolation.getMessage())) {
-                    return true;
-                }
-            }
+            return ValidationEngine.getInstance().validate(obj, groups).hasMessage(message);
         }
         return false;
 
@@ -0,0 +1,166 @@
+package br.com.contmatic.empresawilliam.validation;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runners.MethodSorters;
+
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.EmpresaValidator;
+import br.com.contmatic.empresawilliam.Endereco;
+import br.com.contmatic.empresawilliam.EnderecoValidator;
+import br.com.six2six.fixturefactory.Fixture;
+import br.com.six2six.fixturefactory.loader.FixtureFactoryLoader;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class BatchValidatorTeste {
+
+    private static final int QUANTIDADE = 2000;
+
+    private static final int INTERVALO_INVALIDO = 7;
+
+    private List<Endereco> enderecos;
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        FixtureFactoryLoader.loadTemplates("br.com.contmatic.empresawilliam.templates");
+    }
+
+    @Before
+    public void setUp() {
+        this.enderecos = new ArrayList<Endereco>(QUANTIDADE);
+        for(int i = 0; i < QUANTIDADE; i++) {
+            Endereco endereco = Fixture.from(Endereco.class).gimme("endereco_valido");
+            endereco.setTipoLogradouro("Rua");
+            endereco.setNomeLogradouro("Exemplo");
+            if (i % INTERVALO_INVALIDO == 3) {
+                endereco.setCep("123");
+            }
+            enderecos.add(endereco);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        enderecos = null;
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        System.out.println("Teste de BatchValidator terminado.");
+    }
+
+    // Testes
+
+    @Test
+    public void deve_apontar_todos_os_indices_invalidos() {
+        BatchValidator<Endereco> batch = BatchValidator.builder(EnderecoValidator.INSTANCE).chunkSize(16).build();
+        BatchResult result = batch.validate(enderecos);
+        assertThat(result.size(), is(QUANTIDADE));
+        assertThat(result.getInvalidCount(), is((QUANTIDADE + INTERVALO_INVALIDO - 4) / INTERVALO_INVALIDO));
+        assertThat(result.getFirstInvalidIndex(), is(3));
+        assertFalse(result.isStopped());
+        for(int i = 0; i < QUANTIDADE; i++) {
+            assertThat(result.get(i).isValid(), is(i % INTERVALO_INVALIDO != 3));
+        }
+    }
+
+    @Test
+    public void deve_devolver_o_mesmo_resultado_da_validacao_individual() {
+        List<Empresa> empresas = new ArrayList<Empresa>();
+        for(int i = 0; i < 100; i++) {
+            empresas.add(Fixture.from(Empresa.class).<Empresa> gimme(i % 2 == 0 ? "empresa_valida" : "empresa_invalida"));
+        }
+        BatchValidator<Empresa> batch = BatchValidator.builder(EmpresaValidator.INSTANCE).chunkSize(8).parallelism(4).build();
+        try {
+            BatchResult result = batch.validate(empresas);
+            for(int i = 0; i < empresas.size(); i++) {
+                assertThat(result.get(i).getViolations(), is(EmpresaValidator.INSTANCE.validate(empresas.get(i)).getViolations()));
+            }
+        } finally {
+            batch.close();
+        }
+    }
+
+    @Test
+    public void deve_devolver_resultado_compartilhado_para_indice_valido() {
+        BatchResult result = BatchValidator.builder(EnderecoValidator.INSTANCE).build().validate(enderecos);
+        assertThat(result.get(0), sameInstance(ValidationResult.VALID));
+    }
+
+    @Test
+    public void deve_parar_no_primeiro_invalido_no_modo_fail_fast() {
+        BatchValidator<Endereco> batch = BatchValidator.builder(EnderecoValidator.INSTANCE).chunkSize(4).parallelism(4).failFast(true).build();
+        try {
+            BatchResult result = batch.validate(enderecos);
+            assertTrue(result.isStopped());
+            assertThat(result.getInvalidCount(), is(1));
+            assertThat(result.getFirstInvalidIndex(), is(3));
+            assertTrue(result.get(3).hasViolation("cep"));
+        } finally {
+            batch.close();
+        }
+    }
+
+    @Test
+    public void deve_validar_lista_sem_acesso_aleatorio() {
+        BatchResult result = BatchValidator.builder(EnderecoValidator.INSTANCE).chunkSize(64).build().validate(new LinkedList<Endereco>(enderecos));
+        assertThat(result.getInvalidIndexes()[1], is(3 + INTERVALO_INVALIDO));
+    }
+
+    @Test
+    public void deve_validar_spliterator_com_e_sem_tamanho_conhecido() {
+        BatchValidator<Endereco> batch = BatchValidator.builder(EnderecoValidator.INSTANCE).chunkSize(32).build();
+        int[] esperados = batch.validate(enderecos).getInvalidIndexes();
+        assertThat(batch.validate(enderecos.spliterator()).getInvalidIndexes(), is(esperados));
+        Spliterator<Endereco> semTamanho = Spliterators.spliteratorUnknownSize(enderecos.iterator(), Spliterator.ORDERED);
+        assertThat(batch.validate(semTamanho).getInvalidIndexes(), is(esperados));
+    }
+
+    @Test
+    public void deve_aceitar_lote_vazio() {
+        BatchResult result = BatchValidator.builder(EnderecoValidator.INSTANCE).build().validate(new ArrayList<Endereco>());
+        assertTrue(result.isValid());
+        assertThat(result.getFirstInvalidIndex(), is(-1));
+    }
+
+    @Test
+    public void nao_deve_aceitar_objeto_nulo_no_lote() {
+        enderecos.set(10, null);
+        thrown.expect(NullPointerException.class);
+        BatchValidator.builder(EnderecoValidator.INSTANCE).build().validate(enderecos);
+    }
+
+    @Test
+    public void nao_deve_aceitar_bloco_vazio() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("O tamanho do bloco deve ser maior que zero.");
+        BatchValidator.builder(EnderecoValidator.INSTANCE).chunkSize(0);
+    }
+
+    @Test
+    public void nao_deve_aceitar_indice_fora_do_lote() {
+        thrown.expect(IndexOutOfBoundsException.class);
+        BatchValidator.builder(EnderecoValidator.INSTANCE).build().validate(enderecos).get(QUANTIDADE);
+    }
+}
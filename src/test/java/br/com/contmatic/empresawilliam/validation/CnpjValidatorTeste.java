@@ -0,0 +1,162 @@
+package br.com.contmatic.empresawilliam.validation;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.AfterClass;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runners.MethodSorters;
+
+import br.com.caelum.stella.validation.CNPJValidator;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class CnpjValidatorTeste {
+
+    private static final String VALIDO = "11222333000181";
+
+    private static final String VALIDO_FORMATADO = "11.222.333/0001-81";
+
+    private static final int REPETICOES = 20000;
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        System.out.println("Teste de CnpjValidator terminado.");
+    }
+
+    // Testes
+
+    @Test
+    public void deve_aceitar_cnpj_com_digitos_verificadores_corretos() {
+        assertTrue(CnpjValidator.isValid(VALIDO));
+        assertTrue(CnpjValidator.isValid("00000000000000"));
+    }
+
+    @Test
+    public void nao_deve_aceitar_cnpj_com_digito_verificador_errado() {
+        assertFalse(CnpjValidator.isValid("11222333000182"));
+        assertFalse(CnpjValidator.isValid("11222333000191"));
+    }
+
+    @Test
+    public void nao_deve_aceitar_cnpj_com_tamanho_errado_ou_caracteres_que_nao_sao_digitos() {
+        assertFalse(CnpjValidator.isValid(null));
+        assertFalse(CnpjValidator.isValid(""));
+        assertFalse(CnpjValidator.isValid("1122233300018"));
+        assertFalse(CnpjValidator.isValid("112223330001811"));
+        assertFalse(CnpjValidator.isValid("1122233300018a"));
+        assertFalse(CnpjValidator.isValid("112223330001 1"));
+        assertFalse(CnpjValidator.isValid(VALIDO_FORMATADO));
+    }
+
+    @Test
+    public void deve_aceitar_cnpj_formatado_somente_com_a_mascara_completa() {
+        assertTrue(CnpjValidator.isValidFormatado(VALIDO_FORMATADO));
+        assertFalse(CnpjValidator.isValidFormatado(VALIDO));
+        assertFalse(CnpjValidator.isValidFormatado("11.222.333-0001/81"));
+        assertFalse(CnpjValidator.isValidFormatado("11.222.333/0001-82"));
+        assertTrue(CnpjValidator.isValidComOuSemMascara(VALIDO));
+        assertTrue(CnpjValidator.isValidComOuSemMascara(VALIDO_FORMATADO));
+    }
+
+    @Test
+    public void deve_validar_trechos_de_arrays_de_char_e_de_byte() {
+        char[] caracteres = ("xx" + VALIDO + "yy").toCharArray();
+        byte[] bytes = ("xx" + VALIDO + "yy").getBytes(StandardCharsets.US_ASCII);
+        assertTrue(CnpjValidator.isValid(caracteres, 2, CnpjValidator.TAMANHO));
+        assertTrue(CnpjValidator.isValid(bytes, 2, CnpjValidator.TAMANHO));
+        assertFalse(CnpjValidator.isValid(caracteres, 1, CnpjValidator.TAMANHO));
+        assertFalse(CnpjValidator.isValid(bytes, 2, CnpjValidator.TAMANHO - 1));
+    }
+
+    @Test
+    public void nao_deve_aceitar_trecho_fora_do_array() {
+        thrown.expect(IndexOutOfBoundsException.class);
+        CnpjValidator.isValid(new byte[10], 0, CnpjValidator.TAMANHO);
+    }
+
+    @Test
+    public void deve_apontar_os_cnpjs_invalidos_de_um_buffer_de_largura_fixa() {
+        byte[] buffer = (VALIDO + "\n" + "11222333000182\n" + "00000000000000\n" + "1122233300018a\n").getBytes(StandardCharsets.US_ASCII);
+        BitSet invalidos = CnpjValidator.invalidos(buffer, 0, 4, CnpjValidator.TAMANHO + 1);
+        assertThat(invalidos.toString(), is("{1, 3}"));
+    }
+
+    @Test
+    public void deve_apontar_os_cnpjs_invalidos_de_um_buffer_contiguo() {
+        byte[] buffer = ("11222333000182" + VALIDO).getBytes(StandardCharsets.US_ASCII);
+        BitSet invalidos = CnpjValidator.invalidos(buffer, 0, 2);
+        assertThat(invalidos.cardinality(), is(1));
+        assertTrue(invalidos.get(0));
+    }
+
+    @Test
+    public void nao_deve_aceitar_registros_que_estouram_o_int_alem_do_buffer() {
+        thrown.expect(IndexOutOfBoundsException.class);
+        thrown.expectMessage("Os registros terminam em 4294967308, além do tamanho do buffer (28).");
+        CnpjValidator.invalidos(new byte[28], 0, 3, Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void nao_deve_aceitar_registro_menor_que_um_cnpj() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("O registro deve ter ao menos 14 bytes.");
+        CnpjValidator.invalidos(new byte[28], 0, 2, CnpjValidator.TAMANHO - 1);
+    }
+
+    @Test
+    public void deve_concordar_com_o_stella_para_cnpjs_aleatorios() {
+        CNPJValidator stella = new CNPJValidator(false);
+        CNPJValidator stellaFormatado = new CNPJValidator(true);
+        Random random = new Random(14L);
+        for(int i = 0; i < REPETICOES; i++) {
+            String cnpj = aleatorio(random);
+            String formatado = cnpj.substring(0, 2) + "." + cnpj.substring(2, 5) + "." + cnpj.substring(5, 8) + "/" + cnpj.substring(8, 12) + "-"
+                    + cnpj.substring(12);
+            assertThat(cnpj, CnpjValidator.isValid(cnpj), is(stella.invalidMessagesFor(cnpj).isEmpty()));
+            assertThat(cnpj, CnpjValidator.isValid(Long.parseLong(cnpj)), is(CnpjValidator.isValid(cnpj)));
+            assertThat(formatado, CnpjValidator.isValidFormatado(formatado), is(stellaFormatado.invalidMessagesFor(formatado).isEmpty()));
+            assertThat(formatado, CnpjValidator.isValidComOuSemMascara(formatado), is(stella.invalidMessagesFor(formatado).isEmpty()));
+        }
+    }
+
+    /**
+     * Gera 12 dígitos aleatórios seguidos de dígitos verificadores que acertam em cerca de metade dos casos.
+     */
+    private static String aleatorio(Random random) {
+        StringBuilder cnpj = new StringBuilder(CnpjValidator.TAMANHO);
+        int[] digitos = new int[CnpjValidator.TAMANHO];
+        for(int i = 0; i < 12; i++) {
+            digitos[i] = random.nextInt(10);
+        }
+        digitos[12] = verificador(digitos, 12);
+        digitos[13] = verificador(digitos, 13);
+        if (random.nextBoolean()) {
+            digitos[12 + random.nextInt(2)] = random.nextInt(10);
+        }
+        for(int digito : digitos) {
+            cnpj.append(digito);
+        }
+        return cnpj.toString();
+    }
+
+    private static int verificador(int[] digitos, int quantidade) {
+        int soma = 0;
+        for(int i = quantidade - 1, peso = 2; i >= 0; i--, peso = peso == 9 ? 2 : peso + 1) {
+            soma += digitos[i] * peso;
+        }
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+}
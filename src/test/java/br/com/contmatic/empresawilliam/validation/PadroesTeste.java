@@ -0,0 +1,141 @@
+package br.com.contmatic.empresawilliam.validation;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runners.MethodSorters;
+
+import br.com.contmatic.empresawilliam.Empresa;
+import br.com.contmatic.empresawilliam.EmpresaValidator;
+import br.com.contmatic.empresawilliam.Endereco;
+import br.com.six2six.fixturefactory.Fixture;
+import br.com.six2six.fixturefactory.loader.FixtureFactoryLoader;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class PadroesTeste {
+
+    private static final int REPETICOES = 50000;
+
+    private static final List<String> EXPRESSOES = Arrays.asList(Padroes.EMAIL, Padroes.SITE, Padroes.TIPO_LOGRADOURO, Padroes.NOME_LOGRADOURO,
+        Padroes.LETRAS, "\\d{8}", "\\d{9}", "\\d{14}", "\\d{0}", "\\d{08}");
+
+    private static final String[] TRECHOS = { "a", "z", "abc", "A", "Z", "Rua", "0", "9", "123", "_", ".", "@", ".com", ".br", ".co", "com", "br",
+        ".com.br", "m", "ç", "É", "٣", "１", " ", "-", "\n", "😀" };
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        FixtureFactoryLoader.loadTemplates("br.com.contmatic.empresawilliam.templates");
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        System.out.println("Teste de Padroes terminado.");
+    }
+
+    // Testes
+
+    @Test
+    public void deve_casar_como_a_expressao_regular_em_textos_aleatorios() {
+        Random random = new Random(17);
+        for(String expressao : EXPRESSOES) {
+            Pattern pattern = Pattern.compile(expressao);
+            Casador casador = Padroes.casador(expressao, 0);
+            for(int i = 0; i < REPETICOES; i++) {
+                StringBuilder texto = new StringBuilder();
+                int trechos = random.nextInt(8);
+                for(int t = 0; t < trechos; t++) {
+                    texto.append(TRECHOS[random.nextInt(TRECHOS.length)]);
+                }
+                confere(expressao, pattern, casador, texto.toString());
+            }
+        }
+    }
+
+    @Test
+    public void deve_casar_como_a_expressao_regular_nos_casos_de_borda() {
+        List<String> textos = Arrays.asList("", "a", "a@b.com", "a@b.com.br", "a@b.com.br.br", "a@b.combr", "a@b.com.", "a@b.com.b", "a@.com", "@b.com",
+            "A@b.com", "a1@b.com", "a@b_1.com", "a@b-1.com", "a@b.c.com", "a@@b.com", "a@b.COM", "a@b.com.br.com", "abc.br", "abc.com.br",
+            "abc.com.com.br", "abc.br.br", "abc.com", ".br", "abc.combr", "abc.br ", "Abc.br", "abc", "Rua", "Ru", "Avenidasss", "Avenidassss",
+            "Rua1", "Praca", "Praça", "12345678", "1234567", "123456789", "1234567a", "١٢٣٤٥٦٧٨",
+            "12345678901234", "x", "xy", "X", "_", "abc123", "abc 123");
+        for(String expressao : EXPRESSOES) {
+            Pattern pattern = Pattern.compile(expressao);
+            Casador casador = Padroes.casador(expressao, 0);
+            for(String texto : textos) {
+                confere(expressao, pattern, casador, texto);
+                confere(expressao, pattern, casador, new StringBuilder(texto));
+            }
+        }
+    }
+
+    @Test
+    public void deve_casar_como_a_expressao_regular_nos_valores_dos_fixtures() {
+        for(int i = 0; i < 200; i++) {
+            Empresa empresa = Fixture.from(Empresa.class).gimme(i % 2 == 0 ? "empresa_valida" : "empresa_invalida");
+            confere(Padroes.EMAIL, Pattern.compile(Padroes.EMAIL), Padroes.casador(Padroes.EMAIL, 0), empresa.getEmail());
+            confere(Padroes.SITE, Pattern.compile(Padroes.SITE), Padroes.casador(Padroes.SITE, 0), empresa.getSite());
+            for(Endereco endereco : empresa.getEnderecos()) {
+                confere(Padroes.TIPO_LOGRADOURO, Pattern.compile(Padroes.TIPO_LOGRADOURO), Padroes.casador(Padroes.TIPO_LOGRADOURO, 0),
+                    endereco.getTipoLogradouro());
+                confere(Padroes.NOME_LOGRADOURO, Pattern.compile(Padroes.NOME_LOGRADOURO), Padroes.casador(Padroes.NOME_LOGRADOURO, 0),
+                    endereco.getNomeLogradouro());
+                confere("\\d{8}", Pattern.compile("\\d{8}"), Padroes.casador("\\d{8}", 0), endereco.getCep());
+            }
+        }
+    }
+
+    @Test
+    public void deve_usar_expressao_regular_para_expressoes_desconhecidas_ou_com_flags() {
+        Casador semFlags = Padroes.casador("[a-z]+", 0);
+        assertThat(semFlags.casa("abc"), is(true));
+        assertThat(semFlags.casa("ABC"), is(false));
+        Casador comFlags = Padroes.casador(Padroes.SITE, Pattern.CASE_INSENSITIVE);
+        assertThat(comFlags.casa("ABC.BR"), is(true));
+        assertThat(Padroes.casador("\\d{8,}", 0).casa("123456789"), is(true));
+        assertThat(Padroes.casador(Padroes.SITE, 0).getClass(), is(not(comFlags.getClass())));
+        assertThat(comFlags.toString(), is(Padroes.SITE));
+    }
+
+    @Test
+    public void deve_validar_pelo_hibernate_como_o_validador_gerado() {
+        Empresa empresa = new Empresa();
+        for(String email : Arrays.asList("fulano@exemplo.com.br", "fulano@exemplo.com", "Fulano@exemplo.com", "fulano@exemplo.co", "", "fulano@.com")) {
+            empresa.setEmail(email);
+            empresa.setSite(email.replace('@', '.'));
+            ValidationResult hibernate = ValidationEngine.getInstance().validate(empresa);
+            ValidationResult compilado = EmpresaValidator.INSTANCE.validate(empresa);
+            assertThat(email, hibernate.getViolations("email").size(), is(compilado.getViolations("email").size()));
+            assertThat(email, hibernate.getViolations("site").size(), is(compilado.getViolations("site").size()));
+        }
+    }
+
+    @Test
+    public void nao_deve_criar_casador_sem_expressao() {
+        thrown.expect(NullPointerException.class);
+        thrown.expectMessage("A expressão deve ser preenchida.");
+        Padroes.casador(null, 0);
+    }
+
+    // Auxiliares
+
+    private static void confere(String expressao, Pattern pattern, Casador casador, CharSequence texto) {
+        if (texto != null) {
+            assertThat(expressao + " em \"" + texto + "\"", casador.casa(texto), is(pattern.matcher(texto).matches()));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.contmatic.empresawilliam.validation;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runners.MethodSorters;
+
+import br.com.contmatic.empresawilliam.Endereco;
+import br.com.contmatic.empresawilliam.Fixo;
+import br.com.contmatic.empresawilliam.Telefone;
+import br.com.six2six.fixturefactory.Fixture;
+import br.com.six2six.fixturefactory.loader.FixtureFactoryLoader;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ValidationEngineTeste {
+
+    private ValidationEngine engine;
+    private Endereco endereco;
+    private Telefone fixoInvalido;
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        FixtureFactoryLoader.loadTemplates("br.com.contmatic.empresawilliam.templates");
+    }
+
+    @Before
+    public void setUp() {
+        this.engine = ValidationEngine.getInstance();
+        this.endereco = Fixture.from(Endereco.class).gimme("endereco_valido");
+        this.endereco.setTipoLogradouro("Rua");
+        this.endereco.setNomeLogradouro("Exemplo");
+        this.fixoInvalido = Fixture.from(Telefone.class).gimme("fixo_invalido");
+    }
+
+    @After
+    public void tearDown() {
+        engine = null;
+        endereco = null;
+        fixoInvalido = null;
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        System.out.println("Teste de ValidationEngine terminado.");
+    }
+
+    // Testes
+
+    @Test
+    public void deve_devolver_sempre_o_mesmo_validador() {
+        assertThat(ValidationEngine.getInstance().getValidator(), sameInstance(engine.getValidator()));
+    }
+
+    @Test
+    public void deve_devolver_resultado_compartilhado_para_objeto_valido() {
+        assertThat(engine.validate(endereco), sameInstance(ValidationResult.VALID));
+    }
+
+    @Test
+    public void deve_aceitar_endereco_valido() {
+        assertThat(engine.isValid(endereco), is(true));
+    }
+
+    @Test
+    public void deve_encontrar_violacao_por_mensagem() {
+        endereco.setCep("123");
+        assertTrue(engine.validate(endereco).hasMessage("O CEP deve conter 8 dígitos."));
+    }
+
+    @Test
+    public void deve_encontrar_violacao_por_propriedade() {
+        endereco.setCep("123");
+        ValidationResult result = engine.validate(endereco);
+        assertTrue(result.hasViolation("cep"));
+        assertFalse(result.hasViolation("nomeLogradouro"));
+        assertThat(result.getViolations("cep").size(), is(1));
+    }
+
+    @Test
+    public void nao_deve_encontrar_mensagem_nula() {
+        endereco.setCep("123");
+        assertFalse(engine.validate(endereco).hasMessage(null));
+    }
+
+    @Test
+    public void deve_validar_telefone_no_grupo_informado() {
+        assertTrue(engine.validate(fixoInvalido, Fixo.class).hasMessage("Para telefone fixo, por favor informar 8 dígitos."));
+        assertFalse(engine.validate(fixoInvalido).hasMessage("Para telefone fixo, por favor informar 8 dígitos."));
+    }
+
+    @Test
+    public void nao_deve_validar_objeto_nulo() {
+        thrown.expect(NullPointerException.class);
+        thrown.expectMessage("O objeto a ser validado deve ser preenchido.");
+        engine.validate(null);
+    }
+}